@@ -0,0 +1,221 @@
+package com.tascigorkem.eventcontract.codec;
+
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Binary encoding of {@link KafkaEmailMessageDto}: the {@link #MAGIC_BYTE}, the schema version as one byte, then the
+ * fields in the order of {@link #encode}, without names or tags. The magic byte is never the first byte of a utf-8
+ * text, so a json message of the former JsonSerializer is rejected instead of decoded as a message of some version.
+ * <ul>
+ *     <li>strings: a varint of 0 for null, 1 for a lowercase uuid which follows as 16 bytes, or the length + 2
+ *     followed by the utf-8 bytes</li>
+ *     <li>dates: a varint of 0 for null, or the zigzag encoded epoch day + 1</li>
+ * </ul>
+ * Compatibility rules, so that producers and consumers of different versions can be deployed in any order:
+ * <ul>
+ *     <li>fields are only appended, each with an incremented {@link #SCHEMA_VERSION}; they are never removed,
+ *     reordered or given another type, a field which is not used anymore is written as null</li>
+ *     <li>backward: a reader leaves the fields which an older writer did not write at the end as null</li>
+ *     <li>forward: a reader skips the fields which a newer writer appended</li>
+ * </ul>
+ */
+public final class KafkaEmailMessageCodec {
+
+    /**
+     * 1: id, bookingId, emailAddress, fullName, subject, messageDate
+     */
+    public static final int SCHEMA_VERSION = 1;
+
+    public static final byte MAGIC_BYTE = (byte) 0xFE;
+
+    private static final int NULL = 0;
+    private static final int UUID_STRING = 1;
+    private static final int STRING_LENGTH_OFFSET = 2;
+    private static final int UUID_STRING_LENGTH = 36;
+
+    private KafkaEmailMessageCodec() {
+    }
+
+    public static byte[] encode(KafkaEmailMessageDto message) {
+        Output output = new Output();
+        output.writeByte(MAGIC_BYTE);
+        output.writeByte(SCHEMA_VERSION);
+        output.writeString(message.getId());
+        output.writeString(message.getBookingId());
+        output.writeString(message.getEmailAddress());
+        output.writeString(message.getFullName());
+        output.writeString(message.getSubject());
+        output.writeDate(message.getMessageDate());
+        return output.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not an email message of any schema version
+     */
+    public static KafkaEmailMessageDto decode(byte[] bytes) {
+        ByteBuffer input = ByteBuffer.wrap(bytes);
+        try {
+            if (input.get() != MAGIC_BYTE) {
+                throw new IllegalArgumentException("Not an email message of event-contract, it starts with 0x"
+                        + Integer.toHexString(bytes[0] & 0xFF));
+            }
+            int version = input.get() & 0xFF;
+            if (version == 0) {
+                throw new IllegalArgumentException("Unknown schema version 0 of an email message");
+            }
+            // the fields of schema version 1, a message of a later version has more after them
+            KafkaEmailMessageDto message = new KafkaEmailMessageDto();
+            message.setId(readString(input));
+            message.setBookingId(readString(input));
+            message.setEmailAddress(readString(input));
+            message.setFullName(readString(input));
+            message.setSubject(readString(input));
+            message.setMessageDate(readDate(input));
+            return message;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | ArithmeticException e) {
+            throw new IllegalArgumentException("Malformed email message of " + bytes.length + " bytes", e);
+        }
+    }
+
+    private static String readString(ByteBuffer input) {
+        long header = readVarLong(input);
+        if (header == NULL) {
+            return null;
+        }
+        if (header == UUID_STRING) {
+            return new UUID(input.getLong(), input.getLong()).toString();
+        }
+        int length = Math.toIntExact(header - STRING_LENGTH_OFFSET);
+        String value = new String(input.array(), input.arrayOffset() + input.position(), length, StandardCharsets.UTF_8);
+        input.position(input.position() + length);
+        return value;
+    }
+
+    private static LocalDate readDate(ByteBuffer input) {
+        long header = readVarLong(input);
+        if (header == NULL) {
+            return null;
+        }
+        long zigZagEpochDay = header - 1;
+        return LocalDate.ofEpochDay((zigZagEpochDay >>> 1) ^ -(zigZagEpochDay & 1));
+    }
+
+    private static long readVarLong(ByteBuffer input) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = input.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint longer than 64 bits");
+    }
+
+    /**
+     * @return the uuid of a string in the form of {@link UUID#toString()}, which is the form it is decoded to,
+     * or null for any other string
+     */
+    private static UUID parseUuid(String value) {
+        if (value.length() != UUID_STRING_LENGTH) {
+            return null;
+        }
+        long mostSigBits = 0;
+        long leastSigBits = 0;
+        int digits = 0;
+        for (int i = 0; i < UUID_STRING_LENGTH; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return null;
+                }
+                continue;
+            }
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else {
+                return null;
+            }
+            if (digits++ < 16) {
+                mostSigBits = mostSigBits << 4 | digit;
+            } else {
+                leastSigBits = leastSigBits << 4 | digit;
+            }
+        }
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static final class Output {
+        private byte[] bytes = new byte[128];
+        private int position;
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[position++] = (byte) value;
+        }
+
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarLong(NULL);
+                return;
+            }
+            UUID uuid = parseUuid(value);
+            if (uuid != null) {
+                writeVarLong(UUID_STRING);
+                writeLong(uuid.getMostSignificantBits());
+                writeLong(uuid.getLeastSignificantBits());
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length + (long) STRING_LENGTH_OFFSET);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, bytes, position, utf8.length);
+            position += utf8.length;
+        }
+
+        private void writeDate(LocalDate value) {
+            if (value == null) {
+                writeVarLong(NULL);
+                return;
+            }
+            long epochDay = value.toEpochDay();
+            writeVarLong(((epochDay << 1) ^ (epochDay >> 63)) + 1);
+        }
+
+        private void writeLong(long value) {
+            ensureCapacity(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[position++] = (byte) value;
+        }
+
+        private void ensureCapacity(int length) {
+            if (position + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + length));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, position);
+        }
+    }
+}
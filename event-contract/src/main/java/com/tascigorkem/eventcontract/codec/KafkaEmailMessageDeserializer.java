@@ -0,0 +1,24 @@
+package com.tascigorkem.eventcontract.codec;
+
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * value-deserializer of the consumers of {@link KafkaEmailMessageDto}, see {@link KafkaEmailMessageCodec}.
+ * Malformed messages fail with a {@link SerializationException}.
+ */
+public class KafkaEmailMessageDeserializer implements Deserializer<KafkaEmailMessageDto> {
+
+    @Override
+    public KafkaEmailMessageDto deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return KafkaEmailMessageCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Could not decode email message of topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.tascigorkem.eventcontract.codec;
+
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * value-serializer of the producers of {@link KafkaEmailMessageDto}, see {@link KafkaEmailMessageCodec}.
+ */
+public class KafkaEmailMessageSerializer implements Serializer<KafkaEmailMessageDto> {
+
+    @Override
+    public byte[] serialize(String topic, KafkaEmailMessageDto data) {
+        return data == null ? null : KafkaEmailMessageCodec.encode(data);
+    }
+}
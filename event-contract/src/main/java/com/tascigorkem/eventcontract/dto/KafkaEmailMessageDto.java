@@ -1,17 +1,20 @@
-package com.tascigorkem.flightbookingservice.dto.kafka;
+package com.tascigorkem.eventcontract.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import lombok.ToString;
 
 import java.time.LocalDate;
 import java.util.UUID;
 
+/**
+ * Email message of a booking, published by flight-booking-service and sent by mail-service.
+ * On the wire it is encoded by {@link com.tascigorkem.eventcontract.codec.KafkaEmailMessageCodec},
+ * whose rules apply to any change of the fields.
+ */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@ToString
 public class KafkaEmailMessageDto {
     private String emailAddress;
     private String fullName;
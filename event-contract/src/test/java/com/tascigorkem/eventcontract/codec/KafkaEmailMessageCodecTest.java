@@ -0,0 +1,158 @@
+package com.tascigorkem.eventcontract.codec;
+
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaEmailMessageCodecTest {
+
+    /**
+     * Unit test for KafkaEmailMessageCodec:encode and decode
+     */
+    @Test
+    void decode_WithEncodedMessage_ShouldReturnEqualMessage() {
+        // GIVEN
+        KafkaEmailMessageDto message = new KafkaEmailMessageDto("jane.roe@example.com", "Jane Roe ÇĞİÖŞÜ 日本",
+                "Your booking is approved", UUID.randomUUID().toString(), UUID.randomUUID().toString(), LocalDate.of(2031, 3, 1));
+
+        // WHEN
+        KafkaEmailMessageDto result = KafkaEmailMessageCodec.decode(KafkaEmailMessageCodec.encode(message));
+
+        // THEN
+        assertEquals(message, result);
+    }
+
+    /**
+     * Unit test for KafkaEmailMessageCodec:encode and decode
+     * Checking whether strings which only look like a uuid and dates before 1970 are decoded as they were
+     */
+    @Test
+    void decode_WithNullsAndUuidLikeStrings_ShouldReturnEqualMessage() {
+        // GIVEN
+        String upperCaseUuid = UUID.randomUUID().toString().toUpperCase();
+        KafkaEmailMessageDto message = new KafkaEmailMessageDto(null, "", "0000000g-0000-0000-0000-000000000000",
+                "booking-1", upperCaseUuid, LocalDate.of(1923, 10, 29));
+
+        // WHEN
+        KafkaEmailMessageDto result = KafkaEmailMessageCodec.decode(KafkaEmailMessageCodec.encode(message));
+
+        // THEN
+        assertEquals(message, result);
+    }
+
+    /**
+     * Unit test for KafkaEmailMessageCodec:encode
+     */
+    @Test
+    void encode_WithUuidIds_ShouldWriteThemAsBytes() {
+        // GIVEN
+        KafkaEmailMessageDto message = new KafkaEmailMessageDto(null, null, null,
+                UUID.randomUUID().toString(), UUID.randomUUID().toString(), null);
+
+        // WHEN
+        byte[] result = KafkaEmailMessageCodec.encode(message);
+
+        // THEN
+        // magic byte, version, 2 uuids of a marker and 16 bytes, 4 null markers
+        assertEquals(2 + 2 * 17 + 4, result.length);
+        assertEquals(KafkaEmailMessageCodec.MAGIC_BYTE, result[0]);
+        assertEquals(KafkaEmailMessageCodec.SCHEMA_VERSION, result[1]);
+    }
+
+    /**
+     * Unit test for KafkaEmailMessageCodec:encode
+     * Checking the size of a message like the ones of flight-booking-service
+     */
+    @Test
+    void encode_WithBookingMessage_ShouldWrite97Bytes() {
+        // GIVEN
+        KafkaEmailMessageDto message = new KafkaEmailMessageDto("customer0@example.com", "Customer 0",
+                "Your booking is approved", UUID.randomUUID().toString(), UUID.randomUUID().toString(), LocalDate.of(2021, 3, 1));
+
+        // WHEN
+        byte[] result = KafkaEmailMessageCodec.encode(message);
+
+        // THEN
+        // magic byte, version, 2 uuids of 17 bytes, 3 strings of a length byte and 21, 10 and 24 bytes, a date of 3 bytes
+        assertEquals(2 + 2 * 17 + (1 + 21) + (1 + 10) + (1 + 24) + 3, result.length);
+    }
+
+    /**
+     * Unit test for KafkaEmailMessageCodec:decode
+     * Checking whether the fields of a newer schema version are skipped
+     */
+    @Test
+    void decode_WithAppendedFieldsOfNewerVersion_ShouldReturnKnownFields() {
+        // GIVEN
+        KafkaEmailMessageDto message = new KafkaEmailMessageDto("jane.roe@example.com", "Jane Roe",
+                "Your booking is approved", UUID.randomUUID().toString(), UUID.randomUUID().toString(), LocalDate.now());
+        byte[] encodedMessage = KafkaEmailMessageCodec.encode(message);
+        byte[] newerEncodedMessage = Arrays.copyOf(encodedMessage, encodedMessage.length + 4);
+        newerEncodedMessage[1] = KafkaEmailMessageCodec.SCHEMA_VERSION + 1;
+        // an appended string "tr"
+        newerEncodedMessage[encodedMessage.length] = 2 + 2;
+        newerEncodedMessage[encodedMessage.length + 1] = 't';
+        newerEncodedMessage[encodedMessage.length + 2] = 'r';
+
+        // WHEN
+        KafkaEmailMessageDto result = KafkaEmailMessageCodec.decode(newerEncodedMessage);
+
+        // THEN
+        assertEquals(message, result);
+    }
+
+    /**
+     * Unit test for KafkaEmailMessageCodec:decode
+     */
+    @Test
+    void decode_WithTruncatedMessage_ShouldThrowIllegalArgumentException() {
+        // GIVEN
+        byte[] encodedMessage = KafkaEmailMessageCodec.encode(new KafkaEmailMessageDto());
+        byte[] truncatedMessage = Arrays.copyOf(encodedMessage, encodedMessage.length - 1);
+
+        // WHEN
+        // THEN
+        assertThrows(IllegalArgumentException.class, () -> KafkaEmailMessageCodec.decode(truncatedMessage));
+        assertThrows(IllegalArgumentException.class, () -> KafkaEmailMessageCodec.decode(new byte[0]));
+    }
+
+    /**
+     * Unit test for KafkaEmailMessageCodec:decode
+     * Checking whether a json message of the former JsonSerializer is rejected by its first byte
+     */
+    @Test
+    void decode_WithJsonMessage_ShouldThrowIllegalArgumentException() {
+        // GIVEN
+        byte[] jsonMessage = ("{\"emailAddress\":\"customer0@example.com\",\"fullName\":\"Customer 0\","
+                + "\"subject\":\"Your booking is approved\",\"bookingId\":\"" + UUID.randomUUID() + "\","
+                + "\"id\":\"" + UUID.randomUUID() + "\",\"messageDate\":\"2021-03-01\"}").getBytes(StandardCharsets.UTF_8);
+
+        // WHEN
+        IllegalArgumentException result = assertThrows(IllegalArgumentException.class,
+                () -> KafkaEmailMessageCodec.decode(jsonMessage));
+
+        // THEN
+        assertEquals("Not an email message of event-contract, it starts with 0x7b", result.getMessage());
+    }
+
+    /**
+     * Unit test for KafkaEmailMessageDeserializer:deserialize
+     */
+    @Test
+    void deserialize_WithMalformedMessage_ShouldThrowSerializationException() {
+        // GIVEN
+        KafkaEmailMessageDeserializer subject = new KafkaEmailMessageDeserializer();
+
+        // WHEN
+        // THEN
+        assertThrows(SerializationException.class, () -> subject.deserialize("topic", new byte[]{KafkaEmailMessageCodec.MAGIC_BYTE, 1, 5}));
+        assertNull(subject.deserialize("topic", null));
+    }
+}
@@ -0,0 +1,117 @@
+package com.tascigorkem.flightbookingservice.controller.flight;
+
+import com.tascigorkem.flightbookingservice.FlightBookingServiceApplication;
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Concurrent flight reads against the running application, {@link FlightController} on tomcat threads and JDBC
+ * against {@link ReactiveFlightController} on R2DBC, with the same size of the tomcat, hikari and r2dbc pools.
+ * One operation is a burst of {@code concurrency} requests which are all sent at once, so beyond the pool size
+ * the blocking reads queue for a thread and a connection while the reactive ones only queue for a connection.
+ * Needs the database of the local profile with some flights, the application is started on a random port.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlightReadLoadBenchmark {
+
+    private static final String POOL_SIZE = "10";
+    private static final int MAX_CONCURRENCY = 1000;
+
+    @Param({"10", "100", "1000"})
+    public int concurrency;
+
+    private ConfigurableApplicationContext applicationContext;
+    private WebClient webClient;
+    private List<UUID> flightIds;
+
+    @Setup
+    public void setUp() {
+        applicationContext = new SpringApplicationBuilder(FlightBookingServiceApplication.class)
+                .properties("server.port=0",
+                        "server.tomcat.threads.max=" + POOL_SIZE,
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.r2dbc.pool.initial-size=" + POOL_SIZE,
+                        "spring.r2dbc.pool.max-size=" + POOL_SIZE,
+                        "spring.jpa.show-sql=false",
+                        "eureka.client.enabled=false",
+                        "logging.level.com.tascigorkem.flightbookingservice=INFO")
+                .run();
+
+        flightIds = applicationContext.getBean(FlightRepository.class)
+                .findAllByDeletionTimeIsNull(PageRequest.of(0, 100)).getContent().stream()
+                .map(FlightEntity::getId)
+                .collect(Collectors.toList());
+        if (flightIds.isEmpty()) {
+            throw new IllegalStateException("No flights to read, add some before running the benchmark");
+        }
+
+        int port = ((WebServerApplicationContext) applicationContext).getWebServer().getPort();
+        // enough client connections for a whole burst, the server pools are the limit
+        HttpClient httpClient = HttpClient.create(ConnectionProvider.fixed("flight-read-load", MAX_CONCURRENCY));
+        webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public long blockingGetFlightById() {
+        return burst("/flights/{id}");
+    }
+
+    @Benchmark
+    public long reactiveGetFlightById() {
+        return burst("/reactive/flights/{id}");
+    }
+
+    @Benchmark
+    public long blockingGetAllFlights() {
+        return burst("/flights?page={page}&size=20");
+    }
+
+    @Benchmark
+    public long reactiveGetAllFlights() {
+        return burst("/reactive/flights?page={page}&size=20");
+    }
+
+    /**
+     * @return number of responses, every request reads another of the flights or pages
+     */
+    private long burst(String uriTemplate) {
+        Long responses = Flux.range(0, concurrency)
+                .flatMap(i -> webClient.get()
+                        .uri(uriTemplate, uriTemplate.contains("{id}") ? flightIds.get(i % flightIds.size()) : i % 5)
+                        .accept(MediaTypes.HAL_JSON)
+                        .retrieve()
+                        .bodyToMono(String.class), concurrency)
+                .count()
+                .block();
+        return responses == null ? 0 : responses;
+    }
+}
@@ -0,0 +1,63 @@
+package com.tascigorkem.flightbookingservice.controller.flight;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.faker.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HAL serialization of a {@code PagedModel<EntityModel<FlightDto>>} with links,
+ * with an ObjectMapper configured like the one of the hal+json message converter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HalSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PagedModel<EntityModel<FlightDto>> pagedModel;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new Jackson2HalModule()).build();
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DelegatingLinkRelationProvider(new AnnotationLinkRelationProvider(), new DefaultLinkRelationProvider()),
+                CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/flights")));
+        pagedModel = new PagedResourcesAssembler<FlightDto>(new HateoasPageableHandlerMethodArgumentResolver(), null)
+                .toModel(new PageImpl<>(BenchmarkFixtures.getFakeFlightDtos(pageSize), PageRequest.of(1, pageSize), pageSize * 10L));
+        pagedModel.getContent().forEach(FlightController::setLinks);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagedModel);
+    }
+}
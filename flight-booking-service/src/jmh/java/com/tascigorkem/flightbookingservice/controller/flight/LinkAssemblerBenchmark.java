@@ -0,0 +1,85 @@
+package com.tascigorkem.flightbookingservice.controller.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Links of one page of flights, per item {@code linkTo(methodOn(...))} against the precomputed templates
+ * of {@link FlightController#setLinks(EntityModel)}.
+ * Every invocation runs in a fresh request, so the per request base uri lookup of both is measured too.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkAssemblerBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+
+    private List<FlightDto> flightDtos;
+
+    @Setup
+    public void setUp() {
+        flightDtos = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            flightDtos.add(DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<EntityModel<FlightDto>> linkToMethodOn() {
+        startRequest();
+        List<EntityModel<FlightDto>> page = new ArrayList<>(pageSize);
+        for (FlightDto flightDto : flightDtos) {
+            EntityModel<FlightDto> flightDtoEntityModel = EntityModel.of(flightDto);
+            setLinksWithMethodOn(flightDtoEntityModel);
+            page.add(flightDtoEntityModel);
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<EntityModel<FlightDto>> precomputedTemplates() {
+        startRequest();
+        List<EntityModel<FlightDto>> page = new ArrayList<>(pageSize);
+        for (FlightDto flightDto : flightDtos) {
+            page.add(FlightController.toEntityModelWithLinks(flightDto));
+        }
+        return page;
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/flights")));
+    }
+
+    // the former FlightController:setLinks
+    private static void setLinksWithMethodOn(EntityModel<FlightDto> flightDtoEntityModel) {
+        FlightDto flightDto = Objects.requireNonNull(flightDtoEntityModel.getContent());
+        flightDtoEntityModel.add(linkTo(methodOn(FlightController.class).getFlightById(flightDto.getId())).withRel("get-flight-by-id-GET"));
+        flightDtoEntityModel.add(linkTo(FlightController.class).withRel("all-flights-GET"));
+        flightDtoEntityModel.add(linkTo(FlightController.class).withRel("add-flight-POST"));
+        flightDtoEntityModel.add(linkTo(methodOn(FlightController.class).updateFlight(flightDto.getId(), flightDto, null)).withRel("update-flight-by-id-with-body-PUT"));
+        flightDtoEntityModel.add(linkTo(methodOn(FlightController.class).removeFlight(flightDto.getId())).withRel("remove-flight-by-id-DELETE"));
+    }
+}
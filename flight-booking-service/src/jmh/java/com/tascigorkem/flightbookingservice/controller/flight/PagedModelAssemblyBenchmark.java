@@ -0,0 +1,54 @@
+package com.tascigorkem.flightbookingservice.controller.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.faker.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code PagedModel<EntityModel<FlightDto>>} assembly with the item links, as in FlightController:getAllFlights.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PagedModelAssemblyBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+
+    private Page<FlightDto> page;
+    private PagedResourcesAssembler<FlightDto> pagedResourcesAssembler;
+
+    @Setup
+    public void setUp() {
+        page = new PageImpl<>(BenchmarkFixtures.getFakeFlightDtos(pageSize), PageRequest.of(1, pageSize), pageSize * 10L);
+        pagedResourcesAssembler = new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public PagedModel<EntityModel<FlightDto>> toPagedModelWithLinks() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/flights")));
+        PagedModel<EntityModel<FlightDto>> pagedModel = pagedResourcesAssembler.toModel(page);
+        pagedModel.getContent().forEach(FlightController::setLinks);
+        return pagedModel;
+    }
+}
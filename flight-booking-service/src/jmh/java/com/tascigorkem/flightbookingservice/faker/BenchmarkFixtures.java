@@ -0,0 +1,72 @@
+package com.tascigorkem.flightbookingservice.faker;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirlineEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pages of fake models for the benchmarks, with the references filled as they are read from the database.
+ * Flights share a small set of airports, aircrafts and airlines like the real data does.
+ */
+public class BenchmarkFixtures {
+
+    private static final int REFERENCE_COUNT = 10;
+
+    private BenchmarkFixtures() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static List<FlightEntity> getFakeFlightEntities(int size) {
+        List<AirportEntity> airports = new ArrayList<>(REFERENCE_COUNT);
+        List<AircraftEntity> aircrafts = new ArrayList<>(REFERENCE_COUNT);
+        List<AirlineEntity> airlines = new ArrayList<>(REFERENCE_COUNT);
+        for (int i = 0; i < REFERENCE_COUNT; i++) {
+            airports.add(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), true));
+            aircrafts.add(EntityModelFaker.getFakeAircraftEntity(EntityModelFaker.fakeId(), true));
+            airlines.add(EntityModelFaker.getFakeAirlineEntity(EntityModelFaker.fakeId(), true));
+        }
+
+        List<FlightEntity> flightEntities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            FlightEntity flightEntity = EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), true);
+            flightEntity.setDepartureAirport(airports.get(i % REFERENCE_COUNT));
+            flightEntity.setDestinationAirport(airports.get((i + 1) % REFERENCE_COUNT));
+            flightEntity.setAircraft(aircrafts.get(i % REFERENCE_COUNT));
+            flightEntity.setAirline(airlines.get(i % REFERENCE_COUNT));
+            flightEntities.add(flightEntity);
+        }
+        return flightEntities;
+    }
+
+    public static List<BookingEntity> getFakeBookingEntities(int size) {
+        List<FlightEntity> flightEntities = getFakeFlightEntities(REFERENCE_COUNT);
+
+        List<BookingEntity> bookingEntities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BookingEntity bookingEntity = EntityModelFaker.getFakeBookingEntity(EntityModelFaker.fakeId(), true);
+            bookingEntity.setCustomer(EntityModelFaker.getFakeCustomerEntity(EntityModelFaker.fakeId(), true));
+            bookingEntity.setFlight(flightEntities.get(i % REFERENCE_COUNT));
+            bookingEntities.add(bookingEntity);
+        }
+        return bookingEntities;
+    }
+
+    public static List<FlightDto> getFakeFlightDtos(int size) {
+        List<FlightDto> flightDtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            FlightDto flightDto = DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true);
+            flightDto.setDepartureAirport(DtoModelFaker.getFakeAirportDto(DtoModelFaker.fakeId(), true));
+            flightDto.setDestinationAirport(DtoModelFaker.getFakeAirportDto(DtoModelFaker.fakeId(), true));
+            flightDto.setAircraft(DtoModelFaker.getFakeAircraftDto(DtoModelFaker.fakeId(), true));
+            flightDto.setAirline(DtoModelFaker.getFakeAirlineDto(DtoModelFaker.fakeId(), true));
+            flightDtos.add(flightDto);
+        }
+        return flightDtos;
+    }
+}
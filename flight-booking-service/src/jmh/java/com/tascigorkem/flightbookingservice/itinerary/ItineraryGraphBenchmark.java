@@ -0,0 +1,122 @@
+package com.tascigorkem.flightbookingservice.itinerary;
+
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryDto;
+import com.tascigorkem.flightbookingservice.enums.ItinerarySort;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Itinerary searches with up to two stops and single flight changes over a graph of synthetic flights,
+ * spread over 30 days between 500 airports, half of them from or to one of 20 hubs.
+ * Only the graph is measured, without the database and the web layer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ItineraryGraphBenchmark {
+
+    private static final int AIRPORTS = 500;
+    private static final int HUBS = 20;
+    private static final int DAYS = 30;
+    private static final int QUERIES = 1024;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2031, 3, 1);
+
+    @Param({"1000000"})
+    public int flightCount;
+
+    private ItineraryGraph itineraryGraph;
+    private UUID[] airportIds;
+    private UUID[] flightIds;
+    private ItineraryQuery[] cheapestQueries;
+    private ItineraryQuery[] fastestQueries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        airportIds = new UUID[AIRPORTS];
+        for (int i = 0; i < AIRPORTS; i++) {
+            airportIds[i] = new UUID(0, i);
+        }
+
+        ItineraryGraph.Builder builder = ItineraryGraph.builder();
+        flightIds = new UUID[flightCount];
+        for (int i = 0; i < flightCount; i++) {
+            flightIds[i] = new UUID(1, i);
+            int from = randomAirport(random);
+            int to = randomAirport(random);
+            while (to == from) {
+                to = randomAirport(random);
+            }
+            LocalDateTime departureDate = FIRST_DAY.atStartOfDay().plusMinutes(random.nextInt(DAYS * 24 * 60));
+            builder.putFlight(flightIds[i], airportIds[from], airportIds[to], departureDate,
+                    departureDate.plusMinutes(45 + random.nextInt(12 * 60)), BigDecimal.valueOf(3000 + random.nextInt(150000), 2));
+        }
+        itineraryGraph = builder.build();
+
+        cheapestQueries = new ItineraryQuery[QUERIES];
+        fastestQueries = new ItineraryQuery[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            // mostly spokes, which are only connected through the hubs
+            int from = HUBS + random.nextInt(AIRPORTS - HUBS);
+            int to = HUBS + random.nextInt(AIRPORTS - HUBS);
+            LocalDate day = FIRST_DAY.plusDays(random.nextInt(DAYS - 1));
+            cheapestQueries[i] = query(from, to, day, ItinerarySort.CHEAPEST);
+            fastestQueries[i] = query(from, to, day, ItinerarySort.FASTEST);
+        }
+    }
+
+    @Benchmark
+    public List<ItineraryDto> searchCheapest() {
+        return itineraryGraph.search(cheapestQueries[nextIndex() % QUERIES]);
+    }
+
+    @Benchmark
+    public List<ItineraryDto> searchFastest() {
+        return itineraryGraph.search(fastestQueries[nextIndex() % QUERIES]);
+    }
+
+    /**
+     * Moves a flight to another departure time, the copy of the departures of one airport.
+     */
+    @Benchmark
+    public boolean putFlight() {
+        int index = nextIndex();
+        UUID flightId = flightIds[index % flightCount];
+        LocalDateTime departureDate = FIRST_DAY.atStartOfDay().plusMinutes(index * 7919L % (DAYS * 24 * 60));
+        return itineraryGraph.putFlight(flightId, airportIds[index % HUBS], airportIds[HUBS + index % (AIRPORTS - HUBS)],
+                departureDate, departureDate.plusHours(2), BigDecimal.valueOf(9900, 2));
+    }
+
+    private int nextIndex() {
+        return next++ & Integer.MAX_VALUE;
+    }
+
+    private ItineraryQuery query(int from, int to, LocalDate day, ItinerarySort sort) {
+        return ItineraryQuery.builder()
+                .departureAirportId(airportIds[from])
+                .destinationAirportId(airportIds[to])
+                .departureFrom(day.atStartOfDay())
+                .departureTo(day.plusDays(1).atStartOfDay())
+                .sort(sort)
+                .maxStops(ItineraryGraph.MAX_STOPS)
+                .minConnectionMinutes(45)
+                .maxConnectionMinutes(6 * 60)
+                .limit(10)
+                .build();
+    }
+
+    private static int randomAirport(Random random) {
+        return random.nextBoolean() ? random.nextInt(HUBS) : random.nextInt(AIRPORTS);
+    }
+}
@@ -0,0 +1,48 @@
+package com.tascigorkem.flightbookingservice.service;
+
+import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.faker.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.tascigorkem.flightbookingservice.service.booking.BookingMapper.BOOKING_MAPPER;
+import static com.tascigorkem.flightbookingservice.service.flight.FlightMapper.FLIGHT_MAPPER;
+
+/**
+ * Entity to dto mapping of one page, as the services do for every list request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+
+    private List<FlightEntity> flightEntities;
+    private List<BookingEntity> bookingEntities;
+
+    @Setup
+    public void setUp() {
+        flightEntities = BenchmarkFixtures.getFakeFlightEntities(pageSize);
+        bookingEntities = BenchmarkFixtures.getFakeBookingEntities(pageSize);
+    }
+
+    @Benchmark
+    public List<FlightDto> toFlightDtoList() {
+        return FLIGHT_MAPPER.toFlightDtoList(flightEntities);
+    }
+
+    @Benchmark
+    public List<BookingDto> toBookingDtoList() {
+        return BOOKING_MAPPER.toBookingDtoList(bookingEntities);
+    }
+}
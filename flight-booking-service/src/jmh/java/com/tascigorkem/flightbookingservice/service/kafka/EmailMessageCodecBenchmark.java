@@ -0,0 +1,74 @@
+package com.tascigorkem.flightbookingservice.service.kafka;
+
+import com.tascigorkem.eventcontract.codec.KafkaEmailMessageDeserializer;
+import com.tascigorkem.eventcontract.codec.KafkaEmailMessageSerializer;
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing and deserializing an email message, by the JsonSerializer and JsonDeserializer of spring-kafka
+ * (the value serializers before) and by the codec of event-contract. The json is without type info, the __TypeId__
+ * header the JsonSerializer added to every record comes on top of it. The serialized size of a message of the codec
+ * is asserted by KafkaEmailMessageCodecTest.
+ * Run with the gc profiler of the benchmark profile, gc.alloc.rate.norm is bytes allocated per message.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EmailMessageCodecBenchmark {
+
+    private static final int MESSAGES = 1024;
+    private static final String TOPIC = "benchmark-topic";
+
+    @Param({"json", "binary"})
+    public String codec;
+
+    private Serializer<KafkaEmailMessageDto> serializer;
+    private Deserializer<KafkaEmailMessageDto> deserializer;
+    private KafkaEmailMessageDto[] messages;
+    private byte[][] serializedMessages;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        if ("json".equals(codec)) {
+            serializer = new JsonSerializer<KafkaEmailMessageDto>().noTypeInfo();
+            deserializer = new JsonDeserializer<>(KafkaEmailMessageDto.class, false);
+        } else {
+            serializer = new KafkaEmailMessageSerializer();
+            deserializer = new KafkaEmailMessageDeserializer();
+        }
+
+        messages = new KafkaEmailMessageDto[MESSAGES];
+        serializedMessages = new byte[MESSAGES][];
+        for (int i = 0; i < MESSAGES; i++) {
+            messages[i] = new KafkaEmailMessageDto();
+            messages[i].setEmailAddress("customer" + i + "@example.com");
+            messages[i].setFullName("Customer " + i);
+            messages[i].setSubject("Your booking is approved");
+            messages[i].setBookingId(UUID.randomUUID().toString());
+            serializedMessages[i] = serializer.serialize(TOPIC, messages[i]);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), messages[next++ & (MESSAGES - 1)]);
+    }
+
+    @Benchmark
+    public KafkaEmailMessageDto deserialize() {
+        return deserializer.deserialize(TOPIC, new RecordHeaders(), serializedMessages[next++ & (MESSAGES - 1)]);
+    }
+}
@@ -0,0 +1,111 @@
+package com.tascigorkem.flightbookingservice.service.kafka;
+
+import com.tascigorkem.eventcontract.codec.KafkaEmailMessageSerializer;
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acknowledged email messages per second to an embedded broker with 3 partitions, once with the defaults of the
+ * producer client ("default", the settings before) and once with the spring.kafka.producer settings of application.yml
+ * ("throughput"). One operation is one message, the messages of an invocation are sent at once and awaited together,
+ * like a batch of the outbox relay. Both go through {@link MeteredKafkaTemplate}, so the delivery timer is included.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(KafkaProducerBenchmark.MESSAGES)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KafkaProducerBenchmark {
+
+    static final int MESSAGES = 10_000;
+    private static final String TOPIC = "benchmark-topic";
+
+    @Param({"default", "throughput"})
+    public String producerSettings;
+
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+    private DefaultKafkaProducerFactory<String, KafkaEmailMessageDto> producerFactory;
+    private MeteredKafkaTemplate<String, KafkaEmailMessageDto> kafkaTemplate;
+    private KafkaEmailMessageDto[] messages;
+
+    @Setup
+    public void setUp() {
+        embeddedKafkaBroker = new EmbeddedKafkaBroker(1, false, 3, TOPIC);
+        embeddedKafkaBroker.afterPropertiesSet();
+
+        Map<String, Object> configs = "throughput".equals(producerSettings)
+                ? applicationProducerProperties()
+                : new HashMap<>();
+        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, embeddedKafkaBroker.getBrokersAsString());
+        configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, KafkaEmailMessageSerializer.class);
+        producerFactory = new DefaultKafkaProducerFactory<>(configs);
+        kafkaTemplate = new MeteredKafkaTemplate<>(producerFactory, new SimpleMeterRegistry());
+
+        messages = new KafkaEmailMessageDto[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            messages[i] = new KafkaEmailMessageDto();
+            messages[i].setEmailAddress("customer" + i + "@example.com");
+            messages[i].setFullName("Customer " + i);
+            messages[i].setSubject("Your booking is approved");
+            messages[i].setBookingId(UUID.randomUUID().toString());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        producerFactory.destroy();
+        embeddedKafkaBroker.destroy();
+    }
+
+    @Benchmark
+    public int send() throws InterruptedException, ExecutionException {
+        @SuppressWarnings("unchecked")
+        ListenableFuture<SendResult<String, KafkaEmailMessageDto>>[] futures = new ListenableFuture[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            futures[i] = kafkaTemplate.send(TOPIC, messages[i].getBookingId(), messages[i]);
+        }
+        int partitions = 0;
+        for (ListenableFuture<SendResult<String, KafkaEmailMessageDto>> future : futures) {
+            partitions += future.get().getRecordMetadata().partition();
+        }
+        return partitions;
+    }
+
+    private static Map<String, Object> applicationProducerProperties() {
+        try {
+            // the first document of application.yml, without the profile specific ones
+            PropertySource<?> applicationProperties = new YamlPropertySourceLoader()
+                    .load("application.yml", new ClassPathResource("application.yml")).get(0);
+            return new Binder(ConfigurationPropertySources.from(applicationProperties))
+                    .bind("spring.kafka", KafkaProperties.class)
+                    .get()
+                    .buildProducerProperties();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
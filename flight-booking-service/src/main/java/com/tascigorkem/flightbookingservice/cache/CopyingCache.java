@@ -0,0 +1,91 @@
+package com.tascigorkem.flightbookingservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps a copy of every value put into the target cache and hands out a copy of the kept value on every get,
+ * so neither the caller which put a mutable value nor the callers which got it can change the cached one.
+ */
+@RequiredArgsConstructor
+public class CopyingCache implements Cache {
+
+    private final Cache targetCache;
+    private final UnaryOperator<Object> copy;
+
+    @Override
+    public String getName() {
+        return targetCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return targetCache.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        return copyOf(targetCache.get(key));
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        return (T) copyOf(targetCache.get(key, type));
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) copyOf(targetCache.get(key, valueLoader));
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        targetCache.put(key, copyOf(value));
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        return copyOf(targetCache.putIfAbsent(key, copyOf(value)));
+    }
+
+    @Override
+    public void evict(Object key) {
+        targetCache.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return targetCache.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        targetCache.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return targetCache.invalidate();
+    }
+
+    @Nullable
+    private ValueWrapper copyOf(@Nullable ValueWrapper valueWrapper) {
+        return valueWrapper == null ? null : new SimpleValueWrapper(copyOf(valueWrapper.get()));
+    }
+
+    @Nullable
+    private Object copyOf(@Nullable Object value) {
+        return value == null ? null : copy.apply(value);
+    }
+}
@@ -0,0 +1,54 @@
+package com.tascigorkem.flightbookingservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Hands out the caches of the target cache manager, the ones with a copy function of mutable reference data dtos
+ * decorated twice:
+ * <ul>
+ *     <li>as {@link CopyingCache}, a caller changing a dto it got, e.g. a flight embedding its airports,
+ *     does not change the dto every other caller gets</li>
+ *     <li>as {@link TransactionAwareCacheDecorator}, puts and evictions take effect after the transaction committed,
+ *     so a rolled back write leaves the cache as it was</li>
+ * </ul>
+ * The other caches are handed out as they are.
+ */
+@RequiredArgsConstructor
+public class ReferenceDataCacheManager extends AbstractCacheManager {
+
+    private final CacheManager targetCacheManager;
+    // copy function of the values by cache name
+    private final Map<String, UnaryOperator<Object>> copies;
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return targetCacheManager.getCacheNames().stream()
+                .map(targetCacheManager::getCache)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Nullable
+    protected Cache getMissingCache(String name) {
+        return targetCacheManager.getCache(name);
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        UnaryOperator<Object> copy = copies.get(cache.getName());
+        // copied before the put is deferred to the commit, the caller may change its dto in the meantime
+        return copy == null ? cache : new CopyingCache(new TransactionAwareCacheDecorator(cache), copy);
+    }
+}
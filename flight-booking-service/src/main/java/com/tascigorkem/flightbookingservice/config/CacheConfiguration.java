@@ -0,0 +1,78 @@
+package com.tascigorkem.flightbookingservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tascigorkem.flightbookingservice.cache.ReferenceDataCacheManager;
+import com.tascigorkem.flightbookingservice.dto.flight.AircraftDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirlineDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Caffeine caches of rarely changing reference data and of the fare calendars of hot routes, configured by "spring.cache.*",
+ * the fare calendars by "fare-calendar.cache-spec".
+ * Every cache name must also be listed in "spring.cache.cache-names",
+ * so it is created at startup and its metrics are bound to actuator.
+ * <p>
+ * The reference data caches hand out copies of their dtos and are written after commit, see {@link ReferenceDataCacheManager}.
+ * <p>
+ * The same entities are also kept in regions of the hibernate second level cache, configured in "application.conf",
+ * so their lazy references, e.g. the airports of a flight of a booking, are resolved without a select.
+ * Native statements writing a table name it in the hint HINT_NATIVE_SPACES, the "*_QUERY_SPACES" constants of the
+ * repositories: without it hibernate does not know which regions a statement touches and drops all of them.
+ */
+@EnableCaching
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+
+    public static final String AIRPORTS_CACHE = "airports";
+    public static final String AIRLINES_CACHE = "airlines";
+    public static final String AIRCRAFTS_CACHE = "aircrafts";
+    // months of a route, evicted by FareCalendarService on the instance where a flight of the route changes
+    public static final String FARE_CALENDARS_CACHE = "fareCalendars";
+
+    public static final String AIRPORT_REGION = "airport-entity";
+    public static final String AIRLINE_REGION = "airline-entity";
+    public static final String AIRCRAFT_REGION = "aircraft-entity";
+    public static final String REFERENCE_QUERY_REGION = "reference-queries";
+
+    /**
+     * Replaces the cache manager of spring boot, which backs off. Spring boot only binds the metrics of the caches
+     * it can unwrap to a caffeine cache, so the ones of the decorated reference data caches are bound here.
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties, FareCalendarProperties fareCalendarProperties,
+                                     MeterRegistry meterRegistry) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        if (cacheProperties.getCaffeine().getSpec() != null) {
+            caffeineCacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        }
+        caffeineCacheManager.setCacheNames(cacheProperties.getCacheNames());
+        // the other instances are not told about a change of a route, they serve its months until they expire
+        caffeineCacheManager.registerCustomCache(FARE_CALENDARS_CACHE,
+                Caffeine.from(fareCalendarProperties.getCacheSpec()).build());
+
+        // the fields of the dtos are immutable values, a shallow copy is a full one
+        Map<String, UnaryOperator<Object>> referenceDataCopies = Map.of(
+                AIRPORTS_CACHE, airportDto -> ((AirportDto) airportDto).toBuilder().build(),
+                AIRLINES_CACHE, airlineDto -> ((AirlineDto) airlineDto).toBuilder().build(),
+                AIRCRAFTS_CACHE, aircraftDto -> ((AircraftDto) aircraftDto).toBuilder().build());
+        referenceDataCopies.keySet().forEach(cacheName -> CaffeineCacheMetrics.monitor(meterRegistry,
+                ((CaffeineCache) Objects.requireNonNull(caffeineCacheManager.getCache(cacheName))).getNativeCache(),
+                cacheName, "cacheManager", "cacheManager"));
+        return new ReferenceDataCacheManager(caffeineCacheManager, referenceDataCopies);
+    }
+}
@@ -0,0 +1,138 @@
+package com.tascigorkem.flightbookingservice.config;
+
+import com.tascigorkem.flightbookingservice.datasource.Replica;
+import com.tascigorkem.flightbookingservice.datasource.ReplicaMonitor;
+import com.tascigorkem.flightbookingservice.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceInitializationMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The "spring.datasource" primary takes all read-write transactions,
+ * read-only transactions are routed to the replicas of "datasource-routing.replicas" while they are available.
+ * Without replicas everything goes to the primary.
+ * <p>
+ * Every pool publishes the "hikaricp.connections.*" metrics tagged with its pool name, "primary" or "replica-{name}".
+ * <p>
+ * DataSourceAutoConfiguration backs off while the r2dbc ConnectionFactory of the reactive reads exists, so the
+ * "spring.datasource" properties are bound here and its schema and data scripts are run on the primary here,
+ * before the routing data source and with it the entity manager factory is created.
+ */
+@Configuration
+@EnableConfigurationProperties({DataSourceRoutingProperties.class, DataSourceProperties.class})
+public class DataSourceRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaMonitor replicaMonitor(DataSourceRoutingProperties routingProperties,
+                                         DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        List<Replica> replicas = routingProperties.getReplicas().stream()
+                .map(replicaProperties -> new Replica(replicaProperties.getName(),
+                        replicaDataSource(replicaProperties, dataSourceProperties, meterRegistry),
+                        routingProperties.getMaxLag()))
+                .collect(Collectors.toList());
+        return new ReplicaMonitor(replicas, routingProperties.getCheckInterval(), meterRegistry);
+    }
+
+    @Bean
+    public DataSourceInitializer primaryDataSourceInitializer(HikariDataSource primaryDataSource,
+                                                              DataSourceProperties dataSourceProperties,
+                                                              ResourceLoader resourceLoader) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        populator.setContinueOnError(dataSourceProperties.isContinueOnError());
+        populator.setSeparator(dataSourceProperties.getSeparator());
+        if (dataSourceProperties.getSqlScriptEncoding() != null) {
+            populator.setSqlScriptEncoding(dataSourceProperties.getSqlScriptEncoding().name());
+        }
+        String platform = dataSourceProperties.getPlatform();
+        getScripts(dataSourceProperties.getSchema(), "schema", platform, resourceLoader).forEach(populator::addScript);
+        getScripts(dataSourceProperties.getData(), "data", platform, resourceLoader).forEach(populator::addScript);
+
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(primaryDataSource);
+        initializer.setDatabasePopulator(populator);
+        initializer.setEnabled(dataSourceProperties.getInitializationMode() == DataSourceInitializationMode.ALWAYS);
+        return initializer;
+    }
+
+    @Bean
+    @Primary
+    @DependsOn("primaryDataSourceInitializer")
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaMonitor replicaMonitor,
+                                 DataSourceRoutingProperties routingProperties) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource,
+                replicaMonitor.getReplicas(), routingProperties.getStrategy()));
+    }
+
+    /**
+     * @return scripts of the given locations, or of "classpath*:{fallback}-{platform}.sql" and "classpath*:{fallback}.sql"
+     * like DataSourceAutoConfiguration, the ones which do not exist are left out
+     */
+    private static List<Resource> getScripts(List<String> locations, String fallback, String platform,
+                                             ResourceLoader resourceLoader) {
+        if (locations == null) {
+            locations = List.of("classpath*:" + fallback + "-" + platform + ".sql", "classpath*:" + fallback + ".sql");
+        }
+        List<Resource> scripts = new ArrayList<>();
+        try {
+            for (String location : locations) {
+                for (Resource script : ResourcePatternUtils.getResourcePatternResolver(resourceLoader).getResources(location)) {
+                    if (script.exists()) {
+                        scripts.add(script);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not resolve the " + fallback + " scripts", e);
+        }
+        return scripts;
+    }
+
+    private static HikariDataSource replicaDataSource(DataSourceRoutingProperties.ReplicaProperties replicaProperties,
+                                                      DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica-" + replicaProperties.getName());
+        config.setJdbcUrl(replicaProperties.getUrl());
+        config.setUsername(replicaProperties.getUsername() != null
+                ? replicaProperties.getUsername() : dataSourceProperties.determineUsername());
+        config.setPassword(replicaProperties.getPassword() != null
+                ? replicaProperties.getPassword() : dataSourceProperties.determinePassword());
+        config.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        config.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+        config.setReadOnly(true);
+        // start even if the replica is down, the monitor finds it when it is up
+        config.setInitializationFailTimeout(-1);
+        // the replica pools are no beans, so the metrics are not bound by spring boot
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,47 @@
+package com.tascigorkem.flightbookingservice.config;
+
+import com.tascigorkem.flightbookingservice.datasource.ReplicaRoutingStrategy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas of the "spring.datasource" primary, configured by "datasource-routing.*".
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datasource-routing")
+public class DataSourceRoutingProperties {
+
+    private ReplicaRoutingStrategy strategy = ReplicaRoutingStrategy.ROUND_ROBIN;
+
+    // replicas further behind the primary are skipped until they catch up
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    private Duration checkInterval = Duration.ofSeconds(5);
+
+    private List<ReplicaProperties> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class ReplicaProperties {
+
+        private String name;
+
+        private String url;
+
+        // username and password of the primary if not set
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 5;
+
+        // short, so a replica which has just gone down delays a read only shortly before falling back to the primary
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+}
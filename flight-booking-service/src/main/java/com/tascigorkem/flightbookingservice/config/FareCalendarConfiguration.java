@@ -0,0 +1,14 @@
+package com.tascigorkem.flightbookingservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * The fare calendar is updated with every flight change, and rebuilt from the flights by "fare-calendar.rebuild-cron".
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(FareCalendarProperties.class)
+public class FareCalendarConfiguration {
+}
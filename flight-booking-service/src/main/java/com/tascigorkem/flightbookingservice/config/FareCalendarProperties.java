@@ -0,0 +1,23 @@
+package com.tascigorkem.flightbookingservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Rebuild of the fare calendar, configured by "fare-calendar.*".
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "fare-calendar")
+public class FareCalendarProperties {
+
+    // spring cron expression, "-" to rebuild only at startup if the calendar is empty
+    private String rebuildCron = "0 0 3 * * *";
+
+    // departure airports rebuilt at once, each chunk takes one connection of the pool
+    private int rebuildParallelism = 3;
+
+    // caffeine spec of the "fareCalendars" cache, its expiry bounds how long another instance serves a changed month
+    private String cacheSpec = "maximumSize=1000,expireAfterWrite=30s,recordStats";
+}
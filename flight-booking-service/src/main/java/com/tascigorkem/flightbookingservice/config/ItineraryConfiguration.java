@@ -0,0 +1,15 @@
+package com.tascigorkem.flightbookingservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * The itinerary graph is updated with every flight change of this instance, reconciled with the changes of the other
+ * instances every "itinerary.reconcile-interval" and reloaded from the flights by "itinerary.reload-cron".
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ItineraryProperties.class)
+public class ItineraryConfiguration {
+}
@@ -0,0 +1,25 @@
+package com.tascigorkem.flightbookingservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Reconciliation of the in-memory itinerary graph with the flights, configured by "itinerary.*".
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "itinerary")
+public class ItineraryProperties {
+
+    // wait between two reconciliations with the flights changed by the other instances, ISO-8601 like PT30S
+    private Duration reconcileInterval = Duration.ofSeconds(30);
+
+    // flights updated this long before the last reconciliation are read again, covers long transactions and clock skew
+    private Duration reconcileOverlap = Duration.ofMinutes(2);
+
+    // spring cron expression of the full reload of the graph, which also drops flights deleted from the table
+    private String reloadCron = "0 0 4 * * *";
+}
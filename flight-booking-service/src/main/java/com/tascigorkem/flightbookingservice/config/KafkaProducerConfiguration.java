@@ -1,22 +1,37 @@
 package com.tascigorkem.flightbookingservice.config;
 
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import com.tascigorkem.flightbookingservice.service.kafka.MeteredKafkaTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * The producer settings are the spring.kafka.producer ones of application.yml. Besides the delivery timer of
+ * {@link MeteredKafkaTemplate}, the metrics of the producer client itself are bound to micrometer, e.g.
+ * kafka.producer.batch.size.avg, kafka.producer.compression.rate.avg and kafka.producer.record.queue.time.avg
+ * to see how full the batches get within linger.ms.
+ * Email messages are written by the value-serializer of application.yml, the KafkaEmailMessageSerializer
+ * of event-contract, plain string messages by their own template.
+ */
 @Configuration
 public class KafkaProducerConfiguration {
 
     private final KafkaProperties kafkaProperties;
+    private final MeterRegistry meterRegistry;
 
-    public KafkaProducerConfiguration(KafkaProperties kafkaProperties) {
+    public KafkaProducerConfiguration(KafkaProperties kafkaProperties, MeterRegistry meterRegistry) {
         this.kafkaProperties = kafkaProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
@@ -29,12 +44,27 @@ public class KafkaProducerConfiguration {
     }
 
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    public ProducerFactory<String, KafkaEmailMessageDto> producerFactory() {
+        DefaultKafkaProducerFactory<String, KafkaEmailMessageDto> producerFactory = new DefaultKafkaProducerFactory<>(producerConfigs());
+        producerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return producerFactory;
     }
 
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, KafkaEmailMessageDto> kafkaTemplate() {
+        return new MeteredKafkaTemplate<>(producerFactory(), meterRegistry);
+    }
+
+    @Bean
+    public ProducerFactory<String, String> stringProducerFactory() {
+        DefaultKafkaProducerFactory<String, String> producerFactory = new DefaultKafkaProducerFactory<>(producerConfigs(),
+                new StringSerializer(), new StringSerializer());
+        producerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return producerFactory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> stringKafkaTemplate() {
+        return new MeteredKafkaTemplate<>(stringProducerFactory(), meterRegistry);
     }
 }
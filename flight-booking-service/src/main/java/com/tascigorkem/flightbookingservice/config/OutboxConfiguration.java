@@ -0,0 +1,15 @@
+package com.tascigorkem.flightbookingservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Booking events are written to the outbox with their booking, relayed to kafka by OutboxRelay
+ * and deleted after "booking-outbox.retention" by "booking-outbox.cleanup-cron".
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfiguration {
+}
@@ -0,0 +1,47 @@
+package com.tascigorkem.flightbookingservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Relay of the booking events from the outbox_event table to kafka, configured by "booking-outbox.*".
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking-outbox")
+public class OutboxProperties {
+
+    // topic of the booking events, consumed by mail-service
+    private String topic = "my-object-topic";
+
+    // false on instances which only write events, the relays of several instances skip each other's batches
+    private boolean relayEnabled = true;
+
+    // events sent by one relay transaction
+    private int batchSize = 100;
+
+    // wait of the relay after a batch which was not full
+    private Duration linger = Duration.ofMillis(500);
+
+    // wait for the acknowledgements of a batch, the events without one are sent again after "backoff"
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    // failed sends of an event after which it is parked, never sent again and no longer holding back its booking's events,
+    // with the default backoffs about two hours, so that a broker outage does not park every event
+    private int maxAttempts = 20;
+
+    // wait before an event is sent again after its first failed send, doubled by every further one
+    private Duration backoff = Duration.ofSeconds(1);
+
+    // upper bound of the doubled "backoff"
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    // sent events are deleted after it by "cleanup-cron"
+    private Duration retention = Duration.ofDays(7);
+
+    // spring cron expression of the deletion of sent events
+    private String cleanupCron = "0 30 3 * * *";
+}
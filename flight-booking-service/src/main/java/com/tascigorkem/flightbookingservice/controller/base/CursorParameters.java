@@ -0,0 +1,23 @@
+package com.tascigorkem.flightbookingservice.controller.base;
+
+/**
+ * Request parameters of the cursor (keyset) mode of list endpoints, "?after={cursor}&size={size}".
+ * An empty "after" starts from the first row.
+ */
+public final class CursorParameters {
+
+    public static final String AFTER = "after";
+    public static final String SIZE = "size";
+    public static final String DEFAULT_SIZE = "20";
+
+    // same upper bound as the offset paging of spring data web support
+    private static final int MAX_SIZE = 2000;
+
+    private CursorParameters() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static int limit(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
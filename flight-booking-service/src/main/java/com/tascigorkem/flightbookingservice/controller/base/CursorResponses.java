@@ -0,0 +1,60 @@
+package com.tascigorkem.flightbookingservice.controller.base;
+
+import com.tascigorkem.flightbookingservice.exception.badrequest.InvalidCursorException;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Responses of the cursor (keyset) mode of list endpoints, see {@link CursorParameters}.
+ * The "self" link and the "next" link, sent if another slice exists, are the collection href of the controller
+ * with the cursor parameters.
+ */
+public final class CursorResponses {
+
+    private CursorResponses() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param links   link hrefs of the controller
+     * @param after   value of the "after" parameter, empty for the first slice
+     * @param size    value of the "size" parameter, limited by {@link CursorParameters#limit(int)} before reading
+     * @param read    service read of the slice after the cursor, null for the first slice
+     * @param toModel entity model of a dto with its links
+     * @throws InvalidCursorException if "after" is not a cursor token
+     */
+    public static <T> ResponseEntity<CollectionModel<EntityModel<T>>> ok(ResourceLinkAssembler links, String after, int size,
+                                                                         BiFunction<Cursor, Integer, CursorSlice<T>> read,
+                                                                         Function<T, EntityModel<T>> toModel) {
+        CursorSlice<T> slice = read.apply(Cursor.decode(after), CursorParameters.limit(size));
+
+        CollectionModel<EntityModel<T>> collectionModel = CollectionModel.of(slice.getContent().stream()
+                .map(toModel)
+                .collect(Collectors.toList()));
+        collectionModel.add(link(links, after, size, IanaLinkRelations.SELF));
+        if (slice.hasNext()) {
+            collectionModel.add(link(links, slice.getNext().encode(), size, IanaLinkRelations.NEXT));
+        }
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    private static Link link(ResourceLinkAssembler links, String after, int size, LinkRelation relation) {
+        String href = UriComponentsBuilder.fromUriString(links.collectionHref())
+                .queryParam(CursorParameters.AFTER, after)
+                .queryParam(CursorParameters.SIZE, size)
+                .toUriString();
+        return Link.of(href, relation);
+    }
+}
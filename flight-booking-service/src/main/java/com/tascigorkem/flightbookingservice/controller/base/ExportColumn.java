@@ -0,0 +1,17 @@
+package com.tascigorkem.flightbookingservice.controller.base;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Function;
+
+/**
+ * A csv column of an export, its header and the value of a row.
+ */
+@Getter
+@RequiredArgsConstructor(staticName = "of")
+public class ExportColumn<T> {
+
+    private final String header;
+    private final Function<T, Object> value;
+}
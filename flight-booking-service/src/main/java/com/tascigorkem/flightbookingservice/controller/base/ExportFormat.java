@@ -0,0 +1,31 @@
+package com.tascigorkem.flightbookingservice.controller.base;
+
+import com.tascigorkem.flightbookingservice.exception.badrequest.InvalidExportFormatException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+/**
+ * Formats of the "/export" endpoints, "?format=ndjson" (default) or "?format=csv".
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    public static final String PARAMETER = "format";
+    public static final String DEFAULT = "ndjson";
+
+    private final String contentType;
+    private final String fileExtension;
+
+    public static ExportFormat of(String format) {
+        try {
+            return valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidExportFormatException(format);
+        }
+    }
+}
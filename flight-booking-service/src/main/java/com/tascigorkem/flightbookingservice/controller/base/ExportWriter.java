@@ -0,0 +1,120 @@
+package com.tascigorkem.flightbookingservice.controller.base;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes the rows of an export straight to the response body one by one, nothing is collected in memory.
+ * Newline delimited json rows are written with the ObjectMapper of the application,
+ * csv rows with the given columns.
+ */
+public abstract class ExportWriter<T> implements Consumer<T>, Closeable {
+
+    public static <T> ExportWriter<T> of(ExportFormat format, OutputStream outputStream,
+                                         ObjectMapper objectMapper, Class<T> rowType, List<ExportColumn<T>> columns) {
+        return format == ExportFormat.CSV
+                ? new CsvExportWriter<>(outputStream, columns)
+                : new NdjsonExportWriter<>(outputStream, objectMapper.writerFor(rowType));
+    }
+
+    @Override
+    public void accept(T row) {
+        try {
+            write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract void write(T row) throws IOException;
+
+    private static class NdjsonExportWriter<T> extends ExportWriter<T> {
+
+        private final OutputStream outputStream;
+        private final ObjectWriter objectWriter;
+
+        NdjsonExportWriter(OutputStream outputStream, ObjectWriter objectWriter) {
+            this.outputStream = outputStream;
+            this.objectWriter = objectWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        protected void write(T row) throws IOException {
+            objectWriter.writeValue(outputStream, row);
+            outputStream.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputStream.flush();
+        }
+    }
+
+    private static class CsvExportWriter<T> extends ExportWriter<T> {
+
+        private final Writer writer;
+        private final List<ExportColumn<T>> columns;
+        private boolean headerWritten;
+
+        CsvExportWriter(OutputStream outputStream, List<ExportColumn<T>> columns) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            this.columns = columns;
+        }
+
+        @Override
+        protected void write(T row) throws IOException {
+            writeHeaderOnce();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).getValue().apply(row);
+                if (value != null) {
+                    writer.write(escape(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            // an empty export still has the header
+            writeHeaderOnce();
+            writer.flush();
+        }
+
+        private void writeHeaderOnce() throws IOException {
+            if (headerWritten) {
+                return;
+            }
+            headerWritten = true;
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(columns.get(i).getHeader()));
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180, quote fields with separators, quotes or line breaks
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
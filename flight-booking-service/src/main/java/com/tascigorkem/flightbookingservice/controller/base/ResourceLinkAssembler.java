@@ -0,0 +1,77 @@
+package com.tascigorkem.flightbookingservice.controller.base;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.UUID;
+
+/**
+ * Link hrefs of a resource controller, "/resources" and "/resources/{id}".
+ * The paths are resolved from the controller mapping once, and expanded per item by plain string concatenation
+ * instead of recording a {@code linkTo(methodOn(...))} proxy invocation per link.
+ * The base uri is taken the same way {@code WebMvcLinkBuilder} does, once per request,
+ * so the hrefs are identical to the ones of {@code linkTo}.
+ */
+public final class ResourceLinkAssembler {
+
+    private static final String BASE_URI_ATTRIBUTE = ResourceLinkAssembler.class.getName() + ".BASE_URI";
+
+    private final String collectionPath;
+    private final String itemPathPrefix;
+    // null for the base uri of the request being handled
+    private final String baseUri;
+
+    private ResourceLinkAssembler(String collectionPath, String baseUri) {
+        this.collectionPath = collectionPath;
+        this.itemPathPrefix = collectionPath + "/";
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * @param controllerClass controller with a class level {@link RequestMapping} and "/{id}" item mappings
+     */
+    public static ResourceLinkAssembler of(Class<?> controllerClass) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(controllerClass, RequestMapping.class);
+        if (mapping == null || mapping.path().length == 0) {
+            throw new IllegalArgumentException("No request mapping path on " + controllerClass.getName());
+        }
+        String path = mapping.path()[0];
+        return new ResourceLinkAssembler(path.startsWith("/") ? path : "/" + path, null);
+    }
+
+    /**
+     * @return the same hrefs with the base uri of the current request resolved now,
+     * for links assembled on another thread, e.g. when a reactive result completes
+     */
+    public ResourceLinkAssembler withCurrentBaseUri() {
+        return new ResourceLinkAssembler(collectionPath, currentBaseUri());
+    }
+
+    public String collectionHref() {
+        return baseUri() + collectionPath;
+    }
+
+    public String itemHref(UUID id) {
+        return baseUri() + itemPathPrefix + id;
+    }
+
+    private String baseUri() {
+        return baseUri != null ? baseUri : currentBaseUri();
+    }
+
+    private static String currentBaseUri() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return "";
+        }
+        String baseUri = (String) requestAttributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            requestAttributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+}
@@ -0,0 +1,87 @@
+package com.tascigorkem.flightbookingservice.controller.base;
+
+import com.tascigorkem.flightbookingservice.dto.base.BaseDto;
+import com.tascigorkem.flightbookingservice.exception.badrequest.InvalidIfMatchException;
+import com.tascigorkem.flightbookingservice.exception.conflict.VersionConflictException;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Responses of versioned resources, the version is sent as a strong entity tag "ETag: "{version}"".
+ * PUT requests may send it back as "If-Match", it takes precedence over the version of the body.
+ * A conflicting update is answered with 409 and the current representation, so the client can reapply its change and retry.
+ */
+public final class VersionedResponses {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private VersionedResponses() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static <T extends BaseDto> ResponseEntity<EntityModel<T>> ok(T dto, Function<T, EntityModel<T>> toModel) {
+        return withETag(ResponseEntity.ok(), dto).body(toModel.apply(dto));
+    }
+
+    /**
+     * @param dto     fields of the update, with the id of the resource
+     * @param ifMatch value of the "If-Match" header, null if not sent
+     * @param update  service update, throwing {@link VersionConflictException} on a stale version
+     * @param current service read of the committed resource by id, on the primary and past the caches
+     */
+    public static <T extends BaseDto> ResponseEntity<EntityModel<T>> update(T dto, @Nullable String ifMatch,
+                                                                           UnaryOperator<T> update,
+                                                                           Function<UUID, T> current,
+                                                                           Function<T, EntityModel<T>> toModel) {
+        Long expectedVersion = parseIfMatch(ifMatch);
+        if (expectedVersion != null) {
+            dto.setVersion(expectedVersion);
+        }
+        try {
+            return ok(update.apply(dto), toModel);
+        } catch (VersionConflictException e) {
+            T currentDto = current.apply(dto.getId());
+            return withETag(ResponseEntity.status(HttpStatus.CONFLICT), currentDto).body(toModel.apply(currentDto));
+        }
+    }
+
+    /**
+     * @return the version of the "If-Match" header, null if it is not sent or "*"
+     * @throws InvalidIfMatchException if it is not a single entity tag of a version
+     */
+    @Nullable
+    public static Long parseIfMatch(@Nullable String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().isEmpty() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith(WEAK_PREFIX)) {
+            tag = tag.substring(WEAK_PREFIX.length());
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new InvalidIfMatchException(ifMatch);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new InvalidIfMatchException(ifMatch);
+        }
+    }
+
+    @Nullable
+    public static String eTagOf(BaseDto dto) {
+        return dto.getVersion() == null ? null : "\"" + dto.getVersion() + "\"";
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, BaseDto dto) {
+        String eTag = eTagOf(dto);
+        return eTag == null ? builder : builder.eTag(eTag);
+    }
+}
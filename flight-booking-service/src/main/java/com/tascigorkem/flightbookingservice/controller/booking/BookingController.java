@@ -1,27 +1,40 @@
 package com.tascigorkem.flightbookingservice.controller.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tascigorkem.flightbookingservice.controller.base.CursorParameters;
+import com.tascigorkem.flightbookingservice.controller.base.CursorResponses;
+import com.tascigorkem.flightbookingservice.controller.base.ExportColumn;
+import com.tascigorkem.flightbookingservice.controller.base.ExportFormat;
+import com.tascigorkem.flightbookingservice.controller.base.ExportWriter;
+import com.tascigorkem.flightbookingservice.controller.base.ResourceLinkAssembler;
+import com.tascigorkem.flightbookingservice.controller.base.VersionedResponses;
 import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
+import com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto;
 import com.tascigorkem.flightbookingservice.service.booking.BookingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Slf4j
 @RequiredArgsConstructor
 // hateoas - application/hal+json (hypertext application language)
@@ -30,8 +43,30 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/bookings")
 public class BookingController {
 
+    private static final ResourceLinkAssembler LINKS = ResourceLinkAssembler.of(BookingController.class);
+
+    private static final List<ExportColumn<BookingSummaryDto>> EXPORT_COLUMNS = Arrays.asList(
+            ExportColumn.of("id", BookingSummaryDto::getId),
+            ExportColumn.of("state", BookingSummaryDto::getState),
+            ExportColumn.of("paymentDate", BookingSummaryDto::getPaymentDate),
+            ExportColumn.of("paymentAmount", BookingSummaryDto::getPaymentAmount),
+            ExportColumn.of("insurance", BookingSummaryDto::isInsurance),
+            ExportColumn.of("luggage", BookingSummaryDto::getLuggage),
+            ExportColumn.of("customerId", BookingSummaryDto::getCustomerId),
+            ExportColumn.of("customerName", BookingSummaryDto::getCustomerName),
+            ExportColumn.of("customerSurname", BookingSummaryDto::getCustomerSurname),
+            ExportColumn.of("customerEmail", BookingSummaryDto::getCustomerEmail),
+            ExportColumn.of("flightId", BookingSummaryDto::getFlightId),
+            ExportColumn.of("departureAirportCode", BookingSummaryDto::getDepartureAirportCode),
+            ExportColumn.of("destinationAirportCode", BookingSummaryDto::getDestinationAirportCode),
+            ExportColumn.of("departureDate", BookingSummaryDto::getDepartureDate),
+            ExportColumn.of("creationTime", BookingSummaryDto::getCreationTime),
+            ExportColumn.of("updateTime", BookingSummaryDto::getUpdateTime)
+    );
+
     private final BookingService bookingService;
-    private final PagedResourcesAssembler<BookingDto> pagedResourcesAssembler;
+    private final PagedResourcesAssembler<BookingSummaryDto> pagedResourcesAssembler;
+    private final ObjectMapper objectMapper;
 
     protected static EntityModel<BookingDto> toEntityModelWithLinks(BookingDto bookingDto) {
         EntityModel<BookingDto> bookingDtoEntityModel = EntityModel.of(bookingDto);
@@ -41,28 +76,83 @@ public class BookingController {
 
     protected static void setLinks(EntityModel<BookingDto> bookingDtoEntityModel) {
         BookingDto bookingDto = Objects.requireNonNull(bookingDtoEntityModel.getContent());
-        bookingDtoEntityModel.add(linkTo(methodOn(BookingController.class).getBookingById(bookingDto.getId())).withRel("get-booking-by-id-GET"));
-        bookingDtoEntityModel.add(linkTo(BookingController.class).withRel("all-bookings-GET"));
-        bookingDtoEntityModel.add(linkTo(BookingController.class).withRel("add-booking-POST"));
-        bookingDtoEntityModel.add(linkTo(methodOn(BookingController.class).updateBooking(bookingDto.getId(), bookingDto)).withRel("update-booking-by-id-with-body-PUT"));
-        bookingDtoEntityModel.add(linkTo(methodOn(BookingController.class).removeBooking(bookingDto.getId())).withRel("remove-booking-by-id-DELETE"));
+        String itemHref = LINKS.itemHref(bookingDto.getId());
+        String collectionHref = LINKS.collectionHref();
+        bookingDtoEntityModel.add(Link.of(itemHref, "get-booking-by-id-GET"));
+        bookingDtoEntityModel.add(Link.of(collectionHref, "all-bookings-GET"));
+        bookingDtoEntityModel.add(Link.of(collectionHref, "add-booking-POST"));
+        bookingDtoEntityModel.add(Link.of(itemHref, "update-booking-by-id-with-body-PUT"));
+        bookingDtoEntityModel.add(Link.of(itemHref, "remove-booking-by-id-DELETE"));
+    }
+
+    protected static EntityModel<BookingSummaryDto> toSummaryEntityModelWithLinks(BookingSummaryDto bookingSummaryDto) {
+        EntityModel<BookingSummaryDto> bookingSummaryDtoEntityModel = EntityModel.of(bookingSummaryDto);
+        setSummaryLinks(bookingSummaryDtoEntityModel);
+        return bookingSummaryDtoEntityModel;
+    }
+
+    protected static void setSummaryLinks(EntityModel<BookingSummaryDto> bookingSummaryDtoEntityModel) {
+        BookingSummaryDto bookingSummaryDto = Objects.requireNonNull(bookingSummaryDtoEntityModel.getContent());
+        String itemHref = LINKS.itemHref(bookingSummaryDto.getId());
+        String collectionHref = LINKS.collectionHref();
+        bookingSummaryDtoEntityModel.add(Link.of(itemHref, "get-booking-by-id-GET"));
+        bookingSummaryDtoEntityModel.add(Link.of(collectionHref, "all-bookings-GET"));
+        bookingSummaryDtoEntityModel.add(Link.of(collectionHref, "add-booking-POST"));
+        bookingSummaryDtoEntityModel.add(Link.of(itemHref, "update-booking-by-id-with-body-PUT"));
+        bookingSummaryDtoEntityModel.add(Link.of(itemHref, "remove-booking-by-id-DELETE"));
     }
 
     /**
      * Handles the incoming GET request "/bookings"
      *
-     * @return retrieve all non-deleted bookings
-     * @see com.tascigorkem.flightbookingservice.dto.booking.BookingDto
+     * @return retrieve all non-deleted bookings as flat summaries
+     * @see com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto
      */
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<PagedModel<EntityModel<BookingDto>>> getAllBookings(Pageable pageable) {
-        PagedModel<EntityModel<BookingDto>> pagedModel = pagedResourcesAssembler.toModel(
+    public ResponseEntity<PagedModel<EntityModel<BookingSummaryDto>>> getAllBookings(Pageable pageable) {
+        PagedModel<EntityModel<BookingSummaryDto>> pagedModel = pagedResourcesAssembler.toModel(
                 bookingService.getAllBookings(pageable));
-        pagedModel.getContent().forEach(BookingController::setLinks);
+        pagedModel.getContent().forEach(BookingController::setSummaryLinks);
 
         return ResponseEntity.ok(pagedModel);
     }
 
+    /**
+     * Handles the incoming GET request "/bookings?after={cursor}&size={size}"
+     *
+     * @param after cursor of the last booking of the previous slice, empty for the first slice
+     * @param size  maximum number of bookings in the slice
+     * @return retrieve a slice of non-deleted bookings ordered by creation time, with a "next" link if more exist
+     * @see com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto
+     */
+    @GetMapping(params = CursorParameters.AFTER, produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<CollectionModel<EntityModel<BookingSummaryDto>>> getAllBookingsAfter(
+            @RequestParam(CursorParameters.AFTER) String after,
+            @RequestParam(value = CursorParameters.SIZE, defaultValue = CursorParameters.DEFAULT_SIZE) int size) {
+        return CursorResponses.ok(LINKS, after, size,
+                bookingService::getAllBookingsAfter, BookingController::toSummaryEntityModelWithLinks);
+    }
+
+    /**
+     * Handles the incoming GET request "/bookings/export?format={ndjson|csv}"
+     * Streams every non-deleted booking to the response body while it is read from the database.
+     *
+     * @param format "ndjson" (default) or "csv"
+     * @see com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto
+     */
+    @GetMapping("/export")
+    public void exportBookings(@RequestParam(value = ExportFormat.PARAMETER, defaultValue = ExportFormat.DEFAULT) String format,
+                               HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + exportFormat.getFileExtension() + "\"");
+
+        try (ExportWriter<BookingSummaryDto> exportWriter = ExportWriter.of(exportFormat, response.getOutputStream(),
+                objectMapper, BookingSummaryDto.class, EXPORT_COLUMNS)) {
+            bookingService.exportBookings(exportWriter);
+        }
+    }
+
     /**
      * Handles the incoming GET request "/bookings/{id}"
      *
@@ -72,9 +162,7 @@ public class BookingController {
      */
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<EntityModel<BookingDto>> getBookingById(@PathVariable("id") UUID id) {
-        return ResponseEntity.ok(
-                toEntityModelWithLinks(bookingService.getBookingById(id))
-        );
+        return VersionedResponses.ok(bookingService.getBookingById(id), BookingController::toEntityModelWithLinks);
     }
 
     /**
@@ -97,16 +185,17 @@ public class BookingController {
     /**
      * Handles the incoming PUT request "/bookings/{id}"
      *
-     * @param id of the booking to be updated
-     * @return updated booking
+     * @param id      of the booking to be updated
+     * @param ifMatch optional "If-Match" entity tag of the version the update is based on
+     * @return updated booking, or 409 with the current booking if it has been modified in the meantime
      * @see com.tascigorkem.flightbookingservice.dto.booking.BookingDto
      */
     @PutMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<EntityModel<BookingDto>> updateBooking(@PathVariable("id") UUID id, @RequestBody BookingDto bookingDto) {
+    public ResponseEntity<EntityModel<BookingDto>> updateBooking(@PathVariable("id") UUID id, @RequestBody BookingDto bookingDto,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         bookingDto.setId(id);
-        return ResponseEntity.ok(
-                toEntityModelWithLinks(bookingService.updateBooking(bookingDto))
-        );
+        return VersionedResponses.update(bookingDto, ifMatch, bookingService::updateBooking,
+                bookingService::getCurrentBookingById, BookingController::toEntityModelWithLinks);
     }
 
     /**
@@ -1,15 +1,22 @@
 package com.tascigorkem.flightbookingservice.controller.customer;
 
+import com.tascigorkem.flightbookingservice.controller.base.CursorParameters;
+import com.tascigorkem.flightbookingservice.controller.base.CursorResponses;
+import com.tascigorkem.flightbookingservice.controller.base.ResourceLinkAssembler;
+import com.tascigorkem.flightbookingservice.controller.base.VersionedResponses;
 import com.tascigorkem.flightbookingservice.dto.customer.CustomerDto;
 import com.tascigorkem.flightbookingservice.service.customer.CustomerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -19,9 +26,6 @@ import java.net.URI;
 import java.util.Objects;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Slf4j
 @RequiredArgsConstructor
 // hateoas - application/hal+json (hypertext application language)
@@ -30,6 +34,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/customers")
 public class CustomerController {
 
+    private static final ResourceLinkAssembler LINKS = ResourceLinkAssembler.of(CustomerController.class);
+
     private final CustomerService customerService;
     private final PagedResourcesAssembler<CustomerDto> pagedResourcesAssembler;
 
@@ -41,11 +47,13 @@ public class CustomerController {
 
     protected static void setLinks(EntityModel<CustomerDto> customerDtoEntityModel) {
         CustomerDto customerDto = Objects.requireNonNull(customerDtoEntityModel.getContent());
-        customerDtoEntityModel.add(linkTo(methodOn(CustomerController.class).getCustomerById(customerDto.getId())).withRel("get-customer-by-id-GET"));
-        customerDtoEntityModel.add(linkTo(CustomerController.class).withRel("all-customers-GET"));
-        customerDtoEntityModel.add(linkTo(CustomerController.class).withRel("add-customer-POST"));
-        customerDtoEntityModel.add(linkTo(methodOn(CustomerController.class).updateCustomer(customerDto.getId(), customerDto)).withRel("update-customer-by-id-with-body-PUT"));
-        customerDtoEntityModel.add(linkTo(methodOn(CustomerController.class).removeCustomer(customerDto.getId())).withRel("remove-customer-by-id-DELETE"));
+        String itemHref = LINKS.itemHref(customerDto.getId());
+        String collectionHref = LINKS.collectionHref();
+        customerDtoEntityModel.add(Link.of(itemHref, "get-customer-by-id-GET"));
+        customerDtoEntityModel.add(Link.of(collectionHref, "all-customers-GET"));
+        customerDtoEntityModel.add(Link.of(collectionHref, "add-customer-POST"));
+        customerDtoEntityModel.add(Link.of(itemHref, "update-customer-by-id-with-body-PUT"));
+        customerDtoEntityModel.add(Link.of(itemHref, "remove-customer-by-id-DELETE"));
     }
 
     /**
@@ -63,6 +71,22 @@ public class CustomerController {
         return ResponseEntity.ok(pagedModel);
     }
 
+    /**
+     * Handles the incoming GET request "/customers?after={cursor}&size={size}"
+     *
+     * @param after cursor of the last customer of the previous slice, empty for the first slice
+     * @param size  maximum number of customers in the slice
+     * @return retrieve a slice of non-deleted customers ordered by creation time, with a "next" link if more exist
+     * @see com.tascigorkem.flightbookingservice.dto.customer.CustomerDto
+     */
+    @GetMapping(params = CursorParameters.AFTER, produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<CollectionModel<EntityModel<CustomerDto>>> getAllCustomersAfter(
+            @RequestParam(CursorParameters.AFTER) String after,
+            @RequestParam(value = CursorParameters.SIZE, defaultValue = CursorParameters.DEFAULT_SIZE) int size) {
+        return CursorResponses.ok(LINKS, after, size,
+                customerService::getAllCustomersAfter, CustomerController::toEntityModelWithLinks);
+    }
+
     /**
      * Handles the incoming GET request "/customers/{id}"
      *
@@ -72,9 +96,7 @@ public class CustomerController {
      */
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<EntityModel<CustomerDto>> getCustomerById(@PathVariable("id") UUID id) {
-        return ResponseEntity.ok(
-                toEntityModelWithLinks(customerService.getCustomerById(id))
-        );
+        return VersionedResponses.ok(customerService.getCustomerById(id), CustomerController::toEntityModelWithLinks);
     }
 
     /**
@@ -97,16 +119,17 @@ public class CustomerController {
     /**
      * Handles the incoming PUT request "/customers/{id}"
      *
-     * @param id of the customer to be updated
-     * @return updated customer
+     * @param id      of the customer to be updated
+     * @param ifMatch optional "If-Match" entity tag of the version the update is based on
+     * @return updated customer, or 409 with the current customer if it has been modified in the meantime
      * @see com.tascigorkem.flightbookingservice.dto.customer.CustomerDto
      */
     @PutMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<EntityModel<CustomerDto>> updateCustomer(@PathVariable("id") UUID id, @RequestBody CustomerDto customerDto) {
+    public ResponseEntity<EntityModel<CustomerDto>> updateCustomer(@PathVariable("id") UUID id, @RequestBody CustomerDto customerDto,
+                                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         customerDto.setId(id);
-        return ResponseEntity.ok(
-                toEntityModelWithLinks(customerService.updateCustomer(customerDto))
-        );
+        return VersionedResponses.update(customerDto, ifMatch, customerService::updateCustomer,
+                customerService::getCurrentCustomerById, CustomerController::toEntityModelWithLinks);
     }
 
     /**
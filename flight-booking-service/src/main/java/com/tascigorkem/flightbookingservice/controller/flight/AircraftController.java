@@ -1,15 +1,22 @@
 package com.tascigorkem.flightbookingservice.controller.flight;
 
+import com.tascigorkem.flightbookingservice.controller.base.CursorParameters;
+import com.tascigorkem.flightbookingservice.controller.base.CursorResponses;
+import com.tascigorkem.flightbookingservice.controller.base.ResourceLinkAssembler;
+import com.tascigorkem.flightbookingservice.controller.base.VersionedResponses;
 import com.tascigorkem.flightbookingservice.dto.flight.AircraftDto;
 import com.tascigorkem.flightbookingservice.service.flight.AircraftService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -19,9 +26,6 @@ import java.net.URI;
 import java.util.Objects;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Slf4j
 @RequiredArgsConstructor
 // hateoas - application/hal+json (hypertext application language)
@@ -30,6 +34,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/aircrafts")
 public class AircraftController {
 
+    private static final ResourceLinkAssembler LINKS = ResourceLinkAssembler.of(AircraftController.class);
+
     private final AircraftService aircraftService;
     private final PagedResourcesAssembler<AircraftDto> pagedResourcesAssembler;
 
@@ -41,11 +47,13 @@ public class AircraftController {
 
     protected static void setLinks(EntityModel<AircraftDto> aircraftDtoEntityModel) {
         AircraftDto aircraftDto = Objects.requireNonNull(aircraftDtoEntityModel.getContent());
-        aircraftDtoEntityModel.add(linkTo(methodOn(AircraftController.class).getAircraftById(aircraftDto.getId())).withRel("get-aircraft-by-id-GET"));
-        aircraftDtoEntityModel.add(linkTo(AircraftController.class).withRel("all-aircrafts-GET"));
-        aircraftDtoEntityModel.add(linkTo(AircraftController.class).withRel("add-aircraft-POST"));
-        aircraftDtoEntityModel.add(linkTo(methodOn(AircraftController.class).updateAircraft(aircraftDto.getId(), aircraftDto)).withRel("update-aircraft-by-id-with-body-PUT"));
-        aircraftDtoEntityModel.add(linkTo(methodOn(AircraftController.class).removeAircraft(aircraftDto.getId())).withRel("remove-aircraft-by-id-DELETE"));
+        String itemHref = LINKS.itemHref(aircraftDto.getId());
+        String collectionHref = LINKS.collectionHref();
+        aircraftDtoEntityModel.add(Link.of(itemHref, "get-aircraft-by-id-GET"));
+        aircraftDtoEntityModel.add(Link.of(collectionHref, "all-aircrafts-GET"));
+        aircraftDtoEntityModel.add(Link.of(collectionHref, "add-aircraft-POST"));
+        aircraftDtoEntityModel.add(Link.of(itemHref, "update-aircraft-by-id-with-body-PUT"));
+        aircraftDtoEntityModel.add(Link.of(itemHref, "remove-aircraft-by-id-DELETE"));
     }
 
     /**
@@ -63,6 +71,22 @@ public class AircraftController {
         return ResponseEntity.ok(pagedModel);
     }
 
+    /**
+     * Handles the incoming GET request "/aircrafts?after={cursor}&size={size}"
+     *
+     * @param after cursor of the last aircraft of the previous slice, empty for the first slice
+     * @param size  maximum number of aircrafts in the slice
+     * @return retrieve a slice of non-deleted aircrafts ordered by creation time, with a "next" link if more exist
+     * @see com.tascigorkem.flightbookingservice.dto.flight.AircraftDto
+     */
+    @GetMapping(params = CursorParameters.AFTER, produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<CollectionModel<EntityModel<AircraftDto>>> getAllAircraftsAfter(
+            @RequestParam(CursorParameters.AFTER) String after,
+            @RequestParam(value = CursorParameters.SIZE, defaultValue = CursorParameters.DEFAULT_SIZE) int size) {
+        return CursorResponses.ok(LINKS, after, size,
+                aircraftService::getAllAircraftsAfter, AircraftController::toEntityModelWithLinks);
+    }
+
     /**
      * Handles the incoming GET request "/aircrafts/{id}"
      *
@@ -72,9 +96,7 @@ public class AircraftController {
      */
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<EntityModel<AircraftDto>> getAircraftById(@PathVariable("id") UUID id) {
-        return ResponseEntity.ok(
-                toEntityModelWithLinks(aircraftService.getAircraftById(id))
-        );
+        return VersionedResponses.ok(aircraftService.getAircraftById(id), AircraftController::toEntityModelWithLinks);
     }
 
     /**
@@ -97,16 +119,17 @@ public class AircraftController {
     /**
      * Handles the incoming PUT request "/aircrafts/{id}"
      *
-     * @param id of the aircraft to be updated
-     * @return updated aircraft
+     * @param id      of the aircraft to be updated
+     * @param ifMatch optional "If-Match" entity tag of the version the update is based on
+     * @return updated aircraft, or 409 with the current aircraft if it has been modified in the meantime
      * @see com.tascigorkem.flightbookingservice.dto.flight.AircraftDto
      */
     @PutMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<EntityModel<AircraftDto>> updateAircraft(@PathVariable("id") UUID id, @RequestBody AircraftDto aircraftDto) {
+    public ResponseEntity<EntityModel<AircraftDto>> updateAircraft(@PathVariable("id") UUID id, @RequestBody AircraftDto aircraftDto,
+                                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         aircraftDto.setId(id);
-        return ResponseEntity.ok(
-                toEntityModelWithLinks(aircraftService.updateAircraft(aircraftDto))
-        );
+        return VersionedResponses.update(aircraftDto, ifMatch, aircraftService::updateAircraft,
+                aircraftService::getCurrentAircraftById, AircraftController::toEntityModelWithLinks);
     }
 
     /**
@@ -1,15 +1,22 @@
 package com.tascigorkem.flightbookingservice.controller.flight;
 
+import com.tascigorkem.flightbookingservice.controller.base.CursorParameters;
+import com.tascigorkem.flightbookingservice.controller.base.CursorResponses;
+import com.tascigorkem.flightbookingservice.controller.base.ResourceLinkAssembler;
+import com.tascigorkem.flightbookingservice.controller.base.VersionedResponses;
 import com.tascigorkem.flightbookingservice.dto.flight.AirlineDto;
 import com.tascigorkem.flightbookingservice.service.flight.AirlineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -19,9 +26,6 @@ import java.net.URI;
 import java.util.Objects;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Slf4j
 @RequiredArgsConstructor
 // hateoas - application/hal+json (hypertext application language)
@@ -30,6 +34,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/airlines")
 public class AirlineController {
 
+    private static final ResourceLinkAssembler LINKS = ResourceLinkAssembler.of(AirlineController.class);
+
     private final AirlineService airlineService;
     private final PagedResourcesAssembler<AirlineDto> pagedResourcesAssembler;
 
@@ -41,11 +47,13 @@ public class AirlineController {
 
     protected static void setLinks(EntityModel<AirlineDto> airlineDtoEntityModel) {
         AirlineDto airlineDto = Objects.requireNonNull(airlineDtoEntityModel.getContent());
-        airlineDtoEntityModel.add(linkTo(methodOn(AirlineController.class).getAirlineById(airlineDto.getId())).withRel("get-airline-by-id-GET"));
-        airlineDtoEntityModel.add(linkTo(AirlineController.class).withRel("all-airlines-GET"));
-        airlineDtoEntityModel.add(linkTo(AirlineController.class).withRel("add-airline-POST"));
-        airlineDtoEntityModel.add(linkTo(methodOn(AirlineController.class).updateAirline(airlineDto.getId(), airlineDto)).withRel("update-airline-by-id-with-body-PUT"));
-        airlineDtoEntityModel.add(linkTo(methodOn(AirlineController.class).removeAirline(airlineDto.getId())).withRel("remove-airline-by-id-DELETE"));
+        String itemHref = LINKS.itemHref(airlineDto.getId());
+        String collectionHref = LINKS.collectionHref();
+        airlineDtoEntityModel.add(Link.of(itemHref, "get-airline-by-id-GET"));
+        airlineDtoEntityModel.add(Link.of(collectionHref, "all-airlines-GET"));
+        airlineDtoEntityModel.add(Link.of(collectionHref, "add-airline-POST"));
+        airlineDtoEntityModel.add(Link.of(itemHref, "update-airline-by-id-with-body-PUT"));
+        airlineDtoEntityModel.add(Link.of(itemHref, "remove-airline-by-id-DELETE"));
     }
 
     /**
@@ -63,6 +71,22 @@ public class AirlineController {
         return ResponseEntity.ok(pagedModel);
     }
 
+    /**
+     * Handles the incoming GET request "/airlines?after={cursor}&size={size}"
+     *
+     * @param after cursor of the last airline of the previous slice, empty for the first slice
+     * @param size  maximum number of airlines in the slice
+     * @return retrieve a slice of non-deleted airlines ordered by creation time, with a "next" link if more exist
+     * @see com.tascigorkem.flightbookingservice.dto.flight.AirlineDto
+     */
+    @GetMapping(params = CursorParameters.AFTER, produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<CollectionModel<EntityModel<AirlineDto>>> getAllAirlinesAfter(
+            @RequestParam(CursorParameters.AFTER) String after,
+            @RequestParam(value = CursorParameters.SIZE, defaultValue = CursorParameters.DEFAULT_SIZE) int size) {
+        return CursorResponses.ok(LINKS, after, size,
+                airlineService::getAllAirlinesAfter, AirlineController::toEntityModelWithLinks);
+    }
+
     /**
      * Handles the incoming GET request "/airlines/{id}"
      *
@@ -72,9 +96,7 @@ public class AirlineController {
      */
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<EntityModel<AirlineDto>> getAirlineById(@PathVariable("id") UUID id) {
-        return ResponseEntity.ok(
-                toEntityModelWithLinks(airlineService.getAirlineById(id))
-        );
+        return VersionedResponses.ok(airlineService.getAirlineById(id), AirlineController::toEntityModelWithLinks);
     }
 
     /**
@@ -97,16 +119,17 @@ public class AirlineController {
     /**
      * Handles the incoming PUT request "/airlines/{id}"
      *
-     * @param id of the airline to be updated
-     * @return updated airline
+     * @param id      of the airline to be updated
+     * @param ifMatch optional "If-Match" entity tag of the version the update is based on
+     * @return updated airline, or 409 with the current airline if it has been modified in the meantime
      * @see com.tascigorkem.flightbookingservice.dto.flight.AirlineDto
      */
     @PutMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<EntityModel<AirlineDto>> updateAirline(@PathVariable("id") UUID id, @RequestBody AirlineDto airlineDto) {
+    public ResponseEntity<EntityModel<AirlineDto>> updateAirline(@PathVariable("id") UUID id, @RequestBody AirlineDto airlineDto,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         airlineDto.setId(id);
-        return ResponseEntity.ok(
-                toEntityModelWithLinks(airlineService.updateAirline(airlineDto))
-        );
+        return VersionedResponses.update(airlineDto, ifMatch, airlineService::updateAirline,
+                airlineService::getCurrentAirlineById, AirlineController::toEntityModelWithLinks);
     }
 
     /**
@@ -1,15 +1,22 @@
 package com.tascigorkem.flightbookingservice.controller.flight;
 
+import com.tascigorkem.flightbookingservice.controller.base.CursorParameters;
+import com.tascigorkem.flightbookingservice.controller.base.CursorResponses;
+import com.tascigorkem.flightbookingservice.controller.base.ResourceLinkAssembler;
+import com.tascigorkem.flightbookingservice.controller.base.VersionedResponses;
 import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
 import com.tascigorkem.flightbookingservice.service.flight.AirportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -19,9 +26,6 @@ import java.net.URI;
 import java.util.Objects;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Slf4j
 @RequiredArgsConstructor
 // hateoas - application/hal+json (hypertext application language)
@@ -30,6 +34,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/airports")
 public class AirportController {
 
+    private static final ResourceLinkAssembler LINKS = ResourceLinkAssembler.of(AirportController.class);
+
     private final AirportService airportService;
     private final PagedResourcesAssembler<AirportDto> pagedResourcesAssembler;
 
@@ -41,11 +47,13 @@ public class AirportController {
 
     protected static void setLinks(EntityModel<AirportDto> airportDtoEntityModel) {
         AirportDto airportDto = Objects.requireNonNull(airportDtoEntityModel.getContent());
-        airportDtoEntityModel.add(linkTo(methodOn(AirportController.class).getAirportById(airportDto.getId())).withRel("get-airport-by-id-GET"));
-        airportDtoEntityModel.add(linkTo(AirportController.class).withRel("all-airports-GET"));
-        airportDtoEntityModel.add(linkTo(AirportController.class).withRel("add-airport-POST"));
-        airportDtoEntityModel.add(linkTo(methodOn(AirportController.class).updateAirport(airportDto.getId(), airportDto)).withRel("update-airport-by-id-with-body-PUT"));
-        airportDtoEntityModel.add(linkTo(methodOn(AirportController.class).removeAirport(airportDto.getId())).withRel("remove-airport-by-id-DELETE"));
+        String itemHref = LINKS.itemHref(airportDto.getId());
+        String collectionHref = LINKS.collectionHref();
+        airportDtoEntityModel.add(Link.of(itemHref, "get-airport-by-id-GET"));
+        airportDtoEntityModel.add(Link.of(collectionHref, "all-airports-GET"));
+        airportDtoEntityModel.add(Link.of(collectionHref, "add-airport-POST"));
+        airportDtoEntityModel.add(Link.of(itemHref, "update-airport-by-id-with-body-PUT"));
+        airportDtoEntityModel.add(Link.of(itemHref, "remove-airport-by-id-DELETE"));
     }
 
     /**
@@ -63,6 +71,22 @@ public class AirportController {
         return ResponseEntity.ok(pagedModel);
     }
 
+    /**
+     * Handles the incoming GET request "/airports?after={cursor}&size={size}"
+     *
+     * @param after cursor of the last airport of the previous slice, empty for the first slice
+     * @param size  maximum number of airports in the slice
+     * @return retrieve a slice of non-deleted airports ordered by creation time, with a "next" link if more exist
+     * @see com.tascigorkem.flightbookingservice.dto.flight.AirportDto
+     */
+    @GetMapping(params = CursorParameters.AFTER, produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<CollectionModel<EntityModel<AirportDto>>> getAllAirportsAfter(
+            @RequestParam(CursorParameters.AFTER) String after,
+            @RequestParam(value = CursorParameters.SIZE, defaultValue = CursorParameters.DEFAULT_SIZE) int size) {
+        return CursorResponses.ok(LINKS, after, size,
+                airportService::getAllAirportsAfter, AirportController::toEntityModelWithLinks);
+    }
+
     /**
      * Handles the incoming GET request "/airports/{id}"
      *
@@ -72,9 +96,7 @@ public class AirportController {
      */
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<EntityModel<AirportDto>> getAirportById(@PathVariable("id") UUID id) {
-        return ResponseEntity.ok(
-                toEntityModelWithLinks(airportService.getAirportById(id))
-        );
+        return VersionedResponses.ok(airportService.getAirportById(id), AirportController::toEntityModelWithLinks);
     }
 
     /**
@@ -97,16 +119,17 @@ public class AirportController {
     /**
      * Handles the incoming PUT request "/airports/{id}"
      *
-     * @param id of the airport to be updated
-     * @return updated airport
+     * @param id      of the airport to be updated
+     * @param ifMatch optional "If-Match" entity tag of the version the update is based on
+     * @return updated airport, or 409 with the current airport if it has been modified in the meantime
      * @see com.tascigorkem.flightbookingservice.dto.flight.AirportDto
      */
     @PutMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<EntityModel<AirportDto>> updateAirport(@PathVariable("id") UUID id, @RequestBody AirportDto airportDto) {
+    public ResponseEntity<EntityModel<AirportDto>> updateAirport(@PathVariable("id") UUID id, @RequestBody AirportDto airportDto,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         airportDto.setId(id);
-        return ResponseEntity.ok(
-                toEntityModelWithLinks(airportService.updateAirport(airportDto))
-        );
+        return VersionedResponses.update(airportDto, ifMatch, airportService::updateAirport,
+                airportService::getCurrentAirportById, AirportController::toEntityModelWithLinks);
     }
 
     /**
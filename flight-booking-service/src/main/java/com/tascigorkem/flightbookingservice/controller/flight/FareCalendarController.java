@@ -0,0 +1,37 @@
+package com.tascigorkem.flightbookingservice.controller.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FareCalendarDto;
+import com.tascigorkem.flightbookingservice.service.flight.FareCalendarService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/flights/calendar")
+public class FareCalendarController {
+
+    private final FareCalendarService fareCalendarService;
+
+    /**
+     * Handles the incoming GET request "/flights/calendar?from={airportId}&to={airportId}&month={yyyy-MM}"
+     *
+     * @param from  id of the departure airport
+     * @param to    id of the destination airport
+     * @param month of the departure dates, e.g. "2021-03"
+     * @return lowest price and number of non-deleted flights per day of the month, days without flights are omitted
+     * @see com.tascigorkem.flightbookingservice.dto.flight.FareCalendarDto
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<FareCalendarDto> getFareCalendar(@RequestParam("from") UUID from, @RequestParam("to") UUID to,
+                                                           @RequestParam("month") YearMonth month) {
+        return ResponseEntity.ok(fareCalendarService.getFareCalendar(from, to, month));
+    }
+}
@@ -1,27 +1,52 @@
 package com.tascigorkem.flightbookingservice.controller.flight;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.tascigorkem.flightbookingservice.controller.base.CursorParameters;
+import com.tascigorkem.flightbookingservice.controller.base.CursorResponses;
+import com.tascigorkem.flightbookingservice.controller.base.ExportColumn;
+import com.tascigorkem.flightbookingservice.controller.base.ExportFormat;
+import com.tascigorkem.flightbookingservice.controller.base.ExportWriter;
+import com.tascigorkem.flightbookingservice.controller.base.ResourceLinkAssembler;
+import com.tascigorkem.flightbookingservice.controller.base.VersionedResponses;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightBatchResultDto;
 import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto;
+import com.tascigorkem.flightbookingservice.exception.badrequest.InvalidBatchItemException;
 import com.tascigorkem.flightbookingservice.service.flight.FlightService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Slf4j
 @RequiredArgsConstructor
 // hateoas - application/hal+json (hypertext application language)
@@ -30,22 +55,52 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/flights")
 public class FlightController {
 
+    private static final ResourceLinkAssembler LINKS = ResourceLinkAssembler.of(FlightController.class);
+
+    // newline delimited json, one flight per line
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private static final List<ExportColumn<FlightDto>> EXPORT_COLUMNS = Arrays.asList(
+            ExportColumn.of("id", FlightDto::getId),
+            ExportColumn.of("departureDate", FlightDto::getDepartureDate),
+            ExportColumn.of("arrivalDate", FlightDto::getArrivalDate),
+            ExportColumn.of("price", FlightDto::getPrice),
+            ExportColumn.of("departureAirportCode", flightDto -> flightDto.getDepartureAirport() == null ? null : flightDto.getDepartureAirport().getCode()),
+            ExportColumn.of("destinationAirportCode", flightDto -> flightDto.getDestinationAirport() == null ? null : flightDto.getDestinationAirport().getCode()),
+            ExportColumn.of("aircraftCode", flightDto -> flightDto.getAircraft() == null ? null : flightDto.getAircraft().getCode()),
+            ExportColumn.of("airlineName", flightDto -> flightDto.getAirline() == null ? null : flightDto.getAirline().getName()),
+            ExportColumn.of("creationTime", FlightDto::getCreationTime),
+            ExportColumn.of("updateTime", FlightDto::getUpdateTime)
+    );
+
     private final FlightService flightService;
     private final PagedResourcesAssembler<FlightDto> pagedResourcesAssembler;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     protected static EntityModel<FlightDto> toEntityModelWithLinks(FlightDto flightDto) {
+        return toEntityModelWithLinks(flightDto, LINKS);
+    }
+
+    protected static EntityModel<FlightDto> toEntityModelWithLinks(FlightDto flightDto, ResourceLinkAssembler links) {
         EntityModel<FlightDto> flightDtoEntityModel = EntityModel.of(flightDto);
-        setLinks(flightDtoEntityModel);
+        setLinks(flightDtoEntityModel, links);
         return flightDtoEntityModel;
     }
 
     protected static void setLinks(EntityModel<FlightDto> flightDtoEntityModel) {
+        setLinks(flightDtoEntityModel, LINKS);
+    }
+
+    protected static void setLinks(EntityModel<FlightDto> flightDtoEntityModel, ResourceLinkAssembler links) {
         FlightDto flightDto = Objects.requireNonNull(flightDtoEntityModel.getContent());
-        flightDtoEntityModel.add(linkTo(methodOn(FlightController.class).getFlightById(flightDto.getId())).withRel("get-flight-by-id-GET"));
-        flightDtoEntityModel.add(linkTo(FlightController.class).withRel("all-flights-GET"));
-        flightDtoEntityModel.add(linkTo(FlightController.class).withRel("add-flight-POST"));
-        flightDtoEntityModel.add(linkTo(methodOn(FlightController.class).updateFlight(flightDto.getId(), flightDto)).withRel("update-flight-by-id-with-body-PUT"));
-        flightDtoEntityModel.add(linkTo(methodOn(FlightController.class).removeFlight(flightDto.getId())).withRel("remove-flight-by-id-DELETE"));
+        String itemHref = links.itemHref(flightDto.getId());
+        String collectionHref = links.collectionHref();
+        flightDtoEntityModel.add(Link.of(itemHref, "get-flight-by-id-GET"));
+        flightDtoEntityModel.add(Link.of(collectionHref, "all-flights-GET"));
+        flightDtoEntityModel.add(Link.of(collectionHref, "add-flight-POST"));
+        flightDtoEntityModel.add(Link.of(itemHref, "update-flight-by-id-with-body-PUT"));
+        flightDtoEntityModel.add(Link.of(itemHref, "remove-flight-by-id-DELETE"));
     }
 
     /**
@@ -63,6 +118,58 @@ public class FlightController {
         return ResponseEntity.ok(pagedModel);
     }
 
+    /**
+     * Handles the incoming GET request "/flights?after={cursor}&size={size}"
+     *
+     * @param after cursor of the last flight of the previous slice, empty for the first slice
+     * @param size  maximum number of flights in the slice
+     * @return retrieve a slice of non-deleted flights ordered by creation time, with a "next" link if more exist
+     * @see com.tascigorkem.flightbookingservice.dto.flight.FlightDto
+     */
+    @GetMapping(params = CursorParameters.AFTER, produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<CollectionModel<EntityModel<FlightDto>>> getAllFlightsAfter(
+            @RequestParam(CursorParameters.AFTER) String after,
+            @RequestParam(value = CursorParameters.SIZE, defaultValue = CursorParameters.DEFAULT_SIZE) int size) {
+        return CursorResponses.ok(LINKS, after, size,
+                flightService::getAllFlightsAfter, FlightController::toEntityModelWithLinks);
+    }
+
+    /**
+     * Handles the incoming GET request "/flights/export?format={ndjson|csv}"
+     * Streams every non-deleted flight to the response body while it is read from the database.
+     *
+     * @param format "ndjson" (default) or "csv"
+     * @see com.tascigorkem.flightbookingservice.dto.flight.FlightDto
+     */
+    @GetMapping("/export")
+    public void exportFlights(@RequestParam(value = ExportFormat.PARAMETER, defaultValue = ExportFormat.DEFAULT) String format,
+                              HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"flights." + exportFormat.getFileExtension() + "\"");
+
+        try (ExportWriter<FlightDto> exportWriter = ExportWriter.of(exportFormat, response.getOutputStream(),
+                objectMapper, FlightDto.class, EXPORT_COLUMNS)) {
+            flightService.exportFlights(exportWriter);
+        }
+    }
+
+    /**
+     * Handles the incoming GET request "/flights/search"
+     *
+     * @param flightSearchDto optional departure/destination airport ids, departure date range and max price
+     * @return retrieve non-deleted flights matching the criteria, sorted by the "sort" parameter
+     * @see com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto
+     */
+    @GetMapping(value = "/search", produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<PagedModel<EntityModel<FlightDto>>> searchFlights(FlightSearchDto flightSearchDto, Pageable pageable) {
+        PagedModel<EntityModel<FlightDto>> pagedModel = pagedResourcesAssembler.toModel(
+                flightService.searchFlights(flightSearchDto, pageable));
+        pagedModel.getContent().forEach(FlightController::setLinks);
+
+        return ResponseEntity.ok(pagedModel);
+    }
+
     /**
      * Handles the incoming GET request "/flights/{id}"
      *
@@ -72,9 +179,7 @@ public class FlightController {
      */
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<EntityModel<FlightDto>> getFlightById(@PathVariable("id") UUID id) {
-        return ResponseEntity.ok(
-                toEntityModelWithLinks(flightService.getFlightById(id))
-        );
+        return VersionedResponses.ok(flightService.getFlightById(id), FlightController::toEntityModelWithLinks);
     }
 
     /**
@@ -94,19 +199,49 @@ public class FlightController {
         return ResponseEntity.created(location).body(toEntityModelWithLinks(addedFlight));
     }
 
+    /**
+     * Handles the incoming POST request "/flights/batch" with a json array body
+     *
+     * @param flightDtos fields of flights to be added
+     * @return count and ids of added flights, in request order
+     * @see com.tascigorkem.flightbookingservice.dto.flight.FlightBatchResultDto
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<FlightBatchResultDto> addFlights(@RequestBody List<FlightDto> flightDtos) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(flightService.addFlights(validated(flightDtos.iterator())));
+    }
+
+    /**
+     * Handles the incoming POST request "/flights/batch" with a newline delimited json body,
+     * flights are read one by one while they are persisted
+     *
+     * @param body one flight per line
+     * @return count and ids of added flights, in request order
+     * @see com.tascigorkem.flightbookingservice.dto.flight.FlightBatchResultDto
+     */
+    @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<FlightBatchResultDto> addFlightsFromNdjson(InputStream body) throws IOException {
+        try (MappingIterator<FlightDto> flightDtos = objectMapper.readerFor(FlightDto.class).readValues(body)) {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(flightService.addFlights(validated(flightDtos)));
+        }
+    }
+
     /**
      * Handles the incoming PUT request "/flights/{id}"
      *
-     * @param id of the flight to be updated
-     * @return updated flight
+     * @param id      of the flight to be updated
+     * @param ifMatch optional "If-Match" entity tag of the version the update is based on
+     * @return updated flight, or 409 with the current flight if it has been modified in the meantime
      * @see com.tascigorkem.flightbookingservice.dto.flight.FlightDto
      */
     @PutMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<EntityModel<FlightDto>> updateFlight(@PathVariable("id") UUID id, @RequestBody FlightDto flightDto) {
+    public ResponseEntity<EntityModel<FlightDto>> updateFlight(@PathVariable("id") UUID id, @RequestBody FlightDto flightDto,
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         flightDto.setId(id);
-        return ResponseEntity.ok(
-                toEntityModelWithLinks(flightService.updateFlight(flightDto))
-        );
+        return VersionedResponses.update(flightDto, ifMatch, flightService::updateFlight,
+                flightService::getCurrentFlightById, FlightController::toEntityModelWithLinks);
     }
 
     /**
@@ -123,4 +258,42 @@ public class FlightController {
         );
     }
 
+    /**
+     * Validates the flights while they are consumed, like @Valid does for a single flight.
+     */
+    private Iterator<FlightDto> validated(Iterator<FlightDto> flightDtos) {
+        return new Iterator<FlightDto>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return flightDtos.hasNext();
+                } catch (RuntimeJsonMappingException e) {
+                    throw new InvalidBatchItemException(index, e.getMessage());
+                }
+            }
+
+            @Override
+            public FlightDto next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                FlightDto flightDto;
+                try {
+                    flightDto = flightDtos.next();
+                } catch (RuntimeJsonMappingException e) {
+                    throw new InvalidBatchItemException(index, e.getMessage());
+                }
+                Set<ConstraintViolation<FlightDto>> violations = validator.validate(flightDto);
+                if (!violations.isEmpty()) {
+                    throw new InvalidBatchItemException(index, violations.iterator().next().getMessage());
+                }
+                index++;
+                return flightDto;
+            }
+        };
+    }
+
 }
@@ -0,0 +1,34 @@
+package com.tascigorkem.flightbookingservice.controller.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItinerarySearchDto;
+import com.tascigorkem.flightbookingservice.service.flight.ItineraryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/itineraries")
+public class ItineraryController {
+
+    private final ItineraryService itineraryService;
+
+    /**
+     * Handles the incoming GET request "/itineraries?from={airportId}&to={airportId}&date={yyyy-MM-dd}"
+     *
+     * @param itinerarySearchDto airports and departure day of the first flight, optional sortBy (CHEAPEST, FASTEST),
+     *                           maxStops (0 to 2), min/maxConnectionMinutes and limit
+     * @return the best itineraries first, each flight with its departure and arrival time to the minute
+     * @see com.tascigorkem.flightbookingservice.dto.flight.ItineraryDto
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ItineraryDto>> searchItineraries(ItinerarySearchDto itinerarySearchDto) {
+        return ResponseEntity.ok(itineraryService.searchItineraries(itinerarySearchDto));
+    }
+}
@@ -0,0 +1,99 @@
+package com.tascigorkem.flightbookingservice.controller.flight;
+
+import com.tascigorkem.flightbookingservice.controller.base.ResourceLinkAssembler;
+import com.tascigorkem.flightbookingservice.controller.base.VersionedResponses;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto;
+import com.tascigorkem.flightbookingservice.service.flight.ReactiveFlightService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of the flights of {@link FlightController}, the links point to the same "/flights" resources.
+ * The servlet thread is released as soon as the R2DBC queries are issued and the response is completed
+ * asynchronously, so the number of concurrent reads is not bound to the Tomcat and JDBC pools.
+ * Everything taken from the current request is resolved before that, the models are assembled on a reactor thread.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/reactive/flights")
+public class ReactiveFlightController {
+
+    private static final ResourceLinkAssembler LINKS = ResourceLinkAssembler.of(FlightController.class);
+
+    private final ReactiveFlightService reactiveFlightService;
+    private final PagedResourcesAssembler<FlightDto> pagedResourcesAssembler;
+
+    /**
+     * Handles the incoming GET request "/reactive/flights"
+     *
+     * @return retrieve all non-deleted flights, ordered by creation time
+     * @see com.tascigorkem.flightbookingservice.dto.flight.FlightDto
+     */
+    @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
+    public Mono<ResponseEntity<PagedModel<EntityModel<FlightDto>>>> getAllFlights(Pageable pageable) {
+        return toPagedModel(reactiveFlightService.getAllFlights(pageable));
+    }
+
+    /**
+     * Handles the incoming GET request "/reactive/flights/stream"
+     * Writes every non-deleted flight as one json document per line while it is read from the database.
+     *
+     * @see com.tascigorkem.flightbookingservice.dto.flight.FlightDto
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    public Flux<FlightDto> streamAllFlights() {
+        return reactiveFlightService.streamAllFlights();
+    }
+
+    /**
+     * Handles the incoming GET request "/reactive/flights/search"
+     *
+     * @param flightSearchDto optional departure/destination airport ids, departure date range and max price
+     * @return retrieve non-deleted flights matching the criteria, ordered by departure date
+     * @see com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto
+     */
+    @GetMapping(value = "/search", produces = MediaTypes.HAL_JSON_VALUE)
+    public Mono<ResponseEntity<PagedModel<EntityModel<FlightDto>>>> searchFlights(FlightSearchDto flightSearchDto, Pageable pageable) {
+        return toPagedModel(reactiveFlightService.searchFlights(flightSearchDto, pageable));
+    }
+
+    /**
+     * Handles the incoming GET request "/reactive/flights/{id}"
+     *
+     * @param id of the flight to be retrieved
+     * @return flight
+     * @see com.tascigorkem.flightbookingservice.dto.flight.FlightDto
+     */
+    @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
+    public Mono<ResponseEntity<EntityModel<FlightDto>>> getFlightById(@PathVariable("id") UUID id) {
+        ResourceLinkAssembler links = LINKS.withCurrentBaseUri();
+        return reactiveFlightService.getFlightById(id)
+                .map(flightDto -> VersionedResponses.ok(flightDto,
+                        dto -> FlightController.toEntityModelWithLinks(dto, links)));
+    }
+
+    private Mono<ResponseEntity<PagedModel<EntityModel<FlightDto>>>> toPagedModel(Mono<Page<FlightDto>> page) {
+        ResourceLinkAssembler links = LINKS.withCurrentBaseUri();
+        Link selfLink = Link.of(ServletUriComponentsBuilder.fromCurrentRequest().build().toUriString());
+        return page.map(flightDtoPage -> ResponseEntity.ok(pagedResourcesAssembler.toModel(flightDtoPage,
+                flightDto -> FlightController.toEntityModelWithLinks(flightDto, links), selfLink)));
+    }
+}
@@ -1,6 +1,6 @@
 package com.tascigorkem.flightbookingservice.controller.kafka;
 
-import com.tascigorkem.flightbookingservice.dto.kafka.KafkaEmailMessageDto;
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
 import com.tascigorkem.flightbookingservice.service.kafka.KafkaService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -0,0 +1,82 @@
+package com.tascigorkem.flightbookingservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Connection pool of one read replica with the state of its last check.
+ * It is read from only while it is reachable and not further behind the primary than the max lag.
+ */
+@Slf4j
+public class Replica {
+
+    // 0 while all received WAL is replayed, an idle primary does not make the replica lag
+    static final String LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    @Getter
+    private final String name;
+    @Getter
+    private final HikariDataSource dataSource;
+    private final Duration maxLag;
+
+    // down until the first check reached it
+    private volatile boolean up;
+    @Getter
+    private volatile Duration lag = Duration.ZERO;
+
+    public Replica(String name, HikariDataSource dataSource, Duration maxLag) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isAvailable() {
+        return up && lag.compareTo(maxLag) <= 0;
+    }
+
+    public int getActiveConnections() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    /**
+     * Measures the replication lag, marks the replica down if it cannot be queried.
+     */
+    public void check() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                lag = Duration.ofMillis(Math.round(resultSet.getDouble(1) * 1000));
+            }
+            if (!up) {
+                log.info("Replica {} is up, lag {}", name, lag);
+            }
+            up = true;
+        } catch (SQLException e) {
+            markDown(e);
+        }
+        if (up && !isAvailable()) {
+            log.warn("Replica {} lags {} behind the primary, reading from the primary until it catches up", name, lag);
+        }
+    }
+
+    public void markDown(SQLException cause) {
+        if (up) {
+            log.warn("Replica {} is down, reading from the primary until it is up again: {}", name, cause.getMessage());
+        }
+        up = false;
+    }
+}
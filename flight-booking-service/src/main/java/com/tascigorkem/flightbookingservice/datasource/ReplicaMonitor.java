@@ -0,0 +1,55 @@
+package com.tascigorkem.flightbookingservice.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the replicas every interval, the first time right after start, and closes their pools on shutdown.
+ * Their lag and availability are published as the gauges "datasource.replica.lag" and "datasource.replica.available".
+ */
+public class ReplicaMonitor implements Closeable {
+
+    @Getter
+    private final List<Replica> replicas;
+    private final ScheduledExecutorService scheduler;
+
+    public ReplicaMonitor(List<Replica> replicas, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.getLag().toMillis() / 1000.0)
+                    .tag("replica", replica.getName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!replicas.isEmpty()) {
+            scheduler.scheduleWithFixedDelay(this::checkAll, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void checkAll() {
+        replicas.forEach(Replica::check);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        replicas.forEach(replica -> replica.getDataSource().close());
+    }
+}
@@ -0,0 +1,87 @@
+package com.tascigorkem.flightbookingservice.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Routes the connections of read-only transactions to an available replica, and all others to the primary.
+ * Without an available replica, or if the chosen one cannot give a connection, it falls back to the primary.
+ * <p>
+ * The read-only flag of a transaction is only set after the transaction manager has begun it,
+ * so this has to be wrapped into a {@link LazyConnectionDataSourceProxy}, which gets the connection on the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaRoutingStrategy strategy;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReplicaRoutingStrategy strategy) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.strategy = strategy;
+
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        replicas.forEach(replica -> targetDataSources.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = currentReplica();
+        if (replica != null) {
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Replica replica = currentReplica();
+        return replica == null ? PRIMARY : replica.getName();
+    }
+
+    /**
+     * @return the replica for the current transaction, null for the primary
+     */
+    @Nullable
+    Replica currentReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        List<Replica> availableReplicas = replicas.stream()
+                .filter(Replica::isAvailable)
+                .collect(Collectors.toList());
+        if (availableReplicas.isEmpty()) {
+            return null;
+        }
+        if (strategy == ReplicaRoutingStrategy.LEAST_BUSY) {
+            return availableReplicas.stream()
+                    .min(Comparator.comparingInt(Replica::getActiveConnections))
+                    .orElse(null);
+        }
+        return availableReplicas.get(Math.floorMod(nextReplica.getAndIncrement(), availableReplicas.size()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.tascigorkem.flightbookingservice.datasource;
+
+/**
+ * How a read-only transaction picks one of the available replicas.
+ */
+public enum ReplicaRoutingStrategy {
+
+    /**
+     * One replica after the other.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * The replica with the fewest connections in use.
+     */
+    LEAST_BUSY
+}
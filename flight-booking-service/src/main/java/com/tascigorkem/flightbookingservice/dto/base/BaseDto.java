@@ -13,9 +13,11 @@ import java.util.UUID;
 @Setter
 @EqualsAndHashCode
 @NoArgsConstructor
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 public abstract class BaseDto {
     private UUID id;
     protected LocalDateTime creationTime;
     protected LocalDateTime updateTime;
+    // expected version on update, see If-Match of the PUT endpoints
+    protected Long version;
 }
@@ -0,0 +1,47 @@
+package com.tascigorkem.flightbookingservice.dto.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat read model of "/bookings", filled straight from a single join query
+ * without hydrating booking, customer, flight or airport entities.
+ * The nested shape stays on "/bookings/{id}", see {@link BookingDto}.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Relation(collectionRelation = "bookingDtoList")
+public class BookingSummaryDto {
+
+    private UUID id;
+    private String state;
+    private LocalDateTime paymentDate;
+    private BigDecimal paymentAmount;
+    private boolean insurance;
+    private short luggage;
+    private LocalDateTime creationTime;
+    private LocalDateTime updateTime;
+
+    private UUID customerId;
+    private String customerName;
+    private String customerSurname;
+    private String customerEmail;
+
+    private UUID flightId;
+    private String departureAirportCode;
+    private String destinationAirportCode;
+    private LocalDateTime departureDate;
+}
@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 @Setter
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 public class AircraftDto extends BaseDto {
 
     @NotBlank(message = "modelName cannot be blank")
@@ -13,7 +13,7 @@ import javax.validation.constraints.NotBlank;
 @Setter
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 public class AirportDto extends BaseDto {
 
     @NotBlank(message = "name cannot be blank")
@@ -0,0 +1,27 @@
+package com.tascigorkem.flightbookingservice.dto.flight;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lowest price and number of the flights of a route departing on a day.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FareCalendarDayDto {
+
+    private LocalDate day;
+    private BigDecimal minPrice;
+    private int flightCount;
+}
@@ -0,0 +1,29 @@
+package com.tascigorkem.flightbookingservice.dto.flight;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response of "GET /flights/calendar", the days of the month with flights on the route, in order.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FareCalendarDto {
+
+    private UUID departureAirportId;
+    private UUID destinationAirportId;
+    private YearMonth month;
+    private List<FareCalendarDayDto> days;
+}
@@ -0,0 +1,27 @@
+package com.tascigorkem.flightbookingservice.dto.flight;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response of "POST /flights/batch", the ids of the added flights in request order
+ * instead of one HAL representation per flight.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightBatchResultDto {
+
+    private int count;
+    private List<UUID> ids;
+}
@@ -0,0 +1,31 @@
+package com.tascigorkem.flightbookingservice.dto.flight;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Connecting flights from the departure airport of the first leg to the destination airport of the last one.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItineraryDto {
+
+    private LocalDateTime departureDate;
+    private LocalDateTime arrivalDate;
+    private long durationMinutes;
+    private int stops;
+    private BigDecimal totalPrice;
+    private List<ItineraryLegDto> legs;
+}
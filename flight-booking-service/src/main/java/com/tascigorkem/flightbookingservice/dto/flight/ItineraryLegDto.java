@@ -0,0 +1,31 @@
+package com.tascigorkem.flightbookingservice.dto.flight;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One flight of an itinerary, the flight itself is "/flights/{flightId}".
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItineraryLegDto {
+
+    private UUID flightId;
+    private UUID departureAirportId;
+    private UUID destinationAirportId;
+    private LocalDateTime departureDate;
+    private LocalDateTime arrivalDate;
+    private BigDecimal price;
+}
@@ -0,0 +1,46 @@
+package com.tascigorkem.flightbookingservice.dto.flight;
+
+import com.tascigorkem.flightbookingservice.enums.ItinerarySort;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Search criteria of "/itineraries", from, to and date are required, the others have defaults.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItinerarySearchDto {
+
+    // departure airport of the first flight
+    private UUID from;
+
+    // destination airport of the last flight
+    private UUID to;
+
+    // departure day of the first flight
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate date;
+
+    private ItinerarySort sortBy;
+
+    private Integer maxStops;
+
+    // time between the arrival of a flight and the departure of the next one
+    private Integer minConnectionMinutes;
+
+    private Integer maxConnectionMinutes;
+
+    private Integer limit;
+}
@@ -11,6 +11,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 import javax.persistence.Column;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -36,4 +37,12 @@ public abstract class BaseEntity {
 
     @Column(name = "deletion_time")
     protected LocalDateTime deletionTime;
+
+    /**
+     * Checked and incremented by every update, concurrent updates of the same row fail instead of overwriting each other.
+     * Primitive on purpose, so entities with an assigned id are still merged by the repositories instead of persisted.
+     */
+    @Version
+    @Column(name = "version")
+    protected long version;
 }
@@ -1,11 +1,14 @@
 package com.tascigorkem.flightbookingservice.entity.flight;
 
+import com.tascigorkem.flightbookingservice.config.CacheConfiguration;
 import com.tascigorkem.flightbookingservice.entity.base.BaseEntity;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -18,6 +21,8 @@ import java.util.List;
 @SuperBuilder
 @Entity
 @Table(name = "aircraft")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfiguration.AIRCRAFT_REGION)
 public class AircraftEntity extends BaseEntity {
 
     @Column(name = "model_name")
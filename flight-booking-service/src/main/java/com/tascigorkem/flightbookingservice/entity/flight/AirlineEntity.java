@@ -1,11 +1,14 @@
 package com.tascigorkem.flightbookingservice.entity.flight;
 
+import com.tascigorkem.flightbookingservice.config.CacheConfiguration;
 import com.tascigorkem.flightbookingservice.entity.base.BaseEntity;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.List;
@@ -17,6 +20,8 @@ import java.util.List;
 @SuperBuilder
 @Entity
 @Table(name = "airplane")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfiguration.AIRLINE_REGION)
 public class AirlineEntity extends BaseEntity {
 
     @Column(name = "name")
@@ -0,0 +1,38 @@
+package com.tascigorkem.flightbookingservice.entity.flight;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+
+/**
+ * Lowest price and number of the non-deleted flights of a route departing on a day.
+ * A read model derived from the flight table, only written by the native statements of FareCalendarRepository.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "fare_calendar")
+public class FareCalendarEntity {
+
+    @EmbeddedId
+    private FareCalendarKey id;
+
+    @Column(name = "min_price")
+    private BigDecimal minPrice;
+
+    @Column(name = "flight_count")
+    private int flightCount;
+}
@@ -0,0 +1,34 @@
+package com.tascigorkem.flightbookingservice.entity.flight;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A day of a route, the cell of the fare calendar.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class FareCalendarKey implements Serializable {
+
+    @Column(name = "dept_airport_id", columnDefinition = "uuid")
+    private UUID departureAirportId;
+
+    @Column(name = "dest_airport_id", columnDefinition = "uuid")
+    private UUID destinationAirportId;
+
+    @Column(name = "day")
+    private LocalDate day;
+}
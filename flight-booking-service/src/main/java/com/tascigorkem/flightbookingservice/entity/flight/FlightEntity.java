@@ -20,8 +20,20 @@ import java.util.List;
 @SuperBuilder
 @Entity
 @Table(name = "flight")
+@NamedEntityGraph(name = FlightEntity.REFERENCES_GRAPH, attributeNodes = {
+        @NamedAttributeNode("departureAirport"),
+        @NamedAttributeNode("destinationAirport"),
+        @NamedAttributeNode("aircraft"),
+        @NamedAttributeNode("airline")
+})
 public class FlightEntity extends BaseEntity {
 
+    /**
+     * Fetch graph of the airports, aircraft and airline which are mapped into FlightDto,
+     * loads them by join in the same statement instead of one lazy select per row.
+     */
+    public static final String REFERENCES_GRAPH = "FlightEntity.references";
+
     @Column(name = "departure_date")
     private LocalDateTime departureDate;
 
@@ -31,6 +43,13 @@ public class FlightEntity extends BaseEntity {
     @Column(name = "price")
     private BigDecimal price;
 
+    /**
+     * Seat counter owned by the conditional updates of FlightRepository,
+     * never written from the entity state so a stale entity cannot overwrite concurrent reservations.
+     */
+    @Column(name = "booked_seats", insertable = false, updatable = false)
+    private int bookedSeats;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "dept_airport_id")
     private AirportEntity departureAirport;
@@ -0,0 +1,72 @@
+package com.tascigorkem.flightbookingservice.entity.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A message written in the transaction of the change it is about, sent to its topic by the outbox relay after it committed.
+ * Never updated by the persistence context, only by the native statements of OutboxEventRepository.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEventEntity {
+
+    @Id
+    @Column(name = "id", columnDefinition = "uuid", updatable = false)
+    private UUID id;
+
+    // order of the events, assigned by the database on insert, unlike the creation time independent of the clock
+    @Column(name = "sequence_number", insertable = false, updatable = false)
+    private Long sequenceNumber;
+
+    @Column(name = "creation_time", updatable = false)
+    private LocalDateTime creationTime;
+
+    // the booking, events of the same aggregate are sent in the order of their sequence number
+    @Column(name = "aggregate_id", columnDefinition = "uuid", updatable = false)
+    private UUID aggregateId;
+
+    @Column(name = "event_type", updatable = false)
+    private String eventType;
+
+    @Column(name = "topic", updatable = false)
+    private String topic;
+
+    @Column(name = "message_key", updatable = false)
+    private String messageKey;
+
+    // json of the message
+    @Column(name = "payload", columnDefinition = "text", updatable = false)
+    private String payload;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    // not sent again before it after a failed send, null if it never failed
+    @Column(name = "next_attempt_time")
+    private LocalDateTime nextAttemptTime;
+
+    // set once the event failed "booking-outbox.max-attempts" times, it is parked and never sent again
+    @Column(name = "failed_time")
+    private LocalDateTime failedTime;
+
+    @Column(name = "sent_time")
+    private LocalDateTime sentTime;
+}
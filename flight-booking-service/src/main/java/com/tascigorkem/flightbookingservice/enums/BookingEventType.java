@@ -0,0 +1,6 @@
+package com.tascigorkem.flightbookingservice.enums;
+
+public enum BookingEventType {
+    CREATED,
+    STATE_CHANGED
+}
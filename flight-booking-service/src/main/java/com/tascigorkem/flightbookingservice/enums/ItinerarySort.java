@@ -0,0 +1,17 @@
+package com.tascigorkem.flightbookingservice.enums;
+
+/**
+ * Order of the itineraries of "/itineraries".
+ */
+public enum ItinerarySort {
+
+    /**
+     * Lowest total price first, the shorter one of the same price first.
+     */
+    CHEAPEST,
+
+    /**
+     * Earliest arrival after the departure of the first flight first, the cheaper one of the same duration first.
+     */
+    FASTEST
+}
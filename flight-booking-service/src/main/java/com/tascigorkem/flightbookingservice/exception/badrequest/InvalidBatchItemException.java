@@ -0,0 +1,10 @@
+package com.tascigorkem.flightbookingservice.exception.badrequest;
+
+import com.tascigorkem.flightbookingservice.exception.badrequest.base.BaseBadRequestException;
+
+public class InvalidBatchItemException extends BaseBadRequestException {
+
+    public InvalidBatchItemException(int index, String reason) {
+        super("Item [" + index + "] of the batch is not valid: " + reason);
+    }
+}
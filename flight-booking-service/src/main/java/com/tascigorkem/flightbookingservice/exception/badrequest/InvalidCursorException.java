@@ -0,0 +1,10 @@
+package com.tascigorkem.flightbookingservice.exception.badrequest;
+
+import com.tascigorkem.flightbookingservice.exception.badrequest.base.BaseBadRequestException;
+
+public class InvalidCursorException extends BaseBadRequestException {
+
+    public InvalidCursorException(String cursor) {
+        super("Cursor [" + cursor + "] is not valid.");
+    }
+}
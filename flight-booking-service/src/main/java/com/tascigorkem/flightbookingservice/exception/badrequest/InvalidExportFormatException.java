@@ -0,0 +1,10 @@
+package com.tascigorkem.flightbookingservice.exception.badrequest;
+
+import com.tascigorkem.flightbookingservice.exception.badrequest.base.BaseBadRequestException;
+
+public class InvalidExportFormatException extends BaseBadRequestException {
+
+    public InvalidExportFormatException(String format) {
+        super("Export format [" + format + "] is not supported.");
+    }
+}
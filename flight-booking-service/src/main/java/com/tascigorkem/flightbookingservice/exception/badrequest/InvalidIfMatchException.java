@@ -0,0 +1,10 @@
+package com.tascigorkem.flightbookingservice.exception.badrequest;
+
+import com.tascigorkem.flightbookingservice.exception.badrequest.base.BaseBadRequestException;
+
+public class InvalidIfMatchException extends BaseBadRequestException {
+
+    public InvalidIfMatchException(String ifMatch) {
+        super("If-Match [" + ifMatch + "] is not a valid entity tag.");
+    }
+}
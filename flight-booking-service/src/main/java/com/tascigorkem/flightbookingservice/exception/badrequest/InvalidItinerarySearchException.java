@@ -0,0 +1,10 @@
+package com.tascigorkem.flightbookingservice.exception.badrequest;
+
+import com.tascigorkem.flightbookingservice.exception.badrequest.base.BaseBadRequestException;
+
+public class InvalidItinerarySearchException extends BaseBadRequestException {
+
+    public InvalidItinerarySearchException(String reason) {
+        super("Itinerary search is not valid: " + reason + ".");
+    }
+}
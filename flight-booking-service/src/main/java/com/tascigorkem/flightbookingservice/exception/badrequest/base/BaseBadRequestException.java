@@ -0,0 +1,12 @@
+package com.tascigorkem.flightbookingservice.exception.badrequest.base;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BaseBadRequestException extends RuntimeException {
+
+    public BaseBadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.tascigorkem.flightbookingservice.exception.conflict;
+
+import com.tascigorkem.flightbookingservice.exception.conflict.base.BaseResourceConflictException;
+
+public class NoAvailableSeatException extends BaseResourceConflictException {
+
+    public NoAvailableSeatException(String flightId) {
+        super("Flight with id[" + flightId + "] has no available seat.");
+    }
+}
@@ -0,0 +1,10 @@
+package com.tascigorkem.flightbookingservice.exception.conflict;
+
+import com.tascigorkem.flightbookingservice.exception.conflict.base.BaseResourceConflictException;
+
+public class VersionConflictException extends BaseResourceConflictException {
+
+    public VersionConflictException(String resourceType, String id) {
+        super(resourceType + " with id[" + id + "] has been modified, the expected version is not the current one.");
+    }
+}
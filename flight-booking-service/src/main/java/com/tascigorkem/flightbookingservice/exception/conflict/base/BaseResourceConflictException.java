@@ -0,0 +1,12 @@
+package com.tascigorkem.flightbookingservice.exception.conflict.base;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class BaseResourceConflictException extends RuntimeException {
+
+    public BaseResourceConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,236 @@
+package com.tascigorkem.flightbookingservice.itinerary;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * The flights departing from one airport, as parallel arrays sorted by departure time.
+ * The same flights are also indexed by destination and departure time, so the flights of one route
+ * departing within a window are found without scanning the other routes.
+ * <p>
+ * Immutable, a change returns a copy.
+ */
+final class Departures {
+
+    static final Departures EMPTY = new Departures(new int[0], new int[0], new int[0], new long[0], new UUID[0],
+            new long[0], new int[0]);
+
+    // minutes since the epoch
+    final int[] departureTimes;
+    final int[] arrivalTimes;
+    // airport ordinals
+    final int[] destinations;
+    // cents
+    final long[] prices;
+    final UUID[] flightIds;
+
+    // route keys in ascending order, and the index of their flight in the arrays above
+    final long[] routeKeys;
+    final int[] routeIndexes;
+
+    private Departures(int[] departureTimes, int[] arrivalTimes, int[] destinations, long[] prices, UUID[] flightIds,
+                       long[] routeKeys, int[] routeIndexes) {
+        this.departureTimes = departureTimes;
+        this.arrivalTimes = arrivalTimes;
+        this.destinations = destinations;
+        this.prices = prices;
+        this.flightIds = flightIds;
+        this.routeKeys = routeKeys;
+        this.routeIndexes = routeIndexes;
+    }
+
+    /**
+     * @param departureTimes in ascending order, the other arrays in the same order
+     */
+    static Departures ofSorted(int[] departureTimes, int[] arrivalTimes, int[] destinations, long[] prices, UUID[] flightIds) {
+        int size = departureTimes.length;
+        // destination and index, the index keeps the departure order within a destination
+        long[] routeOrder = new long[size];
+        for (int i = 0; i < size; i++) {
+            routeOrder[i] = (long) destinations[i] << 32 | i;
+        }
+        Arrays.sort(routeOrder);
+
+        long[] routeKeys = new long[size];
+        int[] routeIndexes = new int[size];
+        for (int route = 0; route < size; route++) {
+            int index = (int) routeOrder[route];
+            routeKeys[route] = routeKey(destinations[index], departureTimes[index]);
+            routeIndexes[route] = index;
+        }
+        return new Departures(departureTimes, arrivalTimes, destinations, prices, flightIds, routeKeys, routeIndexes);
+    }
+
+    /**
+     * Orders by destination, then by departure time. Departure times are never negative.
+     */
+    static long routeKey(int destination, int departureTime) {
+        return (long) destination << 32 | departureTime;
+    }
+
+    int size() {
+        return departureTimes.length;
+    }
+
+    /**
+     * @return index of the first flight departing at or after the time, {@link #size()} if there is none
+     */
+    int firstDepartingAt(int departureTime) {
+        return lowerBound(departureTimes, departureTime);
+    }
+
+    /**
+     * @return position in {@link #routeKeys} of the first flight to the destination departing at or after the time
+     */
+    int firstOfRouteAt(int destination, int departureTime) {
+        return lowerBound(routeKeys, routeKey(destination, departureTime));
+    }
+
+    /**
+     * @return index of the flight, -1 if it does not depart at the time
+     */
+    int indexOf(int departureTime, UUID flightId) {
+        for (int i = firstDepartingAt(departureTime); i < size() && departureTimes[i] == departureTime; i++) {
+            if (flightIds[i].equals(flightId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    Departures with(int departureTime, int arrivalTime, int destination, long price, UUID flightId) {
+        int size = size();
+        // after the flights of the same minute, so it is also after them within its route
+        int index = upperBound(departureTimes, departureTime);
+        int[] newDepartureTimes = insert(departureTimes, index, departureTime);
+        int[] newArrivalTimes = insert(arrivalTimes, index, arrivalTime);
+        int[] newDestinations = insert(destinations, index, destination);
+        long[] newPrices = new long[size + 1];
+        System.arraycopy(prices, 0, newPrices, 0, index);
+        newPrices[index] = price;
+        System.arraycopy(prices, index, newPrices, index + 1, size - index);
+        UUID[] newFlightIds = new UUID[size + 1];
+        System.arraycopy(flightIds, 0, newFlightIds, 0, index);
+        newFlightIds[index] = flightId;
+        System.arraycopy(flightIds, index, newFlightIds, index + 1, size - index);
+
+        long routeKey = routeKey(destination, departureTime);
+        int route = upperBound(routeKeys, routeKey);
+        long[] newRouteKeys = new long[size + 1];
+        int[] newRouteIndexes = new int[size + 1];
+        for (int r = 0; r < size; r++) {
+            int target = r < route ? r : r + 1;
+            newRouteKeys[target] = routeKeys[r];
+            newRouteIndexes[target] = routeIndexes[r] >= index ? routeIndexes[r] + 1 : routeIndexes[r];
+        }
+        newRouteKeys[route] = routeKey;
+        newRouteIndexes[route] = index;
+
+        return new Departures(newDepartureTimes, newArrivalTimes, newDestinations, newPrices, newFlightIds,
+                newRouteKeys, newRouteIndexes);
+    }
+
+    Departures without(int index) {
+        int size = size();
+        if (size == 1) {
+            return EMPTY;
+        }
+        int[] newDepartureTimes = remove(departureTimes, index);
+        int[] newArrivalTimes = remove(arrivalTimes, index);
+        int[] newDestinations = remove(destinations, index);
+        long[] newPrices = new long[size - 1];
+        System.arraycopy(prices, 0, newPrices, 0, index);
+        System.arraycopy(prices, index + 1, newPrices, index, size - index - 1);
+        UUID[] newFlightIds = new UUID[size - 1];
+        System.arraycopy(flightIds, 0, newFlightIds, 0, index);
+        System.arraycopy(flightIds, index + 1, newFlightIds, index, size - index - 1);
+
+        int route = lowerBound(routeKeys, routeKey(destinations[index], departureTimes[index]));
+        while (routeIndexes[route] != index) {
+            route++;
+        }
+        long[] newRouteKeys = new long[size - 1];
+        int[] newRouteIndexes = new int[size - 1];
+        for (int r = 0; r < size; r++) {
+            if (r != route) {
+                int target = r < route ? r : r - 1;
+                newRouteKeys[target] = routeKeys[r];
+                newRouteIndexes[target] = routeIndexes[r] > index ? routeIndexes[r] - 1 : routeIndexes[r];
+            }
+        }
+
+        return new Departures(newDepartureTimes, newArrivalTimes, newDestinations, newPrices, newFlightIds,
+                newRouteKeys, newRouteIndexes);
+    }
+
+    private static int[] insert(int[] values, int index, int value) {
+        int[] newValues = new int[values.length + 1];
+        System.arraycopy(values, 0, newValues, 0, index);
+        newValues[index] = value;
+        System.arraycopy(values, index, newValues, index + 1, values.length - index);
+        return newValues;
+    }
+
+    private static int[] remove(int[] values, int index) {
+        int[] newValues = new int[values.length - 1];
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+        return newValues;
+    }
+
+    private static int lowerBound(int[] values, int value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(int[] values, int value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(long[] values, long value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(long[] values, long value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,459 @@
+package com.tascigorkem.flightbookingservice.itinerary;
+
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryLegDto;
+import com.tascigorkem.flightbookingservice.enums.ItinerarySort;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Time-expanded graph of the flights, searched in memory for itineraries of up to {@value #MAX_STOPS} stops.
+ * <p>
+ * Airports are numbered by ordinal, the flights departing from an airport are kept as {@link Departures}:
+ * primitive arrays sorted by departure time, so the connections of an arrival are a binary search away.
+ * Times are minutes since the epoch, prices are cents, flights without a price or without both airports are not in the graph.
+ * <p>
+ * A change copies the departures of one airport and publishes a new array of all airports.
+ * Searches read one published array without locking and never see a half applied change, changes are serialized.
+ */
+public class ItineraryGraph {
+
+    public static final int MAX_STOPS = 2;
+
+    private static final Departures[] NO_DEPARTURES = new Departures[0];
+    private static final UUID[] NO_AIRPORTS = new UUID[0];
+
+    private final Map<UUID, Integer> airportOrdinals;
+    // changes only, departure airport ordinal << 32 | departure time of each flight, to find it again
+    private final Map<UUID, Long> flightPositions;
+
+    // airportIds is published before departures, a search reading departures first sees all of its airports
+    private volatile UUID[] airportIds;
+    private volatile Departures[] departures;
+
+    public ItineraryGraph() {
+        this(new HashMap<>(), NO_AIRPORTS, NO_DEPARTURES, new HashMap<>());
+    }
+
+    private ItineraryGraph(Map<UUID, Integer> airportOrdinals, UUID[] airportIds, Departures[] departures,
+                           Map<UUID, Long> flightPositions) {
+        this.airportOrdinals = new ConcurrentHashMap<>(airportOrdinals);
+        this.airportIds = airportIds;
+        this.departures = departures;
+        this.flightPositions = flightPositions;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public synchronized int getFlightCount() {
+        return flightPositions.size();
+    }
+
+    /**
+     * Adds the flight, or moves it if it is already in the graph.
+     *
+     * @return false if the flight cannot be part of an itinerary and is not in the graph (anymore)
+     */
+    public synchronized boolean putFlight(UUID flightId, UUID departureAirportId, UUID destinationAirportId,
+                                          LocalDateTime departureDate, LocalDateTime arrivalDate, BigDecimal price) {
+        Departures[] newDepartures = null;
+        Long position = flightPositions.remove(flightId);
+        if (position != null) {
+            newDepartures = departures.clone();
+            removeFlight(newDepartures, flightId, position);
+        }
+
+        boolean added = isConnectable(flightId, departureAirportId, destinationAirportId, departureDate, arrivalDate, price);
+        if (added) {
+            int from = ordinalOf(departureAirportId);
+            int to = ordinalOf(destinationAirportId);
+            newDepartures = Arrays.copyOf(newDepartures == null ? departures : newDepartures, airportIds.length);
+            Arrays.fill(newDepartures, departures.length, newDepartures.length, Departures.EMPTY);
+
+            int departureTime = minutesOf(departureDate);
+            newDepartures[from] = newDepartures[from].with(departureTime, minutesOf(arrivalDate), to, centsOf(price), flightId);
+            flightPositions.put(flightId, (long) from << 32 | departureTime);
+        }
+
+        if (newDepartures != null) {
+            departures = newDepartures;
+        }
+        return added;
+    }
+
+    /**
+     * @return false if the flight is not in the graph
+     */
+    public synchronized boolean removeFlight(UUID flightId) {
+        Long position = flightPositions.remove(flightId);
+        if (position == null) {
+            return false;
+        }
+        Departures[] newDepartures = departures.clone();
+        removeFlight(newDepartures, flightId, position);
+        departures = newDepartures;
+        return true;
+    }
+
+    /**
+     * Enumerates the first flights departing in the window, their connections within the connection times
+     * and the flights of the last leg to the destination, cut as soon as a partial itinerary
+     * is already worse than the limit-th best one found.
+     *
+     * @return at most limit itineraries, the best one first
+     */
+    public List<ItineraryDto> search(ItineraryQuery query) {
+        Departures[] graph = departures;
+        UUID[] airports = airportIds;
+        Integer originOrdinal = airportOrdinals.get(query.getDepartureAirportId());
+        Integer targetOrdinal = airportOrdinals.get(query.getDestinationAirportId());
+        if (originOrdinal == null || targetOrdinal == null || originOrdinal.equals(targetOrdinal)
+                || originOrdinal >= graph.length || query.getLimit() <= 0) {
+            return Collections.emptyList();
+        }
+        int origin = originOrdinal;
+        int target = targetOrdinal;
+        int minConnection = query.getMinConnectionMinutes();
+        int maxConnection = query.getMaxConnectionMinutes();
+        int latestDeparture = minutesOf(query.getDepartureTo());
+        TopK topK = new TopK(query.getSort(), query.getLimit());
+
+        Departures first = graph[origin];
+        for (int i = first.firstDepartingAt(minutesOf(query.getDepartureFrom()));
+             i < first.size() && first.departureTimes[i] < latestDeparture; i++) {
+            int stop1 = first.destinations[i];
+            if (stop1 == target) {
+                topK.offer(first, i);
+                continue;
+            }
+            if (query.getMaxStops() < 1 || stop1 >= graph.length
+                    || topK.prunes(first.prices[i], first.arrivalTimes[i] - first.departureTimes[i])) {
+                continue;
+            }
+
+            Departures second = graph[stop1];
+            int connectFrom = first.arrivalTimes[i] + minConnection;
+            int connectTo = first.arrivalTimes[i] + maxConnection;
+            if (query.getMaxStops() < 2) {
+                long lastRouteKey = Departures.routeKey(target, connectTo);
+                for (int r = second.firstOfRouteAt(target, connectFrom); r < second.size() && second.routeKeys[r] <= lastRouteKey; r++) {
+                    topK.offer(first, i, second, second.routeIndexes[r]);
+                }
+                continue;
+            }
+
+            for (int j = second.firstDepartingAt(connectFrom); j < second.size() && second.departureTimes[j] <= connectTo; j++) {
+                int stop2 = second.destinations[j];
+                if (stop2 == target) {
+                    topK.offer(first, i, second, j);
+                    continue;
+                }
+                if (stop2 == origin || stop2 == stop1 || stop2 >= graph.length
+                        || topK.prunes(first.prices[i] + second.prices[j], second.arrivalTimes[j] - first.departureTimes[i])) {
+                    continue;
+                }
+
+                Departures third = graph[stop2];
+                long lastRouteKey = Departures.routeKey(target, second.arrivalTimes[j] + maxConnection);
+                for (int r = third.firstOfRouteAt(target, second.arrivalTimes[j] + minConnection);
+                     r < third.size() && third.routeKeys[r] <= lastRouteKey; r++) {
+                    topK.offer(first, i, second, j, third, third.routeIndexes[r]);
+                }
+            }
+        }
+        return topK.toItineraries(origin, airports);
+    }
+
+    private void removeFlight(Departures[] newDepartures, UUID flightId, long position) {
+        int from = (int) (position >>> 32);
+        Departures fromDepartures = newDepartures[from];
+        newDepartures[from] = fromDepartures.without(fromDepartures.indexOf((int) position, flightId));
+    }
+
+    private int ordinalOf(UUID airportId) {
+        Integer ordinal = airportOrdinals.get(airportId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        int newOrdinal = airportIds.length;
+        UUID[] newAirportIds = Arrays.copyOf(airportIds, newOrdinal + 1);
+        newAirportIds[newOrdinal] = airportId;
+        airportIds = newAirportIds;
+        airportOrdinals.put(airportId, newOrdinal);
+        return newOrdinal;
+    }
+
+    private static boolean isConnectable(UUID flightId, UUID departureAirportId, UUID destinationAirportId,
+                                         LocalDateTime departureDate, LocalDateTime arrivalDate, BigDecimal price) {
+        return flightId != null && departureAirportId != null && destinationAirportId != null
+                && !departureAirportId.equals(destinationAirportId)
+                && departureDate != null && arrivalDate != null && !arrivalDate.isBefore(departureDate)
+                && departureDate.getYear() >= 1970 && arrivalDate.getYear() < 5000
+                && price != null && price.signum() >= 0;
+    }
+
+    static int minutesOf(LocalDateTime dateTime) {
+        return (int) Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime dateTimeOf(int minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60L, 0, ZoneOffset.UTC);
+    }
+
+    private static long centsOf(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * The limit best itineraries found so far, the worst one on top.
+     */
+    private static final class TopK {
+
+        private final ItinerarySort sort;
+        private final int limit;
+        private final PriorityQueue<Candidate> worstFirst;
+
+        private TopK(ItinerarySort sort, int limit) {
+            this.sort = sort;
+            this.limit = limit;
+            this.worstFirst = new PriorityQueue<>(limit, Comparator.comparingLong(Candidate::getPrimary)
+                    .thenComparingLong(Candidate::getSecondary)
+                    .reversed());
+        }
+
+        /**
+         * Prices and durations only grow with more legs.
+         */
+        private boolean prunes(long price, int minutes) {
+            if (worstFirst.size() < limit) {
+                return false;
+            }
+            Candidate worst = worstFirst.peek();
+            long primary = primaryOf(price, minutes);
+            return primary > worst.primary || primary == worst.primary && secondaryOf(price, minutes) >= worst.secondary;
+        }
+
+        private void offer(Departures first, int i) {
+            long price = first.prices[i];
+            int minutes = first.arrivalTimes[i] - first.departureTimes[i];
+            if (!prunes(price, minutes)) {
+                add(price, minutes, new Departures[]{first}, new int[]{i});
+            }
+        }
+
+        private void offer(Departures first, int i, Departures second, int j) {
+            long price = first.prices[i] + second.prices[j];
+            int minutes = second.arrivalTimes[j] - first.departureTimes[i];
+            if (!prunes(price, minutes)) {
+                add(price, minutes, new Departures[]{first, second}, new int[]{i, j});
+            }
+        }
+
+        private void offer(Departures first, int i, Departures second, int j, Departures third, int k) {
+            long price = first.prices[i] + second.prices[j] + third.prices[k];
+            int minutes = third.arrivalTimes[k] - first.departureTimes[i];
+            if (!prunes(price, minutes)) {
+                add(price, minutes, new Departures[]{first, second, third}, new int[]{i, j, k});
+            }
+        }
+
+        // the legs are only allocated for an itinerary which makes it into the top k
+        private void add(long price, int minutes, Departures[] legs, int[] indexes) {
+            worstFirst.add(new Candidate(primaryOf(price, minutes), secondaryOf(price, minutes), legs, indexes, price, minutes));
+            if (worstFirst.size() > limit) {
+                worstFirst.poll();
+            }
+        }
+
+        private long primaryOf(long price, int minutes) {
+            return sort == ItinerarySort.FASTEST ? minutes : price;
+        }
+
+        private long secondaryOf(long price, int minutes) {
+            return sort == ItinerarySort.FASTEST ? price : minutes;
+        }
+
+        private List<ItineraryDto> toItineraries(int origin, UUID[] airports) {
+            ItineraryDto[] itineraries = new ItineraryDto[worstFirst.size()];
+            for (int i = itineraries.length - 1; i >= 0; i--) {
+                itineraries[i] = worstFirst.poll().toItinerary(origin, airports);
+            }
+            return Arrays.asList(itineraries);
+        }
+    }
+
+    private static final class Candidate {
+
+        private final long primary;
+        private final long secondary;
+        private final Departures[] legs;
+        private final int[] indexes;
+        private final long price;
+        private final int minutes;
+
+        private Candidate(long primary, long secondary, Departures[] legs, int[] indexes, long price, int minutes) {
+            this.primary = primary;
+            this.secondary = secondary;
+            this.legs = legs;
+            this.indexes = indexes;
+            this.price = price;
+            this.minutes = minutes;
+        }
+
+        private long getPrimary() {
+            return primary;
+        }
+
+        private long getSecondary() {
+            return secondary;
+        }
+
+        private ItineraryDto toItinerary(int origin, UUID[] airports) {
+            List<ItineraryLegDto> legDtos = new ArrayList<>(legs.length);
+            int from = origin;
+            for (int leg = 0; leg < legs.length; leg++) {
+                Departures departures = legs[leg];
+                int index = indexes[leg];
+                int to = departures.destinations[index];
+                legDtos.add(ItineraryLegDto.builder()
+                        .flightId(departures.flightIds[index])
+                        .departureAirportId(airports[from])
+                        .destinationAirportId(airports[to])
+                        .departureDate(dateTimeOf(departures.departureTimes[index]))
+                        .arrivalDate(dateTimeOf(departures.arrivalTimes[index]))
+                        .price(BigDecimal.valueOf(departures.prices[index], 2))
+                        .build());
+                from = to;
+            }
+            return ItineraryDto.builder()
+                    .departureDate(legDtos.get(0).getDepartureDate())
+                    .arrivalDate(legDtos.get(legDtos.size() - 1).getArrivalDate())
+                    .durationMinutes(minutes)
+                    .stops(legs.length - 1)
+                    .totalPrice(BigDecimal.valueOf(price, 2))
+                    .legs(legDtos)
+                    .build();
+        }
+    }
+
+    /**
+     * Collects all flights before the departures of each airport are sorted once,
+     * instead of copying them for every flight like {@link #putFlight} does.
+     */
+    public static final class Builder {
+
+        private final Map<UUID, Integer> airportOrdinals = new HashMap<>();
+        private final List<UUID> airportIds = new ArrayList<>();
+        private final List<DepartureBuffer> buffers = new ArrayList<>();
+        private final Map<UUID, Long> flightPositions = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @return false if the flight cannot be part of an itinerary and is skipped
+         */
+        public boolean putFlight(UUID flightId, UUID departureAirportId, UUID destinationAirportId,
+                                 LocalDateTime departureDate, LocalDateTime arrivalDate, BigDecimal price) {
+            if (!isConnectable(flightId, departureAirportId, destinationAirportId, departureDate, arrivalDate, price)
+                    || flightPositions.containsKey(flightId)) {
+                return false;
+            }
+            int from = ordinalOf(departureAirportId);
+            int to = ordinalOf(destinationAirportId);
+            int departureTime = minutesOf(departureDate);
+            buffers.get(from).add(departureTime, minutesOf(arrivalDate), to, centsOf(price), flightId);
+            flightPositions.put(flightId, (long) from << 32 | departureTime);
+            return true;
+        }
+
+        public ItineraryGraph build() {
+            Departures[] departures = new Departures[buffers.size()];
+            for (int ordinal = 0; ordinal < departures.length; ordinal++) {
+                departures[ordinal] = buffers.get(ordinal).toDepartures();
+                buffers.set(ordinal, null);
+            }
+            return new ItineraryGraph(airportOrdinals, airportIds.toArray(NO_AIRPORTS), departures, flightPositions);
+        }
+
+        private int ordinalOf(UUID airportId) {
+            return airportOrdinals.computeIfAbsent(airportId, id -> {
+                airportIds.add(id);
+                buffers.add(new DepartureBuffer());
+                return airportIds.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Growing parallel arrays of the departures of one airport, in insertion order.
+     */
+    private static final class DepartureBuffer {
+
+        private int size;
+        private int[] departureTimes = new int[8];
+        private int[] arrivalTimes = new int[8];
+        private int[] destinations = new int[8];
+        private long[] prices = new long[8];
+        private UUID[] flightIds = new UUID[8];
+
+        private void add(int departureTime, int arrivalTime, int destination, long price, UUID flightId) {
+            if (size == departureTimes.length) {
+                int capacity = size * 2;
+                departureTimes = Arrays.copyOf(departureTimes, capacity);
+                arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+                destinations = Arrays.copyOf(destinations, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                flightIds = Arrays.copyOf(flightIds, capacity);
+            }
+            departureTimes[size] = departureTime;
+            arrivalTimes[size] = arrivalTime;
+            destinations[size] = destination;
+            prices[size] = price;
+            flightIds[size] = flightId;
+            size++;
+        }
+
+        private Departures toDepartures() {
+            if (size == 0) {
+                return Departures.EMPTY;
+            }
+            // departure time and insertion index, sorted together
+            long[] order = new long[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = (long) departureTimes[i] << 32 | i;
+            }
+            Arrays.sort(order);
+
+            int[] sortedDepartureTimes = new int[size];
+            int[] sortedArrivalTimes = new int[size];
+            int[] sortedDestinations = new int[size];
+            long[] sortedPrices = new long[size];
+            UUID[] sortedFlightIds = new UUID[size];
+            for (int position = 0; position < size; position++) {
+                int i = (int) order[position];
+                sortedDepartureTimes[position] = departureTimes[i];
+                sortedArrivalTimes[position] = arrivalTimes[i];
+                sortedDestinations[position] = destinations[i];
+                sortedPrices[position] = prices[i];
+                sortedFlightIds[position] = flightIds[i];
+            }
+            return Departures.ofSorted(sortedDepartureTimes, sortedArrivalTimes, sortedDestinations, sortedPrices, sortedFlightIds);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.tascigorkem.flightbookingservice.itinerary;
+
+import com.tascigorkem.flightbookingservice.enums.ItinerarySort;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Validated criteria of {@link ItineraryGraph#search(ItineraryQuery)}.
+ */
+@Getter
+@Builder
+public class ItineraryQuery {
+
+    private final UUID departureAirportId;
+    private final UUID destinationAirportId;
+    // first flight departs in [departureFrom, departureTo)
+    private final LocalDateTime departureFrom;
+    private final LocalDateTime departureTo;
+    private final ItinerarySort sort;
+    private final int maxStops;
+    private final int minConnectionMinutes;
+    private final int maxConnectionMinutes;
+    private final int limit;
+}
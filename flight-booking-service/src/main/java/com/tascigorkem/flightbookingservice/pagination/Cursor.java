@@ -0,0 +1,55 @@
+package com.tascigorkem.flightbookingservice.pagination;
+
+import com.tascigorkem.flightbookingservice.exception.badrequest.InvalidCursorException;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of a row in the (creation_time, id) ordering, exchanged with clients
+ * as an opaque base64url token, e.g. "?after=MjAyMS0wMy0...".
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor(staticName = "of")
+public final class Cursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime creationTime;
+    private final UUID id;
+
+    public String encode() {
+        String raw = creationTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token cursor token received from the client
+     * @return decoded cursor, or null when the token is empty which means "from the beginning"
+     * @throws InvalidCursorException when the token is not produced by {@link #encode()}
+     */
+    public static Cursor decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidCursorException(token);
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.tascigorkem.flightbookingservice.pagination;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One keyset page, no total count is known. {@link #getNext()} is null on the last slice.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CursorSlice<T> {
+
+    private final List<T> content;
+    private final Cursor next;
+
+    /**
+     * @param rows           rows read with a limit of size + 1, the extra row only tells whether a next slice exists
+     * @param size           requested slice size
+     * @param cursorFunction extracts the cursor of a row
+     */
+    public static <T> CursorSlice<T> of(List<T> rows, int size, Function<T, Cursor> cursorFunction) {
+        if (rows.size() <= size) {
+            return new CursorSlice<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorSlice<>(content, cursorFunction.apply(content.get(size - 1)));
+    }
+
+    public <R> CursorSlice<R> map(Function<T, R> mapper) {
+        return new CursorSlice<>(content.stream().map(mapper).collect(Collectors.toList()), next);
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.tascigorkem.flightbookingservice.repository.base;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Columns of a row returned by a native UPDATE ... RETURNING statement, read without loading the entity.
+ * The uuid columns are returned as text, they are converted back when the projection is read.
+ */
+public interface BaseRow {
+
+    String RETURNING_BASE_COLUMNS = "RETURNING CAST(id AS text) AS \"id\", " +
+            "creation_time AS \"creationTime\", update_time AS \"updateTime\", version AS \"version\"";
+
+    UUID getId();
+
+    LocalDateTime getCreationTime();
+
+    LocalDateTime getUpdateTime();
+
+    Long getVersion();
+}
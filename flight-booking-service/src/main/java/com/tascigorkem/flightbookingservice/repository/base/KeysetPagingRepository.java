@@ -0,0 +1,42 @@
+package com.tascigorkem.flightbookingservice.repository.base;
+
+import com.tascigorkem.flightbookingservice.entity.base.BaseEntity;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset (seek) paging over non-deleted rows ordered by (creation_time, id).
+ * Unlike offset paging no rows are skipped and no count query is executed,
+ * so every slice costs the same regardless of its depth.
+ */
+@NoRepositoryBean
+public interface KeysetPagingRepository<T extends BaseEntity> {
+
+    @Query("select e from #{#entityName} e where e.deletionTime is null order by e.creationTime, e.id")
+    List<T> findKeysetFirst(Pageable limit);
+
+    // the redundant "creationTime >= :creationTime" bounds the index range scan on (creation_time, id)
+    @Query("select e from #{#entityName} e where e.deletionTime is null " +
+            "and e.creationTime >= :creationTime " +
+            "and (e.creationTime > :creationTime or e.id > :id) " +
+            "order by e.creationTime, e.id")
+    List<T> findKeysetAfter(@Param("creationTime") LocalDateTime creationTime, @Param("id") UUID id, Pageable limit);
+
+    default CursorSlice<T> findKeysetSlice(@Nullable Cursor after, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<T> rows = after == null
+                ? findKeysetFirst(limit)
+                : findKeysetAfter(after.getCreationTime(), after.getId(), limit);
+        return CursorSlice.of(rows, size, row -> Cursor.of(row.getCreationTime(), row.getId()));
+    }
+}
@@ -1,16 +1,105 @@
 package com.tascigorkem.flightbookingservice.repository.booking;
 
+import com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto;
 import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BookingRepository extends JpaRepository<BookingEntity, UUID> {
 
+    String STREAM_FETCH_SIZE = "500";
+
+    String SUMMARY_SELECT = "select new com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto(" +
+            "b.id, b.state, b.paymentDate, b.paymentAmount, b.insurance, b.luggage, b.creationTime, b.updateTime, " +
+            "c.id, c.name, c.surname, c.email, " +
+            "f.id, da.code, ds.code, f.departureDate) " +
+            "from BookingEntity b " +
+            "left join b.customer c " +
+            "left join b.flight f " +
+            "left join f.departureAirport da " +
+            "left join f.destinationAirport ds ";
+
     Page<BookingEntity> findAllByDeletionTimeIsNull(Pageable pageable);
 
+    /**
+     * Reads non-deleted bookings as flat summaries with one join query,
+     * bookings without customer or flight are kept with empty columns.
+     */
+    @Query(value = SUMMARY_SELECT + "where b.deletionTime is null",
+            countQuery = "select count(b) from BookingEntity b where b.deletionTime is null")
+    Page<BookingSummaryDto> findAllSummariesByDeletionTimeIsNull(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where b.deletionTime is null order by b.creationTime, b.id")
+    List<BookingSummaryDto> findSummaryKeysetFirst(Pageable limit);
+
+    @Query(SUMMARY_SELECT + "where b.deletionTime is null " +
+            "and b.creationTime >= :creationTime " +
+            "and (b.creationTime > :creationTime or b.id > :id) " +
+            "order by b.creationTime, b.id")
+    List<BookingSummaryDto> findSummaryKeysetAfter(@Param("creationTime") LocalDateTime creationTime, @Param("id") UUID id, Pageable limit);
+
+    /**
+     * Reads all non-deleted bookings as flat summaries forward-only through a database cursor,
+     * {@value #STREAM_FETCH_SIZE} rows per fetch. Has to be consumed and closed inside a transaction,
+     * the summaries are not managed so the persistence context does not grow.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(SUMMARY_SELECT + "where b.deletionTime is null order by b.creationTime, b.id")
+    Stream<BookingSummaryDto> streamAllSummariesByDeletionTimeIsNull();
+
+    /**
+     * Soft deletes a non-deleted booking and gives its seat back to the flight with one statement,
+     * without loading the booking or its references.
+     * The seat is given back as in {@link com.tascigorkem.flightbookingservice.repository.flight.FlightRepository#releaseSeat(UUID)}
+     * when the booking held one, i.e. it is not canceled and has a flight.
+     *
+     * @return the columns of the deleted row, empty if the booking is missing or already deleted
+     */
+    @Query(value = "WITH deleted AS (" +
+            "UPDATE booking SET deletion_time = :deletionTime, update_time = :deletionTime, version = version + 1 " +
+            "WHERE id = :id AND deletion_time IS NULL " +
+            "RETURNING *" +
+            "), released AS (" +
+            "UPDATE flight SET booked_seats = flight.booked_seats - 1 FROM deleted " +
+            "WHERE flight.id = deleted.flight_id AND deleted.state IS DISTINCT FROM 'CANCELED' AND flight.booked_seats > 0" +
+            ") " +
+            "SELECT CAST(id AS text) AS \"id\", creation_time AS \"creationTime\", update_time AS \"updateTime\", version AS \"version\", " +
+            "state AS \"state\", payment_date AS \"paymentDate\", payment_amount AS \"paymentAmount\", " +
+            "has_insurance AS \"insurance\", luggage AS \"luggage\", " +
+            "CAST(customer_id AS text) AS \"customerId\", CAST(flight_id AS text) AS \"flightId\" " +
+            "FROM deleted",
+            nativeQuery = true)
+    Optional<BookingRow> softDeleteById(@Param("id") UUID id, @Param("deletionTime") LocalDateTime deletionTime);
+
+    /**
+     * Keyset (seek) variant of {@link #findAllSummariesByDeletionTimeIsNull(Pageable)}, ordered by (creation_time, id)
+     * and without the count query.
+     */
+    default CursorSlice<BookingSummaryDto> findSummaryKeysetSlice(@Nullable Cursor after, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<BookingSummaryDto> rows = after == null
+                ? findSummaryKeysetFirst(limit)
+                : findSummaryKeysetAfter(after.getCreationTime(), after.getId(), limit);
+        return CursorSlice.of(rows, size, row -> Cursor.of(row.getCreationTime(), row.getId()));
+    }
+
 }
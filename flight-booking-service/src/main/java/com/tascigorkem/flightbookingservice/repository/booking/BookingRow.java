@@ -0,0 +1,27 @@
+package com.tascigorkem.flightbookingservice.repository.booking;
+
+import com.tascigorkem.flightbookingservice.repository.base.BaseRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Columns of a booking row, the customer and the flight are only their ids.
+ */
+public interface BookingRow extends BaseRow {
+
+    String getState();
+
+    LocalDateTime getPaymentDate();
+
+    BigDecimal getPaymentAmount();
+
+    Boolean getInsurance();
+
+    Short getLuggage();
+
+    UUID getCustomerId();
+
+    UUID getFlightId();
+}
@@ -1,16 +1,35 @@
 package com.tascigorkem.flightbookingservice.repository.customer;
 
 import com.tascigorkem.flightbookingservice.entity.customer.CustomerEntity;
+import com.tascigorkem.flightbookingservice.repository.base.BaseRow;
+import com.tascigorkem.flightbookingservice.repository.base.KeysetPagingRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<CustomerEntity, UUID> {
+public interface CustomerRepository extends JpaRepository<CustomerEntity, UUID>, KeysetPagingRepository<CustomerEntity> {
 
     Page<CustomerEntity> findAllByDeletionTimeIsNull(Pageable pageable);
 
+    /**
+     * Soft deletes a non-deleted customer with one UPDATE ... RETURNING statement, without loading the entity.
+     *
+     * @return the columns of the deleted row, empty if the customer is missing or already deleted
+     */
+    @Query(value = "UPDATE customer SET deletion_time = :deletionTime, update_time = :deletionTime, version = version + 1 " +
+            "WHERE id = :id AND deletion_time IS NULL " +
+            BaseRow.RETURNING_BASE_COLUMNS + ", name AS \"name\", surname AS \"surname\", email AS \"email\", " +
+            "password AS \"password\", phone AS \"phone\", age AS \"age\", " +
+            "city AS \"city\", country AS \"country\"",
+            nativeQuery = true)
+    Optional<CustomerRow> softDeleteById(@Param("id") UUID id, @Param("deletionTime") LocalDateTime deletionTime);
+
 }
@@ -0,0 +1,22 @@
+package com.tascigorkem.flightbookingservice.repository.customer;
+
+import com.tascigorkem.flightbookingservice.repository.base.BaseRow;
+
+public interface CustomerRow extends BaseRow {
+
+    String getName();
+
+    String getSurname();
+
+    String getEmail();
+
+    String getPassword();
+
+    String getPhone();
+
+    Short getAge();
+
+    String getCity();
+
+    String getCountry();
+}
@@ -1,16 +1,53 @@
 package com.tascigorkem.flightbookingservice.repository.flight;
 
+import com.tascigorkem.flightbookingservice.config.CacheConfiguration;
 import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
+import com.tascigorkem.flightbookingservice.repository.base.BaseRow;
+import com.tascigorkem.flightbookingservice.repository.base.KeysetPagingRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 @Repository
-public interface AircraftRepository extends JpaRepository<AircraftEntity, UUID> {
+public interface AircraftRepository extends JpaRepository<AircraftEntity, UUID>, KeysetPagingRepository<AircraftEntity> {
 
+    /**
+     * Page and count are cached in the query cache, invalidated by every write to the table through hibernate.
+     */
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = CacheConfiguration.REFERENCE_QUERY_REGION)})
     Page<AircraftEntity> findAllByDeletionTimeIsNull(Pageable pageable);
 
+    /**
+     * Reads the aircraft from the database, not from the second level cache, and refreshes its entry there.
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHE_MODE, value = "REFRESH"))
+    @Query("SELECT a FROM AircraftEntity a WHERE a.id = :id")
+    Optional<AircraftEntity> findCurrentById(@Param("id") UUID id);
+
+    /**
+     * Soft deletes a non-deleted aircraft with one UPDATE ... RETURNING statement, without loading the entity.
+     *
+     * @return the columns of the deleted row, empty if the aircraft is missing or already deleted
+     */
+    @Query(value = "UPDATE aircraft SET deletion_time = :deletionTime, update_time = :deletionTime, version = version + 1 " +
+            "WHERE id = :id AND deletion_time IS NULL " +
+            BaseRow.RETURNING_BASE_COLUMNS + ", model_name AS \"modelName\", code AS \"code\", seat AS \"seat\", " +
+            "country AS \"country\", manufacture_date AS \"manufacturerDate\"",
+            nativeQuery = true)
+    Optional<AircraftRow> softDeleteById(@Param("id") UUID id, @Param("deletionTime") LocalDateTime deletionTime);
+
 }
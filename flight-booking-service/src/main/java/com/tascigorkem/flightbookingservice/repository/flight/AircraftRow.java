@@ -0,0 +1,18 @@
+package com.tascigorkem.flightbookingservice.repository.flight;
+
+import com.tascigorkem.flightbookingservice.repository.base.BaseRow;
+
+import java.time.LocalDateTime;
+
+public interface AircraftRow extends BaseRow {
+
+    String getModelName();
+
+    String getCode();
+
+    Short getSeat();
+
+    String getCountry();
+
+    LocalDateTime getManufacturerDate();
+}
@@ -0,0 +1,10 @@
+package com.tascigorkem.flightbookingservice.repository.flight;
+
+import com.tascigorkem.flightbookingservice.repository.base.BaseRow;
+
+public interface AirlineRow extends BaseRow {
+
+    String getName();
+
+    String getCountry();
+}
@@ -0,0 +1,12 @@
+package com.tascigorkem.flightbookingservice.repository.flight;
+
+import com.tascigorkem.flightbookingservice.repository.base.BaseRow;
+
+public interface AirportRow extends BaseRow {
+
+    String getName();
+
+    String getCode();
+
+    String getCity();
+}
@@ -0,0 +1,117 @@
+package com.tascigorkem.flightbookingservice.repository.flight;
+
+import com.tascigorkem.flightbookingservice.entity.flight.FareCalendarEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.FareCalendarKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
+
+/**
+ * The fare calendar is derived from the flight table by native statements only,
+ * per day of a route when a flight changes, per departure airport when it is rebuilt.
+ * The day predicates are matched by the partial index idx_flight_route_departure.
+ */
+@Repository
+public interface FareCalendarRepository extends JpaRepository<FareCalendarEntity, FareCalendarKey> {
+
+    // table written by the native statements, see CacheConfiguration
+    String FARE_CALENDAR_QUERY_SPACES = "fare_calendar";
+
+    @Query("select e from FareCalendarEntity e where e.id.departureAirportId = :departureAirportId " +
+            "and e.id.destinationAirportId = :destinationAirportId and e.id.day between :firstDay and :lastDay " +
+            "order by e.id.day")
+    List<FareCalendarEntity> findRoute(@Param("departureAirportId") UUID departureAirportId,
+                                       @Param("destinationAirportId") UUID destinationAirportId,
+                                       @Param("firstDay") LocalDate firstDay, @Param("lastDay") LocalDate lastDay);
+
+    /**
+     * Serializes the writers of the days of the departure airport until the end of the transaction.
+     * Each statement after the lock reads the flights committed by the former holder,
+     * so concurrent flight changes and rebuilds cannot overwrite a day with an older aggregate.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(:departureAirportId))", nativeQuery = true)
+    int lockDepartureAirport(@Param("departureAirportId") String departureAirportId);
+
+    /**
+     * Recomputes the day of the route from its non-deleted flights, departing in [dayStart, nextDayStart).
+     *
+     * @return 1 if the day has flights and is inserted or updated, 0 if it has none
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = FARE_CALENDAR_QUERY_SPACES))
+    @Query(value = "INSERT INTO fare_calendar (dept_airport_id, dest_airport_id, day, min_price, flight_count) " +
+            "SELECT :departureAirportId, :destinationAirportId, :day, min(f.price), count(*) FROM flight f " +
+            "WHERE f.deletion_time IS NULL AND f.dept_airport_id = :departureAirportId " +
+            "AND f.dest_airport_id = :destinationAirportId " +
+            "AND f.departure_date >= :dayStart AND f.departure_date < :nextDayStart " +
+            "HAVING count(*) > 0 " +
+            "ON CONFLICT (dept_airport_id, dest_airport_id, day) " +
+            "DO UPDATE SET min_price = EXCLUDED.min_price, flight_count = EXCLUDED.flight_count",
+            nativeQuery = true)
+    int upsertDay(@Param("departureAirportId") UUID departureAirportId,
+                  @Param("destinationAirportId") UUID destinationAirportId, @Param("day") LocalDate day,
+                  @Param("dayStart") LocalDateTime dayStart, @Param("nextDayStart") LocalDateTime nextDayStart);
+
+    /**
+     * Removes the day of the route if it has no non-deleted flights anymore.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = FARE_CALENDAR_QUERY_SPACES))
+    @Query(value = "DELETE FROM fare_calendar c " +
+            "WHERE c.dept_airport_id = :departureAirportId AND c.dest_airport_id = :destinationAirportId AND c.day = :day " +
+            "AND NOT EXISTS (SELECT 1 FROM flight f WHERE f.deletion_time IS NULL " +
+            "AND f.dept_airport_id = :departureAirportId AND f.dest_airport_id = :destinationAirportId " +
+            "AND f.departure_date >= :dayStart AND f.departure_date < :nextDayStart)",
+            nativeQuery = true)
+    int deleteDayWithoutFlights(@Param("departureAirportId") UUID departureAirportId,
+                                @Param("destinationAirportId") UUID destinationAirportId, @Param("day") LocalDate day,
+                                @Param("dayStart") LocalDateTime dayStart, @Param("nextDayStart") LocalDateTime nextDayStart);
+
+    default void refreshDay(UUID departureAirportId, UUID destinationAirportId, LocalDate day) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime nextDayStart = day.plusDays(1).atStartOfDay();
+        if (upsertDay(departureAirportId, destinationAirportId, day, dayStart, nextDayStart) == 0) {
+            deleteDayWithoutFlights(departureAirportId, destinationAirportId, day, dayStart, nextDayStart);
+        }
+    }
+
+    /**
+     * @return the departure airports of the flights and of the calendar, the chunks of a rebuild
+     */
+    @Query(value = "SELECT CAST(dept_airport_id AS text) FROM flight " +
+            "WHERE deletion_time IS NULL AND dept_airport_id IS NOT NULL " +
+            "UNION SELECT CAST(dept_airport_id AS text) FROM fare_calendar",
+            nativeQuery = true)
+    List<String> findDepartureAirportIds();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = FARE_CALENDAR_QUERY_SPACES))
+    @Query(value = "DELETE FROM fare_calendar WHERE dept_airport_id = :departureAirportId", nativeQuery = true)
+    int deleteByDepartureAirportId(@Param("departureAirportId") UUID departureAirportId);
+
+    /**
+     * Computes all days of all routes from the departure airport in one GROUP BY over its flights.
+     *
+     * @return number of inserted days
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = FARE_CALENDAR_QUERY_SPACES))
+    @Query(value = "INSERT INTO fare_calendar (dept_airport_id, dest_airport_id, day, min_price, flight_count) " +
+            "SELECT f.dept_airport_id, f.dest_airport_id, CAST(f.departure_date AS date), min(f.price), count(*) " +
+            "FROM flight f WHERE f.deletion_time IS NULL AND f.dept_airport_id = :departureAirportId " +
+            "AND f.dest_airport_id IS NOT NULL AND f.departure_date IS NOT NULL " +
+            "GROUP BY f.dept_airport_id, f.dest_airport_id, CAST(f.departure_date AS date)",
+            nativeQuery = true)
+    int insertByDepartureAirportId(@Param("departureAirportId") UUID departureAirportId);
+}
@@ -0,0 +1,26 @@
+package com.tascigorkem.flightbookingservice.repository.flight;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Columns of a flight as an edge of the itinerary graph, read without loading the entity or its references.
+ * Deleted flights have a deletion time, they are removed from the graph.
+ */
+public interface FlightEdge {
+
+    UUID getId();
+
+    UUID getDepartureAirportId();
+
+    UUID getDestinationAirportId();
+
+    LocalDateTime getDepartureDate();
+
+    LocalDateTime getArrivalDate();
+
+    BigDecimal getPrice();
+
+    LocalDateTime getDeletionTime();
+}
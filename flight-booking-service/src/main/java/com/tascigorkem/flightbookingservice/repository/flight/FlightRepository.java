@@ -1,15 +1,129 @@
 package com.tascigorkem.flightbookingservice.repository.flight;
 
 import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.repository.base.BaseRow;
+import com.tascigorkem.flightbookingservice.repository.base.KeysetPagingRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface FlightRepository extends JpaRepository<FlightEntity, UUID> {
+public interface FlightRepository extends JpaRepository<FlightEntity, UUID>, JpaSpecificationExecutor<FlightEntity>,
+        KeysetPagingRepository<FlightEntity> {
+
+    String STREAM_FETCH_SIZE = "500";
 
+    // table written by the native seat updates, see CacheConfiguration
+    String SEAT_QUERY_SPACES = "flight";
+
+    @EntityGraph(FlightEntity.REFERENCES_GRAPH)
     Page<FlightEntity> findAllByDeletionTimeIsNull(Pageable pageable);
+
+    @Override
+    @EntityGraph(FlightEntity.REFERENCES_GRAPH)
+    Page<FlightEntity> findAll(@Nullable Specification<FlightEntity> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(FlightEntity.REFERENCES_GRAPH)
+    Optional<FlightEntity> findById(UUID id);
+
+    @Override
+    @EntityGraph(FlightEntity.REFERENCES_GRAPH)
+    @Query("select e from FlightEntity e where e.deletionTime is null order by e.creationTime, e.id")
+    List<FlightEntity> findKeysetFirst(Pageable limit);
+
+    @Override
+    @EntityGraph(FlightEntity.REFERENCES_GRAPH)
+    @Query("select e from FlightEntity e where e.deletionTime is null " +
+            "and e.creationTime >= :creationTime " +
+            "and (e.creationTime > :creationTime or e.id > :id) " +
+            "order by e.creationTime, e.id")
+    List<FlightEntity> findKeysetAfter(@Param("creationTime") LocalDateTime creationTime, @Param("id") UUID id, Pageable limit);
+
+    /**
+     * Reads all non-deleted flights forward-only through a database cursor, {@value #STREAM_FETCH_SIZE} rows per fetch.
+     * Has to be consumed and closed inside a transaction, entities are loaded read-only.
+     */
+    @EntityGraph(FlightEntity.REFERENCES_GRAPH)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select e from FlightEntity e where e.deletionTime is null order by e.creationTime, e.id")
+    Stream<FlightEntity> streamAllByDeletionTimeIsNull();
+
+    /**
+     * Reads the edges of all non-deleted flights forward-only, {@value #STREAM_FETCH_SIZE} rows per fetch.
+     * Has to be consumed and closed inside a transaction, the ids of the references are read from the flight row.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select e.id as id, e.departureAirport.id as departureAirportId, e.destinationAirport.id as destinationAirportId, " +
+            "e.departureDate as departureDate, e.arrivalDate as arrivalDate, e.price as price, e.deletionTime as deletionTime " +
+            "from FlightEntity e where e.deletionTime is null")
+    Stream<FlightEdge> streamEdgesByDeletionTimeIsNull();
+
+    /**
+     * Reads the edges of all flights updated after the given time, deleted ones included, matched by idx_flight_update_time.
+     * Has to be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select e.id as id, e.departureAirport.id as departureAirportId, e.destinationAirport.id as destinationAirportId, " +
+            "e.departureDate as departureDate, e.arrivalDate as arrivalDate, e.price as price, e.deletionTime as deletionTime " +
+            "from FlightEntity e where e.updateTime > :updateTime")
+    Stream<FlightEdge> streamEdgesByUpdateTimeAfter(@Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * Takes one seat in a single conditional UPDATE, the row lock serializes concurrent reservations.
+     *
+     * @return 1 if a seat is taken, 0 if the flight is full, deleted, missing or has no aircraft
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = SEAT_QUERY_SPACES))
+    @Query(value = "UPDATE flight SET booked_seats = booked_seats + 1 " +
+            "WHERE id = :id AND deletion_time IS NULL " +
+            "AND booked_seats < (SELECT a.seat FROM aircraft a WHERE a.id = flight.aircraft_id)",
+            nativeQuery = true)
+    int reserveSeat(@Param("id") UUID id);
+
+    /**
+     * Gives one seat back.
+     *
+     * @return 1 if a seat is given back, 0 if no seat was booked
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = SEAT_QUERY_SPACES))
+    @Query(value = "UPDATE flight SET booked_seats = booked_seats - 1 WHERE id = :id AND booked_seats > 0",
+            nativeQuery = true)
+    int releaseSeat(@Param("id") UUID id);
+
+    /**
+     * Soft deletes a non-deleted flight with one UPDATE ... RETURNING statement, without loading the flight or its references.
+     *
+     * @return the columns of the deleted row, empty if the flight is missing or already deleted
+     */
+    @Query(value = "UPDATE flight SET deletion_time = :deletionTime, update_time = :deletionTime, version = version + 1 " +
+            "WHERE id = :id AND deletion_time IS NULL " +
+            BaseRow.RETURNING_BASE_COLUMNS + ", departure_date AS \"departureDate\", " +
+            "arrival_date AS \"arrivalDate\", price AS \"price\", " +
+            "CAST(dept_airport_id AS text) AS \"departureAirportId\", CAST(dest_airport_id AS text) AS \"destinationAirportId\", " +
+            "CAST(aircraft_id AS text) AS \"aircraftId\", CAST(airline_id AS text) AS \"airlineId\"",
+            nativeQuery = true)
+    Optional<FlightRow> softDeleteById(@Param("id") UUID id, @Param("deletionTime") LocalDateTime deletionTime);
 }
@@ -0,0 +1,27 @@
+package com.tascigorkem.flightbookingservice.repository.flight;
+
+import com.tascigorkem.flightbookingservice.repository.base.BaseRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Columns of a flight row, the references are only their ids.
+ */
+public interface FlightRow extends BaseRow {
+
+    LocalDateTime getDepartureDate();
+
+    LocalDateTime getArrivalDate();
+
+    BigDecimal getPrice();
+
+    UUID getDepartureAirportId();
+
+    UUID getDestinationAirportId();
+
+    UUID getAircraftId();
+
+    UUID getAirlineId();
+}
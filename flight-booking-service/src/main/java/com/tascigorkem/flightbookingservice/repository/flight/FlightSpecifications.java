@@ -0,0 +1,45 @@
+package com.tascigorkem.flightbookingservice.repository.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto;
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria predicates of flight search.
+ * Route and departure date predicates are matched by the partial index idx_flight_route_departure.
+ */
+public class FlightSpecifications {
+
+    private FlightSpecifications() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static Specification<FlightEntity> matches(FlightSearchDto flightSearchDto) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(criteriaBuilder.isNull(root.get("deletionTime")));
+
+            if (flightSearchDto.getDepartureAirportId() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("departureAirport").get("id"), flightSearchDto.getDepartureAirportId()));
+            }
+            if (flightSearchDto.getDestinationAirportId() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("destinationAirport").get("id"), flightSearchDto.getDestinationAirportId()));
+            }
+            if (flightSearchDto.getDepartureFrom() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("departureDate"), flightSearchDto.getDepartureFrom()));
+            }
+            if (flightSearchDto.getDepartureTo() != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("departureDate"), flightSearchDto.getDepartureTo()));
+            }
+            if (flightSearchDto.getMaxPrice() != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("price"), flightSearchDto.getMaxPrice()));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
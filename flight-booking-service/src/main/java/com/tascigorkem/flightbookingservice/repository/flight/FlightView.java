@@ -0,0 +1,53 @@
+package com.tascigorkem.flightbookingservice.repository.flight;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A flight row joined with its references, read by R2DBC without a persistence context.
+ * The columns of a reference are null if the flight has none.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Table("flight")
+public class FlightView {
+
+    @Id
+    private UUID id;
+    private LocalDateTime creationTime;
+    private LocalDateTime updateTime;
+    private Long version;
+
+    private LocalDateTime departureDate;
+    private LocalDateTime arrivalDate;
+    private BigDecimal price;
+
+    private UUID departureAirportId;
+    private String departureAirportName;
+    private String departureAirportCode;
+    private String departureAirportCity;
+
+    private UUID destinationAirportId;
+    private String destinationAirportName;
+    private String destinationAirportCode;
+    private String destinationAirportCity;
+
+    private UUID aircraftId;
+    private String aircraftModelName;
+    private String aircraftCode;
+    private Short aircraftSeat;
+    private String aircraftCountry;
+    private LocalDateTime aircraftManufactureDate;
+
+    private UUID airlineId;
+    private String airlineName;
+    private String airlineCountry;
+}
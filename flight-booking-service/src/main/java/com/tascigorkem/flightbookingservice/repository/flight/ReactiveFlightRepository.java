@@ -0,0 +1,69 @@
+package com.tascigorkem.flightbookingservice.repository.flight;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.RepositoryDefinition;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of flights with their references over R2DBC, one joined statement per read.
+ * Read-only on purpose, the flights are written by {@link FlightRepository} only.
+ */
+@RepositoryDefinition(domainClass = FlightView.class, idClass = UUID.class)
+public interface ReactiveFlightRepository {
+
+    String SELECT_VIEW = "SELECT f.id, f.creation_time, f.update_time, f.version, " +
+            "f.departure_date, f.arrival_date, f.price, " +
+            "f.dept_airport_id AS departure_airport_id, da.name AS departure_airport_name, " +
+            "da.code AS departure_airport_code, da.city AS departure_airport_city, " +
+            "f.dest_airport_id AS destination_airport_id, ds.name AS destination_airport_name, " +
+            "ds.code AS destination_airport_code, ds.city AS destination_airport_city, " +
+            "f.aircraft_id, ac.model_name AS aircraft_model_name, ac.code AS aircraft_code, ac.seat AS aircraft_seat, " +
+            "ac.country AS aircraft_country, ac.manufacture_date AS aircraft_manufacture_date, " +
+            "f.airline_id, al.name AS airline_name, al.country AS airline_country " +
+            "FROM flight f " +
+            "LEFT JOIN airport da ON da.id = f.dept_airport_id " +
+            "LEFT JOIN airport ds ON ds.id = f.dest_airport_id " +
+            "LEFT JOIN aircraft ac ON ac.id = f.aircraft_id " +
+            "LEFT JOIN airplane al ON al.id = f.airline_id ";
+
+    // same predicates as FlightSpecifications, an absent criterion is a null parameter
+    String SEARCH_CRITERIA = "WHERE f.deletion_time IS NULL " +
+            "AND (CAST(:departureAirportId AS uuid) IS NULL OR f.dept_airport_id = :departureAirportId) " +
+            "AND (CAST(:destinationAirportId AS uuid) IS NULL OR f.dest_airport_id = :destinationAirportId) " +
+            "AND (CAST(:departureFrom AS timestamp) IS NULL OR f.departure_date >= :departureFrom) " +
+            "AND (CAST(:departureTo AS timestamp) IS NULL OR f.departure_date <= :departureTo) " +
+            "AND (CAST(:maxPrice AS numeric) IS NULL OR f.price <= :maxPrice) ";
+
+    @Query(SELECT_VIEW + "WHERE f.deletion_time IS NULL ORDER BY f.creation_time, f.id LIMIT :limit OFFSET :offset")
+    Flux<FlightView> findPageByDeletionTimeIsNull(@Param("limit") int limit, @Param("offset") long offset);
+
+    @Query(SELECT_VIEW + "WHERE f.deletion_time IS NULL ORDER BY f.creation_time, f.id")
+    Flux<FlightView> findAllByDeletionTimeIsNull();
+
+    @Query("SELECT count(*) FROM flight f WHERE f.deletion_time IS NULL")
+    Mono<Long> countByDeletionTimeIsNull();
+
+    @Query(SELECT_VIEW + SEARCH_CRITERIA + "ORDER BY f.departure_date, f.id LIMIT :limit OFFSET :offset")
+    Flux<FlightView> search(@Param("departureAirportId") UUID departureAirportId,
+                            @Param("destinationAirportId") UUID destinationAirportId,
+                            @Param("departureFrom") LocalDateTime departureFrom,
+                            @Param("departureTo") LocalDateTime departureTo,
+                            @Param("maxPrice") BigDecimal maxPrice,
+                            @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query("SELECT count(*) FROM flight f " + SEARCH_CRITERIA)
+    Mono<Long> countSearch(@Param("departureAirportId") UUID departureAirportId,
+                           @Param("destinationAirportId") UUID destinationAirportId,
+                           @Param("departureFrom") LocalDateTime departureFrom,
+                           @Param("departureTo") LocalDateTime departureTo,
+                           @Param("maxPrice") BigDecimal maxPrice);
+
+    @Query(SELECT_VIEW + "WHERE f.id = :id")
+    Mono<FlightView> findById(@Param("id") UUID id);
+}
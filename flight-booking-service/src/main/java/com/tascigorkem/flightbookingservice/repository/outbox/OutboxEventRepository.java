@@ -0,0 +1,79 @@
+package com.tascigorkem.flightbookingservice.repository.outbox;
+
+import com.tascigorkem.flightbookingservice.entity.outbox.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
+
+/**
+ * The unsent events are matched by the partial indexes idx_outbox_event_unsent_sequence and
+ * idx_outbox_event_aggregate_unsent_sequence.
+ * Parked events are unsent too, they are expected to be few.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, UUID> {
+
+    // table written by the native statements, see CacheConfiguration
+    String OUTBOX_EVENT_QUERY_SPACES = "outbox_event";
+
+    List<OutboxEventEntity> findByAggregateIdOrderBySequenceNumber(UUID aggregateId);
+
+    /**
+     * Locks the oldest unsent events which are due at now until the end of the transaction. Events locked by the relay
+     * of another instance are skipped instead of waited for, and so is every event behind an earlier unsent one of the
+     * same aggregate, so the events of a booking are never sent out of order. Parked events are neither locked
+     * nor hold back the events behind them. The order is the sequence number, not the creation time written
+     * by the clock of each instance.
+     */
+    @Query(value = "SELECT * FROM outbox_event e WHERE e.sent_time IS NULL AND e.failed_time IS NULL " +
+            "AND (e.next_attempt_time IS NULL OR e.next_attempt_time <= :now) " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_event p WHERE p.sent_time IS NULL AND p.failed_time IS NULL " +
+            "AND p.aggregate_id = e.aggregate_id AND p.sequence_number < e.sequence_number) " +
+            "ORDER BY e.sequence_number LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEventEntity> lockUnsentBatch(@Param("batchSize") int batchSize, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = OUTBOX_EVENT_QUERY_SPACES))
+    @Query(value = "UPDATE outbox_event SET sent_time = :sentTime, attempts = attempts + 1 WHERE id IN (:ids)",
+            nativeQuery = true)
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("sentTime") LocalDateTime sentTime);
+
+    /**
+     * Delays the next send of the events by backoffSeconds, doubled by each earlier failed send, up to maxBackoffSeconds.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = OUTBOX_EVENT_QUERY_SPACES))
+    @Query(value = "UPDATE outbox_event SET attempts = attempts + 1, next_attempt_time = :now + " +
+            "make_interval(secs => least(:maxBackoffSeconds, :backoffSeconds * power(2, attempts))) WHERE id IN (:ids)",
+            nativeQuery = true)
+    int markFailed(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now,
+                   @Param("backoffSeconds") double backoffSeconds, @Param("maxBackoffSeconds") double maxBackoffSeconds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = OUTBOX_EVENT_QUERY_SPACES))
+    @Query(value = "UPDATE outbox_event SET failed_time = :failedTime, attempts = attempts + 1 WHERE id IN (:ids)",
+            nativeQuery = true)
+    int markParked(@Param("ids") Collection<UUID> ids, @Param("failedTime") LocalDateTime failedTime);
+
+    @Query(value = "SELECT count(*) AS count, min(creation_time) AS oldestCreationTime FROM outbox_event " +
+            "WHERE sent_time IS NULL AND failed_time IS NULL",
+            nativeQuery = true)
+    OutboxPending findPending();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = OUTBOX_EVENT_QUERY_SPACES))
+    @Query(value = "DELETE FROM outbox_event WHERE sent_time < :before", nativeQuery = true)
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,13 @@
+package com.tascigorkem.flightbookingservice.repository.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of the unsent events which are not parked and creation time of the oldest one, null if there is none.
+ */
+public interface OutboxPending {
+
+    long getCount();
+
+    LocalDateTime getOldestCreationTime();
+}
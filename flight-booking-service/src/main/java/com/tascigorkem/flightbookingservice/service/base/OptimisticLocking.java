@@ -0,0 +1,38 @@
+package com.tascigorkem.flightbookingservice.service.base;
+
+import com.tascigorkem.flightbookingservice.entity.base.BaseEntity;
+import com.tascigorkem.flightbookingservice.exception.conflict.VersionConflictException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.UUID;
+
+/**
+ * Update of a loaded entity without row locks: the version read with the entity is compared with the version
+ * expected by the client, and the UPDATE is only applied while the row still has the version read with it.
+ */
+public final class OptimisticLocking {
+
+    private OptimisticLocking() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Flushes immediately, so a concurrent update is reported here and the returned entity carries its new version.
+     *
+     * @param expectedVersion version the client has based its change on, null to only guard against concurrent updates
+     * @throws VersionConflictException if the entity is not at the expected version or is updated concurrently
+     */
+    public static <T extends BaseEntity> T saveChecked(JpaRepository<T, UUID> repository, T entity,
+                                                       @Nullable Long expectedVersion, String resourceType) {
+        if (expectedVersion != null && expectedVersion != entity.getVersion()) {
+            throw new VersionConflictException(resourceType, entity.getId().toString());
+        }
+        try {
+            return repository.saveAndFlush(entity);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new VersionConflictException(resourceType, entity.getId().toString());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.tascigorkem.flightbookingservice.service.base;
+
+import com.tascigorkem.flightbookingservice.config.CacheConfiguration;
+import com.tascigorkem.flightbookingservice.entity.base.BaseEntity;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.UUID;
+
+/**
+ * Invalidates the hibernate second level cache for writes hibernate does not see,
+ * like the soft deletes which are native UPDATE ... RETURNING queries executed as selects.
+ */
+@RequiredArgsConstructor
+@Component
+public class SecondLevelCacheEviction {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evicts the reference entity and the cached pages of reference data, which may still list it.
+     * Evicted again after the transaction, a concurrent read of the former row may have cached it in between.
+     */
+    public void evictReference(Class<? extends BaseEntity> entityClass, UUID id) {
+        evict(entityClass, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(entityClass, id);
+                }
+            });
+        }
+    }
+
+    private void evict(Class<? extends BaseEntity> entityClass, UUID id) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(entityClass, id);
+        cache.evictQueryRegion(CacheConfiguration.REFERENCE_QUERY_REGION);
+    }
+}
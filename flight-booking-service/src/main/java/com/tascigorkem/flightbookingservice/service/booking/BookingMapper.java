@@ -1,11 +1,16 @@
 package com.tascigorkem.flightbookingservice.service.booking;
 
 import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
+import com.tascigorkem.flightbookingservice.dto.customer.CustomerDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
 import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
+import com.tascigorkem.flightbookingservice.repository.booking.BookingRow;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
+import java.util.UUID;
 
 @Mapper
 public interface BookingMapper {
@@ -14,9 +19,22 @@ public interface BookingMapper {
 
     BookingDto toBookingDto(BookingEntity bookingEntity);
 
+    @Mapping(target = "customer", source = "customerId")
+    @Mapping(target = "flight", source = "flightId")
+    BookingDto toBookingDto(BookingRow bookingRow);
+
     List<BookingDto> toBookingDtoList(List<BookingEntity> bookingEntityList);
 
+    @Mapping(target = "version", ignore = true)
     BookingEntity toBookingEntity(BookingDto bookingDto);
 
     List<BookingEntity> toBookingEntityList(List<BookingDto> bookingDtoList);
+
+    default CustomerDto toCustomerReference(UUID id) {
+        return id == null ? null : CustomerDto.builder().id(id).build();
+    }
+
+    default FlightDto toFlightReference(UUID id) {
+        return id == null ? null : FlightDto.builder().id(id).build();
+    }
 }
@@ -1,16 +1,26 @@
 package com.tascigorkem.flightbookingservice.service.booking;
 
 import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
+import com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface BookingService {
-    Page<BookingDto> getAllBookings(Pageable pageable);
+    Page<BookingSummaryDto> getAllBookings(Pageable pageable);
+
+    CursorSlice<BookingSummaryDto> getAllBookingsAfter(Cursor after, int size);
+
+    void exportBookings(Consumer<BookingSummaryDto> rowConsumer);
 
     BookingDto getBookingById(UUID id);
 
+    BookingDto getCurrentBookingById(UUID id);
+
     BookingDto addBooking(BookingDto bookingDto);
 
     BookingDto updateBooking(BookingDto bookingDto);
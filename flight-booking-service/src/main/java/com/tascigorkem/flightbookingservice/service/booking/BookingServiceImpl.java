@@ -1,18 +1,29 @@
 package com.tascigorkem.flightbookingservice.service.booking;
 
 import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
+import com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto;
 import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
+import com.tascigorkem.flightbookingservice.enums.BookingEventType;
+import com.tascigorkem.flightbookingservice.enums.BookingState;
 import com.tascigorkem.flightbookingservice.exception.notfound.BookingNotFoundException;
 import com.tascigorkem.flightbookingservice.repository.booking.BookingRepository;
+import com.tascigorkem.flightbookingservice.service.flight.SeatInventoryService;
+import com.tascigorkem.flightbookingservice.service.outbox.OutboxService;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static com.tascigorkem.flightbookingservice.service.base.OptimisticLocking.saveChecked;
 import static com.tascigorkem.flightbookingservice.service.booking.BookingMapper.BOOKING_MAPPER;
 
 
@@ -22,46 +33,109 @@ import static com.tascigorkem.flightbookingservice.service.booking.BookingMapper
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final OutboxService outboxService;
 
     @Override
-    public Page<BookingDto> getAllBookings(Pageable pageable) {
-        return bookingRepository.findAllByDeletionTimeIsNull(pageable).map(BOOKING_MAPPER::toBookingDto);
+    @Transactional(readOnly = true)
+    public Page<BookingSummaryDto> getAllBookings(Pageable pageable) {
+        return bookingRepository.findAllSummariesByDeletionTimeIsNull(pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<BookingSummaryDto> getAllBookingsAfter(Cursor after, int size) {
+        return bookingRepository.findSummaryKeysetSlice(after, size);
+    }
+
+    /**
+     * Passes all non-deleted bookings to the consumer while they are read from the database cursor.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBookings(Consumer<BookingSummaryDto> rowConsumer) {
+        try (Stream<BookingSummaryDto> bookingSummaries = bookingRepository.streamAllSummariesByDeletionTimeIsNull()) {
+            bookingSummaries.forEach(rowConsumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public BookingDto getBookingById(UUID id) {
         return BOOKING_MAPPER.toBookingDto(bookingRepository.findById(id)
                 .orElseThrow(() -> new BookingNotFoundException("id", id.toString())));
     }
 
+    /**
+     * Read of the committed booking for the answer of a conflicting update, in a read-write transaction on the primary.
+     */
+    @Override
+    public BookingDto getCurrentBookingById(UUID id) {
+        return BOOKING_MAPPER.toBookingDto(bookingRepository.findById(id)
+                .orElseThrow(() -> new BookingNotFoundException("id", id.toString())));
+    }
+
+    /**
+     * The email of the new booking is sent by the outbox relay, once the booking committed.
+     */
     @Override
     public BookingDto addBooking(BookingDto bookingDto) {
         BookingEntity bookingEntity = BOOKING_MAPPER.toBookingEntity(bookingDto);
         bookingEntity.setId(UUID.randomUUID());
-        return BOOKING_MAPPER.toBookingDto(bookingRepository.save(bookingEntity));
+        if (holdsSeat(bookingEntity)) {
+            seatInventoryService.reserveSeat(bookingEntity.getFlight().getId());
+        }
+        BookingEntity addedBookingEntity = bookingRepository.save(bookingEntity);
+        outboxService.addBookingEvent(addedBookingEntity, BookingEventType.CREATED);
+        return BOOKING_MAPPER.toBookingDto(addedBookingEntity);
     }
 
+    /**
+     * A change of the state is notified by email, through the outbox like a new booking.
+     */
     @Override
     public BookingDto updateBooking(BookingDto bookingDto) {
         BookingEntity bookingEntity = bookingRepository.findById(bookingDto.getId())
                 .orElseThrow(() -> new BookingNotFoundException("id", bookingDto.getId().toString()));
 
+        boolean heldSeat = holdsSeat(bookingEntity);
+        boolean stateChanged = !Objects.equals(bookingEntity.getState(), bookingDto.getState());
         bookingEntity.setState(bookingDto.getState());
+        boolean holdsSeat = holdsSeat(bookingEntity);
+        if (!heldSeat && holdsSeat) {
+            seatInventoryService.reserveSeat(bookingEntity.getFlight().getId());
+        } else if (heldSeat && !holdsSeat) {
+            seatInventoryService.releaseSeat(bookingEntity.getFlight().getId());
+        }
+
         bookingEntity.setPaymentDate(bookingDto.getPaymentDate());
         bookingEntity.setPaymentAmount(bookingDto.getPaymentAmount());
         bookingEntity.setInsurance(bookingDto.isInsurance());
         bookingEntity.setLuggage(bookingDto.getLuggage());
 
-        return BOOKING_MAPPER.toBookingDto(bookingRepository.save(bookingEntity));
+        BookingEntity updatedBookingEntity = saveChecked(bookingRepository, bookingEntity, bookingDto.getVersion(), "Booking");
+        if (stateChanged) {
+            outboxService.addBookingEvent(updatedBookingEntity, BookingEventType.STATE_CHANGED);
+        }
+        return BOOKING_MAPPER.toBookingDto(updatedBookingEntity);
     }
 
+    /**
+     * The seat of the booking is given back by the same statement that deletes it.
+     */
     @Override
     public BookingDto removeBooking(UUID id) {
-        BookingEntity bookingEntity = bookingRepository.findById(id)
-                .orElseThrow(() -> new BookingNotFoundException("id", id.toString()));
-
-        bookingEntity.setDeletionTime(LocalDateTime.now());
+        return BOOKING_MAPPER.toBookingDto(bookingRepository.softDeleteById(id, LocalDateTime.now())
+                .orElseThrow(() -> new BookingNotFoundException("id", id.toString())));
+    }
 
-        return BOOKING_MAPPER.toBookingDto(bookingRepository.save(bookingEntity));
+    /**
+     * @return whether the booking occupies a seat of its flight: not deleted, not canceled and with a flight
+     */
+    private static boolean holdsSeat(BookingEntity bookingEntity) {
+        return bookingEntity.getDeletionTime() == null
+                && !BookingState.CANCELED.name().equals(bookingEntity.getState())
+                && bookingEntity.getFlight() != null
+                && bookingEntity.getFlight().getId() != null;
     }
 }
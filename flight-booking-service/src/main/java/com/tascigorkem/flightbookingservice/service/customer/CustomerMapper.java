@@ -2,7 +2,9 @@ package com.tascigorkem.flightbookingservice.service.customer;
 
 import com.tascigorkem.flightbookingservice.dto.customer.CustomerDto;
 import com.tascigorkem.flightbookingservice.entity.customer.CustomerEntity;
+import com.tascigorkem.flightbookingservice.repository.customer.CustomerRow;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
@@ -14,8 +16,11 @@ public interface CustomerMapper {
 
     CustomerDto toCustomerDto(CustomerEntity customerEntity);
 
+    CustomerDto toCustomerDto(CustomerRow customerRow);
+
     List<CustomerDto> toCustomerDtoList(List<CustomerEntity> customerEntityList);
 
+    @Mapping(target = "version", ignore = true)
     CustomerEntity toCustomerEntity(CustomerDto customerDto);
 
     List<CustomerEntity> toCustomerEntityList(List<CustomerDto> customerDtoList);
@@ -1,6 +1,8 @@
 package com.tascigorkem.flightbookingservice.service.customer;
 
 import com.tascigorkem.flightbookingservice.dto.customer.CustomerDto;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -9,8 +11,12 @@ import java.util.UUID;
 public interface CustomerService {
     Page<CustomerDto> getAllCustomers(Pageable pageable);
 
+    CursorSlice<CustomerDto> getAllCustomersAfter(Cursor after, int size);
+
     CustomerDto getCustomerById(UUID id);
 
+    CustomerDto getCurrentCustomerById(UUID id);
+
     CustomerDto addCustomer(CustomerDto customerDto);
 
     CustomerDto updateCustomer(CustomerDto customerDto);
@@ -4,15 +4,18 @@ import com.tascigorkem.flightbookingservice.dto.customer.CustomerDto;
 import com.tascigorkem.flightbookingservice.entity.customer.CustomerEntity;
 import com.tascigorkem.flightbookingservice.exception.notfound.CustomerNotFoundException;
 import com.tascigorkem.flightbookingservice.repository.customer.CustomerRepository;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import static com.tascigorkem.flightbookingservice.service.base.OptimisticLocking.saveChecked;
 import static com.tascigorkem.flightbookingservice.service.customer.CustomerMapper.CUSTOMER_MAPPER;
 
 
@@ -24,16 +27,33 @@ public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository customerRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<CustomerDto> getAllCustomers(Pageable pageable) {
         return customerRepository.findAllByDeletionTimeIsNull(pageable).map(CUSTOMER_MAPPER::toCustomerDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<CustomerDto> getAllCustomersAfter(Cursor after, int size) {
+        return customerRepository.findKeysetSlice(after, size).map(CUSTOMER_MAPPER::toCustomerDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public CustomerDto getCustomerById(UUID id) {
         return CUSTOMER_MAPPER.toCustomerDto(customerRepository.findById(id)
                 .orElseThrow(() -> new CustomerNotFoundException("id", id.toString())));
     }
 
+    /**
+     * Read of the committed customer for the answer of a conflicting update, in a read-write transaction on the primary.
+     */
+    @Override
+    public CustomerDto getCurrentCustomerById(UUID id) {
+        return CUSTOMER_MAPPER.toCustomerDto(customerRepository.findById(id)
+                .orElseThrow(() -> new CustomerNotFoundException("id", id.toString())));
+    }
+
     @Override
     public CustomerDto addCustomer(CustomerDto customerDto) {
         CustomerEntity customerEntity = CUSTOMER_MAPPER.toCustomerEntity(customerDto);
@@ -55,16 +75,13 @@ public class CustomerServiceImpl implements CustomerService {
         customerEntity.setCity(customerDto.getCity());
         customerEntity.setCountry(customerDto.getCountry());
 
-        return CUSTOMER_MAPPER.toCustomerDto(customerRepository.save(customerEntity));
+        return CUSTOMER_MAPPER.toCustomerDto(
+                saveChecked(customerRepository, customerEntity, customerDto.getVersion(), "Customer"));
     }
 
     @Override
     public CustomerDto removeCustomer(UUID id) {
-        CustomerEntity customerEntity = customerRepository.findById(id)
-                .orElseThrow(() -> new CustomerNotFoundException("id", id.toString()));
-
-        customerEntity.setDeletionTime(LocalDateTime.now());
-
-        return CUSTOMER_MAPPER.toCustomerDto(customerRepository.save(customerEntity));
+        return CUSTOMER_MAPPER.toCustomerDto(customerRepository.softDeleteById(id, LocalDateTime.now())
+                .orElseThrow(() -> new CustomerNotFoundException("id", id.toString())));
     }
 }
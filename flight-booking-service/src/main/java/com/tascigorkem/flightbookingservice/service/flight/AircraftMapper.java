@@ -2,7 +2,9 @@ package com.tascigorkem.flightbookingservice.service.flight;
 
 import com.tascigorkem.flightbookingservice.dto.flight.AircraftDto;
 import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
+import com.tascigorkem.flightbookingservice.repository.flight.AircraftRow;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
@@ -14,8 +16,11 @@ public interface AircraftMapper {
 
     AircraftDto toAircraftDto(AircraftEntity aircraftEntity);
 
+    AircraftDto toAircraftDto(AircraftRow aircraftRow);
+
     List<AircraftDto> toAircraftDtoList(List<AircraftEntity> aircraftEntityList);
 
+    @Mapping(target = "version", ignore = true)
     AircraftEntity toAircraftEntity(AircraftDto aircraftDto);
 
     List<AircraftEntity> toAircraftEntityList(List<AircraftDto> aircraftDtoList);
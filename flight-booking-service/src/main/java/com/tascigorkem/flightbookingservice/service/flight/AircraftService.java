@@ -1,6 +1,8 @@
 package com.tascigorkem.flightbookingservice.service.flight;
 
 import com.tascigorkem.flightbookingservice.dto.flight.AircraftDto;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -9,8 +11,12 @@ import java.util.UUID;
 public interface AircraftService {
     Page<AircraftDto> getAllAircrafts(Pageable pageable);
 
+    CursorSlice<AircraftDto> getAllAircraftsAfter(Cursor after, int size);
+
     AircraftDto getAircraftById(UUID id);
 
+    AircraftDto getCurrentAircraftById(UUID id);
+
     AircraftDto addAircraft(AircraftDto aircraftDto);
 
     AircraftDto updateAircraft(AircraftDto aircraftDto);
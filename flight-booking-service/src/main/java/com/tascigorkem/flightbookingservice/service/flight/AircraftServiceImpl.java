@@ -1,18 +1,26 @@
 package com.tascigorkem.flightbookingservice.service.flight;
 
+import com.tascigorkem.flightbookingservice.config.CacheConfiguration;
 import com.tascigorkem.flightbookingservice.dto.flight.AircraftDto;
 import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
 import com.tascigorkem.flightbookingservice.exception.notfound.AircraftNotFoundException;
 import com.tascigorkem.flightbookingservice.repository.flight.AircraftRepository;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
+import com.tascigorkem.flightbookingservice.service.base.SecondLevelCacheEviction;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import static com.tascigorkem.flightbookingservice.service.base.OptimisticLocking.saveChecked;
 import static com.tascigorkem.flightbookingservice.service.flight.AircraftMapper.AIRCRAFT_MAPPER;
 
 
@@ -22,19 +30,40 @@ import static com.tascigorkem.flightbookingservice.service.flight.AircraftMapper
 public class AircraftServiceImpl implements AircraftService {
 
     private final AircraftRepository aircraftRepository;
+    private final SecondLevelCacheEviction secondLevelCacheEviction;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<AircraftDto> getAllAircrafts(Pageable pageable) {
         return aircraftRepository.findAllByDeletionTimeIsNull(pageable).map(AIRCRAFT_MAPPER::toAircraftDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<AircraftDto> getAllAircraftsAfter(Cursor after, int size) {
+        return aircraftRepository.findKeysetSlice(after, size).map(AIRCRAFT_MAPPER::toAircraftDto);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfiguration.AIRCRAFTS_CACHE, key = "#id")
+    @Transactional(readOnly = true)
     public AircraftDto getAircraftById(UUID id) {
         return AIRCRAFT_MAPPER.toAircraftDto(aircraftRepository.findById(id)
                 .orElseThrow(() -> new AircraftNotFoundException("id", id.toString())));
     }
 
+    /**
+     * Read of the committed aircraft for the answer of a conflicting update, on the primary and past both caches.
+     */
+    @Override
+    @CachePut(cacheNames = CacheConfiguration.AIRCRAFTS_CACHE, key = "#id")
+    public AircraftDto getCurrentAircraftById(UUID id) {
+        return AIRCRAFT_MAPPER.toAircraftDto(aircraftRepository.findCurrentById(id)
+                .orElseThrow(() -> new AircraftNotFoundException("id", id.toString())));
+    }
+
     @Override
+    @CachePut(cacheNames = CacheConfiguration.AIRCRAFTS_CACHE, key = "#result.id")
     public AircraftDto addAircraft(AircraftDto aircraftDto) {
         AircraftEntity aircraftEntity = AIRCRAFT_MAPPER.toAircraftEntity(aircraftDto);
         aircraftEntity.setId(UUID.randomUUID());
@@ -42,6 +71,7 @@ public class AircraftServiceImpl implements AircraftService {
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfiguration.AIRCRAFTS_CACHE, key = "#result.id")
     public AircraftDto updateAircraft(AircraftDto aircraftDto) {
         AircraftEntity aircraftEntity = aircraftRepository.findById(aircraftDto.getId())
                 .orElseThrow(() -> new AircraftNotFoundException("id", aircraftDto.getId().toString()));
@@ -51,16 +81,16 @@ public class AircraftServiceImpl implements AircraftService {
         aircraftEntity.setSeat(aircraftDto.getSeat());
         aircraftEntity.setCountry(aircraftDto.getCountry());
 
-        return AIRCRAFT_MAPPER.toAircraftDto(aircraftRepository.save(aircraftEntity));
+        return AIRCRAFT_MAPPER.toAircraftDto(
+                saveChecked(aircraftRepository, aircraftEntity, aircraftDto.getVersion(), "Aircraft"));
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfiguration.AIRCRAFTS_CACHE, key = "#id")
     public AircraftDto removeAircraft(UUID id) {
-        AircraftEntity aircraftEntity = aircraftRepository.findById(id)
-                .orElseThrow(() -> new AircraftNotFoundException("id", id.toString()));
-
-        aircraftEntity.setDeletionTime(LocalDateTime.now());
-
-        return AIRCRAFT_MAPPER.toAircraftDto(aircraftRepository.save(aircraftEntity));
+        AircraftDto removedAircraftDto = AIRCRAFT_MAPPER.toAircraftDto(aircraftRepository.softDeleteById(id, LocalDateTime.now())
+                .orElseThrow(() -> new AircraftNotFoundException("id", id.toString())));
+        secondLevelCacheEviction.evictReference(AircraftEntity.class, id);
+        return removedAircraftDto;
     }
 }
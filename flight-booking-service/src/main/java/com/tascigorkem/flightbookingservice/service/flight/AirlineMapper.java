@@ -2,7 +2,9 @@ package com.tascigorkem.flightbookingservice.service.flight;
 
 import com.tascigorkem.flightbookingservice.dto.flight.AirlineDto;
 import com.tascigorkem.flightbookingservice.entity.flight.AirlineEntity;
+import com.tascigorkem.flightbookingservice.repository.flight.AirlineRow;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
@@ -14,8 +16,11 @@ public interface AirlineMapper {
 
     AirlineDto toAirlineDto(AirlineEntity airlineEntity);
 
+    AirlineDto toAirlineDto(AirlineRow airlineRow);
+
     List<AirlineDto> toAirlineDtoList(List<AirlineEntity> airlineEntityList);
 
+    @Mapping(target = "version", ignore = true)
     AirlineEntity toAirlineEntity(AirlineDto airlineDto);
 
     List<AirlineEntity> toAirlineEntityList(List<AirlineDto> airlineDtoList);
@@ -1,6 +1,8 @@
 package com.tascigorkem.flightbookingservice.service.flight;
 
 import com.tascigorkem.flightbookingservice.dto.flight.AirlineDto;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -9,8 +11,12 @@ import java.util.UUID;
 public interface AirlineService {
     Page<AirlineDto> getAllAirlines(Pageable pageable);
 
+    CursorSlice<AirlineDto> getAllAirlinesAfter(Cursor after, int size);
+
     AirlineDto getAirlineById(UUID id);
 
+    AirlineDto getCurrentAirlineById(UUID id);
+
     AirlineDto addAirline(AirlineDto airlineDto);
 
     AirlineDto updateAirline(AirlineDto airlineDto);
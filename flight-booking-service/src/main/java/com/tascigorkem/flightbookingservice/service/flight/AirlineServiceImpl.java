@@ -1,18 +1,26 @@
 package com.tascigorkem.flightbookingservice.service.flight;
 
+import com.tascigorkem.flightbookingservice.config.CacheConfiguration;
 import com.tascigorkem.flightbookingservice.dto.flight.AirlineDto;
 import com.tascigorkem.flightbookingservice.entity.flight.AirlineEntity;
 import com.tascigorkem.flightbookingservice.exception.notfound.AirlineNotFoundException;
 import com.tascigorkem.flightbookingservice.repository.flight.AirlineRepository;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
+import com.tascigorkem.flightbookingservice.service.base.SecondLevelCacheEviction;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import static com.tascigorkem.flightbookingservice.service.base.OptimisticLocking.saveChecked;
 import static com.tascigorkem.flightbookingservice.service.flight.AirlineMapper.AIRLINE_MAPPER;
 
 
@@ -22,19 +30,40 @@ import static com.tascigorkem.flightbookingservice.service.flight.AirlineMapper.
 public class AirlineServiceImpl implements AirlineService {
 
     private final AirlineRepository airlineRepository;
+    private final SecondLevelCacheEviction secondLevelCacheEviction;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<AirlineDto> getAllAirlines(Pageable pageable) {
         return airlineRepository.findAllByDeletionTimeIsNull(pageable).map(AIRLINE_MAPPER::toAirlineDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<AirlineDto> getAllAirlinesAfter(Cursor after, int size) {
+        return airlineRepository.findKeysetSlice(after, size).map(AIRLINE_MAPPER::toAirlineDto);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfiguration.AIRLINES_CACHE, key = "#id")
+    @Transactional(readOnly = true)
     public AirlineDto getAirlineById(UUID id) {
         return AIRLINE_MAPPER.toAirlineDto(airlineRepository.findById(id)
                 .orElseThrow(() -> new AirlineNotFoundException("id", id.toString())));
     }
 
+    /**
+     * Read of the committed airline for the answer of a conflicting update, on the primary and past both caches.
+     */
+    @Override
+    @CachePut(cacheNames = CacheConfiguration.AIRLINES_CACHE, key = "#id")
+    public AirlineDto getCurrentAirlineById(UUID id) {
+        return AIRLINE_MAPPER.toAirlineDto(airlineRepository.findCurrentById(id)
+                .orElseThrow(() -> new AirlineNotFoundException("id", id.toString())));
+    }
+
     @Override
+    @CachePut(cacheNames = CacheConfiguration.AIRLINES_CACHE, key = "#result.id")
     public AirlineDto addAirline(AirlineDto airlineDto) {
         AirlineEntity airlineEntity = AIRLINE_MAPPER.toAirlineEntity(airlineDto);
         airlineEntity.setId(UUID.randomUUID());
@@ -42,6 +71,7 @@ public class AirlineServiceImpl implements AirlineService {
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfiguration.AIRLINES_CACHE, key = "#result.id")
     public AirlineDto updateAirline(AirlineDto airlineDto) {
         AirlineEntity airlineEntity = airlineRepository.findById(airlineDto.getId())
                 .orElseThrow(() -> new AirlineNotFoundException("id", airlineDto.getId().toString()));
@@ -49,16 +79,16 @@ public class AirlineServiceImpl implements AirlineService {
         airlineEntity.setName(airlineDto.getName());
         airlineEntity.setCountry(airlineDto.getCountry());
 
-        return AIRLINE_MAPPER.toAirlineDto(airlineRepository.save(airlineEntity));
+        return AIRLINE_MAPPER.toAirlineDto(
+                saveChecked(airlineRepository, airlineEntity, airlineDto.getVersion(), "Airline"));
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfiguration.AIRLINES_CACHE, key = "#id")
     public AirlineDto removeAirline(UUID id) {
-        AirlineEntity airlineEntity = airlineRepository.findById(id)
-                .orElseThrow(() -> new AirlineNotFoundException("id", id.toString()));
-
-        airlineEntity.setDeletionTime(LocalDateTime.now());
-
-        return AIRLINE_MAPPER.toAirlineDto(airlineRepository.save(airlineEntity));
+        AirlineDto removedAirlineDto = AIRLINE_MAPPER.toAirlineDto(airlineRepository.softDeleteById(id, LocalDateTime.now())
+                .orElseThrow(() -> new AirlineNotFoundException("id", id.toString())));
+        secondLevelCacheEviction.evictReference(AirlineEntity.class, id);
+        return removedAirlineDto;
     }
 }
@@ -2,7 +2,9 @@ package com.tascigorkem.flightbookingservice.service.flight;
 
 import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
 import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
+import com.tascigorkem.flightbookingservice.repository.flight.AirportRow;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
@@ -14,8 +16,11 @@ public interface AirportMapper {
 
     AirportDto toAirportDto(AirportEntity airportEntity);
 
+    AirportDto toAirportDto(AirportRow airportRow);
+
     List<AirportDto> toAirportDtoList(List<AirportEntity> airportEntityList);
 
+    @Mapping(target = "version", ignore = true)
     AirportEntity toAirportEntity(AirportDto airportDto);
 
     List<AirportEntity> toAirportEntityList(List<AirportDto> airportDtoList);
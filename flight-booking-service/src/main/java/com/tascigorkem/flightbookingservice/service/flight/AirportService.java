@@ -1,6 +1,8 @@
 package com.tascigorkem.flightbookingservice.service.flight;
 
 import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -9,8 +11,12 @@ import java.util.UUID;
 public interface AirportService {
     Page<AirportDto> getAllAirports(Pageable pageable);
 
+    CursorSlice<AirportDto> getAllAirportsAfter(Cursor after, int size);
+
     AirportDto getAirportById(UUID id);
 
+    AirportDto getCurrentAirportById(UUID id);
+
     AirportDto addAirport(AirportDto airportDto);
 
     AirportDto updateAirport(AirportDto airportDto);
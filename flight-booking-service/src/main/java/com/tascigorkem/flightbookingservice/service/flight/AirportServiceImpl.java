@@ -1,18 +1,26 @@
 package com.tascigorkem.flightbookingservice.service.flight;
 
+import com.tascigorkem.flightbookingservice.config.CacheConfiguration;
 import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
 import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
 import com.tascigorkem.flightbookingservice.exception.notfound.AirportNotFoundException;
 import com.tascigorkem.flightbookingservice.repository.flight.AirportRepository;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
+import com.tascigorkem.flightbookingservice.service.base.SecondLevelCacheEviction;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import static com.tascigorkem.flightbookingservice.service.base.OptimisticLocking.saveChecked;
 import static com.tascigorkem.flightbookingservice.service.flight.AirportMapper.AIRPORT_MAPPER;
 
 
@@ -22,19 +30,40 @@ import static com.tascigorkem.flightbookingservice.service.flight.AirportMapper.
 public class AirportServiceImpl implements AirportService {
 
     private final AirportRepository airportRepository;
+    private final SecondLevelCacheEviction secondLevelCacheEviction;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<AirportDto> getAllAirports(Pageable pageable) {
         return airportRepository.findAllByDeletionTimeIsNull(pageable).map(AIRPORT_MAPPER::toAirportDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<AirportDto> getAllAirportsAfter(Cursor after, int size) {
+        return airportRepository.findKeysetSlice(after, size).map(AIRPORT_MAPPER::toAirportDto);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfiguration.AIRPORTS_CACHE, key = "#id")
+    @Transactional(readOnly = true)
     public AirportDto getAirportById(UUID id) {
         return AIRPORT_MAPPER.toAirportDto(airportRepository.findById(id)
                 .orElseThrow(() -> new AirportNotFoundException("id", id.toString())));
     }
 
+    /**
+     * Read of the committed airport for the answer of a conflicting update, on the primary and past both caches.
+     */
+    @Override
+    @CachePut(cacheNames = CacheConfiguration.AIRPORTS_CACHE, key = "#id")
+    public AirportDto getCurrentAirportById(UUID id) {
+        return AIRPORT_MAPPER.toAirportDto(airportRepository.findCurrentById(id)
+                .orElseThrow(() -> new AirportNotFoundException("id", id.toString())));
+    }
+
     @Override
+    @CachePut(cacheNames = CacheConfiguration.AIRPORTS_CACHE, key = "#result.id")
     public AirportDto addAirport(AirportDto airportDto) {
         AirportEntity airportEntity = AIRPORT_MAPPER.toAirportEntity(airportDto);
         airportEntity.setId(UUID.randomUUID());
@@ -42,6 +71,7 @@ public class AirportServiceImpl implements AirportService {
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfiguration.AIRPORTS_CACHE, key = "#result.id")
     public AirportDto updateAirport(AirportDto airportDto) {
         AirportEntity airportEntity = airportRepository.findById(airportDto.getId())
                 .orElseThrow(() -> new AirportNotFoundException("id", airportDto.getId().toString()));
@@ -50,16 +80,16 @@ public class AirportServiceImpl implements AirportService {
         airportEntity.setCode(airportDto.getCode());
         airportEntity.setCity(airportDto.getCity());
 
-        return AIRPORT_MAPPER.toAirportDto(airportRepository.save(airportEntity));
+        return AIRPORT_MAPPER.toAirportDto(
+                saveChecked(airportRepository, airportEntity, airportDto.getVersion(), "Airport"));
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfiguration.AIRPORTS_CACHE, key = "#id")
     public AirportDto removeAirport(UUID id) {
-        AirportEntity airportEntity = airportRepository.findById(id)
-                .orElseThrow(() -> new AirportNotFoundException("id", id.toString()));
-
-        airportEntity.setDeletionTime(LocalDateTime.now());
-
-        return AIRPORT_MAPPER.toAirportDto(airportRepository.save(airportEntity));
+        AirportDto removedAirportDto = AIRPORT_MAPPER.toAirportDto(airportRepository.softDeleteById(id, LocalDateTime.now())
+                .orElseThrow(() -> new AirportNotFoundException("id", id.toString())));
+        secondLevelCacheEviction.evictReference(AirportEntity.class, id);
+        return removedAirportDto;
     }
 }
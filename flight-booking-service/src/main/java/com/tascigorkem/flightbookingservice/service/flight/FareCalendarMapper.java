@@ -0,0 +1,20 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FareCalendarDayDto;
+import com.tascigorkem.flightbookingservice.entity.flight.FareCalendarEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+
+@Mapper
+public interface FareCalendarMapper {
+
+    FareCalendarMapper FARE_CALENDAR_MAPPER = Mappers.getMapper( FareCalendarMapper.class );
+
+    @Mapping(target = "day", source = "id.day")
+    FareCalendarDayDto toFareCalendarDayDto(FareCalendarEntity fareCalendarEntity);
+
+    List<FareCalendarDayDto> toFareCalendarDayDtoList(List<FareCalendarEntity> fareCalendarEntityList);
+}
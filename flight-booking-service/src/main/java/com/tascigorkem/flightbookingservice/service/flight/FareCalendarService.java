@@ -0,0 +1,15 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FareCalendarDto;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+
+public interface FareCalendarService {
+    FareCalendarDto getFareCalendar(UUID departureAirportId, UUID destinationAirportId, YearMonth month);
+
+    void flightChanged(UUID departureAirportId, UUID destinationAirportId, LocalDateTime departureDate);
+
+    int rebuildFareCalendar();
+}
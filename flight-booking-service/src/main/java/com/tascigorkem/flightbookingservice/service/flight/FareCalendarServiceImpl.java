@@ -0,0 +1,222 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.config.CacheConfiguration;
+import com.tascigorkem.flightbookingservice.config.FareCalendarProperties;
+import com.tascigorkem.flightbookingservice.dto.flight.FareCalendarDto;
+import com.tascigorkem.flightbookingservice.entity.flight.FareCalendarKey;
+import com.tascigorkem.flightbookingservice.repository.flight.FareCalendarRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+import static com.tascigorkem.flightbookingservice.service.flight.FareCalendarMapper.FARE_CALENDAR_MAPPER;
+
+/**
+ * Maintains the fare_calendar read model, so a month of a route is read by its primary key
+ * instead of a GROUP BY over the flights of the route.
+ * Hot routes are served from the "fareCalendars" cache, evicted per month of a route on every change of it.
+ * Other instances are not told about a change, they serve the former month until it expires,
+ * after the expireAfterWrite of "fare-calendar.cache-spec" at most.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+@Service
+public class FareCalendarServiceImpl implements FareCalendarService {
+
+    private static final int ROUTE_GENERATION_SLOTS = 1024;
+
+    private final FareCalendarRepository fareCalendarRepository;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final PlatformTransactionManager transactionManager;
+    private final FareCalendarProperties fareCalendarProperties;
+    // incremented before the months of a route are evicted, routes share a slot by the hash of their airports
+    private final AtomicLongArray routeGenerations = new AtomicLongArray(ROUTE_GENERATION_SLOTS);
+
+    /**
+     * Not read-only on purpose: read from a lagging replica right after an eviction, a month would be cached
+     * with the former days until it expires.
+     * A month read before a change of its route committed is not cached, else it could be put back
+     * after the eviction of the change.
+     */
+    @Override
+    public FareCalendarDto getFareCalendar(UUID departureAirportId, UUID destinationAirportId, YearMonth month) {
+        Cache cache = fareCalendarsCache();
+        SimpleKey key = new SimpleKey(departureAirportId, destinationAirportId, month);
+        FareCalendarDto cachedFareCalendar = cache.get(key, FareCalendarDto.class);
+        if (cachedFareCalendar != null) {
+            return cachedFareCalendar;
+        }
+
+        int slot = routeGenerationSlot(departureAirportId, destinationAirportId);
+        long generation = routeGenerations.get(slot);
+        FareCalendarDto fareCalendar = FareCalendarDto.builder()
+                .departureAirportId(departureAirportId)
+                .destinationAirportId(destinationAirportId)
+                .month(month)
+                .days(FARE_CALENDAR_MAPPER.toFareCalendarDayDtoList(fareCalendarRepository.findRoute(
+                        departureAirportId, destinationAirportId, month.atDay(1), month.atEndOfMonth())))
+                .build();
+        cache.put(key, fareCalendar);
+        // checked after the put, a change evicting between a check and the put would miss it
+        if (routeGenerations.get(slot) != generation) {
+            cache.evict(key);
+        }
+        return fareCalendar;
+    }
+
+    /**
+     * Marks the departure day of a flight as changed, for a change of a flight both its former and its new day.
+     * The days are recomputed once before the transaction commits, however many of their flights changed,
+     * and their months are evicted from the cache after it committed.
+     * Flights without route or departure date are not in the calendar.
+     */
+    @Override
+    public void flightChanged(UUID departureAirportId, UUID destinationAirportId, LocalDateTime departureDate) {
+        if (departureAirportId == null || destinationAirportId == null || departureDate == null) {
+            return;
+        }
+        changedDays().add(new FareCalendarKey(departureAirportId, destinationAirportId, departureDate.toLocalDate()));
+    }
+
+    /**
+     * Recomputes the whole calendar, one transaction per departure airport,
+     * "fare-calendar.rebuild-parallelism" of them at once.
+     *
+     * @return number of days in the calendar
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(cron = "${fare-calendar.rebuild-cron:0 0 3 * * *}")
+    public int rebuildFareCalendar() {
+        List<UUID> departureAirportIds = fareCalendarRepository.findDepartureAirportIds().stream()
+                .map(UUID::fromString)
+                .collect(Collectors.toList());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(fareCalendarProperties.getRebuildParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "fare-calendar-rebuild-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long startTime = System.nanoTime();
+        try {
+            List<CompletableFuture<Integer>> chunks = departureAirportIds.stream()
+                    .map(departureAirportId -> CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+                        fareCalendarRepository.lockDepartureAirport(departureAirportId.toString());
+                        fareCalendarRepository.deleteByDepartureAirportId(departureAirportId);
+                        return fareCalendarRepository.insertByDepartureAirportId(departureAirportId);
+                    }), executor))
+                    .collect(Collectors.toList());
+            int days = chunks.stream()
+                    .map(CompletableFuture::join)
+                    .filter(Objects::nonNull)
+                    .mapToInt(Integer::intValue)
+                    .sum();
+            log.info("Rebuilt fare calendar of {} departure airports with {} days in {} ms", departureAirportIds.size(),
+                    days, (System.nanoTime() - startTime) / 1_000_000);
+            return days;
+        } finally {
+            executor.shutdown();
+            for (int slot = 0; slot < ROUTE_GENERATION_SLOTS; slot++) {
+                routeGenerations.incrementAndGet(slot);
+            }
+            fareCalendarsCache().clear();
+        }
+    }
+
+    /**
+     * Fills the calendar of a database which was created before it existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildIfEmpty() {
+        if (fareCalendarRepository.count() == 0) {
+            rebuildFareCalendar();
+        }
+    }
+
+    private Set<FareCalendarKey> changedDays() {
+        @SuppressWarnings("unchecked")
+        Set<FareCalendarKey> changedDays = (Set<FareCalendarKey>) TransactionSynchronizationManager.getResource(this);
+        if (changedDays != null) {
+            return changedDays;
+        }
+
+        Set<FareCalendarKey> newChangedDays = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, newChangedDays);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                refresh(newChangedDays);
+            }
+
+            @Override
+            public void afterCommit() {
+                Cache cache = fareCalendarsCache();
+                newChangedDays.forEach(day -> {
+                    routeGenerations.incrementAndGet(routeGenerationSlot(day.getDepartureAirportId(),
+                            day.getDestinationAirportId()));
+                    cache.evict(new SimpleKey(day.getDepartureAirportId(), day.getDestinationAirportId(),
+                            YearMonth.from(day.getDay())));
+                });
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(FareCalendarServiceImpl.this);
+            }
+        });
+        return newChangedDays;
+    }
+
+    private void refresh(Collection<FareCalendarKey> days) {
+        // the flights of the transaction have to be in the database for the aggregates
+        entityManager.flush();
+        // locked in the same order by every transaction
+        days.stream()
+                .map(FareCalendarKey::getDepartureAirportId)
+                .distinct()
+                .sorted()
+                .forEach(departureAirportId -> fareCalendarRepository.lockDepartureAirport(departureAirportId.toString()));
+        days.forEach(day -> fareCalendarRepository.refreshDay(day.getDepartureAirportId(),
+                day.getDestinationAirportId(), day.getDay()));
+    }
+
+    private static int routeGenerationSlot(UUID departureAirportId, UUID destinationAirportId) {
+        return Math.floorMod(Objects.hash(departureAirportId, destinationAirportId), ROUTE_GENERATION_SLOTS);
+    }
+
+    private Cache fareCalendarsCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.FARE_CALENDARS_CACHE));
+    }
+}
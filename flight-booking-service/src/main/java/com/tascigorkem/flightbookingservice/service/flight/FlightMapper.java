@@ -1,11 +1,19 @@
 package com.tascigorkem.flightbookingservice.service.flight;
 
+import com.tascigorkem.flightbookingservice.dto.flight.AircraftDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirlineDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
 import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
 import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRow;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightView;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
+import java.util.UUID;
 
 @Mapper
 public interface FlightMapper {
@@ -14,9 +22,85 @@ public interface FlightMapper {
 
     FlightDto toFlightDto(FlightEntity flightEntity);
 
+    /**
+     * Maps only the columns of the flight, so uninitialized reference proxies are not loaded.
+     */
+    @Named("withoutReferences")
+    @Mapping(target = "departureAirport", ignore = true)
+    @Mapping(target = "destinationAirport", ignore = true)
+    @Mapping(target = "aircraft", ignore = true)
+    @Mapping(target = "airline", ignore = true)
+    FlightDto toFlightDtoWithoutReferences(FlightEntity flightEntity);
+
+    @Mapping(target = "departureAirport", source = "departureAirportId")
+    @Mapping(target = "destinationAirport", source = "destinationAirportId")
+    @Mapping(target = "aircraft", source = "aircraftId")
+    @Mapping(target = "airline", source = "airlineId")
+    FlightDto toFlightDto(FlightRow flightRow);
+
+    @Mapping(target = "departureAirport", source = "flightView", qualifiedByName = "departureAirportOf")
+    @Mapping(target = "destinationAirport", source = "flightView", qualifiedByName = "destinationAirportOf")
+    @Mapping(target = "aircraft", source = "flightView", qualifiedByName = "aircraftOf")
+    @Mapping(target = "airline", source = "flightView", qualifiedByName = "airlineOf")
+    FlightDto toFlightDto(FlightView flightView);
+
     List<FlightDto> toFlightDtoList(List<FlightEntity> flightEntityList);
 
+    @Mapping(target = "version", ignore = true)
     FlightEntity toFlightEntity(FlightDto flightDto);
 
     List<FlightEntity> toFlightEntityList(List<FlightDto> flightDtoList);
+
+    default AirportDto toAirportReference(UUID id) {
+        return id == null ? null : AirportDto.builder().id(id).build();
+    }
+
+    default AircraftDto toAircraftReference(UUID id) {
+        return id == null ? null : AircraftDto.builder().id(id).build();
+    }
+
+    default AirlineDto toAirlineReference(UUID id) {
+        return id == null ? null : AirlineDto.builder().id(id).build();
+    }
+
+    @Named("departureAirportOf")
+    default AirportDto departureAirportOf(FlightView flightView) {
+        return flightView.getDepartureAirportId() == null ? null : AirportDto.builder()
+                .id(flightView.getDepartureAirportId())
+                .name(flightView.getDepartureAirportName())
+                .code(flightView.getDepartureAirportCode())
+                .city(flightView.getDepartureAirportCity())
+                .build();
+    }
+
+    @Named("destinationAirportOf")
+    default AirportDto destinationAirportOf(FlightView flightView) {
+        return flightView.getDestinationAirportId() == null ? null : AirportDto.builder()
+                .id(flightView.getDestinationAirportId())
+                .name(flightView.getDestinationAirportName())
+                .code(flightView.getDestinationAirportCode())
+                .city(flightView.getDestinationAirportCity())
+                .build();
+    }
+
+    @Named("aircraftOf")
+    default AircraftDto aircraftOf(FlightView flightView) {
+        return flightView.getAircraftId() == null ? null : AircraftDto.builder()
+                .id(flightView.getAircraftId())
+                .modelName(flightView.getAircraftModelName())
+                .code(flightView.getAircraftCode())
+                .seat(flightView.getAircraftSeat() == null ? 0 : flightView.getAircraftSeat())
+                .country(flightView.getAircraftCountry())
+                .manufacturerDate(flightView.getAircraftManufactureDate())
+                .build();
+    }
+
+    @Named("airlineOf")
+    default AirlineDto airlineOf(FlightView flightView) {
+        return flightView.getAirlineId() == null ? null : AirlineDto.builder()
+                .id(flightView.getAirlineId())
+                .name(flightView.getAirlineName())
+                .country(flightView.getAirlineCountry())
+                .build();
+    }
 }
@@ -1,18 +1,34 @@
 package com.tascigorkem.flightbookingservice.service.flight;
 
+import com.tascigorkem.flightbookingservice.dto.flight.FlightBatchResultDto;
 import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Iterator;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface FlightService {
     Page<FlightDto> getAllFlights(Pageable pageable);
 
+    CursorSlice<FlightDto> getAllFlightsAfter(Cursor after, int size);
+
+    void exportFlights(Consumer<FlightDto> rowConsumer);
+
+    Page<FlightDto> searchFlights(FlightSearchDto flightSearchDto, Pageable pageable);
+
     FlightDto getFlightById(UUID id);
 
+    FlightDto getCurrentFlightById(UUID id);
+
     FlightDto addFlight(FlightDto flightDto);
 
+    FlightBatchResultDto addFlights(Iterator<FlightDto> flightDtos);
+
     FlightDto updateFlight(FlightDto flightDto);
 
     FlightDto removeFlight(UUID id);
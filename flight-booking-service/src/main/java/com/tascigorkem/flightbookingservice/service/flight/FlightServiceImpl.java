@@ -1,18 +1,40 @@
 package com.tascigorkem.flightbookingservice.service.flight;
 
+import com.tascigorkem.flightbookingservice.dto.base.BaseDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AircraftDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirlineDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightBatchResultDto;
 import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto;
+import com.tascigorkem.flightbookingservice.entity.base.BaseEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirlineEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
 import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
 import com.tascigorkem.flightbookingservice.exception.notfound.FlightNotFoundException;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRow;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightSpecifications;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import static com.tascigorkem.flightbookingservice.service.base.OptimisticLocking.saveChecked;
 import static com.tascigorkem.flightbookingservice.service.flight.FlightMapper.FLIGHT_MAPPER;
 
 
@@ -21,24 +43,125 @@ import static com.tascigorkem.flightbookingservice.service.flight.FlightMapper.F
 @Service
 public class FlightServiceImpl implements FlightService {
 
+    // same as hibernate.jdbc.batch_size, one insert batch per chunk
+    private static final int BATCH_CHUNK_SIZE = 50;
+
+    // same as FlightRepository.STREAM_FETCH_SIZE, the persistence context holds one fetch at most
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+
     private final FlightRepository flightRepository;
+    private final AirportService airportService;
+    private final AirlineService airlineService;
+    private final AircraftService aircraftService;
+    private final EntityManager entityManager;
+    private final FareCalendarService fareCalendarService;
+    private final ItineraryService itineraryService;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<FlightDto> getAllFlights(Pageable pageable) {
         return flightRepository.findAllByDeletionTimeIsNull(pageable).map(FLIGHT_MAPPER::toFlightDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<FlightDto> getAllFlightsAfter(Cursor after, int size) {
+        return flightRepository.findKeysetSlice(after, size).map(FLIGHT_MAPPER::toFlightDto);
+    }
+
+    /**
+     * Passes all non-deleted flights to the consumer while they are read from the database cursor,
+     * the persistence context is cleared after every fetch so memory stays constant.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportFlights(Consumer<FlightDto> rowConsumer) {
+        try (Stream<FlightEntity> flightEntities = flightRepository.streamAllByDeletionTimeIsNull()) {
+            int count = 0;
+            for (Iterator<FlightEntity> iterator = flightEntities.iterator(); iterator.hasNext(); ) {
+                rowConsumer.accept(FLIGHT_MAPPER.toFlightDto(iterator.next()));
+                if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<FlightDto> searchFlights(FlightSearchDto flightSearchDto, Pageable pageable) {
+        return flightRepository.findAll(FlightSpecifications.matches(flightSearchDto), pageable).map(FLIGHT_MAPPER::toFlightDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public FlightDto getFlightById(UUID id) {
         return FLIGHT_MAPPER.toFlightDto(flightRepository.findById(id)
                 .orElseThrow(() -> new FlightNotFoundException("id", id.toString())));
     }
 
+    /**
+     * Read of the committed flight for the answer of a conflicting update, in a read-write transaction on the primary.
+     */
+    @Override
+    public FlightDto getCurrentFlightById(UUID id) {
+        return FLIGHT_MAPPER.toFlightDto(flightRepository.findById(id)
+                .orElseThrow(() -> new FlightNotFoundException("id", id.toString())));
+    }
+
     @Override
     public FlightDto addFlight(FlightDto flightDto) {
-        FlightEntity flightEntity = FLIGHT_MAPPER.toFlightEntity(flightDto);
-        flightEntity.setId(UUID.randomUUID());
-        return FLIGHT_MAPPER.toFlightDto(flightRepository.save(flightEntity));
+        // resolve references through the cached services first, unknown ids fail with not found
+        AirportDto departureAirport = resolve(flightDto.getDepartureAirport(), airportService::getAirportById);
+        AirportDto destinationAirport = resolve(flightDto.getDestinationAirport(), airportService::getAirportById);
+        AircraftDto aircraft = resolve(flightDto.getAircraft(), aircraftService::getAircraftById);
+        AirlineDto airline = resolve(flightDto.getAirline(), airlineService::getAirlineById);
+
+        // and attach them as proxies, so saving the flight does not select them again
+        FlightEntity flightEntity = toNewFlightEntity(flightDto, departureAirport, destinationAirport, aircraft, airline);
+
+        FlightDto addedFlightDto = FLIGHT_MAPPER.toFlightDtoWithoutReferences(flightRepository.save(flightEntity));
+        addedFlightDto.setDepartureAirport(departureAirport);
+        addedFlightDto.setDestinationAirport(destinationAirport);
+        addedFlightDto.setAircraft(aircraft);
+        addedFlightDto.setAirline(airline);
+        fareCalendarService.flightChanged(idOf(departureAirport), idOf(destinationAirport), flightDto.getDepartureDate());
+        itineraryService.flightChanged(addedFlightDto);
+        return addedFlightDto;
+    }
+
+    /**
+     * Persists the flights in one transaction, chunk by chunk.
+     * New entities are persisted directly instead of saved, so there is no select before the insert,
+     * and each chunk is flushed as one JDBC insert batch and cleared from the persistence context.
+     */
+    @Override
+    public FlightBatchResultDto addFlights(Iterator<FlightDto> flightDtos) {
+        List<UUID> ids = new ArrayList<>();
+        while (flightDtos.hasNext()) {
+            FlightDto flightDto = flightDtos.next();
+            AirportDto departureAirport = resolve(flightDto.getDepartureAirport(), airportService::getAirportById);
+            AirportDto destinationAirport = resolve(flightDto.getDestinationAirport(), airportService::getAirportById);
+            FlightEntity flightEntity = toNewFlightEntity(flightDto, departureAirport, destinationAirport,
+                    resolve(flightDto.getAircraft(), aircraftService::getAircraftById),
+                    resolve(flightDto.getAirline(), airlineService::getAirlineById));
+
+            entityManager.persist(flightEntity);
+            fareCalendarService.flightChanged(idOf(departureAirport), idOf(destinationAirport), flightDto.getDepartureDate());
+            FlightDto addedFlightDto = FLIGHT_MAPPER.toFlightDtoWithoutReferences(flightEntity);
+            addedFlightDto.setDepartureAirport(departureAirport);
+            addedFlightDto.setDestinationAirport(destinationAirport);
+            itineraryService.flightChanged(addedFlightDto);
+            ids.add(flightEntity.getId());
+            if (ids.size() % BATCH_CHUNK_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return new FlightBatchResultDto(ids.size(), ids);
     }
 
     @Override
@@ -46,20 +169,58 @@ public class FlightServiceImpl implements FlightService {
         FlightEntity flightEntity = flightRepository.findById(flightDto.getId())
                 .orElseThrow(() -> new FlightNotFoundException("id", flightDto.getId().toString()));
 
+        // the former day loses the flight if the departure date moved, the new one gains it
+        fareCalendarChanged(flightEntity);
         flightEntity.setDepartureDate(flightDto.getDepartureDate());
         flightEntity.setArrivalDate(flightDto.getArrivalDate());
         flightEntity.setPrice(flightDto.getPrice());
+        fareCalendarChanged(flightEntity);
 
-        return FLIGHT_MAPPER.toFlightDto(flightRepository.save(flightEntity));
+        FlightDto updatedFlightDto = FLIGHT_MAPPER.toFlightDto(
+                saveChecked(flightRepository, flightEntity, flightDto.getVersion(), "Flight"));
+        itineraryService.flightChanged(updatedFlightDto);
+        return updatedFlightDto;
     }
 
     @Override
     public FlightDto removeFlight(UUID id) {
-        FlightEntity flightEntity = flightRepository.findById(id)
+        FlightRow flightRow = flightRepository.softDeleteById(id, LocalDateTime.now())
                 .orElseThrow(() -> new FlightNotFoundException("id", id.toString()));
+        fareCalendarService.flightChanged(flightRow.getDepartureAirportId(), flightRow.getDestinationAirportId(),
+                flightRow.getDepartureDate());
+        itineraryService.flightRemoved(id);
+        return FLIGHT_MAPPER.toFlightDto(flightRow);
+    }
+
+    private void fareCalendarChanged(FlightEntity flightEntity) {
+        fareCalendarService.flightChanged(idOf(flightEntity.getDepartureAirport()),
+                idOf(flightEntity.getDestinationAirport()), flightEntity.getDepartureDate());
+    }
 
-        flightEntity.setDeletionTime(LocalDateTime.now());
+    private static UUID idOf(BaseDto baseDto) {
+        return baseDto == null ? null : baseDto.getId();
+    }
+
+    private static UUID idOf(BaseEntity baseEntity) {
+        return baseEntity == null ? null : baseEntity.getId();
+    }
+
+    private static <T extends BaseDto> T resolve(T referenceDto, Function<UUID, T> loader) {
+        return referenceDto == null || referenceDto.getId() == null ? null : loader.apply(referenceDto.getId());
+    }
+
+    private FlightEntity toNewFlightEntity(FlightDto flightDto, AirportDto departureAirport, AirportDto destinationAirport,
+                                           AircraftDto aircraft, AirlineDto airline) {
+        FlightEntity flightEntity = FLIGHT_MAPPER.toFlightEntity(flightDto);
+        flightEntity.setId(UUID.randomUUID());
+        flightEntity.setDepartureAirport(referenceOf(AirportEntity.class, departureAirport));
+        flightEntity.setDestinationAirport(referenceOf(AirportEntity.class, destinationAirport));
+        flightEntity.setAircraft(referenceOf(AircraftEntity.class, aircraft));
+        flightEntity.setAirline(referenceOf(AirlineEntity.class, airline));
+        return flightEntity;
+    }
 
-        return FLIGHT_MAPPER.toFlightDto(flightRepository.save(flightEntity));
+    private <T> T referenceOf(Class<T> entityClass, BaseDto baseDto) {
+        return baseDto == null ? null : entityManager.getReference(entityClass, baseDto.getId());
     }
 }
@@ -0,0 +1,20 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItinerarySearchDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ItineraryService {
+    List<ItineraryDto> searchItineraries(ItinerarySearchDto itinerarySearchDto);
+
+    void flightChanged(FlightDto flightDto);
+
+    void flightRemoved(UUID id);
+
+    int loadItineraryGraph();
+
+    int reconcileItineraryGraph();
+}
@@ -0,0 +1,228 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.config.ItineraryProperties;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItinerarySearchDto;
+import com.tascigorkem.flightbookingservice.enums.ItinerarySort;
+import com.tascigorkem.flightbookingservice.exception.badrequest.InvalidItinerarySearchException;
+import com.tascigorkem.flightbookingservice.itinerary.ItineraryGraph;
+import com.tascigorkem.flightbookingservice.itinerary.ItineraryQuery;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightEdge;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Searches the in-memory {@link ItineraryGraph}, loaded at startup and by "itinerary.reload-cron".
+ * The flight changes of this instance are applied as soon as they committed, the ones of the other instances behind
+ * the load balancer by the reconciliation every "itinerary.reconcile-interval", so they show up that much later.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ItineraryServiceImpl implements ItineraryService {
+
+    static final int DEFAULT_MIN_CONNECTION_MINUTES = 45;
+    static final int DEFAULT_MAX_CONNECTION_MINUTES = 6 * 60;
+    static final int MAX_CONNECTION_MINUTES = 24 * 60;
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 100;
+
+    private final FlightRepository flightRepository;
+    private final ItineraryProperties itineraryProperties;
+
+    private final Object lock = new Object();
+    private volatile ItineraryGraph itineraryGraph = new ItineraryGraph();
+    // start of the last load or reconciliation, the flights updated after it are not in the graph yet
+    private volatile LocalDateTime reconcileTime = LocalDateTime.now();
+    // changes committed while the graph is loaded, applied to the loaded graph again; guarded by lock
+    private List<Consumer<ItineraryGraph>> changesDuringLoad;
+
+    @Override
+    public List<ItineraryDto> searchItineraries(ItinerarySearchDto itinerarySearchDto) {
+        return itineraryGraph.search(toItineraryQuery(itinerarySearchDto));
+    }
+
+    @Override
+    public void flightChanged(FlightDto flightDto) {
+        apply(flightDto.getId(), graph -> graph.putFlight(flightDto.getId(),
+                flightDto.getDepartureAirport() == null ? null : flightDto.getDepartureAirport().getId(),
+                flightDto.getDestinationAirport() == null ? null : flightDto.getDestinationAirport().getId(),
+                flightDto.getDepartureDate(), flightDto.getArrivalDate(), flightDto.getPrice()));
+    }
+
+    @Override
+    public void flightRemoved(UUID id) {
+        apply(id, graph -> graph.removeFlight(id));
+    }
+
+    /**
+     * Reads the flights from the primary, not from a replica which may lag behind the changes applied so far.
+     *
+     * @return number of flights in the graph
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${itinerary.reload-cron:0 0 4 * * *}")
+    @Transactional
+    public int loadItineraryGraph() {
+        LocalDateTime loadTime = LocalDateTime.now();
+        synchronized (lock) {
+            // before the statement, so every change it does not see is recorded
+            changesDuringLoad = new ArrayList<>();
+        }
+        try {
+            long startTime = System.nanoTime();
+            ItineraryGraph.Builder builder = ItineraryGraph.builder();
+            try (Stream<FlightEdge> flightEdges = flightRepository.streamEdgesByDeletionTimeIsNull()) {
+                flightEdges.forEach(flightEdge -> builder.putFlight(flightEdge.getId(), flightEdge.getDepartureAirportId(),
+                        flightEdge.getDestinationAirportId(), flightEdge.getDepartureDate(), flightEdge.getArrivalDate(),
+                        flightEdge.getPrice()));
+            }
+            ItineraryGraph loadedGraph = builder.build();
+
+            synchronized (lock) {
+                changesDuringLoad.forEach(change -> change.accept(loadedGraph));
+                itineraryGraph = loadedGraph;
+                reconcileTime = loadTime;
+            }
+            log.info("Loaded itinerary graph of {} flights in {} ms", loadedGraph.getFlightCount(),
+                    (System.nanoTime() - startTime) / 1_000_000);
+            return loadedGraph.getFlightCount();
+        } finally {
+            synchronized (lock) {
+                changesDuringLoad = null;
+            }
+        }
+    }
+
+    /**
+     * Applies the flights updated since the last reconciliation, by any instance, to the graph. The flights updated
+     * within "itinerary.reconcile-overlap" before it are read again, a transaction which committed later than its
+     * update time or an instance with a clock behind is not missed. Applying a change twice changes nothing, a change
+     * overtaken by a newer one of this instance during the reconciliation is corrected by the next one.
+     * Flights deleted from the table instead of soft deleted are dropped by the next reload only.
+     *
+     * @return number of applied flight changes
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${itinerary.reconcile-interval:PT30S}",
+            initialDelayString = "${itinerary.reconcile-interval:PT30S}")
+    @Transactional
+    public int reconcileItineraryGraph() {
+        LocalDateTime startTime = LocalDateTime.now();
+        int changes = 0;
+        try (Stream<FlightEdge> flightEdges = flightRepository.streamEdgesByUpdateTimeAfter(
+                reconcileTime.minus(itineraryProperties.getReconcileOverlap()))) {
+            for (FlightEdge flightEdge : (Iterable<FlightEdge>) flightEdges::iterator) {
+                if (flightEdge.getDeletionTime() == null) {
+                    applyNow(graph -> graph.putFlight(flightEdge.getId(), flightEdge.getDepartureAirportId(),
+                            flightEdge.getDestinationAirportId(), flightEdge.getDepartureDate(), flightEdge.getArrivalDate(),
+                            flightEdge.getPrice()));
+                } else {
+                    applyNow(graph -> graph.removeFlight(flightEdge.getId()));
+                }
+                changes++;
+            }
+        }
+        reconcileTime = startTime;
+        log.debug("Reconciled itinerary graph with {} flight changes", changes);
+        return changes;
+    }
+
+    /**
+     * Applies the change after the transaction of the flight committed, the last change of a flight only.
+     */
+    private void apply(UUID flightId, Consumer<ItineraryGraph> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyNow(change);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<UUID, Consumer<ItineraryGraph>> changes = (Map<UUID, Consumer<ItineraryGraph>>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            Map<UUID, Consumer<ItineraryGraph>> newChanges = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, newChanges);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    newChanges.values().forEach(ItineraryServiceImpl.this::applyNow);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ItineraryServiceImpl.this);
+                }
+            });
+            changes = newChanges;
+        }
+        changes.remove(flightId);
+        changes.put(flightId, change);
+    }
+
+    private void applyNow(Consumer<ItineraryGraph> change) {
+        synchronized (lock) {
+            change.accept(itineraryGraph);
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(change);
+            }
+        }
+    }
+
+    private static ItineraryQuery toItineraryQuery(ItinerarySearchDto itinerarySearchDto) {
+        if (itinerarySearchDto.getFrom() == null || itinerarySearchDto.getTo() == null || itinerarySearchDto.getDate() == null) {
+            throw new InvalidItinerarySearchException("from, to and date are required");
+        }
+        if (itinerarySearchDto.getDate().getYear() < 1970 || itinerarySearchDto.getDate().getYear() >= 5000) {
+            throw new InvalidItinerarySearchException("date is out of range");
+        }
+        int maxStops = valueOrDefault(itinerarySearchDto.getMaxStops(), ItineraryGraph.MAX_STOPS);
+        int minConnectionMinutes = valueOrDefault(itinerarySearchDto.getMinConnectionMinutes(), DEFAULT_MIN_CONNECTION_MINUTES);
+        int maxConnectionMinutes = valueOrDefault(itinerarySearchDto.getMaxConnectionMinutes(),
+                Math.max(minConnectionMinutes, DEFAULT_MAX_CONNECTION_MINUTES));
+        int limit = valueOrDefault(itinerarySearchDto.getLimit(), DEFAULT_LIMIT);
+        if (maxStops < 0 || maxStops > ItineraryGraph.MAX_STOPS) {
+            throw new InvalidItinerarySearchException("maxStops has to be between 0 and " + ItineraryGraph.MAX_STOPS);
+        }
+        if (minConnectionMinutes < 0 || maxConnectionMinutes < minConnectionMinutes || maxConnectionMinutes > MAX_CONNECTION_MINUTES) {
+            throw new InvalidItinerarySearchException("connection minutes have to be 0 <= min <= max <= " + MAX_CONNECTION_MINUTES);
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidItinerarySearchException("limit has to be between 1 and " + MAX_LIMIT);
+        }
+
+        return ItineraryQuery.builder()
+                .departureAirportId(itinerarySearchDto.getFrom())
+                .destinationAirportId(itinerarySearchDto.getTo())
+                .departureFrom(itinerarySearchDto.getDate().atStartOfDay())
+                .departureTo(itinerarySearchDto.getDate().plusDays(1).atStartOfDay())
+                .sort(itinerarySearchDto.getSortBy() == null ? ItinerarySort.CHEAPEST : itinerarySearchDto.getSortBy())
+                .maxStops(maxStops)
+                .minConnectionMinutes(minConnectionMinutes)
+                .maxConnectionMinutes(maxConnectionMinutes)
+                .limit(limit)
+                .build();
+    }
+
+    private static int valueOrDefault(Integer value, int defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+}
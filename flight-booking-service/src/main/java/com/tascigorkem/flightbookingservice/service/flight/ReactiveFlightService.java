@@ -0,0 +1,23 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the read methods of {@link FlightService}.
+ */
+public interface ReactiveFlightService {
+    Mono<Page<FlightDto>> getAllFlights(Pageable pageable);
+
+    Flux<FlightDto> streamAllFlights();
+
+    Mono<Page<FlightDto>> searchFlights(FlightSearchDto flightSearchDto, Pageable pageable);
+
+    Mono<FlightDto> getFlightById(UUID id);
+}
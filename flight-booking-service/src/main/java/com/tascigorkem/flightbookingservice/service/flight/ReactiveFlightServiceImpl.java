@@ -0,0 +1,74 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto;
+import com.tascigorkem.flightbookingservice.exception.notfound.FlightNotFoundException;
+import com.tascigorkem.flightbookingservice.repository.flight.ReactiveFlightRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static com.tascigorkem.flightbookingservice.service.flight.FlightMapper.FLIGHT_MAPPER;
+
+/**
+ * Reads are not transactional, the rows of a page and their count are two statements
+ * which run concurrently on their own connections.
+ */
+@RequiredArgsConstructor
+@Service
+public class ReactiveFlightServiceImpl implements ReactiveFlightService {
+
+    private final ReactiveFlightRepository reactiveFlightRepository;
+
+    /**
+     * @return the page ordered by creation time, the sort of the pageable is not applied
+     */
+    @Override
+    public Mono<Page<FlightDto>> getAllFlights(Pageable pageable) {
+        return toPage(reactiveFlightRepository.findPageByDeletionTimeIsNull(pageable.getPageSize(), pageable.getOffset())
+                        .map(FLIGHT_MAPPER::toFlightDto),
+                reactiveFlightRepository.countByDeletionTimeIsNull(), pageable);
+    }
+
+    /**
+     * Emits the non-deleted flights while the rows arrive, at the pace of the subscriber.
+     */
+    @Override
+    public Flux<FlightDto> streamAllFlights() {
+        return reactiveFlightRepository.findAllByDeletionTimeIsNull().map(FLIGHT_MAPPER::toFlightDto);
+    }
+
+    /**
+     * @return the page ordered by departure date, the sort of the pageable is not applied
+     */
+    @Override
+    public Mono<Page<FlightDto>> searchFlights(FlightSearchDto flightSearchDto, Pageable pageable) {
+        return toPage(reactiveFlightRepository.search(flightSearchDto.getDepartureAirportId(),
+                        flightSearchDto.getDestinationAirportId(), flightSearchDto.getDepartureFrom(),
+                        flightSearchDto.getDepartureTo(), flightSearchDto.getMaxPrice(),
+                        pageable.getPageSize(), pageable.getOffset())
+                        .map(FLIGHT_MAPPER::toFlightDto),
+                reactiveFlightRepository.countSearch(flightSearchDto.getDepartureAirportId(),
+                        flightSearchDto.getDestinationAirportId(), flightSearchDto.getDepartureFrom(),
+                        flightSearchDto.getDepartureTo(), flightSearchDto.getMaxPrice()),
+                pageable);
+    }
+
+    @Override
+    public Mono<FlightDto> getFlightById(UUID id) {
+        return reactiveFlightRepository.findById(id)
+                .map(FLIGHT_MAPPER::toFlightDto)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new FlightNotFoundException("id", id.toString()))));
+    }
+
+    private static Mono<Page<FlightDto>> toPage(Flux<FlightDto> content, Mono<Long> total, Pageable pageable) {
+        return Mono.zip(content.collectList(), total)
+                .map(contentAndTotal -> new PageImpl<>(contentAndTotal.getT1(), pageable, contentAndTotal.getT2()));
+    }
+}
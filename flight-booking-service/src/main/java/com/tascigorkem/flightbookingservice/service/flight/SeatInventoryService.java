@@ -0,0 +1,9 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import java.util.UUID;
+
+public interface SeatInventoryService {
+    void reserveSeat(UUID flightId);
+
+    void releaseSeat(UUID flightId);
+}
@@ -0,0 +1,42 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.exception.conflict.NoAvailableSeatException;
+import com.tascigorkem.flightbookingservice.exception.notfound.FlightNotFoundException;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Keeps the booked seat counter of flights within the seat capacity of their aircraft.
+ * Counter changes are single conditional UPDATEs, so concurrent bookings of one flight
+ * are serialized by the database row lock and never exceed the capacity.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+@Service
+public class SeatInventoryServiceImpl implements SeatInventoryService {
+
+    private final FlightRepository flightRepository;
+
+    @Override
+    public void reserveSeat(UUID flightId) {
+        if (flightRepository.reserveSeat(flightId) == 0) {
+            flightRepository.findById(flightId)
+                    .filter(flightEntity -> flightEntity.getDeletionTime() == null)
+                    .orElseThrow(() -> new FlightNotFoundException("id", flightId.toString()));
+            throw new NoAvailableSeatException(flightId.toString());
+        }
+    }
+
+    @Override
+    public void releaseSeat(UUID flightId) {
+        if (flightRepository.releaseSeat(flightId) == 0) {
+            log.warn("Flight with id[{}] has no booked seat to release.", flightId);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.tascigorkem.flightbookingservice.service.kafka;
 
-import com.tascigorkem.flightbookingservice.dto.kafka.KafkaEmailMessageDto;
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,17 +18,32 @@ public class KafkaService {
     private String myObjectTopicName;
 
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private KafkaTemplate<String, String> stringKafkaTemplate;
 
-    // producers
+    @Autowired
+    private KafkaTemplate<String, KafkaEmailMessageDto> kafkaTemplate;
+
+    // producers, the sends return once the message is buffered, the callbacks run on the producer thread
     public void sendMessageToTopic(String message) {
-        this.kafkaTemplate.send(myMessageTopicName, message);
-        log.info("Sent message string:" + message);
+        this.stringKafkaTemplate.send(myMessageTopicName, message).addCallback(
+                result -> log.debug("Sent message string: {}", message),
+                e -> log.warn("Sending message string failed: {}", message, e));
     }
 
     public void sendJsonObjectToTopic(KafkaEmailMessageDto kafkaEmailMessageDto) {
-        this.kafkaTemplate.send(myObjectTopicName, kafkaEmailMessageDto);
-        log.info("Sent message object:" + kafkaEmailMessageDto.toString());
+        this.kafkaTemplate.send(myObjectTopicName, keyOf(kafkaEmailMessageDto), kafkaEmailMessageDto).addCallback(
+                result -> log.debug("Sent message object: {}", kafkaEmailMessageDto),
+                e -> log.warn("Sending message object failed: {}", kafkaEmailMessageDto, e));
+    }
+
+    /**
+     * Messages of the same booking, or of the same recipient without a booking, go to the same partition
+     * and are therefore consumed in the order they were sent.
+     */
+    private static String keyOf(KafkaEmailMessageDto kafkaEmailMessageDto) {
+        return kafkaEmailMessageDto.getBookingId() != null
+                ? kafkaEmailMessageDto.getBookingId()
+                : kafkaEmailMessageDto.getEmailAddress();
     }
 
 //    // consumers
@@ -0,0 +1,63 @@
+package com.tascigorkem.flightbookingservice.service.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every send as the timer "kafka.producer.delivery" with the tags topic and result (success, failure),
+ * from the call of send until the broker acknowledged or the producer gave up, as a percentile histogram.
+ * Sends which failed before reaching the producer, e.g. in the serializer, are recorded as failures as well.
+ * The timer of {@link KafkaTemplate} itself is disabled, it is only tagged with the name of the template.
+ */
+public class MeteredKafkaTemplate<K, V> extends KafkaTemplate<K, V> {
+
+    static final String DELIVERY_TIMER = "kafka.producer.delivery";
+    static final String SUCCESS = "success";
+    static final String FAILURE = "failure";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> failureTimers = new ConcurrentHashMap<>();
+
+    public MeteredKafkaTemplate(ProducerFactory<K, V> producerFactory, MeterRegistry meterRegistry) {
+        super(producerFactory);
+        this.meterRegistry = meterRegistry;
+        setMicrometerEnabled(false);
+    }
+
+    @Override
+    protected ListenableFuture<SendResult<K, V>> doSend(ProducerRecord<K, V> producerRecord) {
+        String topic = producerRecord.topic();
+        long startTime = System.nanoTime();
+        ListenableFuture<SendResult<K, V>> future;
+        try {
+            future = super.doSend(producerRecord);
+        } catch (RuntimeException e) {
+            record(failureTimers, topic, FAILURE, startTime);
+            throw e;
+        }
+        future.addCallback(
+                result -> record(successTimers, topic, SUCCESS, startTime),
+                e -> record(failureTimers, topic, FAILURE, startTime));
+        return future;
+    }
+
+    private void record(Map<String, Timer> timers, String topic, String result, long startTime) {
+        timers.computeIfAbsent(topic, key -> Timer.builder(DELIVERY_TIMER)
+                .description("Time from send until the broker acknowledged or the producer gave up")
+                .tag("topic", topic)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,91 @@
+package com.tascigorkem.flightbookingservice.service.outbox;
+
+import com.tascigorkem.flightbookingservice.config.OutboxProperties;
+import com.tascigorkem.flightbookingservice.repository.outbox.OutboxPending;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox on its own thread once the application is ready: batch after batch while they are full,
+ * then it waits "booking-outbox.linger". The number of unsent events and the age of the oldest one are published
+ * as the gauges "booking.outbox.pending" and "booking.outbox.lag", so a broker outage shows up as a growing lag
+ * instead of as slow bookings.
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements Closeable {
+
+    private final OutboxService outboxService;
+    private final OutboxProperties outboxProperties;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile long pendingEvents;
+    private volatile LocalDateTime oldestPendingCreationTime;
+
+    public OutboxRelay(OutboxService outboxService, OutboxProperties outboxProperties, MeterRegistry meterRegistry) {
+        this.outboxService = outboxService;
+        this.outboxProperties = outboxProperties;
+        Gauge.builder("booking.outbox.pending", this, relay -> relay.pendingEvents)
+                .register(meterRegistry);
+        Gauge.builder("booking.outbox.lag", this, relay -> relay.getLag().toMillis() / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (outboxProperties.isRelayEnabled()) {
+            scheduler.scheduleWithFixedDelay(this::relay, 0, outboxProperties.getLinger().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @return age of the oldest unsent event as of the last relay, growing while the relay is stuck
+     */
+    Duration getLag() {
+        LocalDateTime oldestCreationTime = oldestPendingCreationTime;
+        return oldestCreationTime == null ? Duration.ZERO : Duration.between(oldestCreationTime, LocalDateTime.now());
+    }
+
+    long getPendingEvents() {
+        return pendingEvents;
+    }
+
+    void relay() {
+        try {
+            int sentEvents;
+            do {
+                sentEvents = outboxService.relayEvents();
+            } while (sentEvents == outboxProperties.getBatchSize());
+
+            OutboxPending outboxPending = outboxService.getPendingEvents();
+            pendingEvents = outboxPending.getCount();
+            oldestPendingCreationTime = outboxPending.getOldestCreationTime();
+        } catch (RuntimeException e) {
+            // a task which throws is not scheduled again
+            log.warn("Relay of outbox events failed, retrying in {}", outboxProperties.getLinger(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
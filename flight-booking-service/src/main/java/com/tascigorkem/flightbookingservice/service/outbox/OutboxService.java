@@ -0,0 +1,16 @@
+package com.tascigorkem.flightbookingservice.service.outbox;
+
+import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
+import com.tascigorkem.flightbookingservice.enums.BookingEventType;
+import com.tascigorkem.flightbookingservice.repository.outbox.OutboxPending;
+
+public interface OutboxService {
+
+    void addBookingEvent(BookingEntity bookingEntity, BookingEventType eventType);
+
+    int relayEvents();
+
+    OutboxPending getPendingEvents();
+
+    int deleteSentEvents();
+}
@@ -0,0 +1,202 @@
+package com.tascigorkem.flightbookingservice.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import com.tascigorkem.flightbookingservice.config.OutboxProperties;
+import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
+import com.tascigorkem.flightbookingservice.entity.customer.CustomerEntity;
+import com.tascigorkem.flightbookingservice.entity.outbox.OutboxEventEntity;
+import com.tascigorkem.flightbookingservice.enums.BookingEventType;
+import com.tascigorkem.flightbookingservice.repository.outbox.OutboxEventRepository;
+import com.tascigorkem.flightbookingservice.repository.outbox.OutboxPending;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Transactional outbox of the booking events: an event is inserted by the transaction of its booking,
+ * so it is sent if and only if the booking committed, and a booking never waits for the broker.
+ * Events are sent at least once, a consumer recognizes a duplicate by the id of the message, the id of its event.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EntityManager entityManager;
+    private final KafkaTemplate<String, KafkaEmailMessageDto> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties outboxProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Adds the email message of the booking to the outbox, keyed by the booking.
+     * Bookings without the email address of a customer have no one to notify.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addBookingEvent(BookingEntity bookingEntity, BookingEventType eventType) {
+        CustomerEntity customerEntity = bookingEntity.getCustomer();
+        if (customerEntity == null || customerEntity.getEmail() == null) {
+            return;
+        }
+
+        UUID eventId = UUID.randomUUID();
+        KafkaEmailMessageDto kafkaEmailMessageDto = new KafkaEmailMessageDto(customerEntity.getEmail(),
+                customerEntity.getName() + " " + customerEntity.getSurname(), subjectOf(bookingEntity, eventType),
+                bookingEntity.getId().toString(), eventId.toString(), LocalDate.now());
+        entityManager.persist(OutboxEventEntity.builder()
+                .id(eventId)
+                .creationTime(LocalDateTime.now())
+                .aggregateId(bookingEntity.getId())
+                .eventType(eventType.name())
+                .topic(outboxProperties.getTopic())
+                .messageKey(bookingEntity.getId().toString())
+                .payload(toJson(kafkaEmailMessageDto))
+                .build());
+    }
+
+    /**
+     * Sends one batch of the oldest due events while they are locked, then marks the acknowledged ones as sent
+     * in the same transaction. The others are sent again by a later batch after their backoff, as are all of them
+     * if the commit fails. An event which failed "booking-outbox.max-attempts" times is parked instead, so it can not
+     * hold back the later events of its booking forever. Parked events stay in the table for inspection.
+     *
+     * @return number of sent events
+     */
+    @Override
+    public int relayEvents() {
+        List<OutboxEventEntity> outboxEventEntities = outboxEventRepository.lockUnsentBatch(outboxProperties.getBatchSize(),
+                LocalDateTime.now());
+        if (outboxEventEntities.isEmpty()) {
+            return 0;
+        }
+
+        // all sends first, so the batch waits for the slowest acknowledgement only
+        List<ListenableFuture<SendResult<String, KafkaEmailMessageDto>>> sendResults = new ArrayList<>(outboxEventEntities.size());
+        for (OutboxEventEntity outboxEventEntity : outboxEventEntities) {
+            sendResults.add(send(outboxEventEntity));
+        }
+
+        long deadline = System.nanoTime() + outboxProperties.getSendTimeout().toNanos();
+        List<UUID> sentIds = new ArrayList<>(outboxEventEntities.size());
+        List<UUID> failedIds = new ArrayList<>();
+        List<UUID> parkedIds = new ArrayList<>();
+        for (int i = 0; i < outboxEventEntities.size(); i++) {
+            OutboxEventEntity outboxEventEntity = outboxEventEntities.get(i);
+            UUID id = outboxEventEntity.getId();
+            if (isAcknowledged(sendResults.get(i), id, deadline)) {
+                sentIds.add(id);
+            } else if (outboxEventEntity.getAttempts() + 1 >= outboxProperties.getMaxAttempts()) {
+                parkedIds.add(id);
+            } else {
+                failedIds.add(id);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.markSent(sentIds, now);
+        }
+        if (!failedIds.isEmpty()) {
+            outboxEventRepository.markFailed(failedIds, now, toSeconds(outboxProperties.getBackoff()),
+                    toSeconds(outboxProperties.getMaxBackoff()));
+        }
+        if (!parkedIds.isEmpty()) {
+            outboxEventRepository.markParked(parkedIds, now);
+            log.error("Outbox events {} failed {} times, they are parked and not sent again", parkedIds,
+                    outboxProperties.getMaxAttempts());
+        }
+        meterRegistry.counter("booking.outbox.sent").increment(sentIds.size());
+        meterRegistry.counter("booking.outbox.failed").increment(failedIds.size() + parkedIds.size());
+        meterRegistry.counter("booking.outbox.parked").increment(parkedIds.size());
+        return sentIds.size();
+    }
+
+    /**
+     * Not read-only on purpose, a lagging replica would still count the events sent since.
+     */
+    @Override
+    public OutboxPending getPendingEvents() {
+        return outboxEventRepository.findPending();
+    }
+
+    /**
+     * @return number of deleted events, sent longer than "booking-outbox.retention" ago
+     */
+    @Override
+    @Scheduled(cron = "${booking-outbox.cleanup-cron:0 30 3 * * *}")
+    public int deleteSentEvents() {
+        int deletedEvents = outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(outboxProperties.getRetention()));
+        log.info("Deleted {} sent outbox events", deletedEvents);
+        return deletedEvents;
+    }
+
+    private ListenableFuture<SendResult<String, KafkaEmailMessageDto>> send(OutboxEventEntity outboxEventEntity) {
+        try {
+            // the payload stays json in the table, on the wire it is written by the serializer of event-contract
+            return kafkaTemplate.send(outboxEventEntity.getTopic(), outboxEventEntity.getMessageKey(),
+                    objectMapper.readValue(outboxEventEntity.getPayload(), KafkaEmailMessageDto.class));
+        } catch (IOException | RuntimeException e) {
+            SettableListenableFuture<SendResult<String, KafkaEmailMessageDto>> failedSendResult = new SettableListenableFuture<>();
+            failedSendResult.setException(e);
+            return failedSendResult;
+        }
+    }
+
+    private static boolean isAcknowledged(ListenableFuture<SendResult<String, KafkaEmailMessageDto>> sendResult, UUID id, long deadline) {
+        try {
+            sendResult.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Outbox event {} is not acknowledged: {}", id, e.toString());
+            return false;
+        }
+    }
+
+    private static double toSeconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+
+    private String toJson(KafkaEmailMessageDto kafkaEmailMessageDto) {
+        try {
+            return objectMapper.writeValueAsString(kafkaEmailMessageDto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Email message of booking " + kafkaEmailMessageDto.getBookingId()
+                    + " cannot be written as json", e);
+        }
+    }
+
+    private static String subjectOf(BookingEntity bookingEntity, BookingEventType eventType) {
+        if (eventType == BookingEventType.CREATED || bookingEntity.getState() == null) {
+            return "Your booking is received";
+        }
+        return "Your booking is " + bookingEntity.getState().replace('_', ' ').toLowerCase();
+    }
+}
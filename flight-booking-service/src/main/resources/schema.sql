@@ -34,6 +34,7 @@ CREATE TABLE IF NOT EXISTS aircraft
     creation_time timestamp without time zone,
     deletion_time timestamp without time zone,
     update_time timestamp without time zone,
+    version bigint NOT NULL DEFAULT 0,
     code character varying(255) COLLATE pg_catalog."default",
     country character varying(255) COLLATE pg_catalog."default",
     manufacture_date timestamp without time zone,
@@ -49,6 +50,7 @@ CREATE TABLE IF NOT EXISTS airplane
     creation_time timestamp without time zone,
     deletion_time timestamp without time zone,
     update_time timestamp without time zone,
+    version bigint NOT NULL DEFAULT 0,
     country character varying(255) COLLATE pg_catalog."default",
     name character varying(255) COLLATE pg_catalog."default",
     CONSTRAINT airplane_pkey PRIMARY KEY (id)
@@ -61,6 +63,7 @@ CREATE TABLE IF NOT EXISTS airport
     creation_time timestamp without time zone,
     deletion_time timestamp without time zone,
     update_time timestamp without time zone,
+    version bigint NOT NULL DEFAULT 0,
     city character varying(255) COLLATE pg_catalog."default",
     code character varying(255) COLLATE pg_catalog."default",
     name character varying(255) COLLATE pg_catalog."default",
@@ -74,6 +77,7 @@ CREATE TABLE IF NOT EXISTS customer
     creation_time timestamp without time zone,
     deletion_time timestamp without time zone,
     update_time timestamp without time zone,
+    version bigint NOT NULL DEFAULT 0,
     age smallint,
     city character varying(255) COLLATE pg_catalog."default",
     country character varying(255) COLLATE pg_catalog."default",
@@ -92,9 +96,11 @@ CREATE TABLE IF NOT EXISTS flight
     creation_time timestamp without time zone,
     deletion_time timestamp without time zone,
     update_time timestamp without time zone,
+    version bigint NOT NULL DEFAULT 0,
     arrival_date timestamp without time zone,
     departure_date timestamp without time zone,
     price numeric(19,2),
+    booked_seats integer NOT NULL DEFAULT 0,
     aircraft_id uuid,
     airline_id uuid,
     dept_airport_id uuid,
@@ -125,6 +131,7 @@ CREATE TABLE IF NOT EXISTS booking
     creation_time timestamp without time zone,
     deletion_time timestamp without time zone,
     update_time timestamp without time zone,
+    version bigint NOT NULL DEFAULT 0,
     has_insurance boolean,
     luggage smallint,
     payment_amount numeric(19,2),
@@ -150,3 +157,108 @@ ALTER TABLE airport OWNER to postgres;
 ALTER TABLE booking OWNER to postgres;
 ALTER TABLE customer OWNER to postgres;
 ALTER TABLE flight OWNER to postgres;
+
+-- Indexes: flight search by route and departure window
+CREATE INDEX IF NOT EXISTS idx_flight_route_departure
+    ON flight (dept_airport_id, dest_airport_id, departure_date)
+    WHERE deletion_time IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_flight_departure
+    ON flight (departure_date)
+    WHERE deletion_time IS NULL;
+
+-- Index: flights changed since the last reconciliation of the itinerary graph, deleted ones included
+CREATE INDEX IF NOT EXISTS idx_flight_update_time
+    ON flight (update_time);
+
+-- Indexes: keyset (seek) pagination of list endpoints on (creation_time, id)
+CREATE INDEX IF NOT EXISTS idx_aircraft_keyset
+    ON aircraft (creation_time, id)
+    WHERE deletion_time IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_airplane_keyset
+    ON airplane (creation_time, id)
+    WHERE deletion_time IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_airport_keyset
+    ON airport (creation_time, id)
+    WHERE deletion_time IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_customer_keyset
+    ON customer (creation_time, id)
+    WHERE deletion_time IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_flight_keyset
+    ON flight (creation_time, id)
+    WHERE deletion_time IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_booking_keyset
+    ON booking (creation_time, id)
+    WHERE deletion_time IS NULL;
+
+-- Seat inventory: counter of booked seats of a flight, for tables created before the column existed
+ALTER TABLE flight ADD COLUMN IF NOT EXISTS booked_seats integer NOT NULL DEFAULT 0;
+
+-- Optimistic locking: row version, incremented by every update, for tables created before the column existed
+ALTER TABLE aircraft ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE airplane ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE airport ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE customer ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE flight ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE booking ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+-- Fare calendar: lowest price and number of non-deleted flights per route and departure day,
+-- read model of "/flights/calendar" maintained by FareCalendarService
+CREATE TABLE IF NOT EXISTS fare_calendar
+(
+    dept_airport_id uuid NOT NULL,
+    dest_airport_id uuid NOT NULL,
+    day date NOT NULL,
+    min_price numeric(19,2),
+    flight_count integer NOT NULL,
+    CONSTRAINT fare_calendar_pkey PRIMARY KEY (dept_airport_id, dest_airport_id, day)
+);
+
+ALTER TABLE fare_calendar OWNER to postgres;
+
+-- Table: public.outbox_event, booking events written in the transaction of their booking and relayed to kafka
+CREATE TABLE IF NOT EXISTS outbox_event
+(
+    id uuid NOT NULL,
+    sequence_number bigserial NOT NULL,
+    creation_time timestamp without time zone NOT NULL,
+    aggregate_id uuid NOT NULL,
+    event_type character varying(255) COLLATE pg_catalog."default" NOT NULL,
+    topic character varying(255) COLLATE pg_catalog."default" NOT NULL,
+    message_key character varying(255) COLLATE pg_catalog."default",
+    payload text COLLATE pg_catalog."default" NOT NULL,
+    attempts integer NOT NULL DEFAULT 0,
+    next_attempt_time timestamp without time zone,
+    failed_time timestamp without time zone,
+    sent_time timestamp without time zone,
+    CONSTRAINT outbox_event_pkey PRIMARY KEY (id)
+);
+
+ALTER TABLE outbox_event OWNER to postgres;
+
+-- Backoff of failed sends and parking after "booking-outbox.max-attempts", for tables created before the columns existed
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS next_attempt_time timestamp without time zone;
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS failed_time timestamp without time zone;
+-- Order of the events, the creation times of instances with skewed clocks may be inverted or equal.
+-- The events of an older table are numbered in no particular order, it should be drained before.
+-- The sequence of the bigserial above, not added as bigserial, which would create a new sequence on every run
+CREATE SEQUENCE IF NOT EXISTS outbox_event_sequence_number_seq;
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS sequence_number bigint NOT NULL
+    DEFAULT nextval('outbox_event_sequence_number_seq');
+ALTER SEQUENCE outbox_event_sequence_number_seq OWNED BY outbox_event.sequence_number;
+
+-- Indexes: the unsent events in the order of the relay, and per booking for its order guard
+DROP INDEX IF EXISTS idx_outbox_event_unsent;
+CREATE INDEX IF NOT EXISTS idx_outbox_event_unsent_sequence
+    ON outbox_event (sequence_number)
+    WHERE sent_time IS NULL;
+
+DROP INDEX IF EXISTS idx_outbox_event_aggregate_unsent;
+CREATE INDEX IF NOT EXISTS idx_outbox_event_aggregate_unsent_sequence
+    ON outbox_event (aggregate_id, sequence_number)
+    WHERE sent_time IS NULL;
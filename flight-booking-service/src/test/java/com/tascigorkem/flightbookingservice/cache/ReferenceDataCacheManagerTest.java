@@ -0,0 +1,88 @@
+package com.tascigorkem.flightbookingservice.cache;
+
+import com.tascigorkem.flightbookingservice.config.CacheConfiguration;
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceDataCacheManagerTest {
+
+    private ReferenceDataCacheManager subject;
+
+    @BeforeEach
+    void setUp() {
+        subject = new ReferenceDataCacheManager(
+                new ConcurrentMapCacheManager(CacheConfiguration.AIRPORTS_CACHE, CacheConfiguration.FARE_CALENDARS_CACHE),
+                Map.of(CacheConfiguration.AIRPORTS_CACHE, airportDto -> ((AirportDto) airportDto).toBuilder().build()));
+        subject.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Unit test for ReferenceDataCacheManager:getCache
+     * Checking whether neither the dto put nor the dtos got can change the cached one
+     */
+    @Test
+    void getCache_WithCopiedCache_ShouldKeepAndHandOutCopies() {
+        // GIVEN
+        Cache cache = Objects.requireNonNull(subject.getCache(CacheConfiguration.AIRPORTS_CACHE));
+        AirportDto fakeAirportDto = DtoModelFaker.getFakeAirportDto(DtoModelFaker.fakeId(), false);
+        String name = fakeAirportDto.getName();
+
+        // WHEN
+        cache.put(fakeAirportDto.getId(), fakeAirportDto);
+        fakeAirportDto.setName(name + " changed");
+        AirportDto firstResult = cache.get(fakeAirportDto.getId(), AirportDto.class);
+        Objects.requireNonNull(firstResult).setName(name + " changed");
+        AirportDto secondResult = cache.get(fakeAirportDto.getId(), AirportDto.class);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(name, Objects.requireNonNull(secondResult).getName()),
+                () -> assertNotSame(firstResult, secondResult)
+        );
+    }
+
+    /**
+     * Unit test for ReferenceDataCacheManager:getCache
+     * Checking whether a put in a transaction takes effect on commit, and in the other caches right away
+     */
+    @Test
+    void getCache_WithPutInTransaction_ShouldPutAfterCommit() {
+        // GIVEN
+        Cache airportsCache = Objects.requireNonNull(subject.getCache(CacheConfiguration.AIRPORTS_CACHE));
+        Cache fareCalendarsCache = Objects.requireNonNull(subject.getCache(CacheConfiguration.FARE_CALENDARS_CACHE));
+        AirportDto fakeAirportDto = DtoModelFaker.getFakeAirportDto(DtoModelFaker.fakeId(), false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // WHEN
+        airportsCache.put(fakeAirportDto.getId(), fakeAirportDto);
+        fareCalendarsCache.put(fakeAirportDto.getId(), fakeAirportDto);
+        Cache.ValueWrapper beforeCommitResult = airportsCache.get(fakeAirportDto.getId());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // THEN
+        assertAll(
+                () -> assertNull(beforeCommitResult),
+                () -> assertEquals(fakeAirportDto, airportsCache.get(fakeAirportDto.getId(), AirportDto.class)),
+                () -> assertNotNull(fareCalendarsCache.get(fakeAirportDto.getId()))
+        );
+    }
+}
@@ -0,0 +1,132 @@
+package com.tascigorkem.flightbookingservice.controller.base;
+
+import com.tascigorkem.flightbookingservice.controller.flight.AirportController;
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import com.tascigorkem.flightbookingservice.exception.badrequest.InvalidCursorException;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+class CursorResponsesTest {
+
+    private static final ResourceLinkAssembler LINKS = ResourceLinkAssembler.of(AirportController.class);
+
+    private final List<Cursor> readCursors = new ArrayList<>();
+    private final List<Integer> readSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/airports")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Unit test for CursorResponses:ok
+     * Checking whether a slice with more rows after it has a "next" link with the cursor of its last row
+     */
+    @Test
+    void ok_WithMoreRows_ShouldReturnSliceWithSelfAndNextLink() {
+        // GIVEN
+        List<AirportDto> fakeAirportDtoList = getFakeAirportDtoList(3);
+        Cursor after = Cursor.of(LocalDateTime.of(2021, 3, 1, 0, 0), DtoModelFaker.fakeId());
+        AirportDto lastAirportDto = fakeAirportDtoList.get(1);
+
+        // WHEN
+        ResponseEntity<CollectionModel<EntityModel<AirportDto>>> result = CursorResponses.ok(LINKS, after.encode(), 2,
+                (cursor, size) -> read(fakeAirportDtoList, cursor, size), EntityModel::of);
+
+        // THEN
+        CollectionModel<EntityModel<AirportDto>> body = result.getBody();
+        String nextToken = Cursor.of(lastAirportDto.getCreationTime(), lastAirportDto.getId()).encode();
+        assertNotNull(body);
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(List.of(after), readCursors),
+                () -> assertEquals(List.of(2), readSizes),
+                () -> assertEquals(fakeAirportDtoList.subList(0, 2), body.getContent().stream()
+                        .map(EntityModel::getContent)
+                        .collect(Collectors.toList())),
+                () -> assertEquals(linkTo(methodOn(AirportController.class).getAllAirportsAfter(after.encode(), 2)).toUri().toString(),
+                        body.getRequiredLink(IanaLinkRelations.SELF).getHref()),
+                () -> assertEquals(linkTo(methodOn(AirportController.class).getAllAirportsAfter(nextToken, 2)).toUri().toString(),
+                        body.getRequiredLink(IanaLinkRelations.NEXT).getHref())
+        );
+    }
+
+    /**
+     * Unit test for CursorResponses:ok
+     * Checking whether the first slice is read without a cursor and the last slice has no "next" link
+     */
+    @Test
+    void ok_WithEmptyCursorAndLastSlice_ShouldReturnSliceWithoutNextLink() {
+        // GIVEN
+        List<AirportDto> fakeAirportDtoList = getFakeAirportDtoList(2);
+
+        // WHEN
+        ResponseEntity<CollectionModel<EntityModel<AirportDto>>> result = CursorResponses.ok(LINKS, "", 5000,
+                (cursor, size) -> read(fakeAirportDtoList, cursor, size), EntityModel::of);
+
+        // THEN
+        CollectionModel<EntityModel<AirportDto>> body = result.getBody();
+        assertNotNull(body);
+        assertAll(
+                () -> assertEquals(Collections.singletonList(null), readCursors),
+                () -> assertEquals(List.of(2000), readSizes),
+                () -> assertEquals(2, body.getContent().size()),
+                () -> assertTrue(body.getLink(IanaLinkRelations.SELF).isPresent()),
+                () -> assertFalse(body.getLink(IanaLinkRelations.NEXT).isPresent())
+        );
+    }
+
+    /**
+     * Unit test for CursorResponses:ok
+     */
+    @Test
+    void ok_WithMalformedCursor_ShouldThrowInvalidCursorException() {
+        // WHEN
+        assertThrows(InvalidCursorException.class, () -> CursorResponses.<AirportDto>ok(LINKS, "not a cursor", 2,
+                (cursor, size) -> read(List.of(), cursor, size), EntityModel::of));
+
+        // THEN
+        assertTrue(readCursors.isEmpty());
+    }
+
+    private CursorSlice<AirportDto> read(List<AirportDto> rows, Cursor cursor, int size) {
+        readCursors.add(cursor);
+        readSizes.add(size);
+        return CursorSlice.of(rows, size, airportDto -> Cursor.of(airportDto.getCreationTime(), airportDto.getId()));
+    }
+
+    private static List<AirportDto> getFakeAirportDtoList(int count) {
+        List<AirportDto> airportDtoList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            airportDtoList.add(DtoModelFaker.getFakeAirportDto(DtoModelFaker.fakeId(), true));
+        }
+        return airportDtoList;
+    }
+}
@@ -0,0 +1,99 @@
+package com.tascigorkem.flightbookingservice.controller.base;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import com.tascigorkem.flightbookingservice.exception.badrequest.InvalidExportFormatException;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportWriterTest {
+
+    private static final List<ExportColumn<AirportDto>> COLUMNS = Arrays.asList(
+            ExportColumn.of("name", AirportDto::getName),
+            ExportColumn.of("code", AirportDto::getCode),
+            ExportColumn.of("city", AirportDto::getCity)
+    );
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    /**
+     * Unit test for ExportWriter:accept
+     */
+    @Test
+    void accept_WithCsvFormat_ShouldWriteHeaderAndEscapedRows() throws IOException {
+        // GIVEN
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AirportDto fakeAirportDto = AirportDto.builder().name("Sabiha \"SAW\" Gokcen").code("SAW").city("Istanbul, Pendik").build();
+        AirportDto fakeAirportDtoWithoutCity = AirportDto.builder().name("Esenboga").code("ESB").build();
+
+        // WHEN
+        try (ExportWriter<AirportDto> exportWriter = ExportWriter.of(ExportFormat.CSV, outputStream, objectMapper, AirportDto.class, COLUMNS)) {
+            exportWriter.accept(fakeAirportDto);
+            exportWriter.accept(fakeAirportDtoWithoutCity);
+        }
+
+        // THEN
+        assertEquals("name,code,city\r\n" +
+                        "\"Sabiha \"\"SAW\"\" Gokcen\",SAW,\"Istanbul, Pendik\"\r\n" +
+                        "Esenboga,ESB,\r\n",
+                new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Unit test for ExportWriter:close
+     */
+    @Test
+    void close_WithCsvFormatAndNoRows_ShouldWriteHeader() throws IOException {
+        // GIVEN
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // WHEN
+        ExportWriter.of(ExportFormat.CSV, outputStream, objectMapper, AirportDto.class, COLUMNS).close();
+
+        // THEN
+        assertEquals("name,code,city\r\n", new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Unit test for ExportWriter:accept
+     */
+    @Test
+    void accept_WithNdjsonFormat_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        // GIVEN
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AirportDto fakeAirportDto1 = DtoModelFaker.getFakeAirportDto(DtoModelFaker.fakeId(), false);
+        AirportDto fakeAirportDto2 = DtoModelFaker.getFakeAirportDto(DtoModelFaker.fakeId(), false);
+
+        // WHEN
+        try (ExportWriter<AirportDto> exportWriter = ExportWriter.of(ExportFormat.NDJSON, outputStream, objectMapper, AirportDto.class, COLUMNS)) {
+            exportWriter.accept(fakeAirportDto1);
+            exportWriter.accept(fakeAirportDto2);
+        }
+
+        // THEN
+        String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertAll(
+                () -> assertEquals(2, lines.length),
+                () -> assertEquals(fakeAirportDto1.getCode(), objectMapper.readTree(lines[0]).path("code").asText()),
+                () -> assertEquals(fakeAirportDto2.getId().toString(), objectMapper.readTree(lines[1]).path("id").asText())
+        );
+    }
+
+    /**
+     * Unit test for ExportFormat:of
+     */
+    @Test
+    void of_WithUnknownFormat_ShouldThrowInvalidExportFormatException() {
+        assertEquals(ExportFormat.CSV, ExportFormat.of("csv"));
+        assertThrows(InvalidExportFormatException.class, () -> ExportFormat.of("xml"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.tascigorkem.flightbookingservice.controller.base;
+
+import com.tascigorkem.flightbookingservice.controller.booking.BookingController;
+import com.tascigorkem.flightbookingservice.controller.customer.CustomerController;
+import com.tascigorkem.flightbookingservice.controller.flight.AircraftController;
+import com.tascigorkem.flightbookingservice.controller.flight.AirlineController;
+import com.tascigorkem.flightbookingservice.controller.flight.AirportController;
+import com.tascigorkem.flightbookingservice.controller.flight.FlightController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+class ResourceLinkAssemblerTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Unit test for ResourceLinkAssembler:itemHref and ResourceLinkAssembler:collectionHref
+     */
+    @Test
+    void hrefs_WithCurrentRequest_ShouldBeSameAsLinkTo() {
+        // GIVEN
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/flights");
+        request.setServerName("booking.example.com");
+        request.setServerPort(8081);
+        request.setContextPath("/api");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        UUID id = UUID.randomUUID();
+
+        // WHEN
+        ResourceLinkAssembler flightLinks = ResourceLinkAssembler.of(FlightController.class);
+        ResourceLinkAssembler bookingLinks = ResourceLinkAssembler.of(BookingController.class);
+
+        // THEN
+        assertAll(
+                () -> assertEquals("http://booking.example.com:8081/api/flights/" + id, flightLinks.itemHref(id)),
+                () -> assertEquals(linkTo(methodOn(FlightController.class).getFlightById(id)).toUri().toString(), flightLinks.itemHref(id)),
+                () -> assertEquals(linkTo(methodOn(FlightController.class).updateFlight(id, null, null)).toUri().toString(), flightLinks.itemHref(id)),
+                () -> assertEquals(linkTo(methodOn(FlightController.class).removeFlight(id)).toUri().toString(), flightLinks.itemHref(id)),
+                () -> assertEquals(linkTo(FlightController.class).toUri().toString(), flightLinks.collectionHref()),
+                () -> assertEquals(linkTo(methodOn(BookingController.class).getBookingById(id)).toUri().toString(), bookingLinks.itemHref(id)),
+                () -> assertEquals(linkTo(BookingController.class).toUri().toString(), bookingLinks.collectionHref()),
+                () -> assertEquals(linkTo(methodOn(CustomerController.class).getCustomerById(id)).toUri().toString(),
+                        ResourceLinkAssembler.of(CustomerController.class).itemHref(id)),
+                () -> assertEquals(linkTo(methodOn(AirportController.class).getAirportById(id)).toUri().toString(),
+                        ResourceLinkAssembler.of(AirportController.class).itemHref(id)),
+                () -> assertEquals(linkTo(methodOn(AirlineController.class).getAirlineById(id)).toUri().toString(),
+                        ResourceLinkAssembler.of(AirlineController.class).itemHref(id)),
+                () -> assertEquals(linkTo(methodOn(AircraftController.class).getAircraftById(id)).toUri().toString(),
+                        ResourceLinkAssembler.of(AircraftController.class).itemHref(id))
+        );
+    }
+
+    /**
+     * Unit test for ResourceLinkAssembler:itemHref
+     */
+    @Test
+    void itemHref_AsLink_ShouldBeEqualToLinkOfLinkTo() {
+        // GIVEN
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/flights")));
+        UUID id = UUID.randomUUID();
+
+        // WHEN
+        Link result = Link.of(ResourceLinkAssembler.of(FlightController.class).itemHref(id), "get-flight-by-id-GET");
+
+        // THEN
+        assertEquals(linkTo(methodOn(FlightController.class).getFlightById(id)).withRel("get-flight-by-id-GET"), result);
+    }
+
+    /**
+     * Unit test for ResourceLinkAssembler:itemHref
+     */
+    @Test
+    void itemHref_WithoutCurrentRequest_ShouldBeSameAsLinkTo() {
+        // GIVEN
+        UUID id = UUID.randomUUID();
+
+        // WHEN
+        String result = ResourceLinkAssembler.of(FlightController.class).itemHref(id);
+
+        // THEN
+        assertEquals(linkTo(methodOn(FlightController.class).getFlightById(id)).toUri().toString(), result);
+    }
+
+    /**
+     * Unit test for ResourceLinkAssembler:withCurrentBaseUri
+     */
+    @Test
+    void withCurrentBaseUri_AfterRequest_ShouldKeepBaseUriOfRequest() {
+        // GIVEN
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/reactive/flights");
+        request.setServerName("booking.example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        UUID id = UUID.randomUUID();
+        ResourceLinkAssembler flightLinks = ResourceLinkAssembler.of(FlightController.class).withCurrentBaseUri();
+
+        // WHEN
+        RequestContextHolder.resetRequestAttributes();
+        String result = flightLinks.itemHref(id);
+
+        // THEN
+        assertEquals("http://booking.example.com/flights/" + id, result);
+    }
+
+    /**
+     * Unit test for ResourceLinkAssembler:of
+     */
+    @Test
+    void of_WithoutRequestMapping_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> ResourceLinkAssembler.of(ResourceLinkAssemblerTest.class));
+    }
+}
@@ -0,0 +1,71 @@
+package com.tascigorkem.flightbookingservice.controller.base;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.exception.badrequest.InvalidIfMatchException;
+import com.tascigorkem.flightbookingservice.exception.conflict.VersionConflictException;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedResponsesTest {
+
+    /**
+     * Unit test for VersionedResponses:parseIfMatch
+     */
+    @Test
+    void parseIfMatch_WithEntityTags_ShouldReturnVersion() {
+        assertAll(
+                () -> assertEquals(7L, VersionedResponses.parseIfMatch("\"7\"")),
+                () -> assertEquals(7L, VersionedResponses.parseIfMatch("W/\"7\"")),
+                () -> assertEquals(7L, VersionedResponses.parseIfMatch(" \"7\" ")),
+                () -> assertNull(VersionedResponses.parseIfMatch(null)),
+                () -> assertNull(VersionedResponses.parseIfMatch("*"))
+        );
+    }
+
+    /**
+     * Unit test for VersionedResponses:parseIfMatch
+     */
+    @Test
+    void parseIfMatch_WithMalformedEntityTag_ShouldThrowInvalidIfMatchException() {
+        assertAll(
+                () -> assertThrows(InvalidIfMatchException.class, () -> VersionedResponses.parseIfMatch("7")),
+                () -> assertThrows(InvalidIfMatchException.class, () -> VersionedResponses.parseIfMatch("\"seven\"")),
+                () -> assertThrows(InvalidIfMatchException.class, () -> VersionedResponses.parseIfMatch("\"7\", \"8\""))
+        );
+    }
+
+    /**
+     * Unit test for VersionedResponses:update
+     */
+    @Test
+    void update_WithVersionConflict_ShouldReturnConflictWithCurrentRepresentation() {
+        // GIVEN
+        UUID fakeFlightId = DtoModelFaker.fakeId();
+        FlightDto fakeFlightDto = DtoModelFaker.getFakeFlightDto(fakeFlightId, true);
+        FlightDto fakeCurrentFlightDto = DtoModelFaker.getFakeFlightDto(fakeFlightId, true);
+        fakeCurrentFlightDto.setVersion(9L);
+
+        // WHEN
+        ResponseEntity<EntityModel<FlightDto>> result = VersionedResponses.update(fakeFlightDto, "\"8\"",
+                flightDto -> {
+                    throw new VersionConflictException("Flight", flightDto.getId().toString());
+                },
+                id -> fakeCurrentFlightDto,
+                EntityModel::of);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(8L, fakeFlightDto.getVersion()),
+                () -> assertEquals(HttpStatus.CONFLICT, result.getStatusCode()),
+                () -> assertEquals("\"9\"", result.getHeaders().getETag()),
+                () -> assertSame(fakeCurrentFlightDto, result.getBody().getContent())
+        );
+    }
+}
@@ -2,9 +2,8 @@ package com.tascigorkem.flightbookingservice.controller.booking;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
-import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
-import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
 import com.tascigorkem.flightbookingservice.repository.booking.BookingRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,7 +21,6 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 
-import static com.tascigorkem.flightbookingservice.service.booking.BookingMapper.BOOKING_MAPPER;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
@@ -53,20 +51,17 @@ class BookingControllerIT {
     @Test
     void getAllBookings_RetrieveBookings_ShouldReturnNotDeletedBookings() throws Exception {
         // GIVEN
-        List<BookingEntity> fakeBookingEntityList = Arrays.asList(
-                EntityModelFaker.getFakeBookingEntity(EntityModelFaker.fakeId(), true),
-                EntityModelFaker.getFakeBookingEntity(EntityModelFaker.fakeId(), true),
-                EntityModelFaker.getFakeBookingEntity(EntityModelFaker.fakeId(), true)
+        List<BookingSummaryDto> fakeBookingSummaryDtoList = Arrays.asList(
+                DtoModelFaker.getFakeBookingSummaryDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeBookingSummaryDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeBookingSummaryDto(DtoModelFaker.fakeId(), true)
         );
 
         PageRequest pageable = PageRequest.of(0, 20);
-        Page<BookingEntity> fakeBookingEntityPage = new PageImpl<>(fakeBookingEntityList, pageable, fakeBookingEntityList.size());
+        Page<BookingSummaryDto> fakeBookingSummaryDtoPage = new PageImpl<>(fakeBookingSummaryDtoList, pageable, fakeBookingSummaryDtoList.size());
 
-        when(this.bookingRepository.findAllByDeletionTimeIsNull(any(Pageable.class)))
-                .thenReturn(fakeBookingEntityPage);
-
-        List<BookingDto> fakeBookingDtoList = BOOKING_MAPPER.toBookingDtoList(fakeBookingEntityList);
-        PageImpl<BookingDto> fakeBookingDtoPage = new PageImpl<>(fakeBookingDtoList, pageable, fakeBookingDtoList.size());
+        when(this.bookingRepository.findAllSummariesByDeletionTimeIsNull(any(Pageable.class)))
+                .thenReturn(fakeBookingSummaryDtoPage);
 
         // WHEN
         this.mockMvc.perform(get("/bookings"))
@@ -80,39 +75,40 @@ class BookingControllerIT {
                     JsonNode parentJsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
 
                     assertAll(
-                            () -> assertEquals(parentJsonNode.path("page").get("size").asInt(), fakeBookingDtoPage.getSize()),
-                            () -> assertEquals(parentJsonNode.path("page").get("totalElements").asInt(), fakeBookingDtoPage.getTotalElements()),
-                            () -> assertEquals(parentJsonNode.path("page").get("totalPages").asInt(), fakeBookingDtoPage.getTotalPages()),
-                            () -> assertEquals(parentJsonNode.path("page").get("number").asInt(), fakeBookingDtoPage.getNumber())
+                            () -> assertEquals(parentJsonNode.path("page").get("size").asInt(), fakeBookingSummaryDtoPage.getSize()),
+                            () -> assertEquals(parentJsonNode.path("page").get("totalElements").asInt(), fakeBookingSummaryDtoPage.getTotalElements()),
+                            () -> assertEquals(parentJsonNode.path("page").get("totalPages").asInt(), fakeBookingSummaryDtoPage.getTotalPages()),
+                            () -> assertEquals(parentJsonNode.path("page").get("number").asInt(), fakeBookingSummaryDtoPage.getNumber())
                     );
 
                     JsonNode bookingDtoListJsonNode = parentJsonNode.path("_embedded").path("bookingDtoList");
-                    assertEquals(bookingDtoListJsonNode.size(), fakeBookingDtoList.size());
+                    assertEquals(bookingDtoListJsonNode.size(), fakeBookingSummaryDtoList.size());
 
                     for (int i = 0; i < bookingDtoListJsonNode.size(); i++) {
                         JsonNode bookingDtoJsonNode = bookingDtoListJsonNode.path(i);
-                        BookingDto fakeBookingDto = fakeBookingDtoList.get(i);
+                        BookingSummaryDto fakeBookingSummaryDto = fakeBookingSummaryDtoList.get(i);
 
-                        assertFieldsBetweenDtoAndJson(fakeBookingDto, bookingDtoJsonNode);
+                        assertFieldsBetweenDtoAndJson(fakeBookingSummaryDto, bookingDtoJsonNode);
                     }
                 });
 
-        verify(bookingRepository).findAllByDeletionTimeIsNull(any(Pageable.class));
+        verify(bookingRepository).findAllSummariesByDeletionTimeIsNull(any(Pageable.class));
     }
 
-    private void assertFieldsBetweenDtoAndJson(BookingDto fakeBookingDto, JsonNode bookingDtoJsonNode) {
+    private void assertFieldsBetweenDtoAndJson(BookingSummaryDto fakeBookingSummaryDto, JsonNode bookingDtoJsonNode) {
         assertAll(
-                () -> assertEquals(bookingDtoJsonNode.path("id").asText(), fakeBookingDto.getId().toString()),
-                () -> assertEquals(bookingDtoJsonNode.path("state").asText(), fakeBookingDto.getState()),
-                () -> assertEquals(bookingDtoJsonNode.path("paymentDate").asText().substring(0, 19), fakeBookingDto.getPaymentDate().toString().substring(0, 19)),
-                () -> assertEquals(new BigDecimal(bookingDtoJsonNode.path("paymentAmount").asText()), fakeBookingDto.getPaymentAmount()),
-                () -> assertEquals(bookingDtoJsonNode.path("insurance").asBoolean(), fakeBookingDto.isInsurance()),
-                () -> assertEquals(bookingDtoJsonNode.path("luggage").asInt(), fakeBookingDto.getLuggage()),
-                () -> assertEquals(bookingDtoJsonNode.path("creationTime").asText().substring(0, 19), fakeBookingDto.getCreationTime().toString().substring(0, 19)),
-                () -> assertEquals(bookingDtoJsonNode.path("updateTime").asText().substring(0, 19), fakeBookingDto.getUpdateTime().toString().substring(0, 19)),
-
-                () -> assertEquals(bookingDtoJsonNode.path("creationTime").asText().substring(0, 19), fakeBookingDto.getCreationTime().toString().substring(0, 19)),
-                () -> assertEquals(bookingDtoJsonNode.path("updateTime").asText().substring(0, 19), fakeBookingDto.getUpdateTime().toString().substring(0, 19)),
+                () -> assertEquals(bookingDtoJsonNode.path("id").asText(), fakeBookingSummaryDto.getId().toString()),
+                () -> assertEquals(bookingDtoJsonNode.path("state").asText(), fakeBookingSummaryDto.getState()),
+                () -> assertEquals(bookingDtoJsonNode.path("paymentDate").asText().substring(0, 19), fakeBookingSummaryDto.getPaymentDate().toString().substring(0, 19)),
+                () -> assertEquals(new BigDecimal(bookingDtoJsonNode.path("paymentAmount").asText()), fakeBookingSummaryDto.getPaymentAmount()),
+                () -> assertEquals(bookingDtoJsonNode.path("insurance").asBoolean(), fakeBookingSummaryDto.isInsurance()),
+                () -> assertEquals(bookingDtoJsonNode.path("luggage").asInt(), fakeBookingSummaryDto.getLuggage()),
+                () -> assertEquals(bookingDtoJsonNode.path("creationTime").asText().substring(0, 19), fakeBookingSummaryDto.getCreationTime().toString().substring(0, 19)),
+                () -> assertEquals(bookingDtoJsonNode.path("updateTime").asText().substring(0, 19), fakeBookingSummaryDto.getUpdateTime().toString().substring(0, 19)),
+
+                () -> assertEquals(bookingDtoJsonNode.path("customerEmail").asText(), fakeBookingSummaryDto.getCustomerEmail()),
+                () -> assertEquals(bookingDtoJsonNode.path("departureAirportCode").asText(), fakeBookingSummaryDto.getDepartureAirportCode()),
+                () -> assertEquals(bookingDtoJsonNode.path("destinationAirportCode").asText(), fakeBookingSummaryDto.getDestinationAirportCode()),
 
                 () -> assertNotNull(bookingDtoJsonNode.path("_links").get("get-booking-by-id-GET")),
                 () -> assertNotNull(bookingDtoJsonNode.path("_links").get("all-bookings-GET")),
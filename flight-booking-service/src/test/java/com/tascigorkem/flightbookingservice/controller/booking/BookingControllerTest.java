@@ -3,6 +3,7 @@ package com.tascigorkem.flightbookingservice.controller.booking;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
+import com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto;
 import com.tascigorkem.flightbookingservice.exception.notfound.BookingNotFoundException;
 import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
 import com.tascigorkem.flightbookingservice.service.booking.BookingService;
@@ -23,6 +24,7 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -49,17 +51,17 @@ class BookingControllerTest {
     @Test
     void getAllBookings_RetrieveBookings_ShouldReturnNotDeletedBookings() throws Exception {
         // GIVEN
-        List<BookingDto> fakeBookingDtoList = Arrays.asList(
-                DtoModelFaker.getFakeBookingDto(DtoModelFaker.fakeId(), true),
-                DtoModelFaker.getFakeBookingDto(DtoModelFaker.fakeId(), true),
-                DtoModelFaker.getFakeBookingDto(DtoModelFaker.fakeId(), true)
+        List<BookingSummaryDto> fakeBookingSummaryDtoList = Arrays.asList(
+                DtoModelFaker.getFakeBookingSummaryDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeBookingSummaryDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeBookingSummaryDto(DtoModelFaker.fakeId(), true)
         );
 
         PageRequest pageable = PageRequest.of(0, 20);
-        Page<BookingDto> fakeBookingDtoPage = new PageImpl<>(fakeBookingDtoList, pageable, fakeBookingDtoList.size());
+        Page<BookingSummaryDto> fakeBookingSummaryDtoPage = new PageImpl<>(fakeBookingSummaryDtoList, pageable, fakeBookingSummaryDtoList.size());
 
         when(this.bookingService.getAllBookings(any(Pageable.class)))
-                .thenReturn(fakeBookingDtoPage);
+                .thenReturn(fakeBookingSummaryDtoPage);
 
         // WHEN
         this.mockMvc.perform(get("/bookings"))
@@ -74,20 +76,20 @@ class BookingControllerTest {
                     JsonNode parentJsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
 
                     assertAll(
-                            () -> assertEquals(parentJsonNode.path("page").get("size").asInt(), fakeBookingDtoPage.getSize()),
-                            () -> assertEquals(parentJsonNode.path("page").get("totalElements").asInt(), fakeBookingDtoPage.getTotalElements()),
-                            () -> assertEquals(parentJsonNode.path("page").get("totalPages").asInt(), fakeBookingDtoPage.getTotalPages()),
-                            () -> assertEquals(parentJsonNode.path("page").get("number").asInt(), fakeBookingDtoPage.getNumber())
+                            () -> assertEquals(parentJsonNode.path("page").get("size").asInt(), fakeBookingSummaryDtoPage.getSize()),
+                            () -> assertEquals(parentJsonNode.path("page").get("totalElements").asInt(), fakeBookingSummaryDtoPage.getTotalElements()),
+                            () -> assertEquals(parentJsonNode.path("page").get("totalPages").asInt(), fakeBookingSummaryDtoPage.getTotalPages()),
+                            () -> assertEquals(parentJsonNode.path("page").get("number").asInt(), fakeBookingSummaryDtoPage.getNumber())
                     );
 
                     JsonNode bookingDtoListJsonNode = parentJsonNode.path("_embedded").path("bookingDtoList");
-                    assertEquals(bookingDtoListJsonNode.size(), fakeBookingDtoList.size());
+                    assertEquals(bookingDtoListJsonNode.size(), fakeBookingSummaryDtoList.size());
 
                     for (int i = 0; i < bookingDtoListJsonNode.size(); i++) {
                         JsonNode bookingDtoJsonNode = bookingDtoListJsonNode.path(i);
-                        BookingDto fakeBookingDto = fakeBookingDtoList.get(i);
+                        BookingSummaryDto fakeBookingSummaryDto = fakeBookingSummaryDtoList.get(i);
 
-                        assertFieldsBetweenDtoAndJson(fakeBookingDto, bookingDtoJsonNode);
+                        assertFieldsBetweenSummaryDtoAndJson(fakeBookingSummaryDto, bookingDtoJsonNode);
                     }
                 });
 
@@ -95,6 +97,42 @@ class BookingControllerTest {
     }
 
 
+    /**
+     * Unit test for BookingController:exportBookings
+     */
+    @Test
+    void exportBookings_WithCsvFormat_ShouldStreamHeaderAndOneBookingPerRow() throws Exception {
+        // GIVEN
+        List<BookingSummaryDto> fakeBookingSummaryDtoList = Arrays.asList(
+                DtoModelFaker.getFakeBookingSummaryDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeBookingSummaryDto(DtoModelFaker.fakeId(), true)
+        );
+
+        doAnswer(invocation -> {
+            Consumer<BookingSummaryDto> rowConsumer = invocation.getArgument(0);
+            fakeBookingSummaryDtoList.forEach(rowConsumer);
+            return null;
+        }).when(this.bookingService).exportBookings(any());
+
+        // WHEN
+        this.mockMvc.perform(get("/bookings/export").param("format", "csv"))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(result -> {
+                    String[] rows = result.getResponse().getContentAsString().split("\r\n");
+
+                    assertEquals(3, rows.length);
+                    assertTrue(rows[0].startsWith("id,state,paymentDate,paymentAmount,"));
+                    assertTrue(rows[1].startsWith(fakeBookingSummaryDtoList.get(0).getId() + ","));
+                    assertTrue(rows[2].startsWith(fakeBookingSummaryDtoList.get(1).getId() + ","));
+                });
+
+        verify(bookingService).exportBookings(any());
+    }
+
     /**
      * Unit test for BookingController:getBookingById
      */
@@ -286,4 +324,26 @@ class BookingControllerTest {
                 () -> assertNotNull(bookingDtoJsonNode.path("_links").get("remove-booking-by-id-DELETE"))
         );
     }
-}
\ No newline at end of file
+
+    private void assertFieldsBetweenSummaryDtoAndJson(BookingSummaryDto fakeBookingSummaryDto, JsonNode bookingDtoJsonNode) {
+        assertAll(
+                () -> assertEquals(bookingDtoJsonNode.path("id").asText(), fakeBookingSummaryDto.getId().toString()),
+                () -> assertEquals(bookingDtoJsonNode.path("state").asText(), fakeBookingSummaryDto.getState()),
+                () -> assertEquals(new BigDecimal(bookingDtoJsonNode.path("paymentAmount").asText()), fakeBookingSummaryDto.getPaymentAmount()),
+                () -> assertEquals(bookingDtoJsonNode.path("customerName").asText(), fakeBookingSummaryDto.getCustomerName()),
+                () -> assertEquals(bookingDtoJsonNode.path("customerSurname").asText(), fakeBookingSummaryDto.getCustomerSurname()),
+                () -> assertEquals(bookingDtoJsonNode.path("customerEmail").asText(), fakeBookingSummaryDto.getCustomerEmail()),
+                () -> assertEquals(bookingDtoJsonNode.path("departureAirportCode").asText(), fakeBookingSummaryDto.getDepartureAirportCode()),
+                () -> assertEquals(bookingDtoJsonNode.path("destinationAirportCode").asText(), fakeBookingSummaryDto.getDestinationAirportCode()),
+                () -> assertEquals(bookingDtoJsonNode.path("departureDate").asText().substring(0, 19), fakeBookingSummaryDto.getDepartureDate().toString().substring(0, 19)),
+                () -> assertTrue(bookingDtoJsonNode.path("customer").isMissingNode()),
+                () -> assertTrue(bookingDtoJsonNode.path("flight").isMissingNode()),
+
+                () -> assertNotNull(bookingDtoJsonNode.path("_links").get("get-booking-by-id-GET")),
+                () -> assertNotNull(bookingDtoJsonNode.path("_links").get("all-bookings-GET")),
+                () -> assertNotNull(bookingDtoJsonNode.path("_links").get("add-booking-POST")),
+                () -> assertNotNull(bookingDtoJsonNode.path("_links").get("update-booking-by-id-with-body-PUT")),
+                () -> assertNotNull(bookingDtoJsonNode.path("_links").get("remove-booking-by-id-DELETE"))
+        );
+    }
+}
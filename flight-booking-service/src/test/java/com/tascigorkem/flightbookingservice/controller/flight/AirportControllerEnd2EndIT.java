@@ -3,15 +3,23 @@ package com.tascigorkem.flightbookingservice.controller.flight;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
 import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
 import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
 import com.tascigorkem.flightbookingservice.repository.flight.AirportRepository;
+import com.zaxxer.hikari.HikariDataSource;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.UUID;
 
@@ -34,6 +42,9 @@ class AirportControllerEnd2EndIT {
     @Autowired
     private AirportRepository airportRepository;
 
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
     /**
      * E2E test for AirportController:getAllAirports
      */
@@ -58,6 +69,50 @@ class AirportControllerEnd2EndIT {
         airportRepository.delete(fakeAirportEntity);
     }
 
+    /**
+     * E2E test for AirportController:updateAirport
+     * Checking whether a conflict is answered with the committed airport, not with the cached one.
+     */
+    @Test
+    void updateAirport_WithAirportUpdatedByAnotherInstance_ShouldReturn409ConflictWithCommittedVersion()
+            throws JsonProcessingException {
+        // GIVEN
+        UUID fakeAirportEntityId = EntityModelFaker.fakeId();
+        AirportEntity fakeAirportEntity = EntityModelFaker.getFakeAirportEntity(fakeAirportEntityId, false);
+        airportRepository.save(fakeAirportEntity);
+        // caches version 0
+        this.restTemplate.getForEntity("/airports/" + fakeAirportEntityId, String.class);
+
+        // update of another instance, not seen by the caches of this one
+        String committedName = fakeAirportEntity.getName() + "-committed";
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(primaryDataSource);
+        jdbcTemplate.update("UPDATE airport SET name = ?, version = version + 1 WHERE id = ?",
+                committedName, fakeAirportEntityId);
+
+        AirportDto fakeAirportDto = DtoModelFaker.getFakeAirportDto(fakeAirportEntityId, false);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setIfMatch("\"0\"");
+
+        // WHEN
+        ResponseEntity<String> response = this.restTemplate.exchange("/airports/" + fakeAirportEntityId,
+                HttpMethod.PUT, new HttpEntity<>(objectMapper.writeValueAsString(fakeAirportDto), headers), String.class);
+
+        // THEN
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        JsonNode airportDtoJsonNode = objectMapper.readTree(response.getBody());
+        assertEquals(committedName, airportDtoJsonNode.path("name").asText());
+        assertEquals(1L, airportDtoJsonNode.path("version").asLong());
+
+        ResponseEntity<String> getResponse = this.restTemplate.getForEntity(
+                "/airports/" + fakeAirportEntityId, String.class);
+        assertEquals("\"1\"", getResponse.getHeaders().getETag());
+
+        // clean dummy entities from db
+        jdbcTemplate.update("DELETE FROM airport WHERE id = ?", fakeAirportEntityId);
+    }
+
     private void assertFieldsBetweenDtoAndJson(AirportEntity fakeAirportEntity, JsonNode airportDtoJsonNode) {
         assertAll(
                 () -> assertEquals(airportDtoJsonNode.path("id").asText(), fakeAirportEntity.getId().toString()),
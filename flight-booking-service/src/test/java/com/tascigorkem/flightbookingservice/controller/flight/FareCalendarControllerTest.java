@@ -0,0 +1,104 @@
+package com.tascigorkem.flightbookingservice.controller.flight;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tascigorkem.flightbookingservice.dto.flight.FareCalendarDayDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FareCalendarDto;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import com.tascigorkem.flightbookingservice.service.flight.FareCalendarService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(FareCalendarController.class)
+class FareCalendarControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private FareCalendarService fareCalendarService;
+
+    /**
+     * Unit test for FareCalendarController:getFareCalendar
+     */
+    @Test
+    void getFareCalendar_WithRouteAndMonth_ShouldReturnDaysOfMonth() throws Exception {
+        // GIVEN
+        UUID fakeDeptAirportId = DtoModelFaker.fakeId();
+        UUID fakeDestAirportId = DtoModelFaker.fakeId();
+        YearMonth month = YearMonth.of(2021, 3);
+        FareCalendarDto fakeFareCalendarDto = FareCalendarDto.builder()
+                .departureAirportId(fakeDeptAirportId)
+                .destinationAirportId(fakeDestAirportId)
+                .month(month)
+                .days(Arrays.asList(
+                        new FareCalendarDayDto(month.atDay(2), BigDecimal.valueOf(79.90), 2),
+                        new FareCalendarDayDto(month.atDay(9), BigDecimal.valueOf(54.50), 1)))
+                .build();
+
+        when(this.fareCalendarService.getFareCalendar(fakeDeptAirportId, fakeDestAirportId, month))
+                .thenReturn(fakeFareCalendarDto);
+
+        // WHEN
+        this.mockMvc.perform(get("/flights/calendar")
+                .param("from", fakeDeptAirportId.toString())
+                .param("to", fakeDestAirportId.toString())
+                .param("month", "2021-03"))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(result -> {
+                    JsonNode parentJsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
+
+                    assertAll(
+                            () -> assertEquals(fakeDeptAirportId.toString(), parentJsonNode.get("departureAirportId").asText()),
+                            () -> assertEquals(fakeDestAirportId.toString(), parentJsonNode.get("destinationAirportId").asText()),
+                            () -> assertEquals("2021-03", parentJsonNode.get("month").asText()),
+                            () -> assertEquals(2, parentJsonNode.get("days").size()),
+                            () -> assertEquals("2021-03-02", parentJsonNode.get("days").get(0).get("day").asText()),
+                            () -> assertEquals(79.9, parentJsonNode.get("days").get(0).get("minPrice").asDouble()),
+                            () -> assertEquals(1, parentJsonNode.get("days").get(1).get("flightCount").asInt())
+                    );
+                });
+
+        verify(fareCalendarService).getFareCalendar(fakeDeptAirportId, fakeDestAirportId, month);
+    }
+
+    /**
+     * Unit test for FareCalendarController:getFareCalendar
+     */
+    @Test
+    void getFareCalendar_WithoutMonth_ShouldReturnBadRequest() throws Exception {
+        // WHEN
+        this.mockMvc.perform(get("/flights/calendar")
+                .param("from", DtoModelFaker.fakeId().toString())
+                .param("to", DtoModelFaker.fakeId().toString()))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(fareCalendarService);
+    }
+}
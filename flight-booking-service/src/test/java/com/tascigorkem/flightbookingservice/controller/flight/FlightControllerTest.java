@@ -2,9 +2,14 @@ package com.tascigorkem.flightbookingservice.controller.flight;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightBatchResultDto;
 import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto;
+import com.tascigorkem.flightbookingservice.exception.conflict.VersionConflictException;
 import com.tascigorkem.flightbookingservice.exception.notfound.FlightNotFoundException;
 import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import com.tascigorkem.flightbookingservice.service.flight.FlightService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,19 +20,25 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(FlightController.class)
@@ -94,6 +105,217 @@ class FlightControllerTest {
     }
 
 
+    /**
+     * Unit test for FlightController:getAllFlightsAfter
+     */
+    @Test
+    void getAllFlightsAfter_WithCursor_ShouldReturnSliceWithNextLink() throws Exception {
+        // GIVEN
+        List<FlightDto> fakeFlightDtoList = Arrays.asList(
+                DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true)
+        );
+
+        Cursor after = Cursor.of(LocalDateTime.of(2021, 3, 1, 0, 0), DtoModelFaker.fakeId());
+        CursorSlice<FlightDto> fakeFlightDtoSlice = CursorSlice.of(fakeFlightDtoList, 2,
+                flightDto -> Cursor.of(flightDto.getCreationTime(), flightDto.getId()));
+
+        when(this.flightService.getAllFlightsAfter(after, 2))
+                .thenReturn(fakeFlightDtoSlice);
+
+        // WHEN
+        this.mockMvc.perform(get("/flights")
+                .param("after", after.encode())
+                .param("size", "2"))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON_VALUE))
+                .andExpect(result -> {
+
+                    assertNotNull(result.getResponse().getContentAsString());
+                    JsonNode parentJsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
+
+                    assertAll(
+                            () -> assertTrue(parentJsonNode.path("page").isMissingNode()),
+                            () -> assertTrue(parentJsonNode.path("_links").path("next").path("href").asText()
+                                    .contains("after=" + fakeFlightDtoSlice.getNext().encode()))
+                    );
+
+                    JsonNode flightDtoListJsonNode = parentJsonNode.path("_embedded").path("flightDtoList");
+                    assertEquals(2, flightDtoListJsonNode.size());
+
+                    for (int i = 0; i < flightDtoListJsonNode.size(); i++) {
+                        assertFieldsBetweenDtoAndJson(fakeFlightDtoList.get(i), flightDtoListJsonNode.path(i));
+                    }
+                });
+
+        verify(flightService).getAllFlightsAfter(after, 2);
+        verify(flightService, never()).getAllFlights(any(Pageable.class));
+    }
+
+    /**
+     * Unit test for FlightController:getAllFlightsAfter
+     */
+    @Test
+    void getAllFlightsAfter_WithMalformedCursor_ShouldReturnBadRequest() throws Exception {
+        // WHEN
+        this.mockMvc.perform(get("/flights")
+                .param("after", "not a cursor"))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(flightService);
+    }
+
+    /**
+     * Unit test for FlightController:exportFlights
+     */
+    @Test
+    void exportFlights_WithDefaultFormat_ShouldStreamOneFlightPerLine() throws Exception {
+        // GIVEN
+        List<FlightDto> fakeFlightDtoList = Arrays.asList(
+                DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true)
+        );
+
+        doAnswer(invocation -> {
+            Consumer<FlightDto> rowConsumer = invocation.getArgument(0);
+            fakeFlightDtoList.forEach(rowConsumer);
+            return null;
+        }).when(this.flightService).exportFlights(any());
+
+        // WHEN
+        this.mockMvc.perform(get("/flights/export"))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(FlightController.APPLICATION_NDJSON_VALUE))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"flights.ndjson\""))
+                .andExpect(result -> {
+                    String[] lines = result.getResponse().getContentAsString().split("\n");
+
+                    assertEquals(2, lines.length);
+                    for (int i = 0; i < lines.length; i++) {
+                        JsonNode flightDtoJsonNode = objectMapper.readTree(lines[i]);
+                        assertEquals(fakeFlightDtoList.get(i).getId().toString(), flightDtoJsonNode.path("id").asText());
+                        assertEquals(fakeFlightDtoList.get(i).getPrice(), new BigDecimal(flightDtoJsonNode.path("price").asText()));
+                        assertTrue(flightDtoJsonNode.path("_links").isMissingNode());
+                    }
+                });
+
+        verify(flightService).exportFlights(any());
+    }
+
+    /**
+     * Unit test for FlightController:exportFlights
+     */
+    @Test
+    void exportFlights_WithCsvFormat_ShouldStreamHeaderAndOneFlightPerRow() throws Exception {
+        // GIVEN
+        FlightDto fakeFlightDto = DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true);
+
+        doAnswer(invocation -> {
+            Consumer<FlightDto> rowConsumer = invocation.getArgument(0);
+            rowConsumer.accept(fakeFlightDto);
+            return null;
+        }).when(this.flightService).exportFlights(any());
+
+        // WHEN
+        this.mockMvc.perform(get("/flights/export").param("format", "csv"))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(result -> {
+                    String[] rows = result.getResponse().getContentAsString().split("\r\n");
+
+                    assertEquals(2, rows.length);
+                    assertTrue(rows[0].startsWith("id,departureDate,arrivalDate,price,"));
+                    assertTrue(rows[1].startsWith(fakeFlightDto.getId() + ","));
+                });
+    }
+
+    /**
+     * Unit test for FlightController:exportFlights
+     */
+    @Test
+    void exportFlights_WithUnknownFormat_ShouldReturn400BadRequest() throws Exception {
+        // WHEN
+        this.mockMvc.perform(get("/flights/export").param("format", "xml"))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isBadRequest());
+
+        verify(flightService, never()).exportFlights(any());
+    }
+
+    /**
+     * Unit test for FlightController:searchFlights
+     */
+    @Test
+    void searchFlights_WithCriteria_ShouldReturnMatchingFlights() throws Exception {
+        // GIVEN
+        List<FlightDto> fakeFlightDtoList = Arrays.asList(
+                DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true)
+        );
+
+        UUID fakeDepartureAirportId = DtoModelFaker.fakeId();
+        UUID fakeDestinationAirportId = DtoModelFaker.fakeId();
+        LocalDateTime departureFrom = LocalDateTime.of(2021, 3, 1, 0, 0);
+        LocalDateTime departureTo = LocalDateTime.of(2021, 3, 2, 0, 0);
+
+        FlightSearchDto expectedFlightSearchDto = FlightSearchDto.builder()
+                .departureAirportId(fakeDepartureAirportId)
+                .destinationAirportId(fakeDestinationAirportId)
+                .departureFrom(departureFrom)
+                .departureTo(departureTo)
+                .maxPrice(new BigDecimal("150.50"))
+                .build();
+
+        PageRequest pageable = PageRequest.of(0, 20);
+        Page<FlightDto> fakeFlightDtoPage = new PageImpl<>(fakeFlightDtoList, pageable, fakeFlightDtoList.size());
+
+        when(this.flightService.searchFlights(eq(expectedFlightSearchDto), any(Pageable.class)))
+                .thenReturn(fakeFlightDtoPage);
+
+        // WHEN
+        this.mockMvc.perform(get("/flights/search")
+                .param("departureAirportId", fakeDepartureAirportId.toString())
+                .param("destinationAirportId", fakeDestinationAirportId.toString())
+                .param("departureFrom", departureFrom.toString())
+                .param("departureTo", departureTo.toString())
+                .param("maxPrice", "150.50")
+                .param("sort", "price,asc"))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON_VALUE))
+                .andExpect(result -> {
+
+                    assertNotNull(result.getResponse().getContentAsString());
+                    JsonNode parentJsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
+
+                    JsonNode flightDtoListJsonNode = parentJsonNode.path("_embedded").path("flightDtoList");
+                    assertEquals(flightDtoListJsonNode.size(), fakeFlightDtoList.size());
+
+                    for (int i = 0; i < flightDtoListJsonNode.size(); i++) {
+                        assertFieldsBetweenDtoAndJson(fakeFlightDtoList.get(i), flightDtoListJsonNode.path(i));
+                    }
+                });
+
+        verify(flightService).searchFlights(eq(expectedFlightSearchDto), any(Pageable.class));
+    }
+
     /**
      * Unit test for FlightController:getFlightById
      */
@@ -205,6 +427,88 @@ class FlightControllerTest {
         verify(flightService, never()).addFlight(fakeFlightDto);
     }
 
+    /**
+     * Unit test for FlightController:addFlights
+     */
+    @Test
+    void addFlights_WithJsonArray_ShouldReturnBatchResult() throws Exception {
+        // GIVEN
+        List<FlightDto> fakeFlightDtoList = Arrays.asList(
+                DtoModelFaker.getFakeFlightDto(null, true),
+                DtoModelFaker.getFakeFlightDto(null, true)
+        );
+
+        when(this.flightService.addFlights(any())).thenAnswer(invocation -> consume(invocation.getArgument(0)));
+
+        // WHEN
+        this.mockMvc.perform(post("/flights/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(fakeFlightDtoList)))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(result -> {
+                    JsonNode resultJsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
+
+                    assertEquals(2, resultJsonNode.path("count").asInt());
+                    assertEquals(2, resultJsonNode.path("ids").size());
+                    assertTrue(resultJsonNode.path("_links").isMissingNode());
+                });
+
+        verify(flightService).addFlights(any());
+    }
+
+    /**
+     * Unit test for FlightController:addFlightsFromNdjson
+     */
+    @Test
+    void addFlightsFromNdjson_WithOneFlightPerLine_ShouldReturnBatchResult() throws Exception {
+        // GIVEN
+        String ndjson = objectMapper.writeValueAsString(DtoModelFaker.getFakeFlightDto(null, true)) + "\n"
+                + objectMapper.writeValueAsString(DtoModelFaker.getFakeFlightDto(null, true)) + "\n"
+                + objectMapper.writeValueAsString(DtoModelFaker.getFakeFlightDto(null, true)) + "\n";
+
+        when(this.flightService.addFlights(any())).thenAnswer(invocation -> consume(invocation.getArgument(0)));
+
+        // WHEN
+        this.mockMvc.perform(post("/flights/batch")
+                .contentType(FlightController.APPLICATION_NDJSON_VALUE)
+                .content(ndjson))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isCreated())
+                .andExpect(result -> {
+                    JsonNode resultJsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
+
+                    assertEquals(3, resultJsonNode.path("count").asInt());
+                });
+    }
+
+    /**
+     * Unit test for FlightController:addFlights
+     */
+    @Test
+    void addFlights_WithMissingFieldValue_ShouldReturn400BadRequest() throws Exception {
+        // GIVEN
+        FlightDto fakeInvalidFlightDto = DtoModelFaker.getFakeFlightDto(null, true);
+        fakeInvalidFlightDto.setPrice(null);
+        List<FlightDto> fakeFlightDtoList = Arrays.asList(DtoModelFaker.getFakeFlightDto(null, true), fakeInvalidFlightDto);
+
+        when(this.flightService.addFlights(any())).thenAnswer(invocation -> consume(invocation.getArgument(0)));
+
+        // WHEN
+        this.mockMvc.perform(post("/flights/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(fakeFlightDtoList)))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Unit test for FlightController:updateFlight
      */
@@ -237,6 +541,93 @@ class FlightControllerTest {
         verify(flightService).updateFlight(fakeFlightDto);
     }
 
+    /**
+     * Unit test for FlightController:updateFlight
+     */
+    @Test
+    void updateFlight_WithIfMatch_ShouldUpdateExpectedVersionAndReturnNewETag() throws Exception {
+        // GIVEN
+        UUID fakeFlightDtoId = DtoModelFaker.fakeId();
+        FlightDto fakeFlightDto = DtoModelFaker.getFakeFlightDto(fakeFlightDtoId, true);
+        FlightDto fakeUpdatedFlightDto = DtoModelFaker.getFakeFlightDto(fakeFlightDtoId, true);
+        fakeUpdatedFlightDto.setVersion(4L);
+
+        when(this.flightService.updateFlight(any(FlightDto.class)))
+                .thenReturn(fakeUpdatedFlightDto);
+
+        // WHEN
+        this.mockMvc.perform(put("/flights/{id}", fakeFlightDtoId)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(fakeFlightDto)))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+
+        verify(flightService).updateFlight(argThat(flightDto -> Long.valueOf(3L).equals(flightDto.getVersion())));
+        verify(flightService, never()).getCurrentFlightById(any(UUID.class));
+    }
+
+    /**
+     * Unit test for FlightController:updateFlight
+     */
+    @Test
+    void updateFlight_WithStaleVersion_ShouldReturn409ConflictWithCurrentFlight() throws Exception {
+        // GIVEN
+        UUID fakeFlightDtoId = DtoModelFaker.fakeId();
+        FlightDto fakeFlightDto = DtoModelFaker.getFakeFlightDto(fakeFlightDtoId, true);
+        FlightDto fakeCurrentFlightDto = DtoModelFaker.getFakeFlightDto(fakeFlightDtoId, true);
+        fakeCurrentFlightDto.setVersion(5L);
+
+        when(this.flightService.updateFlight(any(FlightDto.class)))
+                .thenThrow(new VersionConflictException("Flight", fakeFlightDtoId.toString()));
+        when(this.flightService.getCurrentFlightById(fakeFlightDtoId))
+                .thenReturn(fakeCurrentFlightDto);
+
+        // WHEN
+        this.mockMvc.perform(put("/flights/{id}", fakeFlightDtoId)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(fakeFlightDto)))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isConflict())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
+                .andExpect(result -> {
+                    JsonNode flightDtoJsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
+
+                    assertFieldsBetweenDtoAndJson(fakeCurrentFlightDto, flightDtoJsonNode);
+                    assertEquals(5L, flightDtoJsonNode.path("version").asLong());
+                });
+
+        verify(flightService, never()).getFlightById(any(UUID.class));
+    }
+
+    /**
+     * Unit test for FlightController:updateFlight
+     */
+    @Test
+    void updateFlight_WithMalformedIfMatch_ShouldReturn400BadRequest() throws Exception {
+        // GIVEN
+        UUID fakeFlightDtoId = DtoModelFaker.fakeId();
+        FlightDto fakeFlightDto = DtoModelFaker.getFakeFlightDto(fakeFlightDtoId, true);
+
+        // WHEN
+        this.mockMvc.perform(put("/flights/{id}", fakeFlightDtoId)
+                .header(HttpHeaders.IF_MATCH, "version-3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(fakeFlightDto)))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isBadRequest());
+
+        verify(flightService, never()).updateFlight(any(FlightDto.class));
+    }
+
     /**
      * Unit test for FlightController:removeFlight
      */
@@ -267,6 +658,12 @@ class FlightControllerTest {
         verify(flightService).removeFlight(fakeFlightDtoId);
     }
 
+    private static FlightBatchResultDto consume(Iterator<FlightDto> flightDtos) {
+        List<UUID> ids = new ArrayList<>();
+        flightDtos.forEachRemaining(flightDto -> ids.add(UUID.randomUUID()));
+        return new FlightBatchResultDto(ids.size(), ids);
+    }
+
     private void assertFieldsBetweenDtoAndJson(FlightDto fakeFlightDto, JsonNode flightDtoJsonNode) {
         assertAll(
                 () -> assertEquals(flightDtoJsonNode.path("id").asText(), fakeFlightDto.getId().toString()),
@@ -0,0 +1,124 @@
+package com.tascigorkem.flightbookingservice.controller.flight;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryLegDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItinerarySearchDto;
+import com.tascigorkem.flightbookingservice.enums.ItinerarySort;
+import com.tascigorkem.flightbookingservice.exception.badrequest.InvalidItinerarySearchException;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import com.tascigorkem.flightbookingservice.service.flight.ItineraryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItineraryController.class)
+class ItineraryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ItineraryService itineraryService;
+
+    /**
+     * Unit test for ItineraryController:searchItineraries
+     */
+    @Test
+    void searchItineraries_WithRouteAndDate_ShouldReturnItineraries() throws Exception {
+        // GIVEN
+        UUID fakeDeptAirportId = DtoModelFaker.fakeId();
+        UUID fakeDestAirportId = DtoModelFaker.fakeId();
+        UUID fakeFlightId = DtoModelFaker.fakeId();
+        LocalDateTime departureDate = LocalDateTime.of(2031, 3, 2, 9, 0);
+        ItineraryDto fakeItineraryDto = ItineraryDto.builder()
+                .departureDate(departureDate)
+                .arrivalDate(departureDate.plusHours(3))
+                .durationMinutes(180)
+                .stops(0)
+                .totalPrice(new BigDecimal("120.00"))
+                .legs(Collections.singletonList(ItineraryLegDto.builder()
+                        .flightId(fakeFlightId)
+                        .departureAirportId(fakeDeptAirportId)
+                        .destinationAirportId(fakeDestAirportId)
+                        .departureDate(departureDate)
+                        .arrivalDate(departureDate.plusHours(3))
+                        .price(new BigDecimal("120.00"))
+                        .build()))
+                .build();
+        ItinerarySearchDto expectedItinerarySearchDto = ItinerarySearchDto.builder()
+                .from(fakeDeptAirportId)
+                .to(fakeDestAirportId)
+                .date(LocalDate.of(2031, 3, 2))
+                .sortBy(ItinerarySort.FASTEST)
+                .maxStops(1)
+                .build();
+
+        when(this.itineraryService.searchItineraries(expectedItinerarySearchDto))
+                .thenReturn(Collections.singletonList(fakeItineraryDto));
+
+        // WHEN
+        this.mockMvc.perform(get("/itineraries")
+                .param("from", fakeDeptAirportId.toString())
+                .param("to", fakeDestAirportId.toString())
+                .param("date", "2031-03-02")
+                .param("sortBy", "FASTEST")
+                .param("maxStops", "1"))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(result -> {
+                    JsonNode parentJsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
+
+                    assertAll(
+                            () -> assertEquals(1, parentJsonNode.size()),
+                            () -> assertEquals(180, parentJsonNode.get(0).get("durationMinutes").asLong()),
+                            () -> assertEquals(0, parentJsonNode.get(0).get("stops").asInt()),
+                            () -> assertEquals(120.0, parentJsonNode.get(0).get("totalPrice").asDouble()),
+                            () -> assertEquals(fakeFlightId.toString(), parentJsonNode.get(0).get("legs").get(0).get("flightId").asText())
+                    );
+                });
+
+        verify(itineraryService).searchItineraries(expectedItinerarySearchDto);
+    }
+
+    /**
+     * Unit test for ItineraryController:searchItineraries
+     */
+    @Test
+    void searchItineraries_WithInvalidSearch_ShouldReturnBadRequest() throws Exception {
+        // GIVEN
+        when(this.itineraryService.searchItineraries(any(ItinerarySearchDto.class)))
+                .thenThrow(new InvalidItinerarySearchException("from, to and date are required"));
+
+        // WHEN
+        this.mockMvc.perform(get("/itineraries")
+                .param("from", DtoModelFaker.fakeId().toString()))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,249 @@
+package com.tascigorkem.flightbookingservice.controller.flight;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto;
+import com.tascigorkem.flightbookingservice.exception.notfound.FlightNotFoundException;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import com.tascigorkem.flightbookingservice.service.flight.ReactiveFlightService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReactiveFlightController.class)
+class ReactiveFlightControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReactiveFlightService reactiveFlightService;
+
+    /**
+     * Unit test for ReactiveFlightController:getAllFlights
+     * Checking whether the page is rendered when it is emitted on another thread than the request one
+     */
+    @Test
+    void getAllFlights_EmittedOnOtherThread_ShouldReturnPageWithLinksOfRequest() throws Exception {
+        // GIVEN
+        List<FlightDto> fakeFlightDtoList = Arrays.asList(
+                DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true)
+        );
+
+        PageRequest pageable = PageRequest.of(0, 20);
+        Page<FlightDto> fakeFlightDtoPage = new PageImpl<>(fakeFlightDtoList, pageable, fakeFlightDtoList.size());
+
+        when(this.reactiveFlightService.getAllFlights(any(Pageable.class)))
+                .thenReturn(Mono.just(fakeFlightDtoPage).publishOn(Schedulers.parallel()));
+
+        // WHEN
+        MvcResult asyncResult = this.mockMvc.perform(get("/reactive/flights"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(asyncResult))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON_VALUE))
+                .andExpect(result -> {
+
+                    JsonNode parentJsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
+
+                    assertAll(
+                            () -> assertEquals(fakeFlightDtoPage.getTotalElements(), parentJsonNode.path("page").get("totalElements").asLong()),
+                            () -> assertEquals("http://localhost/reactive/flights", parentJsonNode.path("_links").path("self").path("href").asText())
+                    );
+
+                    JsonNode flightDtoListJsonNode = parentJsonNode.path("_embedded").path("flightDtoList");
+                    assertEquals(fakeFlightDtoList.size(), flightDtoListJsonNode.size());
+
+                    for (int i = 0; i < flightDtoListJsonNode.size(); i++) {
+                        assertFieldsBetweenDtoAndJson(fakeFlightDtoList.get(i), flightDtoListJsonNode.path(i));
+                    }
+                });
+
+        verify(reactiveFlightService).getAllFlights(any(Pageable.class));
+    }
+
+    /**
+     * Unit test for ReactiveFlightController:streamAllFlights
+     */
+    @Test
+    void streamAllFlights_RetrieveFlights_ShouldWriteOneFlightPerLine() throws Exception {
+        // GIVEN
+        List<FlightDto> fakeFlightDtoList = Arrays.asList(
+                DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true)
+        );
+
+        when(this.reactiveFlightService.streamAllFlights())
+                .thenReturn(Flux.fromIterable(fakeFlightDtoList));
+
+        // WHEN
+        MvcResult asyncResult = this.mockMvc.perform(get("/reactive/flights/stream")
+                .accept(MediaType.APPLICATION_STREAM_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        asyncResult.getAsyncResult();
+
+        // THEN
+        String[] lines = asyncResult.getResponse().getContentAsString().trim().split("\n");
+        assertAll(
+                () -> assertTrue(MediaType.APPLICATION_STREAM_JSON.isCompatibleWith(
+                        MediaType.parseMediaType(asyncResult.getResponse().getContentType()))),
+                () -> assertEquals(fakeFlightDtoList.size(), lines.length),
+                () -> assertEquals(fakeFlightDtoList.get(0).getId().toString(), objectMapper.readTree(lines[0]).path("id").asText()),
+                () -> assertEquals(fakeFlightDtoList.get(1).getId().toString(), objectMapper.readTree(lines[1]).path("id").asText())
+        );
+    }
+
+    /**
+     * Unit test for ReactiveFlightController:searchFlights
+     */
+    @Test
+    void searchFlights_WithCriteria_ShouldBindCriteria() throws Exception {
+        // GIVEN
+        UUID fakeDeptAirportId = DtoModelFaker.fakeId();
+        FlightSearchDto expectedFlightSearchDto = FlightSearchDto.builder()
+                .departureAirportId(fakeDeptAirportId)
+                .maxPrice(new BigDecimal("150.00"))
+                .build();
+        Page<FlightDto> fakeFlightDtoPage = new PageImpl<>(
+                Arrays.asList(DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), true)), PageRequest.of(0, 20), 1);
+
+        when(this.reactiveFlightService.searchFlights(eq(expectedFlightSearchDto), any(Pageable.class)))
+                .thenReturn(Mono.just(fakeFlightDtoPage));
+
+        // WHEN
+        MvcResult asyncResult = this.mockMvc.perform(get("/reactive/flights/search")
+                .param("departureAirportId", fakeDeptAirportId.toString())
+                .param("maxPrice", "150.00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(asyncResult))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(result -> {
+                    JsonNode parentJsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
+                    assertEquals(1, parentJsonNode.path("_embedded").path("flightDtoList").size());
+                });
+
+        verify(reactiveFlightService).searchFlights(eq(expectedFlightSearchDto), any(Pageable.class));
+    }
+
+    /**
+     * Unit test for ReactiveFlightController:getFlightById
+     */
+    @Test
+    void getFlightById_WithFlightId_ShouldReturnFlightWithETag() throws Exception {
+        // GIVEN
+        UUID fakeFlightDtoId = DtoModelFaker.fakeId();
+        FlightDto fakeFlightDto = DtoModelFaker.getFakeFlightDto(fakeFlightDtoId, true);
+        fakeFlightDto.setVersion(2L);
+
+        when(this.reactiveFlightService.getFlightById(fakeFlightDtoId))
+                .thenReturn(Mono.just(fakeFlightDto).publishOn(Schedulers.parallel()));
+
+        // WHEN
+        MvcResult asyncResult = this.mockMvc.perform(get("/reactive/flights/{id}", fakeFlightDtoId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(asyncResult))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON_VALUE))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(result -> {
+                    JsonNode flightDtoJsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
+
+                    assertFieldsBetweenDtoAndJson(fakeFlightDto, flightDtoJsonNode);
+                    assertEquals("http://localhost/flights/" + fakeFlightDtoId,
+                            flightDtoJsonNode.path("_links").path("get-flight-by-id-GET").path("href").asText());
+                });
+
+        verify(reactiveFlightService).getFlightById(fakeFlightDtoId);
+    }
+
+    /**
+     * Unit test for ReactiveFlightController:getFlightById
+     * Given wrong Flight id and should return 404 Http Status with FlightNotFoundException message
+     */
+    @Test
+    void getFlightById_WrongFlightId_ShouldReturn404NotFound() throws Exception {
+        // GIVEN
+        UUID wrongFakeFlightId = DtoModelFaker.fakeId();
+
+        when(reactiveFlightService.getFlightById(wrongFakeFlightId))
+                .thenReturn(Mono.error(new FlightNotFoundException("id", wrongFakeFlightId.toString())));
+
+        // WHEN
+        MvcResult asyncResult = this.mockMvc.perform(get("/reactive/flights/{id}", wrongFakeFlightId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(asyncResult))
+                .andDo(print())
+
+                // THEN
+                .andExpect(status().isNotFound());
+
+        verify(reactiveFlightService).getFlightById(wrongFakeFlightId);
+    }
+
+    private void assertFieldsBetweenDtoAndJson(FlightDto fakeFlightDto, JsonNode flightDtoJsonNode) {
+        assertAll(
+                () -> assertEquals(flightDtoJsonNode.path("id").asText(), fakeFlightDto.getId().toString()),
+                () -> assertEquals(flightDtoJsonNode.path("departureDate").asText().substring(0, 19), fakeFlightDto.getDepartureDate().toString().substring(0, 19)),
+                () -> assertEquals(flightDtoJsonNode.path("arrivalDate").asText().substring(0, 19), fakeFlightDto.getArrivalDate().toString().substring(0, 19)),
+                () -> assertEquals(new BigDecimal(flightDtoJsonNode.path("price").asText()), fakeFlightDto.getPrice()),
+
+                () -> assertNotNull(flightDtoJsonNode.path("_links").get("get-flight-by-id-GET")),
+                () -> assertNotNull(flightDtoJsonNode.path("_links").get("all-flights-GET")),
+                () -> assertNotNull(flightDtoJsonNode.path("_links").get("add-flight-POST")),
+                () -> assertNotNull(flightDtoJsonNode.path("_links").get("update-flight-by-id-with-body-PUT")),
+                () -> assertNotNull(flightDtoJsonNode.path("_links").get("remove-flight-by-id-DELETE"))
+        );
+    }
+}
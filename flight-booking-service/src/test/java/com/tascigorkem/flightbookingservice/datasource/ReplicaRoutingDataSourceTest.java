@@ -0,0 +1,174 @@
+package com.tascigorkem.flightbookingservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(10);
+
+    private final HikariDataSource primary = mock(HikariDataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+
+    ReplicaRoutingDataSourceTest() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    /**
+     * Unit test for ReplicaRoutingDataSource:getConnection
+     */
+    @Test
+    void getConnection_InReadWriteTransaction_ShouldUsePrimary() throws SQLException {
+        // GIVEN
+        Replica replica = getCheckedReplica("replica-1", 0);
+        ReplicaRoutingDataSource subject = new ReplicaRoutingDataSource(primary,
+                Collections.singletonList(replica), ReplicaRoutingStrategy.ROUND_ROBIN);
+
+        // WHEN
+        Connection result = subject.getConnection();
+
+        // THEN
+        assertSame(primaryConnection, result);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, subject.determineCurrentLookupKey());
+    }
+
+    /**
+     * Unit test for ReplicaRoutingDataSource:getConnection
+     */
+    @Test
+    void getConnection_InReadOnlyTransactions_ShouldUseReplicasRoundRobin() throws SQLException {
+        // GIVEN
+        Replica replica1 = getCheckedReplica("replica-1", 0);
+        Replica replica2 = getCheckedReplica("replica-2", 0);
+        Connection replicaConnection1 = mock(Connection.class);
+        Connection replicaConnection2 = mock(Connection.class);
+        when(replica1.getDataSource().getConnection()).thenReturn(replicaConnection1);
+        when(replica2.getDataSource().getConnection()).thenReturn(replicaConnection2);
+        ReplicaRoutingDataSource subject = new ReplicaRoutingDataSource(primary,
+                Arrays.asList(replica1, replica2), ReplicaRoutingStrategy.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // WHEN
+        Connection result1 = subject.getConnection();
+        Connection result2 = subject.getConnection();
+        Connection result3 = subject.getConnection();
+
+        // THEN
+        assertAll(
+                () -> assertSame(replicaConnection1, result1),
+                () -> assertSame(replicaConnection2, result2),
+                () -> assertSame(replicaConnection1, result3)
+        );
+        verify(primary, never()).getConnection();
+    }
+
+    /**
+     * Unit test for ReplicaRoutingDataSource:getConnection
+     */
+    @Test
+    void getConnection_LeastBusy_ShouldUseReplicaWithFewestActiveConnections() throws SQLException {
+        // GIVEN
+        Replica busyReplica = getCheckedReplica("replica-1", 0);
+        Replica idleReplica = getCheckedReplica("replica-2", 0);
+        setActiveConnections(busyReplica, 4);
+        setActiveConnections(idleReplica, 1);
+        Connection idleReplicaConnection = mock(Connection.class);
+        when(idleReplica.getDataSource().getConnection()).thenReturn(idleReplicaConnection);
+        ReplicaRoutingDataSource subject = new ReplicaRoutingDataSource(primary,
+                Arrays.asList(busyReplica, idleReplica), ReplicaRoutingStrategy.LEAST_BUSY);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // WHEN
+        Connection result = subject.getConnection();
+
+        // THEN
+        assertSame(idleReplicaConnection, result);
+        verify(busyReplica.getDataSource(), never()).getConnection();
+    }
+
+    /**
+     * Unit test for ReplicaRoutingDataSource:getConnection
+     */
+    @Test
+    void getConnection_WithLaggingReplica_ShouldFallBackToPrimary() throws SQLException {
+        // GIVEN
+        Replica laggingReplica = getCheckedReplica("replica-1", MAX_LAG.getSeconds() + 1);
+        ReplicaRoutingDataSource subject = new ReplicaRoutingDataSource(primary,
+                Collections.singletonList(laggingReplica), ReplicaRoutingStrategy.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // WHEN
+        Connection result = subject.getConnection();
+
+        // THEN
+        assertFalse(laggingReplica.isAvailable());
+        assertSame(primaryConnection, result);
+    }
+
+    /**
+     * Unit test for ReplicaRoutingDataSource:getConnection
+     */
+    @Test
+    void getConnection_WithUnreachableReplica_ShouldFallBackToPrimaryAndMarkReplicaDown() throws SQLException {
+        // GIVEN
+        Replica replica = getCheckedReplica("replica-1", 0);
+        when(replica.getDataSource().getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        ReplicaRoutingDataSource subject = new ReplicaRoutingDataSource(primary,
+                Collections.singletonList(replica), ReplicaRoutingStrategy.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // WHEN
+        Connection result = subject.getConnection();
+
+        // THEN
+        assertSame(primaryConnection, result);
+        assertFalse(replica.isAvailable());
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, subject.determineCurrentLookupKey());
+    }
+
+    /**
+     * @return a replica after its first check, which measured the given lag
+     */
+    private static Replica getCheckedReplica(String name, double lagSeconds) throws SQLException {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(Replica.LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+
+        Replica replica = new Replica(name, dataSource, MAX_LAG);
+        replica.check();
+        clearInvocations(dataSource);
+        return replica;
+    }
+
+    private static void setActiveConnections(Replica replica, int activeConnections) {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getActiveConnections()).thenReturn(activeConnections);
+        when(replica.getDataSource().getHikariPoolMXBean()).thenReturn(pool);
+    }
+}
@@ -3,6 +3,7 @@ package com.tascigorkem.flightbookingservice.faker;
 import com.github.javafaker.Country;
 import com.github.javafaker.Faker;
 import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
+import com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto;
 import com.tascigorkem.flightbookingservice.dto.customer.CustomerDto;
 import com.tascigorkem.flightbookingservice.dto.flight.AircraftDto;
 import com.tascigorkem.flightbookingservice.dto.flight.AirlineDto;
@@ -39,6 +40,28 @@ public class DtoModelFaker {
                 .build();
     }
 
+    public static BookingSummaryDto getFakeBookingSummaryDto(UUID id, boolean fillDateTimeFields) {
+        LocalDateTime dateTime = fillDateTimeFields ? LocalDateTime.now() : null;
+        return BookingSummaryDto.builder()
+                .id(id)
+                .state(EnumRandomizeUtil.randomEnum(BookingState.class).name())
+                .paymentDate(LocalDateTime.now())
+                .paymentAmount(BigDecimal.valueOf(faker.number().randomDouble(2, 30, 300)))
+                .insurance(true)
+                .luggage((short) faker.number().numberBetween(30, 300))
+                .creationTime(dateTime)
+                .updateTime(dateTime)
+                .customerId(fakeId())
+                .customerName(faker.name().firstName())
+                .customerSurname(faker.name().lastName())
+                .customerEmail(faker.internet().emailAddress())
+                .flightId(fakeId())
+                .departureAirportCode(EnumRandomizeUtil.randomEnum(AirportModelNameFaker.class).code)
+                .destinationAirportCode(EnumRandomizeUtil.randomEnum(AirportModelNameFaker.class).code)
+                .departureDate(LocalDateTime.now().plusDays(faker.number().numberBetween(1, 30)))
+                .build();
+    }
+
 
     public static CustomerDto getFakeCustomerDto(UUID id, boolean fillDateTimeFields) {
         LocalDateTime dateTime = fillDateTimeFields ? LocalDateTime.now() : null;
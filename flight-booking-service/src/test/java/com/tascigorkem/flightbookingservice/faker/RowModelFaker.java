@@ -0,0 +1,149 @@
+package com.tascigorkem.flightbookingservice.faker;
+
+import com.tascigorkem.flightbookingservice.entity.base.BaseEntity;
+import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
+import com.tascigorkem.flightbookingservice.entity.customer.CustomerEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirlineEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.repository.booking.BookingRow;
+import com.tascigorkem.flightbookingservice.repository.customer.CustomerRow;
+import com.tascigorkem.flightbookingservice.repository.flight.AircraftRow;
+import com.tascigorkem.flightbookingservice.repository.flight.AirlineRow;
+import com.tascigorkem.flightbookingservice.repository.flight.AirportRow;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRow;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightView;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rows as returned by the native statements of the repositories, built from the columns of an entity.
+ */
+public class RowModelFaker {
+    private static final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    private RowModelFaker() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static BookingRow toBookingRow(BookingEntity bookingEntity) {
+        Map<String, Object> columns = getBaseColumns(bookingEntity);
+        columns.put("state", bookingEntity.getState());
+        columns.put("paymentDate", bookingEntity.getPaymentDate());
+        columns.put("paymentAmount", bookingEntity.getPaymentAmount());
+        columns.put("insurance", bookingEntity.isInsurance());
+        columns.put("luggage", bookingEntity.getLuggage());
+        columns.put("customerId", getId(bookingEntity.getCustomer()));
+        columns.put("flightId", getId(bookingEntity.getFlight()));
+        return projectionFactory.createProjection(BookingRow.class, columns);
+    }
+
+    public static CustomerRow toCustomerRow(CustomerEntity customerEntity) {
+        Map<String, Object> columns = getBaseColumns(customerEntity);
+        columns.put("name", customerEntity.getName());
+        columns.put("surname", customerEntity.getSurname());
+        columns.put("email", customerEntity.getEmail());
+        columns.put("password", customerEntity.getPassword());
+        columns.put("phone", customerEntity.getPhone());
+        columns.put("age", customerEntity.getAge());
+        columns.put("city", customerEntity.getCity());
+        columns.put("country", customerEntity.getCountry());
+        return projectionFactory.createProjection(CustomerRow.class, columns);
+    }
+
+    public static AircraftRow toAircraftRow(AircraftEntity aircraftEntity) {
+        Map<String, Object> columns = getBaseColumns(aircraftEntity);
+        columns.put("modelName", aircraftEntity.getModelName());
+        columns.put("code", aircraftEntity.getCode());
+        columns.put("seat", aircraftEntity.getSeat());
+        columns.put("country", aircraftEntity.getCountry());
+        columns.put("manufacturerDate", aircraftEntity.getManufacturerDate());
+        return projectionFactory.createProjection(AircraftRow.class, columns);
+    }
+
+    public static AirlineRow toAirlineRow(AirlineEntity airlineEntity) {
+        Map<String, Object> columns = getBaseColumns(airlineEntity);
+        columns.put("name", airlineEntity.getName());
+        columns.put("country", airlineEntity.getCountry());
+        return projectionFactory.createProjection(AirlineRow.class, columns);
+    }
+
+    public static AirportRow toAirportRow(AirportEntity airportEntity) {
+        Map<String, Object> columns = getBaseColumns(airportEntity);
+        columns.put("name", airportEntity.getName());
+        columns.put("code", airportEntity.getCode());
+        columns.put("city", airportEntity.getCity());
+        return projectionFactory.createProjection(AirportRow.class, columns);
+    }
+
+    public static FlightRow toFlightRow(FlightEntity flightEntity) {
+        Map<String, Object> columns = getBaseColumns(flightEntity);
+        columns.put("departureDate", flightEntity.getDepartureDate());
+        columns.put("arrivalDate", flightEntity.getArrivalDate());
+        columns.put("price", flightEntity.getPrice());
+        columns.put("departureAirportId", getId(flightEntity.getDepartureAirport()));
+        columns.put("destinationAirportId", getId(flightEntity.getDestinationAirport()));
+        columns.put("aircraftId", getId(flightEntity.getAircraft()));
+        columns.put("airlineId", getId(flightEntity.getAirline()));
+        return projectionFactory.createProjection(FlightRow.class, columns);
+    }
+
+    public static FlightView toFlightView(FlightEntity flightEntity) {
+        FlightView flightView = new FlightView();
+        flightView.setId(flightEntity.getId());
+        flightView.setCreationTime(flightEntity.getCreationTime());
+        flightView.setUpdateTime(flightEntity.getUpdateTime());
+        flightView.setVersion(flightEntity.getVersion());
+        flightView.setDepartureDate(flightEntity.getDepartureDate());
+        flightView.setArrivalDate(flightEntity.getArrivalDate());
+        flightView.setPrice(flightEntity.getPrice());
+        AirportEntity departureAirport = flightEntity.getDepartureAirport();
+        if (departureAirport != null) {
+            flightView.setDepartureAirportId(departureAirport.getId());
+            flightView.setDepartureAirportName(departureAirport.getName());
+            flightView.setDepartureAirportCode(departureAirport.getCode());
+            flightView.setDepartureAirportCity(departureAirport.getCity());
+        }
+        AirportEntity destinationAirport = flightEntity.getDestinationAirport();
+        if (destinationAirport != null) {
+            flightView.setDestinationAirportId(destinationAirport.getId());
+            flightView.setDestinationAirportName(destinationAirport.getName());
+            flightView.setDestinationAirportCode(destinationAirport.getCode());
+            flightView.setDestinationAirportCity(destinationAirport.getCity());
+        }
+        AircraftEntity aircraft = flightEntity.getAircraft();
+        if (aircraft != null) {
+            flightView.setAircraftId(aircraft.getId());
+            flightView.setAircraftModelName(aircraft.getModelName());
+            flightView.setAircraftCode(aircraft.getCode());
+            flightView.setAircraftSeat(aircraft.getSeat());
+            flightView.setAircraftCountry(aircraft.getCountry());
+            flightView.setAircraftManufactureDate(aircraft.getManufacturerDate());
+        }
+        AirlineEntity airline = flightEntity.getAirline();
+        if (airline != null) {
+            flightView.setAirlineId(airline.getId());
+            flightView.setAirlineName(airline.getName());
+            flightView.setAirlineCountry(airline.getCountry());
+        }
+        return flightView;
+    }
+
+    private static Map<String, Object> getBaseColumns(BaseEntity entity) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("id", entity.getId());
+        columns.put("creationTime", entity.getCreationTime());
+        columns.put("updateTime", entity.getUpdateTime());
+        columns.put("version", entity.getVersion());
+        return columns;
+    }
+
+    private static UUID getId(BaseEntity entity) {
+        return entity == null ? null : entity.getId();
+    }
+}
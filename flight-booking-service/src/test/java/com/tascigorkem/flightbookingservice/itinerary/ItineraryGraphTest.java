@@ -0,0 +1,248 @@
+package com.tascigorkem.flightbookingservice.itinerary;
+
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryLegDto;
+import com.tascigorkem.flightbookingservice.enums.ItinerarySort;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItineraryGraphTest {
+
+    private static final LocalDate DAY = LocalDate.of(2031, 3, 2);
+
+    private final UUID ist = UUID.randomUUID();
+    private final UUID fra = UUID.randomUUID();
+    private final UUID lhr = UUID.randomUUID();
+    private final UUID jfk = UUID.randomUUID();
+
+    /**
+     * Unit test for ItineraryGraph:search
+     */
+    @Test
+    void search_WithDirectAndConnectingFlights_ShouldReturnCheapestFirst() {
+        // GIVEN
+        ItineraryGraph subject = new ItineraryGraph();
+        UUID direct = putFlight(subject, ist, jfk, at(10, 0), at(20, 0), "900.00");
+        UUID toFra = putFlight(subject, ist, fra, at(8, 0), at(10, 0), "150.00");
+        UUID fraToJfk = putFlight(subject, fra, jfk, at(11, 30), at(19, 0), "400.00");
+
+        // WHEN
+        List<ItineraryDto> result = subject.search(query(ist, jfk, ItinerarySort.CHEAPEST, 2, 10));
+
+        // THEN
+        assertEquals(2, result.size());
+        assertAll(
+                () -> assertEquals(1, result.get(0).getStops()),
+                () -> assertEquals(0, new BigDecimal("550.00").compareTo(result.get(0).getTotalPrice())),
+                () -> assertEquals(List.of(toFra, fraToJfk), flightIdsOf(result.get(0))),
+                () -> assertEquals(fra, result.get(0).getLegs().get(0).getDestinationAirportId()),
+                () -> assertEquals(at(8, 0), result.get(0).getDepartureDate()),
+                () -> assertEquals(at(19, 0), result.get(0).getArrivalDate()),
+                () -> assertEquals(11 * 60, result.get(0).getDurationMinutes()),
+                () -> assertEquals(List.of(direct), flightIdsOf(result.get(1))),
+                () -> assertEquals(0, result.get(1).getStops())
+        );
+    }
+
+    /**
+     * Unit test for ItineraryGraph:search
+     */
+    @Test
+    void search_SortedByFastest_ShouldReturnShortestDurationFirst() {
+        // GIVEN
+        ItineraryGraph subject = new ItineraryGraph();
+        UUID direct = putFlight(subject, ist, jfk, at(10, 0), at(20, 0), "900.00");
+        putFlight(subject, ist, fra, at(8, 0), at(10, 0), "150.00");
+        putFlight(subject, fra, jfk, at(11, 30), at(19, 0), "400.00");
+
+        // WHEN
+        List<ItineraryDto> result = subject.search(query(ist, jfk, ItinerarySort.FASTEST, 2, 1));
+
+        // THEN
+        assertEquals(1, result.size());
+        assertEquals(List.of(direct), flightIdsOf(result.get(0)));
+    }
+
+    /**
+     * Unit test for ItineraryGraph:search
+     * Checking whether connections shorter than the minimum or longer than the maximum connection time are skipped
+     */
+    @Test
+    void search_WithConnectionsOutsideConnectionTimes_ShouldSkipThem() {
+        // GIVEN
+        ItineraryGraph subject = new ItineraryGraph();
+        putFlight(subject, ist, fra, at(8, 0), at(10, 0), "150.00");
+        // 20 minutes after the arrival, below the minimum of 45
+        putFlight(subject, fra, jfk, at(10, 20), at(18, 0), "300.00");
+        // 7 hours after the arrival, above the maximum of 6 hours
+        putFlight(subject, fra, jfk, at(17, 0), at(23, 0), "200.00");
+        UUID valid = putFlight(subject, fra, jfk, at(12, 0), at(20, 0), "500.00");
+
+        // WHEN
+        List<ItineraryDto> result = subject.search(query(ist, jfk, ItinerarySort.CHEAPEST, 1, 10));
+
+        // THEN
+        assertEquals(1, result.size());
+        assertEquals(valid, result.get(0).getLegs().get(1).getFlightId());
+    }
+
+    /**
+     * Unit test for ItineraryGraph:search
+     */
+    @Test
+    void search_WithTwoStops_ShouldFindThreeLegsOnlyIfMaxStopsAllowsIt() {
+        // GIVEN
+        ItineraryGraph subject = new ItineraryGraph();
+        putFlight(subject, ist, fra, at(6, 0), at(8, 0), "100.00");
+        putFlight(subject, fra, lhr, at(9, 0), at(10, 0), "80.00");
+        putFlight(subject, lhr, jfk, at(11, 0), at(19, 0), "300.00");
+        // back to the origin, never a connection
+        putFlight(subject, fra, ist, at(9, 0), at(11, 0), "1.00");
+
+        // WHEN
+        List<ItineraryDto> twoStops = subject.search(query(ist, jfk, ItinerarySort.CHEAPEST, 2, 10));
+        List<ItineraryDto> oneStop = subject.search(query(ist, jfk, ItinerarySort.CHEAPEST, 1, 10));
+
+        // THEN
+        assertAll(
+                () -> assertEquals(1, twoStops.size()),
+                () -> assertEquals(2, twoStops.get(0).getStops()),
+                () -> assertEquals(0, new BigDecimal("480.00").compareTo(twoStops.get(0).getTotalPrice())),
+                () -> assertTrue(oneStop.isEmpty())
+        );
+    }
+
+    /**
+     * Unit test for ItineraryGraph:search
+     */
+    @Test
+    void search_WithMoreItinerariesThanLimit_ShouldReturnBestOnesInOrder() {
+        // GIVEN
+        ItineraryGraph subject = new ItineraryGraph();
+        for (int hour = 6; hour < 18; hour++) {
+            putFlight(subject, ist, jfk, at(hour, 0), at(hour + 5, 0), (300 - hour) + ".00");
+        }
+
+        // WHEN
+        List<ItineraryDto> result = subject.search(query(ist, jfk, ItinerarySort.CHEAPEST, 0, 3));
+
+        // THEN
+        assertEquals(List.of("283.00", "284.00", "285.00"), result.stream()
+                .map(itineraryDto -> itineraryDto.getTotalPrice().toPlainString())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Unit test for ItineraryGraph:putFlight and ItineraryGraph:removeFlight
+     */
+    @Test
+    void putFlightAndRemoveFlight_AfterSearch_ShouldBeSeenByNextSearch() {
+        // GIVEN
+        ItineraryGraph subject = new ItineraryGraph();
+        UUID moved = putFlight(subject, ist, jfk, at(9, 0), at(19, 0), "700.00");
+        UUID removed = putFlight(subject, ist, jfk, at(12, 0), at(22, 0), "650.00");
+        assertEquals(2, subject.search(query(ist, jfk, ItinerarySort.CHEAPEST, 0, 10)).size());
+
+        // WHEN
+        subject.putFlight(moved, ist, jfk, at(9, 0).plusDays(1), at(19, 0).plusDays(1), new BigDecimal("700.00"));
+        boolean removeResult = subject.removeFlight(removed);
+
+        // THEN
+        assertAll(
+                () -> assertTrue(removeResult),
+                () -> assertFalse(subject.removeFlight(removed)),
+                () -> assertTrue(subject.search(query(ist, jfk, ItinerarySort.CHEAPEST, 0, 10)).isEmpty()),
+                () -> assertEquals(1, subject.getFlightCount())
+        );
+    }
+
+    /**
+     * Unit test for ItineraryGraph:putFlight
+     * Checking whether a flight which loses its price leaves the graph
+     */
+    @Test
+    void putFlight_WithoutPrice_ShouldRemoveFlight() {
+        // GIVEN
+        ItineraryGraph subject = new ItineraryGraph();
+        UUID flightId = putFlight(subject, ist, jfk, at(9, 0), at(19, 0), "700.00");
+
+        // WHEN
+        boolean result = subject.putFlight(flightId, ist, jfk, at(9, 0), at(19, 0), null);
+
+        // THEN
+        assertFalse(result);
+        assertEquals(0, subject.getFlightCount());
+        assertTrue(subject.search(query(ist, jfk, ItinerarySort.CHEAPEST, 0, 10)).isEmpty());
+    }
+
+    /**
+     * Unit test for ItineraryGraph.Builder:build
+     * Checking whether a built graph finds the same itineraries as one changed flight by flight
+     */
+    @Test
+    void build_WithSameFlights_ShouldFindSameItinerariesAsPutFlight() {
+        // GIVEN
+        ItineraryGraph changedGraph = new ItineraryGraph();
+        ItineraryGraph.Builder builder = ItineraryGraph.builder();
+        UUID[] airports = {ist, fra, lhr, jfk};
+        for (int i = 0; i < 200; i++) {
+            UUID from = airports[i % 4];
+            UUID to = airports[(i % 4 + 1 + i / 4 % 3) % 4];
+            LocalDateTime departure = at(0, 0).plusMinutes(i * 37L % (24 * 60));
+            LocalDateTime arrival = departure.plusMinutes(60 + i % 240);
+            BigDecimal price = BigDecimal.valueOf(10000 + i * 7919L % 50000, 2);
+            UUID flightId = UUID.randomUUID();
+            changedGraph.putFlight(flightId, from, to, departure, arrival, price);
+            builder.putFlight(flightId, from, to, departure, arrival, price);
+        }
+        ItineraryGraph builtGraph = builder.build();
+
+        // WHEN
+        List<ItineraryDto> changedResult = changedGraph.search(query(ist, jfk, ItinerarySort.FASTEST, 2, 20));
+        List<ItineraryDto> builtResult = builtGraph.search(query(ist, jfk, ItinerarySort.FASTEST, 2, 20));
+
+        // THEN
+        assertFalse(builtResult.isEmpty());
+        assertEquals(changedResult, builtResult);
+        assertEquals(changedGraph.getFlightCount(), builtGraph.getFlightCount());
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+
+    private static UUID putFlight(ItineraryGraph graph, UUID from, UUID to, LocalDateTime departure, LocalDateTime arrival,
+                                  String price) {
+        UUID flightId = UUID.randomUUID();
+        assertTrue(graph.putFlight(flightId, from, to, departure, arrival, new BigDecimal(price)));
+        return flightId;
+    }
+
+    private static ItineraryQuery query(UUID from, UUID to, ItinerarySort sort, int maxStops, int limit) {
+        return ItineraryQuery.builder()
+                .departureAirportId(from)
+                .destinationAirportId(to)
+                .departureFrom(DAY.atStartOfDay())
+                .departureTo(DAY.plusDays(1).atStartOfDay())
+                .sort(sort)
+                .maxStops(maxStops)
+                .minConnectionMinutes(45)
+                .maxConnectionMinutes(6 * 60)
+                .limit(limit)
+                .build();
+    }
+
+    private static List<UUID> flightIdsOf(ItineraryDto itineraryDto) {
+        return itineraryDto.getLegs().stream()
+                .map(ItineraryLegDto::getFlightId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,81 @@
+package com.tascigorkem.flightbookingservice.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorSliceTest {
+
+    /**
+     * Unit test for CursorSlice:of
+     */
+    @Test
+    void of_WithExtraRow_ShouldTrimContentAndPointToLastRow() {
+        // GIVEN
+        LocalDateTime now = LocalDateTime.now();
+        List<Cursor> rows = Arrays.asList(
+                Cursor.of(now, UUID.randomUUID()),
+                Cursor.of(now.plusSeconds(1), UUID.randomUUID()),
+                Cursor.of(now.plusSeconds(2), UUID.randomUUID())
+        );
+
+        // WHEN
+        CursorSlice<Cursor> result = CursorSlice.of(rows, 2, row -> row);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(rows.subList(0, 2), result.getContent()),
+                () -> assertTrue(result.hasNext()),
+                () -> assertEquals(rows.get(1), result.getNext())
+        );
+    }
+
+    /**
+     * Unit test for CursorSlice:of
+     */
+    @Test
+    void of_WithoutExtraRow_ShouldBeLastSlice() {
+        // GIVEN
+        List<Cursor> rows = Arrays.asList(
+                Cursor.of(LocalDateTime.now(), UUID.randomUUID()),
+                Cursor.of(LocalDateTime.now(), UUID.randomUUID())
+        );
+
+        // WHEN
+        CursorSlice<Cursor> result = CursorSlice.of(rows, 2, row -> row);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(rows, result.getContent()),
+                () -> assertFalse(result.hasNext()),
+                () -> assertNull(result.getNext())
+        );
+    }
+
+    /**
+     * Unit test for CursorSlice:map
+     */
+    @Test
+    void map_WithMapper_ShouldKeepNextCursor() {
+        // GIVEN
+        List<Cursor> rows = Arrays.asList(
+                Cursor.of(LocalDateTime.now(), UUID.randomUUID()),
+                Cursor.of(LocalDateTime.now(), UUID.randomUUID())
+        );
+        CursorSlice<Cursor> slice = CursorSlice.of(rows, 1, row -> row);
+
+        // WHEN
+        CursorSlice<UUID> result = slice.map(Cursor::getId);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(Arrays.asList(rows.get(0).getId()), result.getContent()),
+                () -> assertEquals(slice.getNext(), result.getNext())
+        );
+    }
+}
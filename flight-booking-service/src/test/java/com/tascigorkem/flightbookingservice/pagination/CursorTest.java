@@ -0,0 +1,58 @@
+package com.tascigorkem.flightbookingservice.pagination;
+
+import com.tascigorkem.flightbookingservice.exception.badrequest.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTest {
+
+    /**
+     * Unit test for Cursor:encode and Cursor:decode
+     */
+    @Test
+    void decode_WithEncodedCursor_ShouldReturnSameCursor() {
+        // GIVEN
+        Cursor cursor = Cursor.of(LocalDateTime.of(2021, 3, 1, 10, 15, 30, 123456000), UUID.randomUUID());
+
+        // WHEN
+        String token = cursor.encode();
+        Cursor result = Cursor.decode(token);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(cursor, result),
+                () -> assertTrue(token.matches("[A-Za-z0-9_-]+"), "token should be url safe: " + token)
+        );
+    }
+
+    /**
+     * Unit test for Cursor:decode
+     */
+    @Test
+    void decode_WithEmptyToken_ShouldReturnNull() {
+        assertNull(Cursor.decode(""));
+        assertNull(Cursor.decode(null));
+    }
+
+    /**
+     * Unit test for Cursor:decode
+     */
+    @Test
+    void decode_WithMalformedToken_ShouldThrowInvalidCursorException() {
+        String notBase64 = "not base64!";
+        String withoutSeparator = Base64.getUrlEncoder().encodeToString("2021-03-01T10:15:30".getBytes(StandardCharsets.UTF_8));
+        String withInvalidId = Base64.getUrlEncoder().encodeToString("2021-03-01T10:15:30|42".getBytes(StandardCharsets.UTF_8));
+
+        assertAll(
+                () -> assertThrows(InvalidCursorException.class, () -> Cursor.decode(notBase64)),
+                () -> assertThrows(InvalidCursorException.class, () -> Cursor.decode(withoutSeparator)),
+                () -> assertThrows(InvalidCursorException.class, () -> Cursor.decode(withInvalidId))
+        );
+    }
+}
@@ -5,6 +5,7 @@ import com.tascigorkem.flightbookingservice.entity.flight.AirlineEntity;
 import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
 import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
 import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -29,13 +31,16 @@ class FlightRepositoryIT {
     private final AirportRepository airportRepository;
     private final AircraftRepository aircraftRepository;
     private final AirlineRepository airlineRepository;
+    private final EntityManager entityManager;
 
     @Autowired
-    FlightRepositoryIT(FlightRepository flightRepository, AirportRepository airportRepository, AircraftRepository aircraftRepository, AirlineRepository airlineRepository) {
+    FlightRepositoryIT(FlightRepository flightRepository, AirportRepository airportRepository, AircraftRepository aircraftRepository, AirlineRepository airlineRepository,
+                       EntityManager entityManager) {
         this.flightRepository = flightRepository;
         this.airportRepository = airportRepository;
         this.aircraftRepository = aircraftRepository;
         this.airlineRepository = airlineRepository;
+        this.entityManager = entityManager;
     }
 
     @Test
@@ -83,6 +88,45 @@ class FlightRepositoryIT {
         );
     }
 
+    @Test
+    void findKeysetSlice_WalkAllSlices_ShouldReturnEveryNotDeletedEntityOnce() {
+        // GIVEN
+        flightRepository.deleteAll();
+
+        Set<UUID> expectedFlightIds = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            expectedFlightIds.add(flightRepository.save(EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), false)).getId());
+        }
+        FlightEntity fakeDeletedFlightEntity = EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), false);
+        fakeDeletedFlightEntity.setDeletionTime(LocalDateTime.now());
+        flightRepository.save(fakeDeletedFlightEntity);
+
+        // cursors must be built from the stored (microsecond) creation times, not from the in-memory ones
+        entityManager.flush();
+        entityManager.clear();
+
+        // WHEN
+        List<UUID> resultFlightIds = new ArrayList<>();
+        int sliceCount = 0;
+        CursorSlice<FlightEntity> slice = flightRepository.findKeysetSlice(null, 2);
+        while (true) {
+            sliceCount++;
+            slice.getContent().forEach(flightEntity -> resultFlightIds.add(flightEntity.getId()));
+            if (!slice.hasNext()) {
+                break;
+            }
+            slice = flightRepository.findKeysetSlice(slice.getNext(), 2);
+        }
+
+        // THEN
+        int resultSliceCount = sliceCount;
+        assertAll(
+                () -> assertEquals(3, resultSliceCount),
+                () -> assertEquals(expectedFlightIds.size(), resultFlightIds.size()),
+                () -> assertEquals(expectedFlightIds, new HashSet<>(resultFlightIds))
+        );
+    }
+
     @Test
     void testFlightRelations() {
         // GIVEN
@@ -1,9 +1,22 @@
 package com.tascigorkem.flightbookingservice.service.booking;
 
 import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
+import com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto;
 import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
+import com.tascigorkem.flightbookingservice.entity.customer.CustomerEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.enums.BookingState;
+import com.tascigorkem.flightbookingservice.exception.notfound.BookingNotFoundException;
 import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
 import com.tascigorkem.flightbookingservice.repository.booking.BookingRepository;
+import com.tascigorkem.flightbookingservice.repository.customer.CustomerRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.AircraftRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.AirportRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,12 +27,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import static com.tascigorkem.flightbookingservice.service.booking.BookingMapper.BOOKING_MAPPER;
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(SpringExtension.class)
@@ -27,13 +41,32 @@ import static org.junit.jupiter.api.Assertions.*;
 @Transactional
 class BookingServiceIT {
 
+    /**
+     * One select for the page content and one for the count query.
+     */
+    private static final int MAX_STATEMENTS_PER_PAGE = 2;
+
     private final BookingRepository bookingRepository;
+    private final CustomerRepository customerRepository;
+    private final FlightRepository flightRepository;
+    private final AirportRepository airportRepository;
+    private final AircraftRepository aircraftRepository;
     private final BookingService bookingService;
+    private final EntityManager entityManager;
+    private final Statistics statistics;
 
     @Autowired
-    BookingServiceIT(BookingRepository bookingRepository, BookingService bookingService) {
+    BookingServiceIT(BookingRepository bookingRepository, CustomerRepository customerRepository,
+                     FlightRepository flightRepository, AirportRepository airportRepository,
+                     AircraftRepository aircraftRepository, BookingService bookingService, EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
         this.bookingRepository = bookingRepository;
+        this.customerRepository = customerRepository;
+        this.flightRepository = flightRepository;
+        this.airportRepository = airportRepository;
+        this.aircraftRepository = aircraftRepository;
         this.bookingService = bookingService;
+        this.entityManager = entityManager;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
     }
 
     /**
@@ -50,10 +83,6 @@ class BookingServiceIT {
         fakeBookingEntities.add(EntityModelFaker.getFakeBookingEntity(fakeBookingId1, true));
         fakeBookingEntities.add(EntityModelFaker.getFakeBookingEntity(fakeBookingId2, true));
 
-        List<BookingDto> expectedBookingDtos = BOOKING_MAPPER.toBookingDtoList(fakeBookingEntities);
-        BookingDto expectedBookingDto1 = expectedBookingDtos.get(0);
-        BookingDto expectedBookingDto2 = expectedBookingDtos.get(1);
-
         // prepare db, insert entities
         bookingRepository.deleteAll();
         bookingRepository.saveAll(fakeBookingEntities);
@@ -61,32 +90,126 @@ class BookingServiceIT {
         Pageable pageable = PageRequest.of(0, 5);
         // WHEN
 
-        Page<BookingDto> resultBookingDtoPage = bookingService.getAllBookings(pageable);
+        Page<BookingSummaryDto> resultBookingDtoPage = bookingService.getAllBookings(pageable);
 
         // THEN
         assertNotNull(resultBookingDtoPage.getContent());
-        List<BookingDto> resultBookingDtoList = resultBookingDtoPage.getContent();
+        List<BookingSummaryDto> resultBookingDtoList = resultBookingDtoPage.getContent();
 
-        Optional<BookingDto> optionalResultBookingDto1 = resultBookingDtoList.stream()
+        Optional<BookingSummaryDto> optionalResultBookingDto1 = resultBookingDtoList.stream()
                 .filter(bookingDtoItem -> fakeBookingId1.equals(bookingDtoItem.getId())).findAny();
 
-        Optional<BookingDto> optionalResultBookingDto2 = resultBookingDtoList.stream()
+        Optional<BookingSummaryDto> optionalResultBookingDto2 = resultBookingDtoList.stream()
                 .filter(bookingDtoItem -> fakeBookingId2.equals(bookingDtoItem.getId())).findAny();
 
         assertTrue(optionalResultBookingDto1.isPresent());
         assertTrue(optionalResultBookingDto2.isPresent());
 
-        BookingDto resultBookingDto1 = optionalResultBookingDto1.get();
-        BookingDto resultBookingDto2 = optionalResultBookingDto2.get();
+        BookingSummaryDto resultBookingDto1 = optionalResultBookingDto1.get();
+        BookingSummaryDto resultBookingDto2 = optionalResultBookingDto2.get();
 
         assertAll(
-                () -> assertEquals(expectedBookingDto1.getId(), resultBookingDto1.getId()),
+                () -> assertEquals(fakeBookingId1, resultBookingDto1.getId()),
                 () -> assertNotNull(resultBookingDto1.getCreationTime()),
                 () -> assertNotNull(resultBookingDto1.getUpdateTime()),
 
-                () -> assertEquals(expectedBookingDto2.getId(), resultBookingDto2.getId()),
+                () -> assertEquals(fakeBookingId2, resultBookingDto2.getId()),
                 () -> assertNotNull(resultBookingDto2.getCreationTime()),
                 () -> assertNotNull(resultBookingDto2.getUpdateTime())
         );
     }
+
+    /**
+     * Integration test for BookingService:getAllBookings
+     * Checking whether the flat summaries are read by a single join without hydrating entities
+     */
+    @Test
+    void getAllBookings_WithRelations_ShouldReadSummariesWithoutEntityHydration() {
+        // GIVEN
+        CustomerEntity fakeCustomerEntity = customerRepository.save(EntityModelFaker.getFakeCustomerEntity(EntityModelFaker.fakeId(), false));
+        AirportEntity fakeDeptAirportEntity = airportRepository.save(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), false));
+        AirportEntity fakeDestAirportEntity = airportRepository.save(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), false));
+
+        FlightEntity fakeFlightEntity = EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), false);
+        fakeFlightEntity.setDepartureAirport(fakeDeptAirportEntity);
+        fakeFlightEntity.setDestinationAirport(fakeDestAirportEntity);
+        fakeFlightEntity = flightRepository.save(fakeFlightEntity);
+
+        UUID fakeBookingId = EntityModelFaker.fakeId();
+        BookingEntity fakeBookingEntity = EntityModelFaker.getFakeBookingEntity(fakeBookingId, false);
+        fakeBookingEntity.setCustomer(fakeCustomerEntity);
+        fakeBookingEntity.setFlight(fakeFlightEntity);
+        bookingRepository.save(fakeBookingEntity);
+
+        // start with an empty persistence context, so nothing is served from the first level cache
+        entityManager.flush();
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // WHEN
+        Page<BookingSummaryDto> resultBookingSummaryDtoPage = bookingService.getAllBookings(PageRequest.of(0, 50));
+
+        // THEN
+        Optional<BookingSummaryDto> optionalResultBookingSummaryDto = resultBookingSummaryDtoPage.getContent().stream()
+                .filter(bookingSummaryDtoItem -> fakeBookingId.equals(bookingSummaryDtoItem.getId())).findAny();
+        assertTrue(optionalResultBookingSummaryDto.isPresent());
+
+        BookingSummaryDto resultBookingSummaryDto = optionalResultBookingSummaryDto.get();
+        FlightEntity expectedFlightEntity = fakeFlightEntity;
+
+        assertAll(
+                () -> assertEquals(fakeCustomerEntity.getId(), resultBookingSummaryDto.getCustomerId()),
+                () -> assertEquals(fakeCustomerEntity.getEmail(), resultBookingSummaryDto.getCustomerEmail()),
+                () -> assertEquals(expectedFlightEntity.getId(), resultBookingSummaryDto.getFlightId()),
+                () -> assertEquals(fakeDeptAirportEntity.getCode(), resultBookingSummaryDto.getDepartureAirportCode()),
+                () -> assertEquals(fakeDestAirportEntity.getCode(), resultBookingSummaryDto.getDestinationAirportCode()),
+                () -> assertEquals(0, statistics.getEntityLoadCount()),
+                () -> assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_PER_PAGE,
+                        "expected at most " + MAX_STATEMENTS_PER_PAGE + " statements per page, but was " + statistics.getPrepareStatementCount())
+        );
+    }
+
+    /**
+     * Integration test for BookingService:removeBooking
+     * Checking whether the booking is deleted and its seat is given back by a single statement
+     */
+    @Test
+    void removeBooking_HoldingSeat_ShouldDeleteBookingAndReleaseSeatWithSingleStatement() {
+        // GIVEN
+        AircraftEntity fakeAircraftEntity = aircraftRepository.save(EntityModelFaker.getFakeAircraftEntity(EntityModelFaker.fakeId(), false));
+        FlightEntity fakeFlightEntity = EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), false);
+        fakeFlightEntity.setAircraft(fakeAircraftEntity);
+        FlightEntity savedFlightEntity = flightRepository.save(fakeFlightEntity);
+
+        UUID fakeBookingId = EntityModelFaker.fakeId();
+        BookingEntity fakeBookingEntity = EntityModelFaker.getFakeBookingEntity(fakeBookingId, false);
+        fakeBookingEntity.setState(BookingState.APPROVED.name());
+        fakeBookingEntity.setFlight(savedFlightEntity);
+        bookingRepository.save(fakeBookingEntity);
+
+        entityManager.flush();
+        assertEquals(1, flightRepository.reserveSeat(savedFlightEntity.getId()));
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // WHEN
+        BookingDto resultBookingDto = bookingService.removeBooking(fakeBookingId);
+        long statementCount = statistics.getPrepareStatementCount();
+
+        // THEN
+        BookingEntity removedBookingEntity = bookingRepository.findById(fakeBookingId).orElseThrow(AssertionError::new);
+        FlightEntity releasedFlightEntity = flightRepository.findById(savedFlightEntity.getId()).orElseThrow(AssertionError::new);
+        assertAll(
+                () -> assertEquals(1, statementCount),
+                () -> assertEquals(fakeBookingId, resultBookingDto.getId()),
+                () -> assertEquals(BookingState.APPROVED.name(), resultBookingDto.getState()),
+                () -> assertEquals(savedFlightEntity.getId(), resultBookingDto.getFlight().getId()),
+                () -> assertNull(resultBookingDto.getCustomer()),
+                () -> assertNotNull(removedBookingEntity.getDeletionTime()),
+                () -> assertEquals(0, releasedFlightEntity.getBookedSeats()),
+                () -> assertThrows(BookingNotFoundException.class, () -> bookingService.removeBooking(fakeBookingId))
+        );
+    }
 }
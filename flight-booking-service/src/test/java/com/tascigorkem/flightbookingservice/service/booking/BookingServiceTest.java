@@ -1,29 +1,46 @@
 package com.tascigorkem.flightbookingservice.service.booking;
 
 import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
+import com.tascigorkem.flightbookingservice.dto.booking.BookingSummaryDto;
+import com.tascigorkem.flightbookingservice.dto.customer.CustomerDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
 import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.enums.BookingEventType;
+import com.tascigorkem.flightbookingservice.enums.BookingState;
+import com.tascigorkem.flightbookingservice.exception.conflict.NoAvailableSeatException;
+import com.tascigorkem.flightbookingservice.exception.conflict.VersionConflictException;
+import com.tascigorkem.flightbookingservice.exception.notfound.BookingNotFoundException;
 import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
 import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.faker.RowModelFaker;
 import com.tascigorkem.flightbookingservice.repository.booking.BookingRepository;
+import com.tascigorkem.flightbookingservice.service.flight.SeatInventoryService;
+import com.tascigorkem.flightbookingservice.service.outbox.OutboxService;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static com.tascigorkem.flightbookingservice.service.booking.BookingMapper.BOOKING_MAPPER;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class BookingServiceTest {
 
     private final BookingRepository bookingRepository = mock(BookingRepository.class);
-    private final BookingService subject = new BookingServiceImpl(bookingRepository);
+    private final SeatInventoryService seatInventoryService = mock(SeatInventoryService.class);
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final BookingService subject = new BookingServiceImpl(bookingRepository, seatInventoryService, outboxService);
 
     /**
      * Unit test for BookingService:getAllBookings
@@ -31,25 +48,24 @@ class BookingServiceTest {
     @Test
     void getAllBookings_RetrieveBookings_ShouldReturnNotDeletedBookings() {
         // GIVEN
-        List<BookingEntity> fakeBookingEntityList = Arrays.asList(
-                EntityModelFaker.getFakeBookingEntity(EntityModelFaker.fakeId(), true),
-                EntityModelFaker.getFakeBookingEntity(EntityModelFaker.fakeId(), true),
-                EntityModelFaker.getFakeBookingEntity(EntityModelFaker.fakeId(), true)
+        List<BookingSummaryDto> fakeBookingSummaryDtoList = Arrays.asList(
+                DtoModelFaker.getFakeBookingSummaryDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeBookingSummaryDto(DtoModelFaker.fakeId(), true),
+                DtoModelFaker.getFakeBookingSummaryDto(DtoModelFaker.fakeId(), true)
         );
 
-        List<BookingDto> fakeBookingDtoList = BOOKING_MAPPER.toBookingDtoList(fakeBookingEntityList);
-
         Pageable pageable = PageRequest.of(0, 5);
-        Page<BookingEntity> fakePageBookingEntity = new PageImpl<>(fakeBookingEntityList, pageable, fakeBookingEntityList.size());
+        Page<BookingSummaryDto> fakePageBookingSummaryDto = new PageImpl<>(fakeBookingSummaryDtoList, pageable, fakeBookingSummaryDtoList.size());
 
-        when(bookingRepository.findAllByDeletionTimeIsNull(pageable)).thenReturn(fakePageBookingEntity);
+        when(bookingRepository.findAllSummariesByDeletionTimeIsNull(pageable)).thenReturn(fakePageBookingSummaryDto);
 
         // WHEN
-        Page<BookingDto> result = subject.getAllBookings(pageable);
+        Page<BookingSummaryDto> result = subject.getAllBookings(pageable);
 
         // THEN
-        assertEquals(fakeBookingDtoList, result.toList());
-        verify(bookingRepository).findAllByDeletionTimeIsNull(pageable);
+        assertEquals(fakeBookingSummaryDtoList, result.toList());
+        verify(bookingRepository).findAllSummariesByDeletionTimeIsNull(pageable);
+        verify(bookingRepository, never()).findAllByDeletionTimeIsNull(any(Pageable.class));
     }
 
     /**
@@ -91,6 +107,7 @@ class BookingServiceTest {
         // THEN
         assertEquals(expectedBookingDto, result);
         verify(bookingRepository).save(any(BookingEntity.class));
+        verify(outboxService).addBookingEvent(fakeBookingEntity, BookingEventType.CREATED);
     }
 
     /**
@@ -105,7 +122,7 @@ class BookingServiceTest {
         BookingDto expectedBookingDto = BOOKING_MAPPER.toBookingDto(fakeBookingEntity);
 
         when(bookingRepository.findById(fakeBookingId)).thenReturn(Optional.of(fakeBookingEntity));
-        when(bookingRepository.save(fakeBookingEntity)).thenReturn(fakeBookingEntity);
+        when(bookingRepository.saveAndFlush(fakeBookingEntity)).thenReturn(fakeBookingEntity);
 
         // WHEN
         BookingDto result = subject.updateBooking(fakeBookingDto);
@@ -113,30 +130,190 @@ class BookingServiceTest {
         // THEN
         assertEquals(expectedBookingDto, result);
         verify(bookingRepository).findById(fakeBookingId);
-        verify(bookingRepository).save(any(BookingEntity.class));
+        verify(bookingRepository).saveAndFlush(any(BookingEntity.class));
     }
 
     /**
-     * Unit test for BookingService:removeBooking
+     * Unit test for BookingService:updateBooking
      */
     @Test
-    void removeBooking_SetStatusDAndSaveIntoDatabase_ShouldSaveAndReturnRemovedBooking() {
+    void updateBooking_WithStaleExpectedVersion_ShouldThrowVersionConflictExceptionWithoutSaving() {
         // GIVEN
-        UUID fakeBookingId = DtoModelFaker.fakeId();
-        BookingDto fakeBookingDto = DtoModelFaker.getFakeBookingDto(fakeBookingId, true);
-        BookingEntity fakeBookingEntity = BOOKING_MAPPER.toBookingEntity(fakeBookingDto);
-        BookingDto expectedBookingDto = BOOKING_MAPPER.toBookingDto(fakeBookingEntity);
+        UUID fakeBookingId = EntityModelFaker.fakeId();
+        BookingEntity fakeBookingEntity = EntityModelFaker.getFakeBookingEntity(fakeBookingId, true);
+        fakeBookingEntity.setVersion(2L);
+
+        BookingDto fakeBookingDto = BOOKING_MAPPER.toBookingDto(fakeBookingEntity);
+        fakeBookingDto.setVersion(1L);
 
         when(bookingRepository.findById(fakeBookingId)).thenReturn(Optional.of(fakeBookingEntity));
-        when(bookingRepository.save(fakeBookingEntity)).thenReturn(fakeBookingEntity);
+
+        // WHEN
+        // THEN
+        assertThrows(VersionConflictException.class, () -> subject.updateBooking(fakeBookingDto));
+        verify(bookingRepository, never()).saveAndFlush(any(BookingEntity.class));
+    }
+
+    /**
+     * Unit test for BookingService:removeBooking
+     */
+    @Test
+    void removeBooking_SoftDeleteById_ShouldReturnRemovedBookingWithReferenceIds() {
+        // GIVEN
+        UUID fakeBookingId = EntityModelFaker.fakeId();
+        BookingEntity fakeBookingEntity = EntityModelFaker.getFakeBookingEntity(fakeBookingId, true);
+        fakeBookingEntity.setCustomer(EntityModelFaker.getFakeCustomerEntity(EntityModelFaker.fakeId(), true));
+        fakeBookingEntity.setFlight(EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), true));
+
+        when(bookingRepository.softDeleteById(eq(fakeBookingId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(RowModelFaker.toBookingRow(fakeBookingEntity)));
 
         // WHEN
         BookingDto result = subject.removeBooking(fakeBookingId);
 
         // THEN
-        assertEquals(expectedBookingDto, result);
-        verify(bookingRepository).findById(fakeBookingId);
+        assertAll(
+                () -> assertEquals(fakeBookingId, result.getId()),
+                () -> assertEquals(fakeBookingEntity.getState(), result.getState()),
+                () -> assertEquals(fakeBookingEntity.getPaymentAmount(), result.getPaymentAmount()),
+                () -> assertEquals(fakeBookingEntity.isInsurance(), result.isInsurance()),
+                () -> assertEquals(fakeBookingEntity.getLuggage(), result.getLuggage()),
+                () -> assertEquals(CustomerDto.builder().id(fakeBookingEntity.getCustomer().getId()).build(), result.getCustomer()),
+                () -> assertEquals(FlightDto.builder().id(fakeBookingEntity.getFlight().getId()).build(), result.getFlight())
+        );
+        verify(bookingRepository).softDeleteById(eq(fakeBookingId), any(LocalDateTime.class));
+        verify(bookingRepository, never()).findById(any(UUID.class));
+        verify(bookingRepository, never()).save(any(BookingEntity.class));
+    }
+
+    /**
+     * Unit test for BookingService:addBooking
+     */
+    @Test
+    void addBooking_WithFlight_ShouldReserveSeatOfFlight() {
+        // GIVEN
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+        BookingDto fakeBookingDto = DtoModelFaker.getFakeBookingDto(DtoModelFaker.fakeId(), true);
+        fakeBookingDto.setState(BookingState.PENDING_PAYMENT.name());
+        fakeBookingDto.setFlight(DtoModelFaker.getFakeFlightDto(fakeFlightId, true));
+
+        when(bookingRepository.save(any(BookingEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // WHEN
+        subject.addBooking(fakeBookingDto);
+
+        // THEN
+        verify(seatInventoryService).reserveSeat(fakeFlightId);
         verify(bookingRepository).save(any(BookingEntity.class));
     }
 
+    /**
+     * Unit test for BookingService:addBooking
+     */
+    @Test
+    void addBooking_WithFullFlight_ShouldThrowNoAvailableSeatExceptionAndNotSave() {
+        // GIVEN
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+        BookingDto fakeBookingDto = DtoModelFaker.getFakeBookingDto(DtoModelFaker.fakeId(), true);
+        fakeBookingDto.setState(BookingState.PENDING_PAYMENT.name());
+        fakeBookingDto.setFlight(DtoModelFaker.getFakeFlightDto(fakeFlightId, true));
+
+        doThrow(new NoAvailableSeatException(fakeFlightId.toString())).when(seatInventoryService).reserveSeat(fakeFlightId);
+
+        // WHEN
+        // THEN
+        assertThrows(NoAvailableSeatException.class, () -> subject.addBooking(fakeBookingDto));
+        verify(bookingRepository, never()).save(any(BookingEntity.class));
+        verifyNoInteractions(outboxService);
+    }
+
+    /**
+     * Unit test for BookingService:updateBooking
+     */
+    @Test
+    void updateBooking_ToCanceled_ShouldReleaseSeatOfFlight() {
+        // GIVEN
+        UUID fakeBookingId = EntityModelFaker.fakeId();
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+        BookingEntity fakeBookingEntity = EntityModelFaker.getFakeBookingEntity(fakeBookingId, true);
+        fakeBookingEntity.setState(BookingState.APPROVED.name());
+        fakeBookingEntity.setFlight(FlightEntity.builder().id(fakeFlightId).build());
+
+        BookingDto fakeBookingDto = BOOKING_MAPPER.toBookingDto(fakeBookingEntity);
+        fakeBookingDto.setState(BookingState.CANCELED.name());
+
+        when(bookingRepository.findById(fakeBookingId)).thenReturn(Optional.of(fakeBookingEntity));
+        when(bookingRepository.saveAndFlush(fakeBookingEntity)).thenReturn(fakeBookingEntity);
+
+        // WHEN
+        subject.updateBooking(fakeBookingDto);
+
+        // THEN
+        verify(seatInventoryService).releaseSeat(fakeFlightId);
+        verify(seatInventoryService, never()).reserveSeat(any(UUID.class));
+        verify(outboxService).addBookingEvent(fakeBookingEntity, BookingEventType.STATE_CHANGED);
+    }
+
+    /**
+     * Unit test for BookingService:updateBooking
+     * Checking whether an update which keeps the state is not notified
+     */
+    @Test
+    void updateBooking_WithSameState_ShouldNotAddBookingEvent() {
+        // GIVEN
+        UUID fakeBookingId = EntityModelFaker.fakeId();
+        BookingEntity fakeBookingEntity = EntityModelFaker.getFakeBookingEntity(fakeBookingId, true);
+        fakeBookingEntity.setState(BookingState.APPROVED.name());
+
+        BookingDto fakeBookingDto = BOOKING_MAPPER.toBookingDto(fakeBookingEntity);
+        fakeBookingDto.setLuggage((short) (fakeBookingEntity.getLuggage() + 1));
+
+        when(bookingRepository.findById(fakeBookingId)).thenReturn(Optional.of(fakeBookingEntity));
+        when(bookingRepository.saveAndFlush(fakeBookingEntity)).thenReturn(fakeBookingEntity);
+
+        // WHEN
+        subject.updateBooking(fakeBookingDto);
+
+        // THEN
+        verifyNoInteractions(outboxService);
+    }
+
+    /**
+     * Unit test for BookingService:removeBooking
+     */
+    @Test
+    void removeBooking_WithFlight_ShouldReleaseSeatWithinSoftDeleteStatement() {
+        // GIVEN
+        UUID fakeBookingId = EntityModelFaker.fakeId();
+        BookingEntity fakeBookingEntity = EntityModelFaker.getFakeBookingEntity(fakeBookingId, true);
+        fakeBookingEntity.setState(BookingState.APPROVED.name());
+        fakeBookingEntity.setFlight(FlightEntity.builder().id(EntityModelFaker.fakeId()).build());
+
+        when(bookingRepository.softDeleteById(eq(fakeBookingId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(RowModelFaker.toBookingRow(fakeBookingEntity)));
+
+        // WHEN
+        subject.removeBooking(fakeBookingId);
+
+        // THEN
+        verify(bookingRepository).softDeleteById(eq(fakeBookingId), any(LocalDateTime.class));
+        verifyNoInteractions(seatInventoryService);
+    }
+
+    /**
+     * Unit test for BookingService:removeBooking
+     */
+    @Test
+    void removeBooking_MissingOrDeletedBooking_ShouldThrowBookingNotFoundException() {
+        // GIVEN
+        UUID fakeBookingId = EntityModelFaker.fakeId();
+
+        when(bookingRepository.softDeleteById(eq(fakeBookingId), any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        // WHEN
+        // THEN
+        assertThrows(BookingNotFoundException.class, () -> subject.removeBooking(fakeBookingId));
+        verifyNoInteractions(seatInventoryService);
+    }
+
 }
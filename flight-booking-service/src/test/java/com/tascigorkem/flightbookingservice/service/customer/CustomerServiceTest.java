@@ -4,6 +4,7 @@ import com.tascigorkem.flightbookingservice.dto.customer.CustomerDto;
 import com.tascigorkem.flightbookingservice.entity.customer.CustomerEntity;
 import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
 import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.faker.RowModelFaker;
 import com.tascigorkem.flightbookingservice.repository.customer.CustomerRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
@@ -11,6 +12,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -105,7 +107,7 @@ class CustomerServiceTest {
         CustomerDto expectedCustomerDto = CUSTOMER_MAPPER.toCustomerDto(fakeCustomerEntity);
 
         when(customerRepository.findById(fakeCustomerId)).thenReturn(Optional.of(fakeCustomerEntity));
-        when(customerRepository.save(fakeCustomerEntity)).thenReturn(fakeCustomerEntity);
+        when(customerRepository.saveAndFlush(fakeCustomerEntity)).thenReturn(fakeCustomerEntity);
 
         // WHEN
         CustomerDto result = subject.updateCustomer(fakeCustomerDto);
@@ -113,30 +115,30 @@ class CustomerServiceTest {
         // THEN
         assertEquals(expectedCustomerDto, result);
         verify(customerRepository).findById(fakeCustomerId);
-        verify(customerRepository).save(any(CustomerEntity.class));
+        verify(customerRepository).saveAndFlush(any(CustomerEntity.class));
     }
 
     /**
      * Unit test for CustomerService:removeCustomer
      */
     @Test
-    void removeCustomer_SetStatusDAndSaveIntoDatabase_ShouldSaveAndReturnRemovedCustomer() {
+    void removeCustomer_SoftDeleteById_ShouldReturnRemovedCustomerWithoutLoadingIt() {
         // GIVEN
-        UUID fakeCustomerId = DtoModelFaker.fakeId();
-        CustomerDto fakeCustomerDto = DtoModelFaker.getFakeCustomerDto(fakeCustomerId, true);
-        CustomerEntity fakeCustomerEntity = CUSTOMER_MAPPER.toCustomerEntity(fakeCustomerDto);
+        UUID fakeCustomerId = EntityModelFaker.fakeId();
+        CustomerEntity fakeCustomerEntity = EntityModelFaker.getFakeCustomerEntity(fakeCustomerId, true);
         CustomerDto expectedCustomerDto = CUSTOMER_MAPPER.toCustomerDto(fakeCustomerEntity);
 
-        when(customerRepository.findById(fakeCustomerId)).thenReturn(Optional.of(fakeCustomerEntity));
-        when(customerRepository.save(fakeCustomerEntity)).thenReturn(fakeCustomerEntity);
+        when(customerRepository.softDeleteById(eq(fakeCustomerId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(RowModelFaker.toCustomerRow(fakeCustomerEntity)));
 
         // WHEN
         CustomerDto result = subject.removeCustomer(fakeCustomerId);
 
         // THEN
         assertEquals(expectedCustomerDto, result);
-        verify(customerRepository).findById(fakeCustomerId);
-        verify(customerRepository).save(any(CustomerEntity.class));
+        verify(customerRepository).softDeleteById(eq(fakeCustomerId), any(LocalDateTime.class));
+        verify(customerRepository, never()).findById(any(UUID.class));
+        verify(customerRepository, never()).save(any(CustomerEntity.class));
     }
 
 }
@@ -4,13 +4,16 @@ import com.tascigorkem.flightbookingservice.dto.flight.AircraftDto;
 import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
 import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
 import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.faker.RowModelFaker;
 import com.tascigorkem.flightbookingservice.repository.flight.AircraftRepository;
+import com.tascigorkem.flightbookingservice.service.base.SecondLevelCacheEviction;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -23,7 +26,8 @@ import static org.mockito.Mockito.*;
 class AircraftServiceTest {
 
     private final AircraftRepository aircraftRepository = mock(AircraftRepository.class);
-    private final AircraftService subject = new AircraftServiceImpl(aircraftRepository);
+    private final SecondLevelCacheEviction secondLevelCacheEviction = mock(SecondLevelCacheEviction.class);
+    private final AircraftService subject = new AircraftServiceImpl(aircraftRepository, secondLevelCacheEviction);
 
     /**
      * Unit test for AircraftService:getAllAircrafts
@@ -105,7 +109,7 @@ class AircraftServiceTest {
         AircraftDto expectedAircraftDto = AIRCRAFT_MAPPER.toAircraftDto(fakeAircraftEntity);
 
         when(aircraftRepository.findById(fakeAircraftId)).thenReturn(Optional.of(fakeAircraftEntity));
-        when(aircraftRepository.save(fakeAircraftEntity)).thenReturn(fakeAircraftEntity);
+        when(aircraftRepository.saveAndFlush(fakeAircraftEntity)).thenReturn(fakeAircraftEntity);
 
         // WHEN
         AircraftDto result = subject.updateAircraft(fakeAircraftDto);
@@ -113,30 +117,31 @@ class AircraftServiceTest {
         // THEN
         assertEquals(expectedAircraftDto, result);
         verify(aircraftRepository).findById(fakeAircraftId);
-        verify(aircraftRepository).save(any(AircraftEntity.class));
+        verify(aircraftRepository).saveAndFlush(any(AircraftEntity.class));
     }
 
     /**
      * Unit test for AircraftService:removeAircraft
      */
     @Test
-    void removeAircraft_SetStatusDAndSaveIntoDatabase_ShouldSaveAndReturnRemovedAircraft() {
+    void removeAircraft_SoftDeleteById_ShouldReturnRemovedAircraftWithoutLoadingIt() {
         // GIVEN
-        UUID fakeAircraftId = DtoModelFaker.fakeId();
-        AircraftDto fakeAircraftDto = DtoModelFaker.getFakeAircraftDto(fakeAircraftId, true);
-        AircraftEntity fakeAircraftEntity = AIRCRAFT_MAPPER.toAircraftEntity(fakeAircraftDto);
+        UUID fakeAircraftId = EntityModelFaker.fakeId();
+        AircraftEntity fakeAircraftEntity = EntityModelFaker.getFakeAircraftEntity(fakeAircraftId, true);
         AircraftDto expectedAircraftDto = AIRCRAFT_MAPPER.toAircraftDto(fakeAircraftEntity);
 
-        when(aircraftRepository.findById(fakeAircraftId)).thenReturn(Optional.of(fakeAircraftEntity));
-        when(aircraftRepository.save(fakeAircraftEntity)).thenReturn(fakeAircraftEntity);
+        when(aircraftRepository.softDeleteById(eq(fakeAircraftId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(RowModelFaker.toAircraftRow(fakeAircraftEntity)));
 
         // WHEN
         AircraftDto result = subject.removeAircraft(fakeAircraftId);
 
         // THEN
         assertEquals(expectedAircraftDto, result);
-        verify(aircraftRepository).findById(fakeAircraftId);
-        verify(aircraftRepository).save(any(AircraftEntity.class));
+        verify(aircraftRepository).softDeleteById(eq(fakeAircraftId), any(LocalDateTime.class));
+        verify(aircraftRepository, never()).findById(any(UUID.class));
+        verify(aircraftRepository, never()).save(any(AircraftEntity.class));
+        verify(secondLevelCacheEviction).evictReference(AircraftEntity.class, fakeAircraftId);
     }
 
 }
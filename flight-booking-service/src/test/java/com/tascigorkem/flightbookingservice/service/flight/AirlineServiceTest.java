@@ -4,13 +4,16 @@ import com.tascigorkem.flightbookingservice.dto.flight.AirlineDto;
 import com.tascigorkem.flightbookingservice.entity.flight.AirlineEntity;
 import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
 import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.faker.RowModelFaker;
 import com.tascigorkem.flightbookingservice.repository.flight.AirlineRepository;
+import com.tascigorkem.flightbookingservice.service.base.SecondLevelCacheEviction;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -23,7 +26,8 @@ import static org.mockito.Mockito.*;
 class AirlineServiceTest {
 
     private final AirlineRepository airlineRepository = mock(AirlineRepository.class);
-    private final AirlineService subject = new AirlineServiceImpl(airlineRepository);
+    private final SecondLevelCacheEviction secondLevelCacheEviction = mock(SecondLevelCacheEviction.class);
+    private final AirlineService subject = new AirlineServiceImpl(airlineRepository, secondLevelCacheEviction);
 
     /**
      * Unit test for AirlineService:getAllAirlines
@@ -105,7 +109,7 @@ class AirlineServiceTest {
         AirlineDto expectedAirlineDto = AIRLINE_MAPPER.toAirlineDto(fakeAirlineEntity);
 
         when(airlineRepository.findById(fakeAirlineId)).thenReturn(Optional.of(fakeAirlineEntity));
-        when(airlineRepository.save(fakeAirlineEntity)).thenReturn(fakeAirlineEntity);
+        when(airlineRepository.saveAndFlush(fakeAirlineEntity)).thenReturn(fakeAirlineEntity);
 
         // WHEN
         AirlineDto result = subject.updateAirline(fakeAirlineDto);
@@ -113,30 +117,31 @@ class AirlineServiceTest {
         // THEN
         assertEquals(expectedAirlineDto, result);
         verify(airlineRepository).findById(fakeAirlineId);
-        verify(airlineRepository).save(any(AirlineEntity.class));
+        verify(airlineRepository).saveAndFlush(any(AirlineEntity.class));
     }
 
     /**
      * Unit test for AirlineService:removeAirline
      */
     @Test
-    void removeAirline_SetStatusDAndSaveIntoDatabase_ShouldSaveAndReturnRemovedAirline() {
+    void removeAirline_SoftDeleteById_ShouldReturnRemovedAirlineWithoutLoadingIt() {
         // GIVEN
-        UUID fakeAirlineId = DtoModelFaker.fakeId();
-        AirlineDto fakeAirlineDto = DtoModelFaker.getFakeAirlineDto(fakeAirlineId, true);
-        AirlineEntity fakeAirlineEntity = AIRLINE_MAPPER.toAirlineEntity(fakeAirlineDto);
+        UUID fakeAirlineId = EntityModelFaker.fakeId();
+        AirlineEntity fakeAirlineEntity = EntityModelFaker.getFakeAirlineEntity(fakeAirlineId, true);
         AirlineDto expectedAirlineDto = AIRLINE_MAPPER.toAirlineDto(fakeAirlineEntity);
 
-        when(airlineRepository.findById(fakeAirlineId)).thenReturn(Optional.of(fakeAirlineEntity));
-        when(airlineRepository.save(fakeAirlineEntity)).thenReturn(fakeAirlineEntity);
+        when(airlineRepository.softDeleteById(eq(fakeAirlineId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(RowModelFaker.toAirlineRow(fakeAirlineEntity)));
 
         // WHEN
         AirlineDto result = subject.removeAirline(fakeAirlineId);
 
         // THEN
         assertEquals(expectedAirlineDto, result);
-        verify(airlineRepository).findById(fakeAirlineId);
-        verify(airlineRepository).save(any(AirlineEntity.class));
+        verify(airlineRepository).softDeleteById(eq(fakeAirlineId), any(LocalDateTime.class));
+        verify(airlineRepository, never()).findById(any(UUID.class));
+        verify(airlineRepository, never()).save(any(AirlineEntity.class));
+        verify(secondLevelCacheEviction).evictReference(AirlineEntity.class, fakeAirlineId);
     }
 
 }
@@ -4,13 +4,16 @@ import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
 import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
 import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
 import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.faker.RowModelFaker;
 import com.tascigorkem.flightbookingservice.repository.flight.AirportRepository;
+import com.tascigorkem.flightbookingservice.service.base.SecondLevelCacheEviction;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -23,7 +26,8 @@ import static org.mockito.Mockito.*;
 class AirportServiceTest {
 
     private final AirportRepository airportRepository = mock(AirportRepository.class);
-    private final AirportService subject = new AirportServiceImpl(airportRepository);
+    private final SecondLevelCacheEviction secondLevelCacheEviction = mock(SecondLevelCacheEviction.class);
+    private final AirportService subject = new AirportServiceImpl(airportRepository, secondLevelCacheEviction);
 
     /**
      * Unit test for AirportService:getAllAirports
@@ -105,7 +109,7 @@ class AirportServiceTest {
         AirportDto expectedAirportDto = AIRPORT_MAPPER.toAirportDto(fakeAirportEntity);
 
         when(airportRepository.findById(fakeAirportId)).thenReturn(Optional.of(fakeAirportEntity));
-        when(airportRepository.save(fakeAirportEntity)).thenReturn(fakeAirportEntity);
+        when(airportRepository.saveAndFlush(fakeAirportEntity)).thenReturn(fakeAirportEntity);
 
         // WHEN
         AirportDto result = subject.updateAirport(fakeAirportDto);
@@ -113,30 +117,31 @@ class AirportServiceTest {
         // THEN
         assertEquals(expectedAirportDto, result);
         verify(airportRepository).findById(fakeAirportId);
-        verify(airportRepository).save(any(AirportEntity.class));
+        verify(airportRepository).saveAndFlush(any(AirportEntity.class));
     }
 
     /**
      * Unit test for AirportService:removeAirport
      */
     @Test
-    void removeAirport_SetStatusDAndSaveIntoDatabase_ShouldSaveAndReturnRemovedAirport() {
+    void removeAirport_SoftDeleteById_ShouldReturnRemovedAirportWithoutLoadingIt() {
         // GIVEN
-        UUID fakeAirportId = DtoModelFaker.fakeId();
-        AirportDto fakeAirportDto = DtoModelFaker.getFakeAirportDto(fakeAirportId, true);
-        AirportEntity fakeAirportEntity = AIRPORT_MAPPER.toAirportEntity(fakeAirportDto);
+        UUID fakeAirportId = EntityModelFaker.fakeId();
+        AirportEntity fakeAirportEntity = EntityModelFaker.getFakeAirportEntity(fakeAirportId, true);
         AirportDto expectedAirportDto = AIRPORT_MAPPER.toAirportDto(fakeAirportEntity);
 
-        when(airportRepository.findById(fakeAirportId)).thenReturn(Optional.of(fakeAirportEntity));
-        when(airportRepository.save(fakeAirportEntity)).thenReturn(fakeAirportEntity);
+        when(airportRepository.softDeleteById(eq(fakeAirportId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(RowModelFaker.toAirportRow(fakeAirportEntity)));
 
         // WHEN
         AirportDto result = subject.removeAirport(fakeAirportId);
 
         // THEN
         assertEquals(expectedAirportDto, result);
-        verify(airportRepository).findById(fakeAirportId);
-        verify(airportRepository).save(any(AirportEntity.class));
+        verify(airportRepository).softDeleteById(eq(fakeAirportId), any(LocalDateTime.class));
+        verify(airportRepository, never()).findById(any(UUID.class));
+        verify(airportRepository, never()).save(any(AirportEntity.class));
+        verify(secondLevelCacheEviction).evictReference(AirportEntity.class, fakeAirportId);
     }
 
 }
@@ -0,0 +1,150 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FareCalendarDayDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FareCalendarDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.repository.flight.AirportRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.FareCalendarRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional, the fare calendar is only written when the transaction of a flight change commits.
+ * The saved rows are deleted after each test.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class FareCalendarServiceIT {
+
+    private static final YearMonth MONTH = YearMonth.of(2031, 3);
+
+    private final FlightRepository flightRepository;
+    private final AirportRepository airportRepository;
+    private final FareCalendarRepository fareCalendarRepository;
+    private final FlightService flightService;
+    private final FareCalendarService fareCalendarService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final List<UUID> savedFlightIds = new ArrayList<>();
+    private final List<UUID> savedAirportIds = new ArrayList<>();
+
+    @Autowired
+    FareCalendarServiceIT(FlightRepository flightRepository, AirportRepository airportRepository,
+                          FareCalendarRepository fareCalendarRepository, FlightService flightService,
+                          FareCalendarService fareCalendarService, PlatformTransactionManager transactionManager) {
+        this.flightRepository = flightRepository;
+        this.airportRepository = airportRepository;
+        this.fareCalendarRepository = fareCalendarRepository;
+        this.flightService = flightService;
+        this.fareCalendarService = fareCalendarService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        savedFlightIds.forEach(flightRepository::deleteById);
+        transactionTemplate.executeWithoutResult(status ->
+                savedAirportIds.forEach(fareCalendarRepository::deleteByDepartureAirportId));
+        savedAirportIds.forEach(airportRepository::deleteById);
+    }
+
+    /**
+     * Integration test for FareCalendarService:getFareCalendar
+     * Checking whether added, moved and removed flights are reflected by the days of the route
+     */
+    @Test
+    void getFareCalendar_AfterFlightChanges_ShouldReturnLowestPriceOfRemainingFlightsPerDay() {
+        // GIVEN
+        AirportDto deptAirport = saveFakeAirport();
+        AirportDto destAirport = saveFakeAirport();
+        FlightDto cheapFlight = addFlight(deptAirport, destAirport, MONTH.atDay(2).atTime(8, 0), "49.90");
+        addFlight(deptAirport, destAirport, MONTH.atDay(2).atTime(18, 30), "89.90");
+        FlightDto movedFlight = addFlight(deptAirport, destAirport, MONTH.atDay(5).atTime(12, 0), "120.00");
+        // read once, so the month is cached before the changes
+        fareCalendarService.getFareCalendar(deptAirport.getId(), destAirport.getId(), MONTH);
+
+        // WHEN
+        flightService.removeFlight(cheapFlight.getId());
+        movedFlight.setDepartureDate(MONTH.atDay(9).atTime(12, 0));
+        flightService.updateFlight(movedFlight);
+        FareCalendarDto result = fareCalendarService.getFareCalendar(deptAirport.getId(), destAirport.getId(), MONTH);
+
+        // THEN
+        List<FareCalendarDayDto> days = result.getDays();
+        assertAll(
+                () -> assertEquals(2, days.size()),
+                () -> assertEquals(MONTH.atDay(2), days.get(0).getDay()),
+                () -> assertEquals(0, new BigDecimal("89.90").compareTo(days.get(0).getMinPrice())),
+                () -> assertEquals(1, days.get(0).getFlightCount()),
+                () -> assertEquals(MONTH.atDay(9), days.get(1).getDay()),
+                () -> assertEquals(0, new BigDecimal("120.00").compareTo(days.get(1).getMinPrice()))
+        );
+    }
+
+    /**
+     * Integration test for FareCalendarService:rebuildFareCalendar
+     * Checking whether the rebuilt days are the same as the incrementally maintained ones
+     */
+    @Test
+    void rebuildFareCalendar_AfterFlightChanges_ShouldReturnSameDays() {
+        // GIVEN
+        AirportDto deptAirport = saveFakeAirport();
+        AirportDto destAirport = saveFakeAirport();
+        addFlight(deptAirport, destAirport, MONTH.atDay(3).atTime(7, 15), "64.00");
+        addFlight(deptAirport, destAirport, MONTH.atDay(3).atTime(21, 45), "58.50");
+        FlightDto removedFlight = addFlight(deptAirport, destAirport, MONTH.atDay(20).atTime(9, 0), "75.00");
+        flightService.removeFlight(removedFlight.getId());
+        FareCalendarDto expected = fareCalendarService.getFareCalendar(deptAirport.getId(), destAirport.getId(), MONTH);
+
+        // WHEN
+        int rebuiltDays = fareCalendarService.rebuildFareCalendar();
+        FareCalendarDto result = fareCalendarService.getFareCalendar(deptAirport.getId(), destAirport.getId(), MONTH);
+
+        // THEN
+        assertAll(
+                () -> assertTrue(rebuiltDays >= 1),
+                () -> assertEquals(1, result.getDays().size()),
+                () -> assertEquals(expected.getDays().get(0).getDay(), result.getDays().get(0).getDay()),
+                () -> assertEquals(0, new BigDecimal("58.50").compareTo(result.getDays().get(0).getMinPrice())),
+                () -> assertEquals(2, result.getDays().get(0).getFlightCount())
+        );
+    }
+
+    private AirportDto saveFakeAirport() {
+        AirportEntity airportEntity = airportRepository.save(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), true));
+        savedAirportIds.add(airportEntity.getId());
+        return AirportDto.builder().id(airportEntity.getId()).build();
+    }
+
+    private FlightDto addFlight(AirportDto deptAirport, AirportDto destAirport, LocalDateTime departureDate, String price) {
+        FlightDto flightDto = DtoModelFaker.getFakeFlightDto(null, false);
+        flightDto.setDepartureAirport(deptAirport);
+        flightDto.setDestinationAirport(destAirport);
+        flightDto.setDepartureDate(departureDate);
+        flightDto.setArrivalDate(departureDate.plusHours(2));
+        flightDto.setPrice(new BigDecimal(price));
+        FlightDto addedFlightDto = flightService.addFlight(flightDto);
+        savedFlightIds.add(addedFlightDto.getId());
+        return addedFlightDto;
+    }
+}
@@ -0,0 +1,184 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.config.CacheConfiguration;
+import com.tascigorkem.flightbookingservice.config.FareCalendarProperties;
+import com.tascigorkem.flightbookingservice.dto.flight.FareCalendarDto;
+import com.tascigorkem.flightbookingservice.entity.flight.FareCalendarEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.FareCalendarKey;
+import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.repository.flight.FareCalendarRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FareCalendarServiceTest {
+
+    private final FareCalendarRepository fareCalendarRepository = mock(FareCalendarRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfiguration.FARE_CALENDARS_CACHE);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final FareCalendarService subject = new FareCalendarServiceImpl(fareCalendarRepository, entityManager,
+            cacheManager, transactionManager, new FareCalendarProperties());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(subject);
+    }
+
+    /**
+     * Unit test for FareCalendarService:getFareCalendar
+     */
+    @Test
+    void getFareCalendar_WithRouteAndMonth_ShouldReturnDaysOfMonth() {
+        // GIVEN
+        UUID fakeDeptAirportId = EntityModelFaker.fakeId();
+        UUID fakeDestAirportId = EntityModelFaker.fakeId();
+        YearMonth month = YearMonth.of(2021, 3);
+        FareCalendarEntity fakeDay1 = new FareCalendarEntity(
+                new FareCalendarKey(fakeDeptAirportId, fakeDestAirportId, month.atDay(2)), BigDecimal.valueOf(79.90), 2);
+        FareCalendarEntity fakeDay2 = new FareCalendarEntity(
+                new FareCalendarKey(fakeDeptAirportId, fakeDestAirportId, month.atDay(9)), BigDecimal.valueOf(54.50), 1);
+
+        when(fareCalendarRepository.findRoute(fakeDeptAirportId, fakeDestAirportId, month.atDay(1), month.atEndOfMonth()))
+                .thenReturn(Arrays.asList(fakeDay1, fakeDay2));
+
+        // WHEN
+        FareCalendarDto result = subject.getFareCalendar(fakeDeptAirportId, fakeDestAirportId, month);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(fakeDeptAirportId, result.getDepartureAirportId()),
+                () -> assertEquals(fakeDestAirportId, result.getDestinationAirportId()),
+                () -> assertEquals(month, result.getMonth()),
+                () -> assertEquals(2, result.getDays().size()),
+                () -> assertEquals(month.atDay(2), result.getDays().get(0).getDay()),
+                () -> assertEquals(BigDecimal.valueOf(79.90), result.getDays().get(0).getMinPrice()),
+                () -> assertEquals(2, result.getDays().get(0).getFlightCount()),
+                () -> assertEquals(month.atDay(9), result.getDays().get(1).getDay())
+        );
+    }
+
+    /**
+     * Unit test for FareCalendarService:getFareCalendar
+     * Checking whether a month read before a change of its route committed is not put back after the eviction
+     */
+    @Test
+    void getFareCalendar_WithRouteChangedDuringRead_ShouldNotCacheMonth() {
+        // GIVEN
+        UUID fakeDeptAirportId = EntityModelFaker.fakeId();
+        UUID fakeDestAirportId = EntityModelFaker.fakeId();
+        YearMonth month = YearMonth.of(2021, 3);
+        SimpleKey monthKey = new SimpleKey(fakeDeptAirportId, fakeDestAirportId, month);
+        Cache cache = cacheManager.getCache(CacheConfiguration.FARE_CALENDARS_CACHE);
+
+        when(fareCalendarRepository.findRoute(fakeDeptAirportId, fakeDestAirportId, month.atDay(1), month.atEndOfMonth()))
+                .thenAnswer(invocation -> {
+                    // a flight of the route changes and commits while the former days are read
+                    TransactionSynchronizationManager.initSynchronization();
+                    subject.flightChanged(fakeDeptAirportId, fakeDestAirportId, LocalDateTime.of(2021, 3, 2, 10, 30));
+                    TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> {
+                        synchronization.beforeCommit(false);
+                        synchronization.afterCommit();
+                        synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+                    });
+                    TransactionSynchronizationManager.clearSynchronization();
+                    return Collections.emptyList();
+                })
+                .thenReturn(Collections.emptyList());
+
+        // WHEN
+        subject.getFareCalendar(fakeDeptAirportId, fakeDestAirportId, month);
+
+        // THEN
+        assertNull(cache.get(monthKey));
+        subject.getFareCalendar(fakeDeptAirportId, fakeDestAirportId, month);
+        assertNotNull(cache.get(monthKey));
+    }
+
+    /**
+     * Unit test for FareCalendarService:flightChanged
+     * Checking whether each changed day is recomputed once before commit and its month evicted after commit
+     */
+    @Test
+    void flightChanged_InTransaction_ShouldRefreshEachDayOnceBeforeCommitAndEvictItsMonth() {
+        // GIVEN
+        UUID fakeDeptAirportId = EntityModelFaker.fakeId();
+        UUID fakeDestAirportId = EntityModelFaker.fakeId();
+        LocalDateTime departureDate = LocalDateTime.of(2021, 3, 2, 10, 30);
+        SimpleKey monthKey = new SimpleKey(fakeDeptAirportId, fakeDestAirportId, YearMonth.of(2021, 3));
+        Cache cache = cacheManager.getCache(CacheConfiguration.FARE_CALENDARS_CACHE);
+        cache.put(monthKey, FareCalendarDto.builder().build());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // WHEN
+        subject.flightChanged(fakeDeptAirportId, fakeDestAirportId, departureDate);
+        subject.flightChanged(fakeDeptAirportId, fakeDestAirportId, departureDate.plusHours(5));
+        subject.flightChanged(fakeDeptAirportId, fakeDestAirportId, null);
+        verify(fareCalendarRepository, never()).refreshDay(any(), any(), any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // THEN
+        InOrder inOrder = inOrder(entityManager, fareCalendarRepository);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(fareCalendarRepository).lockDepartureAirport(fakeDeptAirportId.toString());
+        inOrder.verify(fareCalendarRepository).refreshDay(fakeDeptAirportId, fakeDestAirportId, LocalDate.of(2021, 3, 2));
+        verify(fareCalendarRepository, times(1)).refreshDay(any(), any(), any());
+        assertNull(cache.get(monthKey));
+    }
+
+    /**
+     * Unit test for FareCalendarService:rebuildFareCalendar
+     */
+    @Test
+    void rebuildFareCalendar_WithDepartureAirports_ShouldRebuildEachAirportInOwnTransaction() {
+        // GIVEN
+        UUID fakeDeptAirportId1 = EntityModelFaker.fakeId();
+        UUID fakeDeptAirportId2 = EntityModelFaker.fakeId();
+        Cache cache = cacheManager.getCache(CacheConfiguration.FARE_CALENDARS_CACHE);
+        cache.put(new SimpleKey(fakeDeptAirportId1), FareCalendarDto.builder().build());
+
+        when(fareCalendarRepository.findDepartureAirportIds())
+                .thenReturn(Arrays.asList(fakeDeptAirportId1.toString(), fakeDeptAirportId2.toString()));
+        when(fareCalendarRepository.insertByDepartureAirportId(fakeDeptAirportId1)).thenReturn(12);
+        when(fareCalendarRepository.insertByDepartureAirportId(fakeDeptAirportId2)).thenReturn(5);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(new SimpleTransactionStatus());
+
+        // WHEN
+        int result = subject.rebuildFareCalendar();
+
+        // THEN
+        assertEquals(17, result);
+        assertNull(cache.get(new SimpleKey(fakeDeptAirportId1)));
+        verify(transactionManager, times(2)).commit(any());
+        for (UUID fakeDeptAirportId : Arrays.asList(fakeDeptAirportId1, fakeDeptAirportId2)) {
+            InOrder inOrder = inOrder(fareCalendarRepository);
+            inOrder.verify(fareCalendarRepository).lockDepartureAirport(fakeDeptAirportId.toString());
+            inOrder.verify(fareCalendarRepository).deleteByDepartureAirportId(fakeDeptAirportId);
+            inOrder.verify(fareCalendarRepository).insertByDepartureAirportId(fakeDeptAirportId);
+        }
+    }
+}
@@ -1,9 +1,24 @@
 package com.tascigorkem.flightbookingservice.service.flight;
 
+import com.tascigorkem.flightbookingservice.dto.flight.AircraftDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirlineDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightBatchResultDto;
 import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirlineEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
 import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.exception.conflict.VersionConflictException;
+import com.tascigorkem.flightbookingservice.exception.notfound.FlightNotFoundException;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
 import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.repository.flight.AircraftRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.AirlineRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.AirportRepository;
 import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +29,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -27,13 +46,30 @@ import static org.junit.jupiter.api.Assertions.*;
 @Transactional
 class FlightServiceIT {
 
+    /**
+     * One select for the page content and one for the count query.
+     */
+    private static final int MAX_STATEMENTS_PER_PAGE = 2;
+
     private final FlightRepository flightRepository;
+    private final AirportRepository airportRepository;
+    private final AircraftRepository aircraftRepository;
+    private final AirlineRepository airlineRepository;
     private final FlightService flightService;
+    private final EntityManager entityManager;
+    private final Statistics statistics;
 
     @Autowired
-    FlightServiceIT(FlightRepository flightRepository, FlightService flightService) {
+    FlightServiceIT(FlightRepository flightRepository, AirportRepository airportRepository,
+                    AircraftRepository aircraftRepository, AirlineRepository airlineRepository,
+                    FlightService flightService, EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
         this.flightRepository = flightRepository;
+        this.airportRepository = airportRepository;
+        this.aircraftRepository = aircraftRepository;
+        this.airlineRepository = airlineRepository;
         this.flightService = flightService;
+        this.entityManager = entityManager;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
     }
 
     /**
@@ -89,4 +125,213 @@ class FlightServiceIT {
                 () -> assertNotNull(resultFlightDto2.getUpdateTime())
         );
     }
+
+    /**
+     * Integration test for FlightService:getAllFlights
+     * Checking whether a page of flights with all relations is loaded by a constant number of statements
+     */
+    @Test
+    void getAllFlights_WithRelations_ShouldLoadPageWithConstantStatementCount() {
+        // GIVEN
+        int flightCount = 10;
+        for (int i = 0; i < flightCount; i++) {
+            flightRepository.save(getFakeFlightEntityWithRelations());
+        }
+
+        // start with an empty persistence context, so relations are not served from the first level cache
+        entityManager.flush();
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // WHEN
+        Page<FlightDto> resultFlightDtoPage = flightService.getAllFlights(PageRequest.of(0, 50));
+
+        // THEN
+        assertTrue(resultFlightDtoPage.getContent().size() >= flightCount);
+        resultFlightDtoPage.getContent().forEach(flightDto -> assertAll(
+                () -> assertNotNull(flightDto.getDepartureAirport()),
+                () -> assertNotNull(flightDto.getDestinationAirport()),
+                () -> assertNotNull(flightDto.getAircraft()),
+                () -> assertNotNull(flightDto.getAirline())
+        ));
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_PER_PAGE,
+                "expected at most " + MAX_STATEMENTS_PER_PAGE + " statements per page, but was " + statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Integration test for FlightService:getFlightById
+     * Checking whether a flight with all relations is loaded by a single statement
+     */
+    @Test
+    void getFlightById_WithRelations_ShouldLoadFlightWithSingleStatement() {
+        // GIVEN
+        FlightEntity fakeFlightEntity = flightRepository.save(getFakeFlightEntityWithRelations());
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // WHEN
+        FlightDto resultFlightDto = flightService.getFlightById(fakeFlightEntity.getId());
+
+        // THEN
+        assertAll(
+                () -> assertEquals(fakeFlightEntity.getId(), resultFlightDto.getId()),
+                () -> assertEquals(fakeFlightEntity.getDepartureAirport().getId(), resultFlightDto.getDepartureAirport().getId()),
+                () -> assertEquals(fakeFlightEntity.getAirline().getId(), resultFlightDto.getAirline().getId()),
+                () -> assertEquals(1, statistics.getPrepareStatementCount())
+        );
+    }
+
+    /**
+     * Integration test for FlightService:addFlights
+     * Checking whether flights are inserted in JDBC batches without selecting them first
+     */
+    @Test
+    void addFlights_WithReferences_ShouldInsertFlightsInBatches() {
+        // GIVEN
+        int flightCount = 120;
+        int insertBatches = 3;
+        int referenceSelects = 4;
+        FlightEntity fakeReferences = getFakeFlightEntityWithRelations();
+
+        List<FlightDto> fakeFlightDtos = new ArrayList<>();
+        for (int i = 0; i < flightCount; i++) {
+            FlightDto fakeFlightDto = DtoModelFaker.getFakeFlightDto(null, false);
+            fakeFlightDto.setDepartureAirport(AirportDto.builder().id(fakeReferences.getDepartureAirport().getId()).build());
+            fakeFlightDto.setDestinationAirport(AirportDto.builder().id(fakeReferences.getDestinationAirport().getId()).build());
+            fakeFlightDto.setAircraft(AircraftDto.builder().id(fakeReferences.getAircraft().getId()).build());
+            fakeFlightDto.setAirline(AirlineDto.builder().id(fakeReferences.getAirline().getId()).build());
+            fakeFlightDtos.add(fakeFlightDto);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // WHEN
+        FlightBatchResultDto result = flightService.addFlights(fakeFlightDtos.iterator());
+        long statementCount = statistics.getPrepareStatementCount();
+        long flightLoadCount = statistics.getEntityStatistics(FlightEntity.class.getName()).getLoadCount();
+
+        // THEN
+        assertAll(
+                () -> assertEquals(flightCount, result.getCount()),
+                () -> assertEquals(flightCount, flightRepository.findAllById(result.getIds()).size()),
+                () -> assertEquals(0, flightLoadCount),
+                () -> assertTrue(statementCount <= referenceSelects + insertBatches,
+                        "expected at most " + (referenceSelects + insertBatches) + " statements, but was " + statementCount)
+        );
+    }
+
+    /**
+     * Integration test for FlightService:exportFlights
+     * Checking whether all non-deleted flights are streamed with their references
+     */
+    @Test
+    void exportFlights_WithRelations_ShouldPassAllNotDeletedFlights() {
+        // GIVEN
+        FlightEntity fakeFlightEntity = flightRepository.save(getFakeFlightEntityWithRelations());
+        FlightEntity fakeDeletedFlightEntity = getFakeFlightEntityWithRelations();
+        fakeDeletedFlightEntity.setDeletionTime(LocalDateTime.now());
+        flightRepository.save(fakeDeletedFlightEntity);
+        long notDeletedFlightCount = flightRepository.findAllByDeletionTimeIsNull(Pageable.unpaged()).getTotalElements();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // WHEN
+        List<FlightDto> resultFlightDtos = new ArrayList<>();
+        flightService.exportFlights(resultFlightDtos::add);
+
+        // THEN
+        assertEquals(notDeletedFlightCount, resultFlightDtos.size());
+        FlightDto resultFlightDto = resultFlightDtos.stream()
+                .filter(flightDto -> fakeFlightEntity.getId().equals(flightDto.getId()))
+                .findFirst().orElseThrow(AssertionError::new);
+        assertAll(
+                () -> assertEquals(fakeFlightEntity.getDepartureAirport().getCode(), resultFlightDto.getDepartureAirport().getCode()),
+                () -> assertEquals(fakeFlightEntity.getAirline().getName(), resultFlightDto.getAirline().getName()),
+                () -> assertTrue(resultFlightDtos.stream().noneMatch(flightDto -> fakeDeletedFlightEntity.getId().equals(flightDto.getId())))
+        );
+    }
+
+    /**
+     * Integration test for FlightService:removeFlight
+     * Checking whether a flight is deleted by a single statement without loading it or its relations
+     */
+    @Test
+    void removeFlight_WithRelations_ShouldDeleteFlightWithSingleStatement() {
+        // GIVEN
+        FlightEntity fakeFlightEntity = flightRepository.save(getFakeFlightEntityWithRelations());
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // WHEN
+        FlightDto resultFlightDto = flightService.removeFlight(fakeFlightEntity.getId());
+        long statementCount = statistics.getPrepareStatementCount();
+        long entityLoadCount = statistics.getEntityLoadCount();
+
+        // THEN
+        FlightEntity removedFlightEntity = flightRepository.findById(fakeFlightEntity.getId()).orElseThrow(AssertionError::new);
+        assertAll(
+                () -> assertEquals(1, statementCount),
+                () -> assertEquals(0, entityLoadCount),
+                () -> assertEquals(fakeFlightEntity.getId(), resultFlightDto.getId()),
+                () -> assertEquals(0, fakeFlightEntity.getPrice().compareTo(resultFlightDto.getPrice())),
+                () -> assertEquals(fakeFlightEntity.getDepartureAirport().getId(), resultFlightDto.getDepartureAirport().getId()),
+                () -> assertEquals(fakeFlightEntity.getDestinationAirport().getId(), resultFlightDto.getDestinationAirport().getId()),
+                () -> assertEquals(fakeFlightEntity.getAircraft().getId(), resultFlightDto.getAircraft().getId()),
+                () -> assertEquals(fakeFlightEntity.getAirline().getId(), resultFlightDto.getAirline().getId()),
+                () -> assertNotNull(resultFlightDto.getUpdateTime()),
+                () -> assertNotNull(removedFlightEntity.getDeletionTime()),
+                () -> assertThrows(FlightNotFoundException.class, () -> flightService.removeFlight(fakeFlightEntity.getId()))
+        );
+    }
+
+    /**
+     * Integration test for FlightService:updateFlight
+     * Checking whether an update increments the version and an update based on the former version is rejected
+     */
+    @Test
+    void updateFlight_WithFormerVersion_ShouldThrowVersionConflictException() {
+        // GIVEN
+        FlightEntity fakeFlightEntity = flightRepository.save(getFakeFlightEntityWithRelations());
+        entityManager.flush();
+        entityManager.clear();
+
+        FlightDto fakeFlightDto = flightService.getFlightById(fakeFlightEntity.getId());
+        long formerVersion = fakeFlightDto.getVersion();
+        fakeFlightDto.setPrice(fakeFlightDto.getPrice().add(BigDecimal.TEN));
+
+        // WHEN
+        FlightDto updatedFlightDto = flightService.updateFlight(fakeFlightDto);
+        fakeFlightDto.setVersion(formerVersion);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(formerVersion + 1, updatedFlightDto.getVersion()),
+                () -> assertThrows(VersionConflictException.class, () -> flightService.updateFlight(fakeFlightDto))
+        );
+    }
+
+    private FlightEntity getFakeFlightEntityWithRelations() {
+        AirportEntity fakeDeptAirportEntity = airportRepository.save(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), false));
+        AirportEntity fakeDestAirportEntity = airportRepository.save(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), false));
+        AircraftEntity fakeAircraftEntity = aircraftRepository.save(EntityModelFaker.getFakeAircraftEntity(EntityModelFaker.fakeId(), false));
+        AirlineEntity fakeAirlineEntity = airlineRepository.save(EntityModelFaker.getFakeAirlineEntity(EntityModelFaker.fakeId(), false));
+
+        FlightEntity fakeFlightEntity = EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), false);
+        fakeFlightEntity.setDepartureAirport(fakeDeptAirportEntity);
+        fakeFlightEntity.setDestinationAirport(fakeDestAirportEntity);
+        fakeFlightEntity.setAircraft(fakeAircraftEntity);
+        fakeFlightEntity.setAirline(fakeAirlineEntity);
+        return fakeFlightEntity;
+    }
 }
@@ -1,29 +1,63 @@
 package com.tascigorkem.flightbookingservice.service.flight;
 
+import com.tascigorkem.flightbookingservice.dto.flight.AircraftDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirlineDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightBatchResultDto;
 import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto;
+import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirlineEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
 import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.exception.conflict.VersionConflictException;
+import com.tascigorkem.flightbookingservice.exception.notfound.FlightNotFoundException;
 import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
 import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.faker.RowModelFaker;
+import com.tascigorkem.flightbookingservice.pagination.Cursor;
+import com.tascigorkem.flightbookingservice.pagination.CursorSlice;
 import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static com.tascigorkem.flightbookingservice.service.flight.FlightMapper.FLIGHT_MAPPER;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class FlightServiceTest {
 
     private final FlightRepository flightRepository = mock(FlightRepository.class);
-    private final FlightService subject = new FlightServiceImpl(flightRepository);
+    private final AirportService airportService = mock(AirportService.class);
+    private final AirlineService airlineService = mock(AirlineService.class);
+    private final AircraftService aircraftService = mock(AircraftService.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final FareCalendarService fareCalendarService = mock(FareCalendarService.class);
+    private final ItineraryService itineraryService = mock(ItineraryService.class);
+    private final FlightService subject = new FlightServiceImpl(flightRepository, airportService, airlineService, aircraftService,
+            entityManager, fareCalendarService, itineraryService);
 
     /**
      * Unit test for FlightService:getAllFlights
@@ -52,6 +86,93 @@ class FlightServiceTest {
         verify(flightRepository).findAllByDeletionTimeIsNull(pageable);
     }
 
+    /**
+     * Unit test for FlightService:getAllFlightsAfter
+     */
+    @Test
+    void getAllFlightsAfter_WithCursor_ShouldReturnSliceWithNextCursor() {
+        // GIVEN
+        List<FlightEntity> fakeFlightEntityList = Arrays.asList(
+                EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), true),
+                EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), true),
+                EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), true)
+        );
+
+        Cursor after = Cursor.of(LocalDateTime.now().minusDays(1), EntityModelFaker.fakeId());
+        CursorSlice<FlightEntity> fakeFlightEntitySlice = CursorSlice.of(fakeFlightEntityList, 2,
+                flightEntity -> Cursor.of(flightEntity.getCreationTime(), flightEntity.getId()));
+
+        when(flightRepository.findKeysetSlice(after, 2)).thenReturn(fakeFlightEntitySlice);
+
+        // WHEN
+        CursorSlice<FlightDto> result = subject.getAllFlightsAfter(after, 2);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(FLIGHT_MAPPER.toFlightDtoList(fakeFlightEntityList.subList(0, 2)), result.getContent()),
+                () -> assertEquals(fakeFlightEntitySlice.getNext(), result.getNext())
+        );
+        verify(flightRepository).findKeysetSlice(after, 2);
+        verify(flightRepository, never()).findAllByDeletionTimeIsNull(any(Pageable.class));
+    }
+
+    /**
+     * Unit test for FlightService:exportFlights
+     */
+    @Test
+    void exportFlights_WithMoreFlightsThanFetchSize_ShouldPassAllFlightsAndClearPerFetch() {
+        // GIVEN
+        List<FlightEntity> fakeFlightEntityList = IntStream.range(0, 1200)
+                .mapToObj(i -> EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), true))
+                .collect(Collectors.toList());
+        Stream<FlightEntity> fakeFlightEntityStream = fakeFlightEntityList.stream();
+        List<FlightDto> resultFlightDtos = new ArrayList<>();
+
+        when(flightRepository.streamAllByDeletionTimeIsNull()).thenReturn(fakeFlightEntityStream);
+
+        // WHEN
+        subject.exportFlights(resultFlightDtos::add);
+
+        // THEN
+        assertEquals(FLIGHT_MAPPER.toFlightDtoList(fakeFlightEntityList), resultFlightDtos);
+        verify(entityManager, times(2)).clear();
+    }
+
+    /**
+     * Unit test for FlightService:searchFlights
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchFlights_WithCriteria_ShouldReturnMatchingFlights() {
+        // GIVEN
+        List<FlightEntity> fakeFlightEntityList = Arrays.asList(
+                EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), true),
+                EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), true)
+        );
+
+        List<FlightDto> fakeFlightDtoList = FLIGHT_MAPPER.toFlightDtoList(fakeFlightEntityList);
+
+        FlightSearchDto flightSearchDto = FlightSearchDto.builder()
+                .departureAirportId(EntityModelFaker.fakeId())
+                .destinationAirportId(EntityModelFaker.fakeId())
+                .departureFrom(LocalDateTime.now())
+                .departureTo(LocalDateTime.now().plusDays(1))
+                .maxPrice(BigDecimal.valueOf(300))
+                .build();
+
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("price"));
+        Page<FlightEntity> fakePageFlightEntity = new PageImpl<>(fakeFlightEntityList, pageable, fakeFlightEntityList.size());
+
+        when(flightRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(fakePageFlightEntity);
+
+        // WHEN
+        Page<FlightDto> result = subject.searchFlights(flightSearchDto, pageable);
+
+        // THEN
+        assertEquals(fakeFlightDtoList, result.toList());
+        verify(flightRepository).findAll(any(Specification.class), eq(pageable));
+    }
+
     /**
      * Unit test for FlightService:getFlightById
      */
@@ -93,6 +214,76 @@ class FlightServiceTest {
         verify(flightRepository).save(any(FlightEntity.class));
     }
 
+    /**
+     * Unit test for FlightService:addFlight
+     */
+    @Test
+    void addFlight_WithReferences_ShouldResolveReferencesFromCachedServices() {
+        // GIVEN
+        AirportDto fakeDeptAirportDto = DtoModelFaker.getFakeAirportDto(DtoModelFaker.fakeId(), true);
+        AirportDto fakeDestAirportDto = DtoModelFaker.getFakeAirportDto(DtoModelFaker.fakeId(), true);
+        AircraftDto fakeAircraftDto = DtoModelFaker.getFakeAircraftDto(DtoModelFaker.fakeId(), true);
+        AirlineDto fakeAirlineDto = DtoModelFaker.getFakeAirlineDto(DtoModelFaker.fakeId(), true);
+
+        FlightDto fakeFlightDto = DtoModelFaker.getFakeFlightDto(null, false);
+        fakeFlightDto.setDepartureAirport(AirportDto.builder().id(fakeDeptAirportDto.getId()).build());
+        fakeFlightDto.setDestinationAirport(AirportDto.builder().id(fakeDestAirportDto.getId()).build());
+        fakeFlightDto.setAircraft(AircraftDto.builder().id(fakeAircraftDto.getId()).build());
+        fakeFlightDto.setAirline(AirlineDto.builder().id(fakeAirlineDto.getId()).build());
+
+        when(airportService.getAirportById(fakeDeptAirportDto.getId())).thenReturn(fakeDeptAirportDto);
+        when(airportService.getAirportById(fakeDestAirportDto.getId())).thenReturn(fakeDestAirportDto);
+        when(aircraftService.getAircraftById(fakeAircraftDto.getId())).thenReturn(fakeAircraftDto);
+        when(airlineService.getAirlineById(fakeAirlineDto.getId())).thenReturn(fakeAirlineDto);
+        when(entityManager.getReference(eq(AirportEntity.class), any(UUID.class))).thenAnswer(invocation -> AirportEntity.builder().id(invocation.getArgument(1)).build());
+        when(entityManager.getReference(eq(AircraftEntity.class), any(UUID.class))).thenAnswer(invocation -> AircraftEntity.builder().id(invocation.getArgument(1)).build());
+        when(entityManager.getReference(eq(AirlineEntity.class), any(UUID.class))).thenAnswer(invocation -> AirlineEntity.builder().id(invocation.getArgument(1)).build());
+        when(flightRepository.save(any(FlightEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // WHEN
+        FlightDto result = subject.addFlight(fakeFlightDto);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(fakeDeptAirportDto, result.getDepartureAirport()),
+                () -> assertEquals(fakeDestAirportDto, result.getDestinationAirport()),
+                () -> assertEquals(fakeAircraftDto, result.getAircraft()),
+                () -> assertEquals(fakeAirlineDto, result.getAirline())
+        );
+        verify(flightRepository).save(argThat(flightEntity ->
+                fakeDeptAirportDto.getId().equals(flightEntity.getDepartureAirport().getId())
+                        && fakeAirlineDto.getId().equals(flightEntity.getAirline().getId())));
+        verify(fareCalendarService).flightChanged(fakeDeptAirportDto.getId(), fakeDestAirportDto.getId(),
+                fakeFlightDto.getDepartureDate());
+        verify(itineraryService).flightChanged(result);
+    }
+
+    /**
+     * Unit test for FlightService:addFlights
+     */
+    @Test
+    void addFlights_WithMoreFlightsThanChunkSize_ShouldPersistAndFlushPerChunk() {
+        // GIVEN
+        List<FlightDto> fakeFlightDtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            fakeFlightDtos.add(DtoModelFaker.getFakeFlightDto(null, false));
+        }
+
+        // WHEN
+        FlightBatchResultDto result = subject.addFlights(fakeFlightDtos.iterator());
+
+        // THEN
+        assertAll(
+                () -> assertEquals(120, result.getCount()),
+                () -> assertEquals(120, new HashSet<>(result.getIds()).size())
+        );
+        verify(entityManager, times(120)).persist(any(FlightEntity.class));
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(flightRepository, never()).save(any(FlightEntity.class));
+        verify(itineraryService, times(120)).flightChanged(any(FlightDto.class));
+    }
+
     /**
      * Unit test for FlightService:updateFlight
      */
@@ -105,7 +296,7 @@ class FlightServiceTest {
         FlightDto expectedFlightDto = FLIGHT_MAPPER.toFlightDto(fakeFlightEntity);
 
         when(flightRepository.findById(fakeFlightId)).thenReturn(Optional.of(fakeFlightEntity));
-        when(flightRepository.save(fakeFlightEntity)).thenReturn(fakeFlightEntity);
+        when(flightRepository.saveAndFlush(fakeFlightEntity)).thenReturn(fakeFlightEntity);
 
         // WHEN
         FlightDto result = subject.updateFlight(fakeFlightDto);
@@ -113,30 +304,128 @@ class FlightServiceTest {
         // THEN
         assertEquals(expectedFlightDto, result);
         verify(flightRepository).findById(fakeFlightId);
-        verify(flightRepository).save(any(FlightEntity.class));
+        verify(flightRepository).saveAndFlush(any(FlightEntity.class));
     }
 
     /**
-     * Unit test for FlightService:removeFlight
+     * Unit test for FlightService:updateFlight
+     * Checking whether both the former and the new departure day of the route are marked as changed in the fare calendar
      */
     @Test
-    void removeFlight_SetStatusDAndSaveIntoDatabase_ShouldSaveAndReturnRemovedFlight() {
+    void updateFlight_WithNewDepartureDate_ShouldMarkFormerAndNewDayAsChanged() {
         // GIVEN
-        UUID fakeFlightId = DtoModelFaker.fakeId();
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+        FlightEntity fakeFlightEntity = EntityModelFaker.getFakeFlightEntity(fakeFlightId, true);
+        fakeFlightEntity.setDepartureAirport(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), true));
+        fakeFlightEntity.setDestinationAirport(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), true));
+        LocalDateTime formerDepartureDate = fakeFlightEntity.getDepartureDate();
+
+        FlightDto fakeFlightDto = FLIGHT_MAPPER.toFlightDto(fakeFlightEntity);
+        fakeFlightDto.setDepartureDate(formerDepartureDate.plusDays(3));
+
+        when(flightRepository.findById(fakeFlightId)).thenReturn(Optional.of(fakeFlightEntity));
+        when(flightRepository.saveAndFlush(fakeFlightEntity)).thenReturn(fakeFlightEntity);
+
+        // WHEN
+        subject.updateFlight(fakeFlightDto);
+
+        // THEN
+        UUID deptAirportId = fakeFlightEntity.getDepartureAirport().getId();
+        UUID destAirportId = fakeFlightEntity.getDestinationAirport().getId();
+        verify(fareCalendarService).flightChanged(deptAirportId, destAirportId, formerDepartureDate);
+        verify(fareCalendarService).flightChanged(deptAirportId, destAirportId, formerDepartureDate.plusDays(3));
+        verify(itineraryService).flightChanged(argThat(flightDto ->
+                formerDepartureDate.plusDays(3).equals(flightDto.getDepartureDate())));
+    }
+
+    /**
+     * Unit test for FlightService:updateFlight
+     */
+    @Test
+    void updateFlight_WithStaleExpectedVersion_ShouldThrowVersionConflictExceptionWithoutSaving() {
+        // GIVEN
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+        FlightEntity fakeFlightEntity = EntityModelFaker.getFakeFlightEntity(fakeFlightId, true);
+        fakeFlightEntity.setVersion(4L);
+        FlightDto fakeFlightDto = DtoModelFaker.getFakeFlightDto(fakeFlightId, true);
+        fakeFlightDto.setVersion(3L);
+
+        when(flightRepository.findById(fakeFlightId)).thenReturn(Optional.of(fakeFlightEntity));
+
+        // WHEN
+        // THEN
+        assertThrows(VersionConflictException.class, () -> subject.updateFlight(fakeFlightDto));
+        verify(flightRepository, never()).saveAndFlush(any(FlightEntity.class));
+    }
+
+    /**
+     * Unit test for FlightService:updateFlight
+     */
+    @Test
+    void updateFlight_WithConcurrentUpdate_ShouldThrowVersionConflictException() {
+        // GIVEN
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+        FlightEntity fakeFlightEntity = EntityModelFaker.getFakeFlightEntity(fakeFlightId, true);
         FlightDto fakeFlightDto = DtoModelFaker.getFakeFlightDto(fakeFlightId, true);
-        FlightEntity fakeFlightEntity = FLIGHT_MAPPER.toFlightEntity(fakeFlightDto);
-        FlightDto expectedFlightDto = FLIGHT_MAPPER.toFlightDto(fakeFlightEntity);
 
         when(flightRepository.findById(fakeFlightId)).thenReturn(Optional.of(fakeFlightEntity));
-        when(flightRepository.save(fakeFlightEntity)).thenReturn(fakeFlightEntity);
+        when(flightRepository.saveAndFlush(fakeFlightEntity))
+                .thenThrow(new ObjectOptimisticLockingFailureException(FlightEntity.class, fakeFlightId));
+
+        // WHEN
+        // THEN
+        assertThrows(VersionConflictException.class, () -> subject.updateFlight(fakeFlightDto));
+    }
+
+    /**
+     * Unit test for FlightService:removeFlight
+     */
+    @Test
+    void removeFlight_SoftDeleteById_ShouldReturnRemovedFlightWithReferenceIds() {
+        // GIVEN
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+        FlightEntity fakeFlightEntity = EntityModelFaker.getFakeFlightEntity(fakeFlightId, true);
+        fakeFlightEntity.setDepartureAirport(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), true));
+        fakeFlightEntity.setDestinationAirport(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), true));
+        fakeFlightEntity.setAirline(EntityModelFaker.getFakeAirlineEntity(EntityModelFaker.fakeId(), true));
+
+        when(flightRepository.softDeleteById(eq(fakeFlightId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(RowModelFaker.toFlightRow(fakeFlightEntity)));
 
         // WHEN
         FlightDto result = subject.removeFlight(fakeFlightId);
 
         // THEN
-        assertEquals(expectedFlightDto, result);
-        verify(flightRepository).findById(fakeFlightId);
-        verify(flightRepository).save(any(FlightEntity.class));
+        assertAll(
+                () -> assertEquals(fakeFlightId, result.getId()),
+                () -> assertEquals(fakeFlightEntity.getDepartureDate(), result.getDepartureDate()),
+                () -> assertEquals(fakeFlightEntity.getPrice(), result.getPrice()),
+                () -> assertEquals(AirportDto.builder().id(fakeFlightEntity.getDepartureAirport().getId()).build(), result.getDepartureAirport()),
+                () -> assertEquals(AirportDto.builder().id(fakeFlightEntity.getDestinationAirport().getId()).build(), result.getDestinationAirport()),
+                () -> assertEquals(AirlineDto.builder().id(fakeFlightEntity.getAirline().getId()).build(), result.getAirline()),
+                () -> assertNull(result.getAircraft())
+        );
+        verify(flightRepository).softDeleteById(eq(fakeFlightId), any(LocalDateTime.class));
+        verify(flightRepository, never()).findById(any(UUID.class));
+        verify(flightRepository, never()).save(any(FlightEntity.class));
+        verify(fareCalendarService).flightChanged(fakeFlightEntity.getDepartureAirport().getId(),
+                fakeFlightEntity.getDestinationAirport().getId(), fakeFlightEntity.getDepartureDate());
+        verify(itineraryService).flightRemoved(fakeFlightId);
+    }
+
+    /**
+     * Unit test for FlightService:removeFlight
+     */
+    @Test
+    void removeFlight_MissingOrDeletedFlight_ShouldThrowFlightNotFoundException() {
+        // GIVEN
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+
+        when(flightRepository.softDeleteById(eq(fakeFlightId), any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        // WHEN
+        // THEN
+        assertThrows(FlightNotFoundException.class, () -> subject.removeFlight(fakeFlightId));
     }
 
 }
@@ -0,0 +1,196 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryLegDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItinerarySearchDto;
+import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.repository.flight.AirportRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional, the itinerary graph is only changed when the transaction of a flight change commits.
+ * The scheduled reconciliation is postponed, so it does not apply the changes of the tests before they do.
+ * The saved rows are deleted after each test.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "itinerary.reconcile-interval=PT1H")
+class ItineraryServiceIT {
+
+    private static final LocalDate DAY = LocalDate.of(2031, 3, 2);
+
+    private final FlightRepository flightRepository;
+    private final AirportRepository airportRepository;
+    private final FlightService flightService;
+    private final ItineraryService itineraryService;
+
+    private final List<UUID> savedFlightIds = new ArrayList<>();
+    private final List<UUID> savedAirportIds = new ArrayList<>();
+
+    @Autowired
+    ItineraryServiceIT(FlightRepository flightRepository, AirportRepository airportRepository,
+                       FlightService flightService, ItineraryService itineraryService) {
+        this.flightRepository = flightRepository;
+        this.airportRepository = airportRepository;
+        this.flightService = flightService;
+        this.itineraryService = itineraryService;
+    }
+
+    @AfterEach
+    void tearDown() {
+        savedFlightIds.forEach(flightRepository::deleteById);
+        savedAirportIds.forEach(airportRepository::deleteById);
+    }
+
+    /**
+     * Integration test for ItineraryService:searchItineraries
+     * Checking whether added, moved and removed flights are reflected by the itineraries found
+     */
+    @Test
+    void searchItineraries_AfterFlightChanges_ShouldReturnItinerariesOfRemainingFlights() {
+        // GIVEN
+        AirportDto deptAirport = saveFakeAirport();
+        AirportDto hubAirport = saveFakeAirport();
+        AirportDto destAirport = saveFakeAirport();
+        FlightDto directFlight = addFlight(deptAirport, destAirport, DAY.atTime(10, 0), "900.00");
+        FlightDto firstLeg = addFlight(deptAirport, hubAirport, DAY.atTime(8, 0), "150.00");
+        FlightDto secondLeg = addFlight(hubAirport, destAirport, DAY.atTime(9, 0), "400.00");
+
+        // WHEN
+        // the connection at the hub is too short until the second leg is moved
+        List<ItineraryDto> beforeChanges = itineraryService.searchItineraries(search(deptAirport, destAirport));
+        secondLeg.setDepartureDate(DAY.atTime(11, 30));
+        secondLeg.setArrivalDate(DAY.atTime(13, 30));
+        flightService.updateFlight(secondLeg);
+        flightService.removeFlight(directFlight.getId());
+        List<ItineraryDto> result = itineraryService.searchItineraries(search(deptAirport, destAirport));
+
+        // THEN
+        assertAll(
+                () -> assertEquals(1, beforeChanges.size()),
+                () -> assertEquals(directFlight.getId(), beforeChanges.get(0).getLegs().get(0).getFlightId()),
+                () -> assertEquals(1, result.size()),
+                () -> assertEquals(List.of(firstLeg.getId(), secondLeg.getId()), flightIdsOf(result.get(0))),
+                () -> assertEquals(0, new BigDecimal("550.00").compareTo(result.get(0).getTotalPrice()))
+        );
+    }
+
+    /**
+     * Integration test for ItineraryService:loadItineraryGraph
+     * Checking whether the loaded graph finds the same itineraries as the incrementally changed one
+     */
+    @Test
+    void loadItineraryGraph_AfterFlightChanges_ShouldReturnSameItineraries() {
+        // GIVEN
+        AirportDto deptAirport = saveFakeAirport();
+        AirportDto hubAirport = saveFakeAirport();
+        AirportDto destAirport = saveFakeAirport();
+        addFlight(deptAirport, hubAirport, DAY.atTime(6, 0), "100.00");
+        addFlight(hubAirport, destAirport, DAY.atTime(9, 0), "200.00");
+        addFlight(deptAirport, destAirport, DAY.atTime(12, 0), "350.00");
+        FlightDto removedFlight = addFlight(deptAirport, destAirport, DAY.atTime(14, 0), "50.00");
+        flightService.removeFlight(removedFlight.getId());
+        List<ItineraryDto> expected = itineraryService.searchItineraries(search(deptAirport, destAirport));
+
+        // WHEN
+        int flightCount = itineraryService.loadItineraryGraph();
+        List<ItineraryDto> result = itineraryService.searchItineraries(search(deptAirport, destAirport));
+
+        // THEN
+        assertAll(
+                () -> assertTrue(flightCount >= 3),
+                () -> assertEquals(2, result.size()),
+                () -> assertEquals(expected, result)
+        );
+    }
+
+    /**
+     * Integration test for ItineraryService:reconcileItineraryGraph
+     * Checking whether a flight added and a flight deleted by another instance, which this one was not told about,
+     * are reflected by the itineraries found after the reconciliation
+     */
+    @Test
+    void reconcileItineraryGraph_AfterFlightChangesOfOtherInstance_ShouldReturnItinerariesOfRemainingFlights() {
+        // GIVEN
+        AirportDto deptAirport = saveFakeAirport();
+        AirportDto destAirport = saveFakeAirport();
+        FlightDto deletedFlight = addFlight(deptAirport, destAirport, DAY.atTime(10, 0), "300.00");
+        // written straight to the table, like the flight service of another instance would
+        FlightEntity addedFlightEntity = EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), true);
+        addedFlightEntity.setDepartureAirport(airportRepository.findById(deptAirport.getId()).orElseThrow());
+        addedFlightEntity.setDestinationAirport(airportRepository.findById(destAirport.getId()).orElseThrow());
+        addedFlightEntity.setDepartureDate(DAY.atTime(12, 0));
+        addedFlightEntity.setArrivalDate(DAY.atTime(14, 0));
+        addedFlightEntity.setPrice(new BigDecimal("200.00"));
+        flightRepository.save(addedFlightEntity);
+        savedFlightIds.add(addedFlightEntity.getId());
+        FlightEntity deletedFlightEntity = flightRepository.findById(deletedFlight.getId()).orElseThrow();
+        deletedFlightEntity.setDeletionTime(LocalDateTime.now());
+        flightRepository.save(deletedFlightEntity);
+        List<ItineraryDto> beforeReconciliation = itineraryService.searchItineraries(search(deptAirport, destAirport));
+
+        // WHEN
+        int changes = itineraryService.reconcileItineraryGraph();
+        List<ItineraryDto> result = itineraryService.searchItineraries(search(deptAirport, destAirport));
+
+        // THEN
+        assertAll(
+                () -> assertEquals(List.of(deletedFlight.getId()), flightIdsOf(beforeReconciliation.get(0))),
+                () -> assertTrue(changes >= 2),
+                () -> assertEquals(1, result.size()),
+                () -> assertEquals(List.of(addedFlightEntity.getId()), flightIdsOf(result.get(0)))
+        );
+    }
+
+    private static ItinerarySearchDto search(AirportDto deptAirport, AirportDto destAirport) {
+        return ItinerarySearchDto.builder()
+                .from(deptAirport.getId())
+                .to(destAirport.getId())
+                .date(DAY)
+                .build();
+    }
+
+    private static List<UUID> flightIdsOf(ItineraryDto itineraryDto) {
+        return itineraryDto.getLegs().stream()
+                .map(ItineraryLegDto::getFlightId)
+                .collect(Collectors.toList());
+    }
+
+    private AirportDto saveFakeAirport() {
+        AirportEntity airportEntity = airportRepository.save(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), true));
+        savedAirportIds.add(airportEntity.getId());
+        return AirportDto.builder().id(airportEntity.getId()).build();
+    }
+
+    private FlightDto addFlight(AirportDto deptAirport, AirportDto destAirport, LocalDateTime departureDate, String price) {
+        FlightDto flightDto = DtoModelFaker.getFakeFlightDto(null, false);
+        flightDto.setDepartureAirport(deptAirport);
+        flightDto.setDestinationAirport(destAirport);
+        flightDto.setDepartureDate(departureDate);
+        flightDto.setArrivalDate(departureDate.plusHours(2));
+        flightDto.setPrice(new BigDecimal(price));
+        FlightDto addedFlightDto = flightService.addFlight(flightDto);
+        savedFlightIds.add(addedFlightDto.getId());
+        return addedFlightDto;
+    }
+}
@@ -0,0 +1,219 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.config.ItineraryProperties;
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItineraryDto;
+import com.tascigorkem.flightbookingservice.dto.flight.ItinerarySearchDto;
+import com.tascigorkem.flightbookingservice.exception.badrequest.InvalidItinerarySearchException;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightEdge;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ItineraryServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2031, 3, 2);
+
+    private final FlightRepository flightRepository = mock(FlightRepository.class);
+    private final ItineraryService subject = new ItineraryServiceImpl(flightRepository, new ItineraryProperties());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(subject);
+    }
+
+    /**
+     * Unit test for ItineraryService:loadItineraryGraph
+     */
+    @Test
+    void loadItineraryGraph_WithFlightEdges_ShouldFindThemBySearch() {
+        // GIVEN
+        UUID fakeFlightId = DtoModelFaker.fakeId();
+        UUID fakeDeptAirportId = DtoModelFaker.fakeId();
+        UUID fakeDestAirportId = DtoModelFaker.fakeId();
+        FlightEdge fakeFlightEdge = mock(FlightEdge.class);
+        when(fakeFlightEdge.getId()).thenReturn(fakeFlightId);
+        when(fakeFlightEdge.getDepartureAirportId()).thenReturn(fakeDeptAirportId);
+        when(fakeFlightEdge.getDestinationAirportId()).thenReturn(fakeDestAirportId);
+        when(fakeFlightEdge.getDepartureDate()).thenReturn(DAY.atTime(9, 0));
+        when(fakeFlightEdge.getArrivalDate()).thenReturn(DAY.atTime(12, 0));
+        when(fakeFlightEdge.getPrice()).thenReturn(new BigDecimal("120.00"));
+
+        when(flightRepository.streamEdgesByDeletionTimeIsNull()).thenReturn(Stream.of(fakeFlightEdge));
+
+        // WHEN
+        int result = subject.loadItineraryGraph();
+
+        // THEN
+        List<ItineraryDto> itineraries = subject.searchItineraries(search(fakeDeptAirportId, fakeDestAirportId));
+        assertAll(
+                () -> assertEquals(1, result),
+                () -> assertEquals(1, itineraries.size()),
+                () -> assertEquals(fakeFlightId, itineraries.get(0).getLegs().get(0).getFlightId()),
+                () -> assertEquals(180, itineraries.get(0).getDurationMinutes())
+        );
+    }
+
+    /**
+     * Unit test for ItineraryService:reconcileItineraryGraph
+     * Checking whether flights changed and deleted by another instance are applied to the graph
+     */
+    @Test
+    void reconcileItineraryGraph_WithChangedAndDeletedFlightEdges_ShouldApplyThem() {
+        // GIVEN
+        FlightDto deletedFlightDto = getFakeFlightDto(DAY.atTime(9, 0));
+        UUID deptAirportId = deletedFlightDto.getDepartureAirport().getId();
+        UUID destAirportId = deletedFlightDto.getDestinationAirport().getId();
+        subject.flightChanged(deletedFlightDto);
+        UUID changedFlightId = DtoModelFaker.fakeId();
+        FlightEdge changedFlightEdge = getFakeFlightEdge(changedFlightId, deptAirportId, destAirportId, null);
+        FlightEdge deletedFlightEdge = getFakeFlightEdge(deletedFlightDto.getId(), deptAirportId, destAirportId,
+                LocalDateTime.now());
+
+        when(flightRepository.streamEdgesByUpdateTimeAfter(any(LocalDateTime.class)))
+                .thenReturn(Stream.of(changedFlightEdge, deletedFlightEdge));
+
+        // WHEN
+        int result = subject.reconcileItineraryGraph();
+
+        // THEN
+        List<ItineraryDto> itineraries = subject.searchItineraries(search(deptAirportId, destAirportId));
+        assertAll(
+                () -> assertEquals(2, result),
+                () -> assertEquals(1, itineraries.size()),
+                () -> assertEquals(changedFlightId, itineraries.get(0).getLegs().get(0).getFlightId())
+        );
+    }
+
+    /**
+     * Unit test for ItineraryService:flightChanged
+     * Checking whether a change is applied only after the transaction committed
+     */
+    @Test
+    void flightChanged_InTransaction_ShouldApplyLastChangeAfterCommit() {
+        // GIVEN
+        FlightDto fakeFlightDto = getFakeFlightDto(DAY.atTime(9, 0));
+        ItinerarySearchDto itinerarySearchDto = search(fakeFlightDto.getDepartureAirport().getId(),
+                fakeFlightDto.getDestinationAirport().getId());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // WHEN
+        subject.flightChanged(fakeFlightDto);
+        fakeFlightDto.setPrice(new BigDecimal("80.00"));
+        subject.flightChanged(fakeFlightDto);
+        assertTrue(subject.searchItineraries(itinerarySearchDto).isEmpty());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // THEN
+        List<ItineraryDto> result = subject.searchItineraries(itinerarySearchDto);
+        assertEquals(1, result.size());
+        assertEquals(0, new BigDecimal("80.00").compareTo(result.get(0).getTotalPrice()));
+    }
+
+    /**
+     * Unit test for ItineraryService:flightRemoved
+     */
+    @Test
+    void flightRemoved_WithoutTransaction_ShouldRemoveFlightImmediately() {
+        // GIVEN
+        FlightDto fakeFlightDto = getFakeFlightDto(DAY.atTime(9, 0));
+        ItinerarySearchDto itinerarySearchDto = search(fakeFlightDto.getDepartureAirport().getId(),
+                fakeFlightDto.getDestinationAirport().getId());
+        subject.flightChanged(fakeFlightDto);
+        assertEquals(1, subject.searchItineraries(itinerarySearchDto).size());
+
+        // WHEN
+        subject.flightRemoved(fakeFlightDto.getId());
+
+        // THEN
+        assertTrue(subject.searchItineraries(itinerarySearchDto).isEmpty());
+    }
+
+    /**
+     * Unit test for ItineraryService:searchItineraries
+     */
+    @Test
+    void searchItineraries_WithoutDate_ShouldThrowInvalidItinerarySearchException() {
+        // GIVEN
+        ItinerarySearchDto itinerarySearchDto = search(DtoModelFaker.fakeId(), DtoModelFaker.fakeId());
+        itinerarySearchDto.setDate(null);
+
+        // WHEN
+        // THEN
+        assertThrows(InvalidItinerarySearchException.class, () -> subject.searchItineraries(itinerarySearchDto));
+    }
+
+    /**
+     * Unit test for ItineraryService:searchItineraries
+     * Checking whether stops, connection times and limits out of their bounds are rejected
+     */
+    @Test
+    void searchItineraries_WithValuesOutOfBounds_ShouldThrowInvalidItinerarySearchException() {
+        // GIVEN
+        ItinerarySearchDto tooManyStops = search(DtoModelFaker.fakeId(), DtoModelFaker.fakeId());
+        tooManyStops.setMaxStops(3);
+        ItinerarySearchDto reversedConnectionTimes = search(DtoModelFaker.fakeId(), DtoModelFaker.fakeId());
+        reversedConnectionTimes.setMinConnectionMinutes(120);
+        reversedConnectionTimes.setMaxConnectionMinutes(60);
+        ItinerarySearchDto tooLongConnectionTime = search(DtoModelFaker.fakeId(), DtoModelFaker.fakeId());
+        tooLongConnectionTime.setMaxConnectionMinutes(ItineraryServiceImpl.MAX_CONNECTION_MINUTES + 1);
+        ItinerarySearchDto tooHighLimit = search(DtoModelFaker.fakeId(), DtoModelFaker.fakeId());
+        tooHighLimit.setLimit(ItineraryServiceImpl.MAX_LIMIT + 1);
+
+        // WHEN
+        // THEN
+        assertAll(
+                () -> assertThrows(InvalidItinerarySearchException.class, () -> subject.searchItineraries(tooManyStops)),
+                () -> assertThrows(InvalidItinerarySearchException.class, () -> subject.searchItineraries(reversedConnectionTimes)),
+                () -> assertThrows(InvalidItinerarySearchException.class, () -> subject.searchItineraries(tooLongConnectionTime)),
+                () -> assertThrows(InvalidItinerarySearchException.class, () -> subject.searchItineraries(tooHighLimit))
+        );
+    }
+
+    private static ItinerarySearchDto search(UUID from, UUID to) {
+        return ItinerarySearchDto.builder()
+                .from(from)
+                .to(to)
+                .date(DAY)
+                .build();
+    }
+
+    private static FlightEdge getFakeFlightEdge(UUID id, UUID deptAirportId, UUID destAirportId, LocalDateTime deletionTime) {
+        FlightEdge fakeFlightEdge = mock(FlightEdge.class);
+        when(fakeFlightEdge.getId()).thenReturn(id);
+        when(fakeFlightEdge.getDepartureAirportId()).thenReturn(deptAirportId);
+        when(fakeFlightEdge.getDestinationAirportId()).thenReturn(destAirportId);
+        when(fakeFlightEdge.getDepartureDate()).thenReturn(DAY.atTime(13, 0));
+        when(fakeFlightEdge.getArrivalDate()).thenReturn(DAY.atTime(15, 0));
+        when(fakeFlightEdge.getPrice()).thenReturn(new BigDecimal("90.00"));
+        when(fakeFlightEdge.getDeletionTime()).thenReturn(deletionTime);
+        return fakeFlightEdge;
+    }
+
+    private static FlightDto getFakeFlightDto(LocalDateTime departureDate) {
+        FlightDto fakeFlightDto = DtoModelFaker.getFakeFlightDto(DtoModelFaker.fakeId(), false);
+        fakeFlightDto.setDepartureAirport(AirportDto.builder().id(DtoModelFaker.fakeId()).build());
+        fakeFlightDto.setDestinationAirport(AirportDto.builder().id(DtoModelFaker.fakeId()).build());
+        fakeFlightDto.setDepartureDate(departureDate);
+        fakeFlightDto.setArrivalDate(departureDate.plusHours(3));
+        fakeFlightDto.setPrice(new BigDecimal("120.00"));
+        return fakeFlightDto;
+    }
+}
@@ -0,0 +1,174 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto;
+import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirlineEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.exception.notfound.FlightNotFoundException;
+import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.repository.flight.AircraftRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.AirlineRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.AirportRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional, the R2DBC connections only see the committed flights of the JDBC repositories.
+ * The saved rows are deleted after each test.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class ReactiveFlightServiceIT {
+
+    private final FlightRepository flightRepository;
+    private final AirportRepository airportRepository;
+    private final AircraftRepository aircraftRepository;
+    private final AirlineRepository airlineRepository;
+    private final FlightService flightService;
+    private final ReactiveFlightService reactiveFlightService;
+
+    private final List<FlightEntity> savedFlights = new ArrayList<>();
+
+    @Autowired
+    ReactiveFlightServiceIT(FlightRepository flightRepository, AirportRepository airportRepository,
+                            AircraftRepository aircraftRepository, AirlineRepository airlineRepository,
+                            FlightService flightService, ReactiveFlightService reactiveFlightService) {
+        this.flightRepository = flightRepository;
+        this.airportRepository = airportRepository;
+        this.aircraftRepository = aircraftRepository;
+        this.airlineRepository = airlineRepository;
+        this.flightService = flightService;
+        this.reactiveFlightService = reactiveFlightService;
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (FlightEntity flightEntity : savedFlights) {
+            flightRepository.deleteById(flightEntity.getId());
+            airportRepository.deleteById(flightEntity.getDepartureAirport().getId());
+            airportRepository.deleteById(flightEntity.getDestinationAirport().getId());
+            aircraftRepository.deleteById(flightEntity.getAircraft().getId());
+            airlineRepository.deleteById(flightEntity.getAirline().getId());
+        }
+    }
+
+    /**
+     * Integration test for ReactiveFlightService:getFlightById
+     * Checking whether the joined row is mapped the same as the flight read by FlightService
+     */
+    @Test
+    void getFlightById_WithReferences_ShouldReturnSameFlightAsFlightService() {
+        // GIVEN
+        FlightEntity fakeFlightEntity = saveFakeFlightEntityWithRelations();
+        FlightDto expectedFlightDto = flightService.getFlightById(fakeFlightEntity.getId());
+
+        // WHEN
+        FlightDto result = reactiveFlightService.getFlightById(fakeFlightEntity.getId()).block();
+
+        // THEN
+        assertNotNull(result);
+        assertAll(
+                () -> assertEquals(expectedFlightDto.getId(), result.getId()),
+                () -> assertEquals(expectedFlightDto.getVersion(), result.getVersion()),
+                () -> assertEquals(expectedFlightDto.getDepartureDate(), result.getDepartureDate()),
+                () -> assertEquals(expectedFlightDto.getArrivalDate(), result.getArrivalDate()),
+                () -> assertEquals(0, expectedFlightDto.getPrice().compareTo(result.getPrice())),
+                () -> assertEquals(expectedFlightDto.getDepartureAirport().getId(), result.getDepartureAirport().getId()),
+                () -> assertEquals(expectedFlightDto.getDepartureAirport().getCode(), result.getDepartureAirport().getCode()),
+                () -> assertEquals(expectedFlightDto.getDestinationAirport().getId(), result.getDestinationAirport().getId()),
+                () -> assertEquals(expectedFlightDto.getDestinationAirport().getName(), result.getDestinationAirport().getName()),
+                () -> assertEquals(expectedFlightDto.getAircraft().getId(), result.getAircraft().getId()),
+                () -> assertEquals(expectedFlightDto.getAircraft().getSeat(), result.getAircraft().getSeat()),
+                () -> assertEquals(expectedFlightDto.getAircraft().getManufacturerDate(), result.getAircraft().getManufacturerDate()),
+                () -> assertEquals(expectedFlightDto.getAirline().getId(), result.getAirline().getId()),
+                () -> assertEquals(expectedFlightDto.getAirline().getCountry(), result.getAirline().getCountry())
+        );
+    }
+
+    /**
+     * Integration test for ReactiveFlightService:getFlightById
+     */
+    @Test
+    void getFlightById_WithNotExistingId_ShouldThrowFlightNotFoundException() {
+        assertThrows(FlightNotFoundException.class,
+                () -> reactiveFlightService.getFlightById(EntityModelFaker.fakeId()).block());
+    }
+
+    /**
+     * Integration test for ReactiveFlightService:getAllFlights
+     * Checking whether the total is the same as the one of FlightService
+     */
+    @Test
+    void getAllFlights_RetrieveFlights_ShouldCountSameFlightsAsFlightService() {
+        // GIVEN
+        saveFakeFlightEntityWithRelations();
+        PageRequest pageable = PageRequest.of(0, 5);
+        long expectedTotal = flightService.getAllFlights(pageable).getTotalElements();
+
+        // WHEN
+        Page<FlightDto> result = reactiveFlightService.getAllFlights(pageable).block();
+
+        // THEN
+        assertNotNull(result);
+        assertAll(
+                () -> assertEquals(expectedTotal, result.getTotalElements()),
+                () -> assertTrue(result.getContent().size() <= 5)
+        );
+    }
+
+    /**
+     * Integration test for ReactiveFlightService:searchFlights
+     * Checking whether absent criteria are ignored and present ones are applied
+     */
+    @Test
+    void searchFlights_ByDepartureAirport_ShouldReturnFlightsOfDepartureAirport() {
+        // GIVEN
+        FlightEntity fakeFlightEntity = saveFakeFlightEntityWithRelations();
+        FlightSearchDto flightSearchDto = FlightSearchDto.builder()
+                .departureAirportId(fakeFlightEntity.getDepartureAirport().getId())
+                .build();
+
+        // WHEN
+        Page<FlightDto> result = reactiveFlightService.searchFlights(flightSearchDto, PageRequest.of(0, 20)).block();
+
+        // THEN
+        assertNotNull(result);
+        assertAll(
+                () -> assertEquals(1, result.getTotalElements()),
+                () -> assertEquals(fakeFlightEntity.getId(), result.getContent().get(0).getId()),
+                () -> assertEquals(fakeFlightEntity.getDepartureAirport().getId(),
+                        Objects.requireNonNull(result.getContent().get(0).getDepartureAirport()).getId())
+        );
+    }
+
+    private FlightEntity saveFakeFlightEntityWithRelations() {
+        AirportEntity fakeDeptAirportEntity = airportRepository.save(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), true));
+        AirportEntity fakeDestAirportEntity = airportRepository.save(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), true));
+        AircraftEntity fakeAircraftEntity = aircraftRepository.save(EntityModelFaker.getFakeAircraftEntity(EntityModelFaker.fakeId(), true));
+        AirlineEntity fakeAirlineEntity = airlineRepository.save(EntityModelFaker.getFakeAirlineEntity(EntityModelFaker.fakeId(), true));
+
+        FlightEntity fakeFlightEntity = EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), true);
+        fakeFlightEntity.setDepartureAirport(fakeDeptAirportEntity);
+        fakeFlightEntity.setDestinationAirport(fakeDestAirportEntity);
+        fakeFlightEntity.setAircraft(fakeAircraftEntity);
+        fakeFlightEntity.setAirline(fakeAirlineEntity);
+        FlightEntity savedFlightEntity = flightRepository.save(fakeFlightEntity);
+        savedFlights.add(savedFlightEntity);
+        return savedFlightEntity;
+    }
+}
@@ -0,0 +1,188 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightSearchDto;
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.exception.notfound.FlightNotFoundException;
+import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.faker.RowModelFaker;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightView;
+import com.tascigorkem.flightbookingservice.repository.flight.ReactiveFlightRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+class ReactiveFlightServiceTest {
+
+    private final ReactiveFlightRepository reactiveFlightRepository = mock(ReactiveFlightRepository.class);
+    private final ReactiveFlightService subject = new ReactiveFlightServiceImpl(reactiveFlightRepository);
+
+    /**
+     * Unit test for ReactiveFlightService:getAllFlights
+     */
+    @Test
+    void getAllFlights_RetrieveFlights_ShouldReturnPageOfNotDeletedFlights() {
+        // GIVEN
+        List<FlightEntity> fakeFlightEntityList = Arrays.asList(
+                getFakeFlightEntityWithRelations(),
+                getFakeFlightEntityWithRelations(),
+                getFakeFlightEntityWithRelations()
+        );
+        List<FlightView> fakeFlightViewList = fakeFlightEntityList.stream()
+                .map(RowModelFaker::toFlightView)
+                .collect(Collectors.toList());
+
+        Pageable pageable = PageRequest.of(2, 3);
+        when(reactiveFlightRepository.findPageByDeletionTimeIsNull(3, 6)).thenReturn(Flux.fromIterable(fakeFlightViewList));
+        when(reactiveFlightRepository.countByDeletionTimeIsNull()).thenReturn(Mono.just(9L));
+
+        // WHEN
+        StepVerifier.create(subject.getAllFlights(pageable))
+
+                // THEN
+                .assertNext(result -> assertAll(
+                        () -> assertEquals(fakeFlightEntityList.stream().map(FlightEntity::getId).collect(Collectors.toList()),
+                                result.getContent().stream().map(FlightDto::getId).collect(Collectors.toList())),
+                        () -> assertEquals(pageable, result.getPageable()),
+                        () -> assertEquals(9, result.getTotalElements()),
+                        () -> assertEquals(3, result.getTotalPages())
+                ))
+                .verifyComplete();
+
+        verify(reactiveFlightRepository).findPageByDeletionTimeIsNull(3, 6);
+    }
+
+    /**
+     * Unit test for ReactiveFlightService:streamAllFlights
+     */
+    @Test
+    void streamAllFlights_WithoutReferences_ShouldEmitFlightsWithoutReferences() {
+        // GIVEN
+        FlightEntity fakeFlightEntity = EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), true);
+        when(reactiveFlightRepository.findAllByDeletionTimeIsNull())
+                .thenReturn(Flux.just(RowModelFaker.toFlightView(fakeFlightEntity)));
+
+        // WHEN
+        StepVerifier.create(subject.streamAllFlights())
+
+                // THEN
+                .assertNext(result -> assertAll(
+                        () -> assertEquals(fakeFlightEntity.getId(), result.getId()),
+                        () -> assertEquals(fakeFlightEntity.getPrice(), result.getPrice()),
+                        () -> assertNull(result.getDepartureAirport()),
+                        () -> assertNull(result.getDestinationAirport()),
+                        () -> assertNull(result.getAircraft()),
+                        () -> assertNull(result.getAirline())
+                ))
+                .verifyComplete();
+    }
+
+    /**
+     * Unit test for ReactiveFlightService:searchFlights
+     */
+    @Test
+    void searchFlights_WithCriteria_ShouldPassCriteriaToSearchAndCount() {
+        // GIVEN
+        UUID fakeDeptAirportId = EntityModelFaker.fakeId();
+        FlightSearchDto flightSearchDto = FlightSearchDto.builder()
+                .departureAirportId(fakeDeptAirportId)
+                .maxPrice(BigDecimal.valueOf(100))
+                .build();
+        FlightEntity fakeFlightEntity = getFakeFlightEntityWithRelations();
+
+        Pageable pageable = PageRequest.of(0, 20);
+        when(reactiveFlightRepository.search(fakeDeptAirportId, null, null, null, BigDecimal.valueOf(100), 20, 0))
+                .thenReturn(Flux.just(RowModelFaker.toFlightView(fakeFlightEntity)));
+        when(reactiveFlightRepository.countSearch(fakeDeptAirportId, null, null, null, BigDecimal.valueOf(100)))
+                .thenReturn(Mono.just(1L));
+
+        // WHEN
+        StepVerifier.create(subject.searchFlights(flightSearchDto, pageable))
+
+                // THEN
+                .assertNext(result -> assertAll(
+                        () -> assertEquals(1, result.getTotalElements()),
+                        () -> assertFieldsBetweenEntityAndDto(fakeFlightEntity, result.getContent().get(0))
+                ))
+                .verifyComplete();
+    }
+
+    /**
+     * Unit test for ReactiveFlightService:getFlightById
+     */
+    @Test
+    void getFlightById_WithReferences_ShouldMapSameAsEntity() {
+        // GIVEN
+        FlightEntity fakeFlightEntity = getFakeFlightEntityWithRelations();
+        UUID fakeFlightId = fakeFlightEntity.getId();
+        when(reactiveFlightRepository.findById(fakeFlightId)).thenReturn(Mono.just(RowModelFaker.toFlightView(fakeFlightEntity)));
+
+        // WHEN
+        StepVerifier.create(subject.getFlightById(fakeFlightId))
+
+                // THEN
+                .assertNext(result -> assertFieldsBetweenEntityAndDto(fakeFlightEntity, result))
+                .verifyComplete();
+    }
+
+    /**
+     * Unit test for ReactiveFlightService:getFlightById
+     */
+    @Test
+    void getFlightById_WithNotExistingId_ShouldEmitFlightNotFoundException() {
+        // GIVEN
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+        when(reactiveFlightRepository.findById(fakeFlightId)).thenReturn(Mono.empty());
+
+        // WHEN
+        StepVerifier.create(subject.getFlightById(fakeFlightId))
+
+                // THEN
+                .expectError(FlightNotFoundException.class)
+                .verify();
+    }
+
+    private static void assertFieldsBetweenEntityAndDto(FlightEntity fakeFlightEntity, FlightDto flightDto) {
+        assertAll(
+                () -> assertEquals(fakeFlightEntity.getId(), flightDto.getId()),
+                () -> assertEquals(fakeFlightEntity.getCreationTime(), flightDto.getCreationTime()),
+                () -> assertEquals(fakeFlightEntity.getUpdateTime(), flightDto.getUpdateTime()),
+                () -> assertEquals(fakeFlightEntity.getVersion(), flightDto.getVersion()),
+                () -> assertEquals(fakeFlightEntity.getDepartureDate(), flightDto.getDepartureDate()),
+                () -> assertEquals(fakeFlightEntity.getArrivalDate(), flightDto.getArrivalDate()),
+                () -> assertEquals(fakeFlightEntity.getPrice(), flightDto.getPrice()),
+                () -> assertEquals(fakeFlightEntity.getDepartureAirport().getId(), flightDto.getDepartureAirport().getId()),
+                () -> assertEquals(fakeFlightEntity.getDepartureAirport().getCode(), flightDto.getDepartureAirport().getCode()),
+                () -> assertEquals(fakeFlightEntity.getDestinationAirport().getId(), flightDto.getDestinationAirport().getId()),
+                () -> assertEquals(fakeFlightEntity.getDestinationAirport().getCity(), flightDto.getDestinationAirport().getCity()),
+                () -> assertEquals(fakeFlightEntity.getAircraft().getId(), flightDto.getAircraft().getId()),
+                () -> assertEquals(fakeFlightEntity.getAircraft().getSeat(), flightDto.getAircraft().getSeat()),
+                () -> assertEquals(fakeFlightEntity.getAircraft().getManufacturerDate(), flightDto.getAircraft().getManufacturerDate()),
+                () -> assertEquals(fakeFlightEntity.getAirline().getId(), flightDto.getAirline().getId()),
+                () -> assertEquals(fakeFlightEntity.getAirline().getName(), flightDto.getAirline().getName())
+        );
+    }
+
+    private static FlightEntity getFakeFlightEntityWithRelations() {
+        FlightEntity fakeFlightEntity = EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), true);
+        fakeFlightEntity.setDepartureAirport(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), true));
+        fakeFlightEntity.setDestinationAirport(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), true));
+        fakeFlightEntity.setAircraft(EntityModelFaker.getFakeAircraftEntity(EntityModelFaker.fakeId(), true));
+        fakeFlightEntity.setAirline(EntityModelFaker.getFakeAirlineEntity(EntityModelFaker.fakeId(), true));
+        return fakeFlightEntity;
+    }
+}
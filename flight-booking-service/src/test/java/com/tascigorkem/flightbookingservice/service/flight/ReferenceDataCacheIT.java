@@ -0,0 +1,270 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.config.CacheConfiguration;
+import com.tascigorkem.flightbookingservice.dto.flight.AircraftDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirlineDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
+import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.repository.flight.AircraftRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.AirlineRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.AirportRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional, the caches of reference data are only written when the transaction of a write commits.
+ * The saved rows are deleted after each test.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class ReferenceDataCacheIT {
+
+    private final AirportRepository airportRepository;
+    private final AirlineRepository airlineRepository;
+    private final AircraftRepository aircraftRepository;
+    private final AirportService airportService;
+    private final AirlineService airlineService;
+    private final AircraftService aircraftService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache airportsCache;
+    private final Cache airlinesCache;
+    private final Cache aircraftsCache;
+
+    private final List<UUID> savedAirportIds = new ArrayList<>();
+    private final List<UUID> savedAirlineIds = new ArrayList<>();
+    private final List<UUID> savedAircraftIds = new ArrayList<>();
+
+    @Autowired
+    ReferenceDataCacheIT(AirportRepository airportRepository, AirlineRepository airlineRepository,
+                         AircraftRepository aircraftRepository, AirportService airportService,
+                         AirlineService airlineService, AircraftService aircraftService, CacheManager cacheManager,
+                         MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.airportRepository = airportRepository;
+        this.airlineRepository = airlineRepository;
+        this.aircraftRepository = aircraftRepository;
+        this.airportService = airportService;
+        this.airlineService = airlineService;
+        this.aircraftService = aircraftService;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.airportsCache = Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.AIRPORTS_CACHE));
+        this.airlinesCache = Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.AIRLINES_CACHE));
+        this.aircraftsCache = Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.AIRCRAFTS_CACHE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        savedAirportIds.forEach(airportsCache::evict);
+        savedAirlineIds.forEach(airlinesCache::evict);
+        savedAircraftIds.forEach(aircraftsCache::evict);
+        savedAirportIds.forEach(airportRepository::deleteById);
+        savedAirlineIds.forEach(airlineRepository::deleteById);
+        savedAircraftIds.forEach(aircraftRepository::deleteById);
+    }
+
+    /**
+     * Integration test for AirportService:getAirportById
+     * Checking whether the second read is served by the cache, counted as a hit, and is an equal copy
+     */
+    @Test
+    void getAirportById_ReadTwice_ShouldServeSecondReadFromCache() {
+        // GIVEN
+        UUID fakeAirportId = saveFakeAirport().getId();
+        double hitsBefore = cacheGets(CacheConfiguration.AIRPORTS_CACHE, "hit");
+
+        // WHEN
+        AirportDto firstResult = airportService.getAirportById(fakeAirportId);
+        AirportDto secondResult = airportService.getAirportById(fakeAirportId);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(firstResult, secondResult),
+                () -> assertNotSame(firstResult, secondResult),
+                () -> assertNotNull(airportsCache.get(fakeAirportId)),
+                () -> assertEquals(hitsBefore + 1, cacheGets(CacheConfiguration.AIRPORTS_CACHE, "hit"))
+        );
+    }
+
+    /**
+     * Integration test for AirportService:getAirportById
+     * Checking whether changing a returned airport, like a flight embedding it, does not change the cached one
+     */
+    @Test
+    void getAirportById_WithChangedResult_ShouldServeUnchangedAirport() {
+        // GIVEN
+        AirportEntity fakeAirportEntity = saveFakeAirport();
+        AirportDto firstResult = airportService.getAirportById(fakeAirportEntity.getId());
+
+        // WHEN
+        firstResult.setName(fakeAirportEntity.getName() + " changed");
+        AirportDto secondResult = airportService.getAirportById(fakeAirportEntity.getId());
+
+        // THEN
+        assertEquals(fakeAirportEntity.getName(), secondResult.getName());
+    }
+
+    /**
+     * Integration test for AirportService:updateAirport and AirportService:removeAirport
+     * Checking whether writes refresh and invalidate the cached airport
+     */
+    @Test
+    void updateAndRemoveAirport_WithCachedAirport_ShouldRefreshAndEvictCache() {
+        // GIVEN
+        AirportEntity fakeAirportEntity = saveFakeAirport();
+        UUID fakeAirportId = fakeAirportEntity.getId();
+        airportService.getAirportById(fakeAirportId);
+
+        // WHEN
+        AirportDto updateAirportDto = AirportDto.builder()
+                .id(fakeAirportId)
+                .name(fakeAirportEntity.getName() + " updated")
+                .code(fakeAirportEntity.getCode())
+                .city(fakeAirportEntity.getCity())
+                .build();
+        AirportDto updatedAirportDto = airportService.updateAirport(updateAirportDto);
+        // the caller changing its result afterwards does not change the cached airport
+        updatedAirportDto.setName(fakeAirportEntity.getName() + " changed");
+
+        // THEN
+        Cache.ValueWrapper updatedValue = airportsCache.get(fakeAirportId);
+        assertNotNull(updatedValue);
+        assertEquals(updateAirportDto.getName(), ((AirportDto) Objects.requireNonNull(updatedValue.get())).getName());
+
+        // WHEN
+        airportService.removeAirport(fakeAirportId);
+
+        // THEN
+        assertNull(airportsCache.get(fakeAirportId));
+    }
+
+    /**
+     * Integration test for AirportService:updateAirport
+     * Checking whether an update which is rolled back leaves the cached airport as it was
+     */
+    @Test
+    void updateAirport_WithRolledBackTransaction_ShouldKeepCachedAirport() {
+        // GIVEN
+        AirportEntity fakeAirportEntity = saveFakeAirport();
+        UUID fakeAirportId = fakeAirportEntity.getId();
+        AirportDto cachedAirportDto = airportService.getAirportById(fakeAirportId);
+
+        // WHEN
+        transactionTemplate.executeWithoutResult(status -> {
+            airportService.updateAirport(cachedAirportDto.toBuilder()
+                    .name(fakeAirportEntity.getName() + " updated")
+                    .build());
+            status.setRollbackOnly();
+        });
+
+        // THEN
+        assertEquals(cachedAirportDto, airportService.getAirportById(fakeAirportId));
+    }
+
+    /**
+     * Integration test for AirlineService:getAirlineById, AirlineService:updateAirline and AirlineService:removeAirline
+     * Checking whether the cached airline is an equal copy, refreshed by updates and invalidated by removal
+     */
+    @Test
+    void getUpdateAndRemoveAirline_WithCachedAirline_ShouldServeRefreshAndEvictCopies() {
+        // GIVEN
+        UUID fakeAirlineId = EntityModelFaker.fakeId();
+        airlineRepository.save(EntityModelFaker.getFakeAirlineEntity(fakeAirlineId, false));
+        savedAirlineIds.add(fakeAirlineId);
+        double hitsBefore = cacheGets(CacheConfiguration.AIRLINES_CACHE, "hit");
+
+        // WHEN
+        AirlineDto firstResult = airlineService.getAirlineById(fakeAirlineId);
+        firstResult.setName(firstResult.getName() + " changed");
+        AirlineDto secondResult = airlineService.getAirlineById(fakeAirlineId);
+
+        // THEN
+        assertAll(
+                () -> assertNotEquals(firstResult.getName(), secondResult.getName()),
+                () -> assertEquals(hitsBefore + 1, cacheGets(CacheConfiguration.AIRLINES_CACHE, "hit"))
+        );
+
+        // WHEN
+        AirlineDto updatedAirlineDto = airlineService.updateAirline(secondResult.toBuilder()
+                .name(secondResult.getName() + " updated")
+                .build());
+
+        // THEN
+        assertEquals(updatedAirlineDto, airlineService.getAirlineById(fakeAirlineId));
+
+        // WHEN
+        airlineService.removeAirline(fakeAirlineId);
+
+        // THEN
+        assertNull(airlinesCache.get(fakeAirlineId));
+    }
+
+    /**
+     * Integration test for AircraftService:getAircraftById, AircraftService:updateAircraft and AircraftService:removeAircraft
+     * Checking whether the cached aircraft is an equal copy, refreshed by updates and invalidated by removal
+     */
+    @Test
+    void getUpdateAndRemoveAircraft_WithCachedAircraft_ShouldServeRefreshAndEvictCopies() {
+        // GIVEN
+        UUID fakeAircraftId = EntityModelFaker.fakeId();
+        aircraftRepository.save(EntityModelFaker.getFakeAircraftEntity(fakeAircraftId, false));
+        savedAircraftIds.add(fakeAircraftId);
+        double hitsBefore = cacheGets(CacheConfiguration.AIRCRAFTS_CACHE, "hit");
+
+        // WHEN
+        AircraftDto firstResult = aircraftService.getAircraftById(fakeAircraftId);
+        firstResult.setCode(firstResult.getCode() + " changed");
+        AircraftDto secondResult = aircraftService.getAircraftById(fakeAircraftId);
+
+        // THEN
+        assertAll(
+                () -> assertNotEquals(firstResult.getCode(), secondResult.getCode()),
+                () -> assertEquals(hitsBefore + 1, cacheGets(CacheConfiguration.AIRCRAFTS_CACHE, "hit"))
+        );
+
+        // WHEN
+        AircraftDto updatedAircraftDto = aircraftService.updateAircraft(secondResult.toBuilder()
+                .seat((short) (secondResult.getSeat() + 1))
+                .build());
+
+        // THEN
+        assertEquals(updatedAircraftDto, aircraftService.getAircraftById(fakeAircraftId));
+
+        // WHEN
+        aircraftService.removeAircraft(fakeAircraftId);
+
+        // THEN
+        assertNull(aircraftsCache.get(fakeAircraftId));
+    }
+
+    private AirportEntity saveFakeAirport() {
+        AirportEntity airportEntity = airportRepository.save(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), false));
+        savedAirportIds.add(airportEntity.getId());
+        return airportEntity;
+    }
+
+    private double cacheGets(String cacheName, String result) {
+        FunctionCounter counter = meterRegistry.find("cache.gets")
+                .tags("cache", cacheName, "result", result)
+                .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+}
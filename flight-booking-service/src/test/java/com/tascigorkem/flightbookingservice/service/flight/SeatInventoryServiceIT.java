@@ -0,0 +1,154 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
+import com.tascigorkem.flightbookingservice.dto.flight.FlightDto;
+import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.enums.BookingState;
+import com.tascigorkem.flightbookingservice.exception.conflict.NoAvailableSeatException;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.repository.booking.BookingRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.AircraftRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import com.tascigorkem.flightbookingservice.service.booking.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional on purpose, every booking runs in its own transaction like concurrent requests do.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class SeatInventoryServiceIT {
+
+    private static final short SEAT_CAPACITY = 50;
+    private static final int BOOKING_ATTEMPTS = 2000;
+    private static final int THREADS = 32;
+
+    private final BookingService bookingService;
+    private final SeatInventoryService seatInventoryService;
+    private final BookingRepository bookingRepository;
+    private final FlightRepository flightRepository;
+    private final AircraftRepository aircraftRepository;
+
+    private final Queue<UUID> acceptedBookingIds = new ConcurrentLinkedQueue<>();
+    private FlightEntity fakeFlightEntity;
+    private AircraftEntity fakeAircraftEntity;
+
+    @Autowired
+    SeatInventoryServiceIT(BookingService bookingService, SeatInventoryService seatInventoryService,
+                           BookingRepository bookingRepository, FlightRepository flightRepository,
+                           AircraftRepository aircraftRepository) {
+        this.bookingService = bookingService;
+        this.seatInventoryService = seatInventoryService;
+        this.bookingRepository = bookingRepository;
+        this.flightRepository = flightRepository;
+        this.aircraftRepository = aircraftRepository;
+    }
+
+    @AfterEach
+    void cleanUp() {
+        acceptedBookingIds.forEach(bookingRepository::deleteById);
+        acceptedBookingIds.clear();
+        if (fakeFlightEntity != null) {
+            flightRepository.deleteById(fakeFlightEntity.getId());
+        }
+        if (fakeAircraftEntity != null) {
+            aircraftRepository.deleteById(fakeAircraftEntity.getId());
+        }
+    }
+
+    /**
+     * Stress test for BookingService:addBooking with SeatInventoryService:reserveSeat
+     * Checking whether parallel bookings of one flight never exceed the seat capacity
+     */
+    @Test
+    void addBooking_WithParallelBookingsOfOneFlight_ShouldNeverExceedSeatCapacity() throws Exception {
+        // GIVEN
+        givenFlightWithSeatCapacity(SEAT_CAPACITY);
+        FlightDto flightReference = FlightDto.builder().id(fakeFlightEntity.getId()).build();
+
+        AtomicInteger rejectedCount = new AtomicInteger();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+
+        // WHEN
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BOOKING_ATTEMPTS; i++) {
+            futures.add(executorService.submit(() -> {
+                startSignal.await();
+                BookingDto bookingDto = DtoModelFaker.getFakeBookingDto(null, false);
+                bookingDto.setState(BookingState.PENDING_PAYMENT.name());
+                bookingDto.setFlight(flightReference);
+                try {
+                    acceptedBookingIds.add(bookingService.addBooking(bookingDto).getId());
+                } catch (NoAvailableSeatException e) {
+                    rejectedCount.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executorService.shutdown();
+
+        // THEN
+        int bookedSeats = flightRepository.findById(fakeFlightEntity.getId()).orElseThrow(IllegalStateException::new).getBookedSeats();
+        assertAll(
+                () -> assertEquals(SEAT_CAPACITY, acceptedBookingIds.size()),
+                () -> assertEquals(BOOKING_ATTEMPTS - SEAT_CAPACITY, rejectedCount.get()),
+                () -> assertEquals(SEAT_CAPACITY, bookedSeats)
+        );
+    }
+
+    /**
+     * Integration test for SeatInventoryService:releaseSeat
+     * Checking whether a released seat can be booked again
+     */
+    @Test
+    void releaseSeat_WithFullFlight_ShouldMakeSeatAvailableAgain() {
+        // GIVEN
+        givenFlightWithSeatCapacity((short) 1);
+        UUID fakeFlightId = fakeFlightEntity.getId();
+        seatInventoryService.reserveSeat(fakeFlightId);
+        assertThrows(NoAvailableSeatException.class, () -> seatInventoryService.reserveSeat(fakeFlightId));
+
+        // WHEN
+        seatInventoryService.releaseSeat(fakeFlightId);
+
+        // THEN
+        assertDoesNotThrow(() -> seatInventoryService.reserveSeat(fakeFlightId));
+        assertEquals(1, flightRepository.findById(fakeFlightId).orElseThrow(IllegalStateException::new).getBookedSeats());
+    }
+
+    private void givenFlightWithSeatCapacity(short seatCapacity) {
+        AircraftEntity aircraftEntity = EntityModelFaker.getFakeAircraftEntity(EntityModelFaker.fakeId(), false);
+        aircraftEntity.setSeat(seatCapacity);
+        fakeAircraftEntity = aircraftRepository.save(aircraftEntity);
+
+        FlightEntity flightEntity = EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), false);
+        flightEntity.setAircraft(fakeAircraftEntity);
+        fakeFlightEntity = flightRepository.save(flightEntity);
+    }
+}
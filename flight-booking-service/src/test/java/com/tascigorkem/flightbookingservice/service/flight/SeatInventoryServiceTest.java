@@ -0,0 +1,86 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.exception.conflict.NoAvailableSeatException;
+import com.tascigorkem.flightbookingservice.exception.notfound.FlightNotFoundException;
+import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class SeatInventoryServiceTest {
+
+    private final FlightRepository flightRepository = mock(FlightRepository.class);
+    private final SeatInventoryService subject = new SeatInventoryServiceImpl(flightRepository);
+
+    /**
+     * Unit test for SeatInventoryService:reserveSeat
+     */
+    @Test
+    void reserveSeat_WithAvailableSeat_ShouldReserveSeat() {
+        // GIVEN
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+        when(flightRepository.reserveSeat(fakeFlightId)).thenReturn(1);
+
+        // WHEN
+        // THEN
+        assertDoesNotThrow(() -> subject.reserveSeat(fakeFlightId));
+        verify(flightRepository).reserveSeat(fakeFlightId);
+        verify(flightRepository, never()).findById(any(UUID.class));
+    }
+
+    /**
+     * Unit test for SeatInventoryService:reserveSeat
+     */
+    @Test
+    void reserveSeat_WithFullFlight_ShouldThrowNoAvailableSeatException() {
+        // GIVEN
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+        FlightEntity fakeFlightEntity = EntityModelFaker.getFakeFlightEntity(fakeFlightId, true);
+
+        when(flightRepository.reserveSeat(fakeFlightId)).thenReturn(0);
+        when(flightRepository.findById(fakeFlightId)).thenReturn(Optional.of(fakeFlightEntity));
+
+        // WHEN
+        // THEN
+        assertThrows(NoAvailableSeatException.class, () -> subject.reserveSeat(fakeFlightId));
+    }
+
+    /**
+     * Unit test for SeatInventoryService:reserveSeat
+     */
+    @Test
+    void reserveSeat_WithNotExistingFlight_ShouldThrowFlightNotFoundException() {
+        // GIVEN
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+
+        when(flightRepository.reserveSeat(fakeFlightId)).thenReturn(0);
+        when(flightRepository.findById(fakeFlightId)).thenReturn(Optional.empty());
+
+        // WHEN
+        // THEN
+        assertThrows(FlightNotFoundException.class, () -> subject.reserveSeat(fakeFlightId));
+    }
+
+    /**
+     * Unit test for SeatInventoryService:releaseSeat
+     */
+    @Test
+    void releaseSeat_WithFlightId_ShouldReleaseSeat() {
+        // GIVEN
+        UUID fakeFlightId = EntityModelFaker.fakeId();
+        when(flightRepository.releaseSeat(fakeFlightId)).thenReturn(1);
+
+        // WHEN
+        subject.releaseSeat(fakeFlightId);
+
+        // THEN
+        verify(flightRepository).releaseSeat(fakeFlightId);
+    }
+}
@@ -0,0 +1,177 @@
+package com.tascigorkem.flightbookingservice.service.flight;
+
+import com.tascigorkem.flightbookingservice.config.CacheConfiguration;
+import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
+import com.tascigorkem.flightbookingservice.dto.flight.AirportDto;
+import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
+import com.tascigorkem.flightbookingservice.entity.customer.CustomerEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AircraftEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirlineEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.AirportEntity;
+import com.tascigorkem.flightbookingservice.entity.flight.FlightEntity;
+import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.repository.booking.BookingRepository;
+import com.tascigorkem.flightbookingservice.repository.customer.CustomerRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.AircraftRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.AirlineRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.AirportRepository;
+import com.tascigorkem.flightbookingservice.repository.flight.FlightRepository;
+import com.tascigorkem.flightbookingservice.service.booking.BookingService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Transactional
+class SecondLevelCacheIT {
+
+    private final BookingRepository bookingRepository;
+    private final CustomerRepository customerRepository;
+    private final FlightRepository flightRepository;
+    private final AirportRepository airportRepository;
+    private final AircraftRepository aircraftRepository;
+    private final AirlineRepository airlineRepository;
+    private final BookingService bookingService;
+    private final AirportService airportService;
+    private final EntityManager entityManager;
+    private final Cache secondLevelCache;
+    private final Statistics statistics;
+
+    @Autowired
+    SecondLevelCacheIT(BookingRepository bookingRepository, CustomerRepository customerRepository,
+                       FlightRepository flightRepository, AirportRepository airportRepository,
+                       AircraftRepository aircraftRepository, AirlineRepository airlineRepository,
+                       BookingService bookingService, AirportService airportService,
+                       EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.bookingRepository = bookingRepository;
+        this.customerRepository = customerRepository;
+        this.flightRepository = flightRepository;
+        this.airportRepository = airportRepository;
+        this.aircraftRepository = aircraftRepository;
+        this.airlineRepository = airlineRepository;
+        this.bookingService = bookingService;
+        this.airportService = airportService;
+        this.entityManager = entityManager;
+        this.secondLevelCache = entityManagerFactory.getCache();
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Integration test for BookingService:getBookingById
+     * Checking whether the references of the flight are resolved from the second level cache once they are read,
+     * so a read in a new persistence context does not select airports, aircraft and airline again
+     */
+    @Test
+    void getBookingById_ReadTwice_ShouldResolveFlightReferencesFromSecondLevelCache() {
+        // GIVEN
+        FlightEntity fakeFlightEntity = flightRepository.save(getFakeFlightEntityWithRelations());
+        CustomerEntity fakeCustomerEntity = customerRepository.save(EntityModelFaker.getFakeCustomerEntity(EntityModelFaker.fakeId(), false));
+
+        UUID fakeBookingId = EntityModelFaker.fakeId();
+        BookingEntity fakeBookingEntity = EntityModelFaker.getFakeBookingEntity(fakeBookingId, false);
+        fakeBookingEntity.setCustomer(fakeCustomerEntity);
+        fakeBookingEntity.setFlight(fakeFlightEntity);
+        bookingRepository.save(fakeBookingEntity);
+
+        entityManager.flush();
+        entityManager.clear();
+        BookingDto firstResult = bookingService.getBookingById(fakeBookingId);
+
+        // a new persistence context, only the second level cache holds the references
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // WHEN
+        BookingDto secondResult = bookingService.getBookingById(fakeBookingId);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(firstResult.getFlight().getDepartureAirport(), secondResult.getFlight().getDepartureAirport()),
+                () -> assertEquals(firstResult.getFlight().getDestinationAirport(), secondResult.getFlight().getDestinationAirport()),
+                () -> assertEquals(firstResult.getFlight().getAircraft(), secondResult.getFlight().getAircraft()),
+                () -> assertEquals(firstResult.getFlight().getAirline(), secondResult.getFlight().getAirline()),
+                () -> assertEquals(0, statistics.getEntityStatistics(AirportEntity.class.getName()).getLoadCount()),
+                () -> assertEquals(0, statistics.getEntityStatistics(AircraftEntity.class.getName()).getLoadCount()),
+                () -> assertEquals(0, statistics.getEntityStatistics(AirlineEntity.class.getName()).getLoadCount()),
+                () -> assertEquals(2, statistics.getDomainDataRegionStatistics(CacheConfiguration.AIRPORT_REGION).getHitCount()),
+                () -> assertEquals(1, statistics.getDomainDataRegionStatistics(CacheConfiguration.AIRCRAFT_REGION).getHitCount()),
+                () -> assertEquals(1, statistics.getDomainDataRegionStatistics(CacheConfiguration.AIRLINE_REGION).getHitCount())
+        );
+    }
+
+    /**
+     * Integration test for AirportService:getAllAirports
+     * Checking whether the same page is served from the query cache without a statement
+     */
+    @Test
+    void getAllAirports_ReadTwice_ShouldServeSecondReadFromQueryCache() {
+        // GIVEN
+        // nothing is written in this transaction, a write to the airport table would invalidate the cached pages
+        PageRequest pageable = PageRequest.of(0, 5);
+        Page<AirportDto> firstResult = airportService.getAllAirports(pageable);
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // WHEN
+        Page<AirportDto> secondResult = airportService.getAllAirports(pageable);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(firstResult.getContent(), secondResult.getContent()),
+                () -> assertEquals(0, statistics.getPrepareStatementCount()),
+                () -> assertTrue(statistics.getQueryCacheHitCount() > 0)
+        );
+    }
+
+    /**
+     * Integration test for AirportService:removeAirport
+     * Checking whether the soft deleted airport is evicted, although hibernate does not see its native update
+     */
+    @Test
+    void removeAirport_WithCachedAirport_ShouldEvictAirportFromSecondLevelCache() {
+        // GIVEN
+        UUID fakeAirportId = EntityModelFaker.fakeId();
+        airportRepository.save(EntityModelFaker.getFakeAirportEntity(fakeAirportId, false));
+        entityManager.flush();
+        entityManager.clear();
+        airportRepository.findById(fakeAirportId);
+        assertTrue(secondLevelCache.contains(AirportEntity.class, fakeAirportId));
+
+        // WHEN
+        airportService.removeAirport(fakeAirportId);
+
+        // THEN
+        assertFalse(secondLevelCache.contains(AirportEntity.class, fakeAirportId));
+    }
+
+    private FlightEntity getFakeFlightEntityWithRelations() {
+        AirportEntity fakeDeptAirportEntity = airportRepository.save(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), false));
+        AirportEntity fakeDestAirportEntity = airportRepository.save(EntityModelFaker.getFakeAirportEntity(EntityModelFaker.fakeId(), false));
+        AircraftEntity fakeAircraftEntity = aircraftRepository.save(EntityModelFaker.getFakeAircraftEntity(EntityModelFaker.fakeId(), false));
+        AirlineEntity fakeAirlineEntity = airlineRepository.save(EntityModelFaker.getFakeAirlineEntity(EntityModelFaker.fakeId(), false));
+
+        FlightEntity fakeFlightEntity = EntityModelFaker.getFakeFlightEntity(EntityModelFaker.fakeId(), false);
+        fakeFlightEntity.setDepartureAirport(fakeDeptAirportEntity);
+        fakeFlightEntity.setDestinationAirport(fakeDestAirportEntity);
+        fakeFlightEntity.setAircraft(fakeAircraftEntity);
+        fakeFlightEntity.setAirline(fakeAirlineEntity);
+        return fakeFlightEntity;
+    }
+}
@@ -0,0 +1,77 @@
+package com.tascigorkem.flightbookingservice.service.kafka;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MeteredKafkaTemplateTest {
+
+    private static final String TOPIC = "booking-topic";
+
+    private final MockProducer<String, String> mockProducer = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+    @SuppressWarnings("unchecked")
+    private final ProducerFactory<String, String> producerFactory = mock(ProducerFactory.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MeteredKafkaTemplate<String, String> subject;
+
+    MeteredKafkaTemplateTest() {
+        when(producerFactory.createProducer()).thenReturn(mockProducer);
+        subject = new MeteredKafkaTemplate<>(producerFactory, meterRegistry);
+    }
+
+    /**
+     * Unit test for MeteredKafkaTemplate:doSend
+     * Checking whether the delivery is recorded once the broker acknowledged, not when the message is buffered
+     */
+    @Test
+    void send_WithAcknowledgedMessage_ShouldRecordSuccessOnAcknowledgement() {
+        // GIVEN
+        ListenableFuture<SendResult<String, String>> future = subject.send(TOPIC, "key", "message");
+        assertNull(meterRegistry.find(MeteredKafkaTemplate.DELIVERY_TIMER).timer());
+
+        // WHEN
+        mockProducer.completeNext();
+
+        // THEN
+        Timer result = meterRegistry.get(MeteredKafkaTemplate.DELIVERY_TIMER)
+                .tag("topic", TOPIC)
+                .tag("result", MeteredKafkaTemplate.SUCCESS)
+                .timer();
+        assertAll(
+                () -> assertTrue(future.isDone()),
+                () -> assertEquals(1, result.count()),
+                () -> assertNull(meterRegistry.find(MeteredKafkaTemplate.DELIVERY_TIMER)
+                        .tag("result", MeteredKafkaTemplate.FAILURE).timer())
+        );
+    }
+
+    /**
+     * Unit test for MeteredKafkaTemplate:doSend
+     */
+    @Test
+    void send_WithFailedMessage_ShouldRecordFailure() {
+        // GIVEN
+        ListenableFuture<SendResult<String, String>> future = subject.send(TOPIC, "key", "message");
+
+        // WHEN
+        mockProducer.errorNext(new TimeoutException("topic metadata not available after 2000 ms"));
+
+        // THEN
+        assertThrows(ExecutionException.class, future::get);
+        assertEquals(1, meterRegistry.get(MeteredKafkaTemplate.DELIVERY_TIMER)
+                .tag("topic", TOPIC)
+                .tag("result", MeteredKafkaTemplate.FAILURE)
+                .timer().count());
+    }
+}
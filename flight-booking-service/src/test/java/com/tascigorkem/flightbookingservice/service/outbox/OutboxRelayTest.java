@@ -0,0 +1,69 @@
+package com.tascigorkem.flightbookingservice.service.outbox;
+
+import com.tascigorkem.flightbookingservice.config.OutboxProperties;
+import com.tascigorkem.flightbookingservice.repository.outbox.OutboxPending;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final OutboxProperties outboxProperties = new OutboxProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxRelay subject = new OutboxRelay(outboxService, outboxProperties, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        subject.close();
+    }
+
+    /**
+     * Unit test for OutboxRelay:relay
+     * Checking whether batches are relayed while they are full and the pending events are published afterwards
+     */
+    @Test
+    void relay_WithFullBatches_ShouldRelayUntilBatchIsNotFullAndPublishLag() {
+        // GIVEN
+        OutboxPending outboxPending = mock(OutboxPending.class);
+        when(outboxPending.getCount()).thenReturn(3L);
+        when(outboxPending.getOldestCreationTime()).thenReturn(LocalDateTime.now().minusMinutes(2));
+
+        when(outboxService.relayEvents()).thenReturn(outboxProperties.getBatchSize(), outboxProperties.getBatchSize(), 7);
+        when(outboxService.getPendingEvents()).thenReturn(outboxPending);
+
+        // WHEN
+        subject.relay();
+
+        // THEN
+        verify(outboxService, times(3)).relayEvents();
+        assertAll(
+                () -> assertEquals(3, meterRegistry.get("booking.outbox.pending").gauge().value()),
+                () -> assertTrue(meterRegistry.get("booking.outbox.lag").gauge().value() >= 120),
+                () -> assertTrue(subject.getLag().compareTo(Duration.ofMinutes(2)) >= 0)
+        );
+    }
+
+    /**
+     * Unit test for OutboxRelay:relay
+     */
+    @Test
+    void relay_WithFailingDatabase_ShouldKeepFormerLag() {
+        // GIVEN
+        when(outboxService.relayEvents()).thenThrow(new IllegalStateException("connection refused"));
+
+        // WHEN
+        subject.relay();
+
+        // THEN
+        verify(outboxService, never()).getPendingEvents();
+        assertEquals(Duration.ZERO, subject.getLag());
+        assertEquals(0, subject.getPendingEvents());
+    }
+}
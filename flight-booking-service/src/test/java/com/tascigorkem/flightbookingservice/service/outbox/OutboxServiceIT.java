@@ -0,0 +1,231 @@
+package com.tascigorkem.flightbookingservice.service.outbox;
+
+import com.tascigorkem.flightbookingservice.dto.booking.BookingDto;
+import com.tascigorkem.flightbookingservice.dto.customer.CustomerDto;
+import com.tascigorkem.flightbookingservice.entity.customer.CustomerEntity;
+import com.tascigorkem.flightbookingservice.entity.outbox.OutboxEventEntity;
+import com.tascigorkem.flightbookingservice.enums.BookingEventType;
+import com.tascigorkem.flightbookingservice.enums.BookingState;
+import com.tascigorkem.flightbookingservice.faker.DtoModelFaker;
+import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.repository.booking.BookingRepository;
+import com.tascigorkem.flightbookingservice.repository.customer.CustomerRepository;
+import com.tascigorkem.flightbookingservice.repository.outbox.OutboxEventRepository;
+import com.tascigorkem.flightbookingservice.service.booking.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional, the outbox is only read by other transactions once the transaction of a booking committed.
+ * The relay is disabled, so it does not take the events of the tests. The saved rows are deleted after each test.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "booking-outbox.relay-enabled=false")
+class OutboxServiceIT {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final BookingRepository bookingRepository;
+    private final CustomerRepository customerRepository;
+    private final BookingService bookingService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final List<UUID> savedBookingIds = new ArrayList<>();
+    private final List<UUID> savedCustomerIds = new ArrayList<>();
+    private final List<UUID> savedEventIds = new ArrayList<>();
+
+    @Autowired
+    OutboxServiceIT(OutboxEventRepository outboxEventRepository, BookingRepository bookingRepository,
+                    CustomerRepository customerRepository, BookingService bookingService,
+                    PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.bookingRepository = bookingRepository;
+        this.customerRepository = customerRepository;
+        this.bookingService = bookingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        savedBookingIds.forEach(bookingId -> outboxEventRepository.deleteAll(
+                outboxEventRepository.findByAggregateIdOrderBySequenceNumber(bookingId)));
+        savedEventIds.forEach(outboxEventRepository::deleteById);
+        savedBookingIds.forEach(bookingRepository::deleteById);
+        savedCustomerIds.forEach(customerRepository::deleteById);
+    }
+
+    /**
+     * Integration test for OutboxService:addBookingEvent
+     * Checking whether the added and updated booking write their events and a rolled back booking writes none
+     */
+    @Test
+    void addBookingEvent_WithCommittedAndRolledBackBookings_ShouldWriteEventsOfCommittedOnly() {
+        // GIVEN
+        CustomerEntity customerEntity = saveFakeCustomer();
+
+        // WHEN
+        BookingDto addedBookingDto = addBooking(customerEntity);
+        addedBookingDto.setState(BookingState.APPROVED.name());
+        bookingService.updateBooking(addedBookingDto);
+        BookingDto rolledBackBookingDto = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return addBooking(customerEntity);
+        });
+        // never committed, nothing to delete
+        savedBookingIds.remove(rolledBackBookingDto.getId());
+
+        // THEN
+        List<OutboxEventEntity> result = outboxEventRepository.findByAggregateIdOrderBySequenceNumber(addedBookingDto.getId());
+        assertAll(
+                () -> assertEquals(2, result.size()),
+                () -> assertEquals(BookingEventType.CREATED.name(), result.get(0).getEventType()),
+                () -> assertEquals(BookingEventType.STATE_CHANGED.name(), result.get(1).getEventType()),
+                () -> assertEquals(addedBookingDto.getId().toString(), result.get(0).getMessageKey()),
+                () -> assertTrue(result.get(1).getPayload().contains(customerEntity.getEmail())),
+                () -> assertNull(result.get(0).getSentTime()),
+                () -> assertTrue(outboxEventRepository.findByAggregateIdOrderBySequenceNumber(rolledBackBookingDto.getId()).isEmpty())
+        );
+    }
+
+    /**
+     * Integration test for OutboxEventRepository:lockUnsentBatch
+     * Checking whether a concurrent relay skips the locked events and the events behind them of the same booking
+     */
+    @Test
+    void lockUnsentBatch_WhileBatchIsLocked_ShouldSkipLockedAndLaterEventsOfSameBooking() {
+        // GIVEN
+        UUID bookingId = EntityModelFaker.fakeId();
+        UUID otherBookingId = EntityModelFaker.fakeId();
+        LocalDateTime creationTime = LocalDateTime.now().minusYears(50);
+        UUID firstEventId = saveFakeEvent(bookingId, creationTime);
+        UUID secondEventId = saveFakeEvent(bookingId, creationTime.plusSeconds(1));
+        UUID otherEventId = saveFakeEvent(otherBookingId, creationTime.plusSeconds(2));
+        Set<UUID> eventIds = Set.of(firstEventId, secondEventId, otherEventId);
+
+        // WHEN
+        List<List<UUID>> result = transactionTemplate.execute(status -> {
+            List<UUID> lockedIds = idsOf(outboxEventRepository.lockUnsentBatch(1000, LocalDateTime.now()), eventIds);
+            List<UUID> concurrentlyLockedIds = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(
+                    concurrentStatus -> idsOf(outboxEventRepository.lockUnsentBatch(1000, LocalDateTime.now()), eventIds))).join();
+            return List.of(lockedIds, concurrentlyLockedIds);
+        });
+
+        // THEN
+        assertAll(
+                () -> assertEquals(List.of(firstEventId, otherEventId), result.get(0)),
+                () -> assertTrue(result.get(1).isEmpty())
+        );
+    }
+
+    /**
+     * Integration test for OutboxEventRepository:lockUnsentBatch
+     * Checking whether a backed off event holds back the later events of its booking and a parked one does not
+     */
+    @Test
+    void lockUnsentBatch_WithBackedOffAndParkedEvents_ShouldSkipBackedOffBookingOnly() {
+        // GIVEN
+        UUID backedOffBookingId = EntityModelFaker.fakeId();
+        UUID parkedBookingId = EntityModelFaker.fakeId();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime creationTime = now.minusYears(50);
+        UUID backedOffEventId = saveFakeEvent(backedOffBookingId, creationTime, now.plusMinutes(1), null);
+        UUID heldBackEventId = saveFakeEvent(backedOffBookingId, creationTime.plusSeconds(1));
+        UUID parkedEventId = saveFakeEvent(parkedBookingId, creationTime, now.minusMinutes(1), now.minusMinutes(1));
+        UUID releasedEventId = saveFakeEvent(parkedBookingId, creationTime.plusSeconds(1));
+        Set<UUID> eventIds = Set.of(backedOffEventId, heldBackEventId, parkedEventId, releasedEventId);
+
+        // WHEN
+        List<UUID> result = transactionTemplate.execute(status ->
+                idsOf(outboxEventRepository.lockUnsentBatch(1000, now), eventIds));
+        List<UUID> laterResult = transactionTemplate.execute(status ->
+                idsOf(outboxEventRepository.lockUnsentBatch(1000, now.plusMinutes(2)), eventIds));
+
+        // THEN
+        assertAll(
+                () -> assertEquals(List.of(releasedEventId), result),
+                () -> assertEquals(List.of(backedOffEventId, releasedEventId), laterResult)
+        );
+    }
+
+    /**
+     * Integration test for OutboxEventRepository:lockUnsentBatch
+     * Checking whether the events of a booking are taken in the order they were written, whatever their creation times
+     */
+    @Test
+    void lockUnsentBatch_WithEqualAndInvertedCreationTimes_ShouldLockFirstWrittenEventOnly() {
+        // GIVEN
+        UUID bookingId = EntityModelFaker.fakeId();
+        LocalDateTime creationTime = LocalDateTime.now().minusYears(50);
+        UUID firstEventId = saveFakeEvent(bookingId, creationTime);
+        // written by instances with the same and with a late clock
+        UUID sameTimeEventId = saveFakeEvent(bookingId, creationTime);
+        UUID earlierTimeEventId = saveFakeEvent(bookingId, creationTime.minusSeconds(1));
+        Set<UUID> eventIds = Set.of(firstEventId, sameTimeEventId, earlierTimeEventId);
+
+        // WHEN
+        List<UUID> result = transactionTemplate.execute(status ->
+                idsOf(outboxEventRepository.lockUnsentBatch(1000, LocalDateTime.now()), eventIds));
+
+        // THEN
+        assertEquals(List.of(firstEventId), result);
+    }
+
+    private CustomerEntity saveFakeCustomer() {
+        CustomerEntity customerEntity = customerRepository.save(EntityModelFaker.getFakeCustomerEntity(EntityModelFaker.fakeId(), true));
+        savedCustomerIds.add(customerEntity.getId());
+        return customerEntity;
+    }
+
+    private BookingDto addBooking(CustomerEntity customerEntity) {
+        BookingDto bookingDto = DtoModelFaker.getFakeBookingDto(null, false);
+        bookingDto.setState(BookingState.PENDING_PAYMENT.name());
+        bookingDto.setCustomer(CustomerDto.builder().id(customerEntity.getId()).build());
+        BookingDto addedBookingDto = bookingService.addBooking(bookingDto);
+        savedBookingIds.add(addedBookingDto.getId());
+        return addedBookingDto;
+    }
+
+    private UUID saveFakeEvent(UUID bookingId, LocalDateTime creationTime) {
+        return saveFakeEvent(bookingId, creationTime, null, null);
+    }
+
+    private UUID saveFakeEvent(UUID bookingId, LocalDateTime creationTime, LocalDateTime nextAttemptTime,
+                               LocalDateTime failedTime) {
+        UUID eventId = EntityModelFaker.fakeId();
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.save(OutboxEventEntity.builder()
+                .id(eventId)
+                .creationTime(creationTime)
+                .aggregateId(bookingId)
+                .eventType(BookingEventType.CREATED.name())
+                .topic("my-object-topic")
+                .messageKey(bookingId.toString())
+                .payload("{}")
+                .nextAttemptTime(nextAttemptTime)
+                .failedTime(failedTime)
+                .build()));
+        savedEventIds.add(eventId);
+        return eventId;
+    }
+
+    private static List<UUID> idsOf(List<OutboxEventEntity> outboxEventEntities, Set<UUID> eventIds) {
+        return outboxEventEntities.stream()
+                .map(OutboxEventEntity::getId)
+                .filter(eventIds::contains)
+                .collect(Collectors.toList());
+    }
+}
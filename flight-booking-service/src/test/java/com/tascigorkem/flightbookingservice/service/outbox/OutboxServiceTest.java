@@ -0,0 +1,205 @@
+package com.tascigorkem.flightbookingservice.service.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import com.tascigorkem.flightbookingservice.config.OutboxProperties;
+import com.tascigorkem.flightbookingservice.entity.booking.BookingEntity;
+import com.tascigorkem.flightbookingservice.entity.outbox.OutboxEventEntity;
+import com.tascigorkem.flightbookingservice.enums.BookingEventType;
+import com.tascigorkem.flightbookingservice.enums.BookingState;
+import com.tascigorkem.flightbookingservice.faker.EntityModelFaker;
+import com.tascigorkem.flightbookingservice.repository.outbox.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxServiceTest {
+
+    private static final String TOPIC = "booking-topic";
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, KafkaEmailMessageDto> kafkaTemplate = mock(KafkaTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final OutboxProperties outboxProperties = new OutboxProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxService subject = new OutboxServiceImpl(outboxEventRepository, entityManager, kafkaTemplate,
+            objectMapper, outboxProperties, meterRegistry);
+
+    OutboxServiceTest() {
+        outboxProperties.setTopic(TOPIC);
+        outboxProperties.setSendTimeout(Duration.ofMillis(200));
+    }
+
+    /**
+     * Unit test for OutboxService:addBookingEvent
+     */
+    @Test
+    void addBookingEvent_WithCustomer_ShouldPersistEmailMessageKeyedByBooking() throws Exception {
+        // GIVEN
+        UUID fakeBookingId = EntityModelFaker.fakeId();
+        BookingEntity fakeBookingEntity = EntityModelFaker.getFakeBookingEntity(fakeBookingId, true);
+        fakeBookingEntity.setState(BookingState.PENDING_PAYMENT.name());
+        fakeBookingEntity.setCustomer(EntityModelFaker.getFakeCustomerEntity(EntityModelFaker.fakeId(), true));
+
+        // WHEN
+        subject.addBookingEvent(fakeBookingEntity, BookingEventType.STATE_CHANGED);
+
+        // THEN
+        ArgumentCaptor<OutboxEventEntity> outboxEventCaptor = ArgumentCaptor.forClass(OutboxEventEntity.class);
+        verify(entityManager).persist(outboxEventCaptor.capture());
+        OutboxEventEntity result = outboxEventCaptor.getValue();
+        JsonNode payload = objectMapper.readTree(result.getPayload());
+        assertAll(
+                () -> assertEquals(fakeBookingId, result.getAggregateId()),
+                () -> assertEquals(BookingEventType.STATE_CHANGED.name(), result.getEventType()),
+                () -> assertEquals(TOPIC, result.getTopic()),
+                () -> assertEquals(fakeBookingId.toString(), result.getMessageKey()),
+                () -> assertNull(result.getSentTime()),
+                () -> assertEquals(fakeBookingEntity.getCustomer().getEmail(), payload.get("emailAddress").asText()),
+                () -> assertEquals(fakeBookingId.toString(), payload.get("bookingId").asText()),
+                () -> assertEquals(result.getId().toString(), payload.get("id").asText()),
+                () -> assertEquals("Your booking is pending payment", payload.get("subject").asText())
+        );
+    }
+
+    /**
+     * Unit test for OutboxService:addBookingEvent
+     */
+    @Test
+    void addBookingEvent_WithoutCustomer_ShouldNotPersistEvent() {
+        // GIVEN
+        BookingEntity fakeBookingEntity = EntityModelFaker.getFakeBookingEntity(EntityModelFaker.fakeId(), true);
+
+        // WHEN
+        subject.addBookingEvent(fakeBookingEntity, BookingEventType.CREATED);
+
+        // THEN
+        verifyNoInteractions(entityManager);
+    }
+
+    /**
+     * Unit test for OutboxService:relayEvents
+     * Checking whether acknowledged events are marked as sent and the others are left for the next batch
+     */
+    @Test
+    void relayEvents_WithFailedSend_ShouldMarkOnlyAcknowledgedEventsAsSent() {
+        // GIVEN
+        OutboxEventEntity acknowledgedEvent = getFakeOutboxEvent("{\"bookingId\":\"1\"}");
+        OutboxEventEntity failedEvent = getFakeOutboxEvent("{\"bookingId\":\"2\"}");
+        OutboxEventEntity timedOutEvent = getFakeOutboxEvent("{\"bookingId\":\"3\"}");
+        SettableListenableFuture<SendResult<String, KafkaEmailMessageDto>> acknowledged = new SettableListenableFuture<>();
+        acknowledged.set(null);
+        SettableListenableFuture<SendResult<String, KafkaEmailMessageDto>> failed = new SettableListenableFuture<>();
+        failed.setException(new IllegalStateException("broker not available"));
+
+        when(outboxEventRepository.lockUnsentBatch(eq(outboxProperties.getBatchSize()), any(LocalDateTime.class)))
+                .thenReturn(Arrays.asList(acknowledgedEvent, failedEvent, timedOutEvent));
+        when(kafkaTemplate.send(eq(TOPIC), eq(acknowledgedEvent.getMessageKey()), any())).thenReturn(acknowledged);
+        when(kafkaTemplate.send(eq(TOPIC), eq(failedEvent.getMessageKey()), any())).thenReturn(failed);
+        when(kafkaTemplate.send(eq(TOPIC), eq(timedOutEvent.getMessageKey()), any())).thenReturn(new SettableListenableFuture<>());
+
+        // WHEN
+        int result = subject.relayEvents();
+
+        // THEN
+        assertEquals(1, result);
+        verify(kafkaTemplate).send(eq(TOPIC), eq(acknowledgedEvent.getMessageKey()), argThat(message -> "1".equals(message.getBookingId())));
+        verify(outboxEventRepository).markSent(eq(Collections.singletonList(acknowledgedEvent.getId())), any(LocalDateTime.class));
+        verify(outboxEventRepository).markFailed(eq(Arrays.asList(failedEvent.getId(), timedOutEvent.getId())),
+                any(LocalDateTime.class), eq(1.0), eq(600.0));
+        verify(outboxEventRepository, never()).markParked(anyCollection(), any(LocalDateTime.class));
+        assertEquals(1, meterRegistry.counter("booking.outbox.sent").count());
+        assertEquals(2, meterRegistry.counter("booking.outbox.failed").count());
+    }
+
+    /**
+     * Unit test for OutboxService:relayEvents
+     */
+    @Test
+    void relayEvents_WithoutUnsentEvents_ShouldNotSend() {
+        // GIVEN
+        when(outboxEventRepository.lockUnsentBatch(anyInt(), any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+
+        // WHEN
+        int result = subject.relayEvents();
+
+        // THEN
+        assertEquals(0, result);
+        verifyNoInteractions(kafkaTemplate);
+        verify(outboxEventRepository, never()).markSent(anyCollection(), any(LocalDateTime.class));
+    }
+
+    /**
+     * Unit test for OutboxService:relayEvents
+     * Checking whether an event whose send fails every time is backed off until max attempts and then parked
+     */
+    @Test
+    void relayEvents_WithPermanentlyFailingSend_ShouldParkEventAfterMaxAttempts() {
+        // GIVEN
+        outboxProperties.setMaxAttempts(3);
+        // not json, so its send fails before it reaches the broker, every time
+        OutboxEventEntity poisonEvent = getFakeOutboxEvent("not json");
+        when(outboxEventRepository.lockUnsentBatch(anyInt(), any(LocalDateTime.class))).thenAnswer(invocation ->
+                poisonEvent.getFailedTime() == null ? Collections.singletonList(poisonEvent) : Collections.emptyList());
+        when(outboxEventRepository.markFailed(anyCollection(), any(LocalDateTime.class), anyDouble(), anyDouble()))
+                .thenAnswer(invocation -> {
+                    poisonEvent.setAttempts(poisonEvent.getAttempts() + 1);
+                    return 1;
+                });
+        when(outboxEventRepository.markParked(anyCollection(), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            poisonEvent.setAttempts(poisonEvent.getAttempts() + 1);
+            poisonEvent.setFailedTime(invocation.getArgument(1));
+            return 1;
+        });
+
+        // WHEN
+        int[] result = new int[4];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = subject.relayEvents();
+        }
+
+        // THEN
+        assertArrayEquals(new int[4], result);
+        verify(outboxEventRepository, times(2)).markFailed(eq(Collections.singletonList(poisonEvent.getId())),
+                any(LocalDateTime.class), anyDouble(), anyDouble());
+        verify(outboxEventRepository).markParked(eq(Collections.singletonList(poisonEvent.getId())), any(LocalDateTime.class));
+        verify(outboxEventRepository, never()).markSent(anyCollection(), any(LocalDateTime.class));
+        verifyNoInteractions(kafkaTemplate);
+        assertAll(
+                () -> assertEquals(3, poisonEvent.getAttempts()),
+                () -> assertNotNull(poisonEvent.getFailedTime()),
+                () -> assertEquals(3, meterRegistry.counter("booking.outbox.failed").count()),
+                () -> assertEquals(1, meterRegistry.counter("booking.outbox.parked").count())
+        );
+    }
+
+    private static OutboxEventEntity getFakeOutboxEvent(String payload) {
+        UUID bookingId = EntityModelFaker.fakeId();
+        return OutboxEventEntity.builder()
+                .id(EntityModelFaker.fakeId())
+                .creationTime(LocalDateTime.now())
+                .aggregateId(bookingId)
+                .eventType(BookingEventType.CREATED.name())
+                .topic(TOPIC)
+                .messageKey(bookingId.toString())
+                .payload(payload)
+                .build();
+    }
+}
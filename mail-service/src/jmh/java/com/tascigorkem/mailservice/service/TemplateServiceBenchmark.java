@@ -0,0 +1,82 @@
+package com.tascigorkem.mailservice.service;
+
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import com.tascigorkem.mailservice.dto.EmailContentDto;
+import org.openjdk.jmh.annotations.*;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders of the text and html email of a message, by {@link TemplateService} and, as "renderPerMessage",
+ * the way it rendered before: a new context and {@code process} by template name, into a new buffer each.
+ * With and without the template cache, without it every render parses both templates.
+ * The engine is configured like the one of spring.thymeleaf in application.yml. Run with the gc profiler
+ * of the benchmark profile, gc.alloc.rate.norm is bytes allocated per render.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TemplateServiceBenchmark {
+
+    private static final int MESSAGES = 1024;
+
+    @Param({"true", "false"})
+    public boolean templateCache;
+
+    private SpringTemplateEngine templateEngine;
+    private TemplateService templateService;
+    private KafkaEmailMessageDto[] messages;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        templateResolver.setCacheable(templateCache);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+
+        templateService = new TemplateService(templateEngine);
+        templateService.parseTemplates();
+
+        messages = new KafkaEmailMessageDto[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            messages[i] = new KafkaEmailMessageDto();
+            messages[i].setFullName("Customer " + i);
+            messages[i].setBookingId(UUID.randomUUID().toString());
+        }
+    }
+
+    @Benchmark
+    public EmailContentDto render() {
+        return templateService.generateProjectStatusChangeEmail(nextMessage());
+    }
+
+    @Benchmark
+    public EmailContentDto renderPerMessage() {
+        KafkaEmailMessageDto kafkaEmailMessageDto = nextMessage();
+        Context context = new Context();
+        context.setVariable("fullName", kafkaEmailMessageDto.getFullName());
+        context.setVariable("bookingId", kafkaEmailMessageDto.getBookingId());
+
+        return EmailContentDto
+                .builder()
+                .text(templateEngine.process("mail-content.txt", context))
+                .html(templateEngine.process("mail-content.html", context))
+                .build();
+    }
+
+    private KafkaEmailMessageDto nextMessage() {
+        return messages[next++ & (MESSAGES - 1)];
+    }
+}
@@ -0,0 +1,13 @@
+package com.tascigorkem.mailservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Emails are sent by the workers of EmailDispatcher instead of the consumer threads of the listeners,
+ * which are paused while "email-dispatcher.high-watermark" emails wait to be sent.
+ */
+@Configuration
+@EnableConfigurationProperties(EmailDispatcherProperties.class)
+public class EmailDispatcherConfiguration {
+}
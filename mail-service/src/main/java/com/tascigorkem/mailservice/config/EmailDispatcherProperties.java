@@ -0,0 +1,34 @@
+package com.tascigorkem.mailservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sending of the emails consumed by the listeners, configured by "email-dispatcher.*".
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "email-dispatcher")
+public class EmailDispatcherProperties {
+
+    // threads sending emails, each over a smtp connection of its own
+    private int workers = 4;
+
+    // emails queued or being sent at most, a listener dispatching more waits for them
+    private int capacity = 1000;
+
+    // the listeners are paused at this many emails in the dispatcher
+    private int highWatermark = 600;
+
+    // and resumed again at this many
+    private int lowWatermark = 200;
+
+    // emails sent per second by all workers together, 0 for no limit
+    private double sendRate = 0;
+
+    // wait for the queued emails on shutdown
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
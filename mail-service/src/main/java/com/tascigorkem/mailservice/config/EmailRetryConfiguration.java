@@ -0,0 +1,23 @@
+package com.tascigorkem.mailservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Emails which could not be sent are written to the retry topics of "email-retry.topics" and consumed by
+ * EmailRetryService, the ones which could not be sent from the last one to "email-retry.dead-letter-topic".
+ */
+@Configuration
+@EnableConfigurationProperties(EmailRetryProperties.class)
+public class EmailRetryConfiguration {
+
+    // resumes the consumers of the retry topics once the emails they wait for are due
+    @Bean
+    public ThreadPoolTaskScheduler emailRetryScheduler() {
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setThreadNamePrefix("email-retry-");
+        return taskScheduler;
+    }
+}
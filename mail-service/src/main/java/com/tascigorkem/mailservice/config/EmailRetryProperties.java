@@ -0,0 +1,37 @@
+package com.tascigorkem.mailservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retry topics of the emails which could not be sent, configured by "email-retry.*".
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "email-retry")
+public class EmailRetryProperties {
+
+    // in order, an email which could not be sent is sent again from the first one, then from the next one
+    private List<RetryTopicProperties> topics = new ArrayList<>();
+
+    // emails which could not be sent from the last retry topic either, or which can not be sent at all
+    private String deadLetterTopic = "my-object-topic-dlt";
+
+    // consumer group of the replay of the dead letter topic, its offsets are the emails replayed so far
+    private String replayGroupId = "mail-service-dlt-replay";
+
+    @Getter
+    @Setter
+    public static class RetryTopicProperties {
+
+        private String name;
+
+        // an email is sent again from the topic once this long after it was written to it
+        private Duration delay;
+    }
+}
@@ -1,5 +1,6 @@
 package com.tascigorkem.mailservice.config;
 
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,12 +25,12 @@ public class KafkaProducerConfiguration {
     }
 
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+    public ProducerFactory<String, KafkaEmailMessageDto> producerFactory() {
         return new DefaultKafkaProducerFactory<>(producerConfigs());
     }
 
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
+    public KafkaTemplate<String, KafkaEmailMessageDto> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 
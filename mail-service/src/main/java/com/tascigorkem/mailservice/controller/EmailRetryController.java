@@ -0,0 +1,24 @@
+package com.tascigorkem.mailservice.controller;
+
+import com.tascigorkem.mailservice.service.kafka.EmailRetryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/emails")
+public class EmailRetryController {
+
+    private final EmailRetryService emailRetryService;
+
+    /**
+     * @return number of email messages written from the dead letter topic to the object topic again
+     */
+    @PostMapping("/dead-letters/replay")
+    public int replayDeadLetters(@RequestParam(value = "max", defaultValue = "1000") int maxMessages) {
+        return emailRetryService.replayDeadLetters(maxMessages);
+    }
+}
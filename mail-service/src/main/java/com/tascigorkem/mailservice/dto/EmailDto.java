@@ -0,0 +1,14 @@
+package com.tascigorkem.mailservice.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailDto {
+    private String recipient;
+    private String subject;
+    private EmailContentDto content;
+}
@@ -0,0 +1,191 @@
+package com.tascigorkem.mailservice.service;
+
+import com.tascigorkem.mailservice.config.EmailDispatcherProperties;
+import com.tascigorkem.mailservice.dto.EmailDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.mail.MailException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Sends the emails of the listeners on worker threads, so a slow smtp server does not keep the consumer threads
+ * from polling and their consumers are not removed from the group after max.poll.interval.ms.
+ * The emails of one recipient are always sent by the same worker, in the order they were dispatched in,
+ * and together with the other emails of their dispatch for the same worker over one smtp connection.
+ * At most "email-dispatcher.capacity" emails are queued or being sent, at "email-dispatcher.high-watermark" of them
+ * the listener containers are paused until the workers got down to "email-dispatcher.low-watermark".
+ * A dispatch is acknowledged once every worker sent its emails, or handed the failed ones to onFailure, and every
+ * earlier dispatch of the same listener thread was acknowledged, so the committed offset of a partition never passes
+ * an email which was not sent. spring-kafka queues the acknowledgments of the workers and commits them on the consumer
+ * thread. The queued emails are sent on shutdown, the ones acknowledged after the containers stopped are consumed
+ * again after the restart.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class EmailDispatcher {
+
+    static final String QUEUED_GAUGE = "email.dispatcher.queued";
+
+    private final EmailDispatcherProperties emailDispatcherProperties;
+    private final EmailService emailService;
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    private final MeterRegistry meterRegistry;
+
+    private final List<ExecutorService> workers = new ArrayList<>();
+    // dispatches of each listener thread not acknowledged yet, in the order they were dispatched in
+    private final ThreadLocal<Deque<Dispatch>> pendingDispatches = ThreadLocal.withInitial(ArrayDeque::new);
+    private Semaphore capacity;
+    private TokenBucket sendRate;
+    private boolean listenersPaused;
+
+    @PostConstruct
+    public void startWorkers() {
+        EmailDispatcherProperties properties = emailDispatcherProperties;
+        if (properties.getLowWatermark() >= properties.getHighWatermark() || properties.getHighWatermark() > properties.getCapacity()) {
+            throw new IllegalStateException("email-dispatcher.low-watermark must be below high-watermark, which must not be above capacity");
+        }
+        capacity = new Semaphore(properties.getCapacity());
+        sendRate = properties.getSendRate() > 0 ? new TokenBucket(properties.getSendRate()) : null;
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            int worker = i;
+            workers.add(Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "email-dispatcher-" + worker)));
+        }
+        Gauge.builder(QUEUED_GAUGE, this, EmailDispatcher::getQueuedEmails)
+                .description("Emails queued or being sent")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stopWorkers() throws InterruptedException {
+        workers.forEach(ExecutorService::shutdown);
+        long deadline = System.nanoTime() + emailDispatcherProperties.getShutdownTimeout().toNanos();
+        for (ExecutorService worker : workers) {
+            if (!worker.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                log.warn("{} emails were not sent before shutdown", getQueuedEmails());
+                break;
+            }
+        }
+    }
+
+    /**
+     * Queues the emails to be sent by the workers and returns, it only waits while the dispatcher is full.
+     * Emails which could not be sent are passed to onFailure on the worker which sent them.
+     *
+     * @param acknowledgment of the records of the emails, acknowledged once they are sent, in the order of the dispatches
+     *                       of the calling listener thread, never if the dispatcher is shut down before
+     */
+    public void dispatch(List<EmailDto> emails, Acknowledgment acknowledgment,
+                         Consumer<Map<EmailDto, MailException>> onFailure) throws InterruptedException {
+        Map<ExecutorService, List<EmailDto>> emailsByWorker = new LinkedHashMap<>();
+        for (EmailDto email : emails) {
+            ExecutorService worker = workers.get(Math.floorMod(Objects.hashCode(email.getRecipient()), workers.size()));
+            emailsByWorker.computeIfAbsent(worker, key -> new ArrayList<>()).add(email);
+        }
+        Deque<Dispatch> dispatches = pendingDispatches.get();
+        Dispatch dispatch = new Dispatch(acknowledgment, emailsByWorker.size());
+        synchronized (dispatches) {
+            dispatches.add(dispatch);
+        }
+        if (emailsByWorker.isEmpty()) {
+            acknowledgeSent(dispatches);
+            return;
+        }
+        for (Map.Entry<ExecutorService, List<EmailDto>> workerEmails : emailsByWorker.entrySet()) {
+            List<EmailDto> batch = workerEmails.getValue();
+            int permits = Math.min(batch.size(), emailDispatcherProperties.getCapacity());
+            capacity.acquire(permits);
+            updateListeners();
+            try {
+                workerEmails.getKey().execute(() -> {
+                    try {
+                        send(batch, onFailure);
+                    } finally {
+                        capacity.release(permits);
+                        updateListeners();
+                    }
+                    if (dispatch.pendingWorkers.decrementAndGet() == 0) {
+                        acknowledgeSent(dispatches);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // shut down, the emails are consumed again after the restart
+                capacity.release(permits);
+                throw e;
+            }
+        }
+    }
+
+    int getQueuedEmails() {
+        return emailDispatcherProperties.getCapacity() - capacity.availablePermits();
+    }
+
+    private void send(List<EmailDto> batch, Consumer<Map<EmailDto, MailException>> onFailure) {
+        try {
+            if (sendRate != null) {
+                sendRate.take(batch.size());
+            }
+            Map<EmailDto, MailException> failedEmails = emailService.sendEmails(batch);
+            if (!failedEmails.isEmpty()) {
+                onFailure.accept(failedEmails);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted before sending {} emails", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Could not send {} emails", batch.size(), e);
+        }
+    }
+
+    /**
+     * Acknowledges the sent dispatches at the head of the dispatches of a listener thread,
+     * a sent dispatch behind one which is not sent yet waits for it.
+     */
+    private static void acknowledgeSent(Deque<Dispatch> dispatches) {
+        synchronized (dispatches) {
+            while (!dispatches.isEmpty() && dispatches.peek().pendingWorkers.get() == 0) {
+                dispatches.poll().acknowledgment.acknowledge();
+            }
+        }
+    }
+
+    private synchronized void updateListeners() {
+        int queuedEmails = getQueuedEmails();
+        if (!listenersPaused && queuedEmails >= emailDispatcherProperties.getHighWatermark()) {
+            listenersPaused = true;
+            kafkaListenerEndpointRegistry.getListenerContainers().forEach(MessageListenerContainer::pause);
+            log.info("Listeners paused with {} emails to send", queuedEmails);
+        } else if (listenersPaused && queuedEmails <= emailDispatcherProperties.getLowWatermark()) {
+            listenersPaused = false;
+            kafkaListenerEndpointRegistry.getListenerContainers().forEach(MessageListenerContainer::resume);
+            log.info("Listeners resumed with {} emails to send", queuedEmails);
+        }
+    }
+
+    private static class Dispatch {
+        private final Acknowledgment acknowledgment;
+        // workers which did not send their emails of the dispatch yet
+        private final AtomicInteger pendingWorkers;
+
+        private Dispatch(Acknowledgment acknowledgment, int workers) {
+            this.acknowledgment = acknowledgment;
+            this.pendingWorkers = new AtomicInteger(workers);
+        }
+    }
+}
@@ -1,15 +1,27 @@
 package com.tascigorkem.mailservice.service;
 
 import com.tascigorkem.mailservice.dto.EmailContentDto;
+import com.tascigorkem.mailservice.dto.EmailDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.mail.javamail.MimeMessagePreparator;
 import org.springframework.stereotype.Service;
 
+import javax.mail.SendFailedException;
+import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @RequiredArgsConstructor
 @Service
@@ -23,7 +35,78 @@ public class EmailService {
     private final JavaMailSender emailSender;
 
     public void sendEmail(String recipient, String subject, EmailContentDto content) {
-        MimeMessagePreparator messagePreparator = mimeMessage -> {
+        try {
+            emailSender.send(messagePreparator(recipient, subject, content));
+            log.info("Email sent with recipient: {}, subject: {}", recipient, subject);
+        } catch (MailException e) {
+            log.error("Could not send e-mail", e);
+        }
+    }
+
+    /**
+     * Sends all emails over one smtp connection, which is opened and authenticated once instead of once per email.
+     * An email which could not be sent does not keep the others from being sent, it is returned with its failure.
+     * See {@link #isRetryable(MailException)} whether sending it again may succeed.
+     *
+     * @return emails which could not be sent
+     */
+    public Map<EmailDto, MailException> sendEmails(List<EmailDto> emails) {
+        Map<EmailDto, MailException> failedEmails = new LinkedHashMap<>();
+        List<MimeMessage> mimeMessages = new ArrayList<>(emails.size());
+        Map<MimeMessage, EmailDto> emailsByMessage = new IdentityHashMap<>();
+        for (EmailDto email : emails) {
+            try {
+                MimeMessage mimeMessage = emailSender.createMimeMessage();
+                messagePreparator(email.getRecipient(), email.getSubject(), email.getContent()).prepare(mimeMessage);
+                mimeMessages.add(mimeMessage);
+                emailsByMessage.put(mimeMessage, email);
+            } catch (Exception e) {
+                // e.g. a malformed recipient address, only this email fails
+                failedEmails.put(email, new MailPreparationException(e));
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return failedEmails;
+        }
+        try {
+            // in the given order, the emails of a booking are sent in the order of its messages
+            emailSender.send(mimeMessages.toArray(new MimeMessage[0]));
+            log.info("{} emails sent", mimeMessages.size());
+        } catch (MailSendException e) {
+            // a failed connection fails all of them, without failed messages the sender did not tell which ones
+            if (e.getFailedMessages().isEmpty()) {
+                emailsByMessage.values().forEach(email -> failedEmails.put(email, e));
+            } else {
+                e.getFailedMessages().forEach((mimeMessage, failure) -> failedEmails.put(emailsByMessage.get(mimeMessage),
+                        new MailSendException("Could not send e-mail", failure)));
+            }
+            log.error("Could not send {} of {} e-mails", failedEmails.size(), emails.size(), e);
+        } catch (MailException e) {
+            emailsByMessage.values().forEach(email -> failedEmails.put(email, e));
+            log.error("Could not send {} e-mails", emails.size(), e);
+        }
+        return failedEmails;
+    }
+
+    /**
+     * @return false if the email can not be sent as it is, i.e. it could not be prepared or the smtp server
+     * rejected one of its recipients permanently, true for failures like an unavailable or busy server
+     */
+    public static boolean isRetryable(MailException failure) {
+        if (failure instanceof MailPreparationException || failure instanceof MailParseException) {
+            return false;
+        }
+        // invalid addresses are the ones rejected with a permanent (5xx) reply, temporary rejections are "valid unsent"
+        return !(failure.getCause() instanceof SendFailedException)
+                || isEmpty(((SendFailedException) failure.getCause()).getInvalidAddresses());
+    }
+
+    private static boolean isEmpty(Object[] array) {
+        return array == null || array.length == 0;
+    }
+
+    private MimeMessagePreparator messagePreparator(String recipient, String subject, EmailContentDto content) {
+        return mimeMessage -> {
             MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage, true);
             messageHelper.setFrom(emailFromAddress);
             messageHelper.setReplyTo(emailReplyToAddress);
@@ -31,13 +114,5 @@ public class EmailService {
             messageHelper.setSubject(subject);
             messageHelper.setText(content.getText(), content.getHtml());
         };
-        try {
-            emailSender.send(messagePreparator);
-            log.info("Email sent with recipient: {}, subject: {}", recipient, subject);
-        } catch (MailException e) {
-            log.error("Could not send e-mail", e);
-        }
     }
 }
-
-
@@ -1,26 +1,67 @@
 package com.tascigorkem.mailservice.service;
 
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
 import com.tascigorkem.mailservice.dto.EmailContentDto;
-import com.tascigorkem.mailservice.dto.kafka.KafkaEmailMessageDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.thymeleaf.TemplateSpec;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
 
+import javax.annotation.PostConstruct;
+import java.io.StringWriter;
+
+/**
+ * The templates are parsed once and then taken from the template cache of the engine (spring.thymeleaf.cache),
+ * which is keyed by template name and holds them for the lifetime of the application, i.e. of the template version
+ * packaged with it. They are parsed at startup, so a broken template fails the start instead of the first emails.
+ * Each listener thread renders with its own context and output buffer, both reused from message to message.
+ */
 @Service
 @RequiredArgsConstructor
 public class TemplateService {
+
+    static final TemplateSpec TEXT_TEMPLATE = new TemplateSpec("mail-content.txt", TemplateMode.TEXT);
+    static final TemplateSpec HTML_TEMPLATE = new TemplateSpec("mail-content.html", TemplateMode.HTML);
+
+    // larger buffers, e.g. of an unusually long name, are not kept
+    private static final int MAX_BUFFER_CAPACITY = 16 * 1024;
+
     private final SpringTemplateEngine templateEngine;
+    private final ThreadLocal<Renderer> renderers = ThreadLocal.withInitial(Renderer::new);
+
+    @PostConstruct
+    public void parseTemplates() {
+        generateProjectStatusChangeEmail(new KafkaEmailMessageDto());
+    }
 
     public EmailContentDto generateProjectStatusChangeEmail(KafkaEmailMessageDto kafkaEmailMessageDto) {
-        Context context = new Context();
+        Renderer renderer = renderers.get();
+        Context context = renderer.context;
+        context.clearVariables();
         context.setVariable("fullName", kafkaEmailMessageDto.getFullName());
         context.setVariable("bookingId", kafkaEmailMessageDto.getBookingId());
 
         return EmailContentDto
                 .builder()
-                .text(templateEngine.process("mail-content.txt", context))
-                .html(templateEngine.process("mail-content.html", context))
+                .text(renderer.render(TEXT_TEMPLATE))
+                .html(renderer.render(HTML_TEMPLATE))
                 .build();
     }
-}
\ No newline at end of file
+
+    private class Renderer {
+        private final Context context = new Context();
+        private StringWriter writer = new StringWriter(1024);
+
+        private String render(TemplateSpec templateSpec) {
+            if (writer.getBuffer().capacity() > MAX_BUFFER_CAPACITY) {
+                writer = new StringWriter(1024);
+            } else {
+                writer.getBuffer().setLength(0);
+            }
+            templateEngine.process(templateSpec, context, writer);
+            return writer.toString();
+        }
+    }
+}
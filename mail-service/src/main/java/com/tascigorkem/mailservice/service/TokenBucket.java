@@ -0,0 +1,43 @@
+package com.tascigorkem.mailservice.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit of tokensPerSecond, holding at most a second of tokens for a burst after an idle time.
+ * A take of more tokens than the bucket holds goes into debt, which the following takes wait for.
+ */
+class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refillTime;
+
+    TokenBucket(double tokensPerSecond) {
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = tokensPerSecond;
+        this.tokens = capacity;
+        this.refillTime = System.nanoTime();
+    }
+
+    /**
+     * Waits until the tokens are available and takes them.
+     */
+    void take(int count) throws InterruptedException {
+        long waitNanos = reserve(count);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * @return nanos until the taken tokens are available, 0 if they are already
+     */
+    synchronized long reserve(int count) {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refillTime) * tokensPerNano);
+        refillTime = now;
+        tokens -= count;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+}
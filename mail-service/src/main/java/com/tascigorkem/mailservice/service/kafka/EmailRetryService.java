@@ -0,0 +1,250 @@
+package com.tascigorkem.mailservice.service.kafka;
+
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import com.tascigorkem.mailservice.config.EmailRetryProperties;
+import com.tascigorkem.mailservice.config.EmailRetryProperties.RetryTopicProperties;
+import com.tascigorkem.mailservice.dto.EmailDto;
+import com.tascigorkem.mailservice.service.EmailDispatcher;
+import com.tascigorkem.mailservice.service.EmailService;
+import com.tascigorkem.mailservice.service.TemplateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.AcknowledgingConsumerAwareMessageListener;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.mail.MailException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Emails which could not be sent are not sent again by the listener of KafkaService, the emails behind them in
+ * the partition would wait for it. They are written to the first retry topic of "email-retry.topics" instead and
+ * sent again from it once its delay passed, then from the next retry topic and so on. An email is therefore sent
+ * at most once plus once per retry topic. The consumer of a retry topic does not wait for an email either, it seeks
+ * back to the email and pauses until the scheduler resumes it when the email is due. Due emails are sent by the
+ * workers of EmailDispatcher, like the ones of the listener.
+ * Emails which could not be sent from the last retry topic, or can not be sent at all, are written to the dead letter
+ * topic, from where they can be replayed to the object topic.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class EmailRetryService implements SmartLifecycle {
+
+    static final String FAILURE_HEADER = "email-failure";
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REPLAY_POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    @Value("${kafka-topics.kafka-object-topic.name}")
+    private String objectTopic;
+
+    private final EmailRetryProperties emailRetryProperties;
+    private final EmailDispatcher emailDispatcher;
+    private final TemplateService templateService;
+    private final ConsumerFactory<String, KafkaEmailMessageDto> consumerFactory;
+    private final KafkaTemplate<String, KafkaEmailMessageDto> kafkaTemplate;
+    private final TaskScheduler emailRetryScheduler;
+
+    private final List<RetryTopic> retryTopics = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * Writes the messages of emails which could not be sent to the first retry topic, or to the dead letter topic
+     * if sending them again would fail again, and waits until the broker acknowledged them.
+     */
+    public void retryLater(Map<KafkaEmailMessageDto, MailException> failedMessages) {
+        List<ListenableFuture<SendResult<String, KafkaEmailMessageDto>>> futures = new ArrayList<>();
+        failedMessages.forEach((message, failure) -> futures.add(forward(message, failure, 0)));
+        awaitAll(futures);
+    }
+
+    /**
+     * Writes the messages of the dead letter topic, at most maxMessages of them, to the object topic again, from where
+     * their emails are sent like new ones. The replayed messages are committed in "email-retry.replay-group-id",
+     * the next replay continues after them.
+     *
+     * @return number of replayed messages
+     */
+    public synchronized int replayDeadLetters(int maxMessages) {
+        String deadLetterTopic = emailRetryProperties.getDeadLetterTopic();
+        try (Consumer<String, KafkaEmailMessageDto> consumer =
+                     consumerFactory.createConsumer(emailRetryProperties.getReplayGroupId(), "-replay")) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(deadLetterTopic);
+            if (partitionInfos == null || partitionInfos.isEmpty()) {
+                return 0;
+            }
+            List<TopicPartition> partitions = new ArrayList<>();
+            partitionInfos.forEach(partitionInfo -> partitions.add(new TopicPartition(deadLetterTopic, partitionInfo.partition())));
+            consumer.assign(partitions);
+
+            List<ListenableFuture<SendResult<String, KafkaEmailMessageDto>>> futures = new ArrayList<>();
+            Map<TopicPartition, OffsetAndMetadata> replayedOffsets = new HashMap<>();
+            ConsumerRecords<String, KafkaEmailMessageDto> records = consumer.poll(REPLAY_POLL_TIMEOUT);
+            while (!records.isEmpty() && futures.size() < maxMessages) {
+                for (ConsumerRecord<String, KafkaEmailMessageDto> record : records) {
+                    if (futures.size() == maxMessages) {
+                        break;
+                    }
+                    // a message which could not be decoded can not be replayed, it is skipped
+                    if (record.value() != null) {
+                        futures.add(kafkaTemplate.send(objectTopic, record.key(), record.value()));
+                    }
+                    replayedOffsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                }
+                records = consumer.poll(REPLAY_POLL_TIMEOUT);
+            }
+            awaitAll(futures);
+            consumer.commitSync(replayedOffsets);
+            log.info("{} dead letter email messages replayed", futures.size());
+            return futures.size();
+        }
+    }
+
+    @Override
+    public void start() {
+        List<RetryTopicProperties> topics = emailRetryProperties.getTopics();
+        for (int i = 0; i < topics.size(); i++) {
+            RetryTopic retryTopic = new RetryTopic(i, topics.get(i));
+            retryTopics.add(retryTopic);
+            retryTopic.container.start();
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        retryTopics.forEach(retryTopic -> retryTopic.container.stop());
+        retryTopics.clear();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private ListenableFuture<SendResult<String, KafkaEmailMessageDto>> forward(KafkaEmailMessageDto message,
+                                                                               MailException failure, int retryTopicIndex) {
+        List<RetryTopicProperties> topics = emailRetryProperties.getTopics();
+        String topic;
+        if (!EmailService.isRetryable(failure) || retryTopicIndex >= topics.size()) {
+            topic = emailRetryProperties.getDeadLetterTopic();
+            log.error("Email message id: {} could not be sent, it is written to {}", message.getId(), topic, failure);
+        } else {
+            topic = topics.get(retryTopicIndex).getName();
+            log.warn("Email message id: {} could not be sent, it is written to {}: {}", message.getId(), topic, failure.getMessage());
+        }
+        ProducerRecord<String, KafkaEmailMessageDto> record = new ProducerRecord<>(topic, message.getBookingId(), message);
+        record.headers().add(FAILURE_HEADER, String.valueOf(failure.getMessage()).getBytes(StandardCharsets.UTF_8));
+        return kafkaTemplate.send(record);
+    }
+
+    private static void awaitAll(List<ListenableFuture<SendResult<String, KafkaEmailMessageDto>>> futures) {
+        try {
+            for (ListenableFuture<SendResult<String, KafkaEmailMessageDto>> future : futures) {
+                future.get(SEND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while writing email messages", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Could not write email messages", e);
+        }
+    }
+
+    /**
+     * Consumer of one retry topic, a single thread, so the state of its partitions is only accessed by it.
+     */
+    private class RetryTopic {
+        private final int index;
+        private final Duration delay;
+        // offset each partition was sought back to, the messages after it were polled already and are polled again
+        private final Map<TopicPartition, Long> waitingOffsets = new HashMap<>();
+        private final KafkaMessageListenerContainer<String, KafkaEmailMessageDto> container;
+
+        private RetryTopic(int index, RetryTopicProperties retryTopicProperties) {
+            this.index = index;
+            this.delay = retryTopicProperties.getDelay();
+
+            ContainerProperties containerProperties = new ContainerProperties(retryTopicProperties.getName());
+            // a group of its own, a rebalance of one retry topic does not stop the consumers of the others
+            containerProperties.setGroupId("mail-service-" + retryTopicProperties.getName());
+            // only the messages which were sent or forwarded are committed, not the ones waiting
+            containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+            containerProperties.setConsumerRebalanceListener(new ConsumerAwareRebalanceListener() {
+                @Override
+                public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                    // assigned partitions are consumed from their committed offsets
+                    waitingOffsets.clear();
+                }
+            });
+            containerProperties.setMessageListener(
+                    (AcknowledgingConsumerAwareMessageListener<String, KafkaEmailMessageDto>) this::onMessage);
+            container = new KafkaMessageListenerContainer<>(consumerFactory, containerProperties);
+            container.setBeanName("email-retry-" + index);
+        }
+
+        private void onMessage(ConsumerRecord<String, KafkaEmailMessageDto> record, Acknowledgment acknowledgment,
+                               Consumer<?, ?> consumer) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            Long waitingOffset = waitingOffsets.get(partition);
+            if (waitingOffset != null) {
+                if (record.offset() > waitingOffset) {
+                    return;
+                }
+                waitingOffsets.remove(partition);
+            }
+
+            Instant dueTime = Instant.ofEpochMilli(record.timestamp()).plus(delay);
+            if (dueTime.isAfter(Instant.now())) {
+                consumer.seek(partition, record.offset());
+                waitingOffsets.put(partition, record.offset());
+                // the consumer keeps polling while paused, without records, and stays in its group
+                container.pause();
+                emailRetryScheduler.schedule(container::resume, dueTime);
+                return;
+            }
+
+            KafkaEmailMessageDto message = record.value();
+            // a message which could not be decoded is acknowledged in turn without an email
+            List<EmailDto> emails = message == null ? List.of() : List.of(EmailDto.builder()
+                    .recipient(message.getEmailAddress())
+                    .subject(message.getSubject())
+                    .content(templateService.generateProjectStatusChangeEmail(message))
+                    .build());
+            try {
+                // acknowledged once the email is sent or forwarded, after the messages dispatched before it
+                emailDispatcher.dispatch(emails, acknowledgment, failedEmails -> failedEmails.values()
+                        .forEach(failure -> awaitAll(List.of(forward(message, failure, index + 1)))));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // not acknowledged, polled again after the restart
+            }
+        }
+    }
+}
@@ -1,34 +1,60 @@
 package com.tascigorkem.mailservice.service.kafka;
 
-import com.tascigorkem.mailservice.dto.kafka.KafkaEmailMessageDto;
-import com.tascigorkem.mailservice.service.EmailService;
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import com.tascigorkem.mailservice.dto.EmailDto;
+import com.tascigorkem.mailservice.service.EmailDispatcher;
 import com.tascigorkem.mailservice.service.TemplateService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.mail.MailException;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class KafkaService {
 
-    private final EmailService emailService;
+    private final EmailDispatcher emailDispatcher;
     private final TemplateService templateService;
+    private final EmailRetryService emailRetryService;
 
+    /**
+     * One consumer thread per partition, a partition and therefore the messages of one booking are only
+     * consumed by one of them, in order. Threads beyond the partitions of the topic would stay idle.
+     * The messages of a poll are rendered and handed to the workers of EmailDispatcher, which send them over one smtp
+     * connection per worker, so the consumer does not wait for the smtp server. The listener only waits while
+     * the dispatcher is full, and it is paused before that. The batch is acknowledged by the dispatcher once its emails
+     * are sent, so its offsets are only committed then.
+     * Emails which could not be sent are not sent again there, they are written to the retry topics, see EmailRetryService.
+     * Messages which could not be decoded are null, they are logged by the deserializer and skipped.
+     */
     @KafkaListener(topics = "${kafka-topics.kafka-object-topic.name}",
-            properties = {
-                    "spring.json.value.default.type=com.tascigorkem.mailservice.dto.kafka.KafkaEmailMessageDto",
-                    "spring.json.use.type.headers=false"
-            })
-    public void getJsonObjectFromTopic(@Payload KafkaEmailMessageDto kafkaEmailMessageDto) {
-        log.info("Received and will send email message object: {}", kafkaEmailMessageDto.toString());
+            concurrency = "${kafka-topics.kafka-object-topic.num-partitions}")
+    public void getJsonObjectsFromTopic(@Payload List<KafkaEmailMessageDto> kafkaEmailMessageDtos,
+                                        Acknowledgment acknowledgment) throws InterruptedException {
+        log.info("Received and will send {} email message objects", kafkaEmailMessageDtos.size());
 
-        emailService.sendEmail(
-                kafkaEmailMessageDto.getEmailAddress(),
-                kafkaEmailMessageDto.getSubject(),
-                templateService.generateProjectStatusChangeEmail(kafkaEmailMessageDto)
-        );
+        Map<EmailDto, KafkaEmailMessageDto> messagesByEmail = new LinkedHashMap<>();
+        kafkaEmailMessageDtos.stream()
+                .filter(Objects::nonNull)
+                .forEach(kafkaEmailMessageDto -> messagesByEmail.put(EmailDto.builder()
+                        .recipient(kafkaEmailMessageDto.getEmailAddress())
+                        .subject(kafkaEmailMessageDto.getSubject())
+                        .content(templateService.generateProjectStatusChangeEmail(kafkaEmailMessageDto))
+                        .build(), kafkaEmailMessageDto));
+        emailDispatcher.dispatch(new ArrayList<>(messagesByEmail.keySet()), acknowledgment, failedEmails -> {
+            Map<KafkaEmailMessageDto, MailException> failedMessages = new LinkedHashMap<>();
+            failedEmails.forEach((email, failure) -> failedMessages.put(messagesByEmail.get(email), failure));
+            emailRetryService.retryLater(failedMessages);
+        });
     }
 }
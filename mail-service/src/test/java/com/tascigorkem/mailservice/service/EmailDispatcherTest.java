@@ -0,0 +1,241 @@
+package com.tascigorkem.mailservice.service;
+
+import com.tascigorkem.mailservice.config.EmailDispatcherProperties;
+import com.tascigorkem.mailservice.dto.EmailContentDto;
+import com.tascigorkem.mailservice.dto.EmailDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmailDispatcherTest {
+
+    private final EmailService emailService = mock(EmailService.class);
+    private final MessageListenerContainer listenerContainer = mock(MessageListenerContainer.class);
+    private final EmailDispatcherProperties emailDispatcherProperties = new EmailDispatcherProperties();
+    private EmailDispatcher subject;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        subject.stopWorkers();
+    }
+
+    /**
+     * Unit test for EmailDispatcher:dispatch
+     * Checking whether the listeners are paused at the high watermark and resumed once the emails are sent
+     */
+    @Test
+    void dispatch_WithHighWatermarkOfEmails_ShouldPauseListenersUntilSent() throws InterruptedException {
+        // GIVEN
+        emailDispatcherProperties.setCapacity(10);
+        emailDispatcherProperties.setHighWatermark(6);
+        emailDispatcherProperties.setLowWatermark(2);
+        subject = getEmailDispatcher();
+        CountDownLatch smtpServerAvailable = new CountDownLatch(1);
+        when(emailService.sendEmails(anyList())).thenAnswer(invocation -> {
+            smtpServerAvailable.await();
+            return Collections.emptyMap();
+        });
+
+        // WHEN
+        subject.dispatch(getFakeEmails(5), mock(Acknowledgment.class), failedEmails -> fail());
+        verify(listenerContainer, never()).pause();
+        subject.dispatch(getFakeEmails(1), mock(Acknowledgment.class), failedEmails -> fail());
+
+        // THEN
+        verify(listenerContainer).pause();
+        verify(listenerContainer, never()).resume();
+        assertEquals(6, subject.getQueuedEmails());
+
+        smtpServerAvailable.countDown();
+        verify(listenerContainer, timeout(5_000)).resume();
+    }
+
+    /**
+     * Unit test for EmailDispatcher:dispatch
+     * Checking whether more workers send the emails of more recipients faster, however many listener threads dispatch them
+     */
+    @Test
+    void dispatch_WithMoreWorkers_ShouldSendFaster() throws InterruptedException {
+        // GIVEN
+        when(emailService.sendEmails(anyList())).thenAnswer(invocation -> {
+            List<EmailDto> emails = invocation.getArgument(0);
+            // a slow smtp server
+            Thread.sleep(20L * emails.size());
+            return Collections.emptyMap();
+        });
+        List<EmailDto> emails = getFakeEmails(48);
+
+        // WHEN
+        long singleWorkerMillis = timeToSend(1, emails);
+        long multipleWorkersMillis = timeToSend(4, emails);
+
+        // THEN
+        assertTrue(multipleWorkersMillis * 2 < singleWorkerMillis,
+                () -> "1 worker: " + singleWorkerMillis + "ms, 4 workers: " + multipleWorkersMillis + "ms");
+    }
+
+    /**
+     * Unit test for EmailDispatcher:dispatch
+     * Checking whether no more than a second of the send rate is sent at once
+     */
+    @Test
+    void dispatch_WithSendRate_ShouldSendNoFasterThanRate() throws InterruptedException {
+        // GIVEN
+        emailDispatcherProperties.setWorkers(2);
+        emailDispatcherProperties.setSendRate(20);
+        subject = getEmailDispatcher();
+        CountDownLatch sentEmails = new CountDownLatch(60);
+        when(emailService.sendEmails(anyList())).thenAnswer(invocation -> {
+            List<EmailDto> emails = invocation.getArgument(0);
+            emails.forEach(email -> sentEmails.countDown());
+            return Collections.emptyMap();
+        });
+        long startTime = System.nanoTime();
+
+        // WHEN
+        for (EmailDto email : getFakeEmails(60)) {
+            subject.dispatch(List.of(email), mock(Acknowledgment.class), failedEmails -> fail());
+        }
+
+        // THEN
+        assertTrue(sentEmails.await(10, TimeUnit.SECONDS));
+        // the first 20 at once, the other 40 at 20 per second
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        assertTrue(elapsedMillis >= 1900, () -> "elapsed " + elapsedMillis + "ms");
+    }
+
+    /**
+     * Unit test for EmailDispatcher:dispatch
+     */
+    @Test
+    void dispatch_WithFailedEmails_ShouldPassThemToOnFailure() throws InterruptedException {
+        // GIVEN
+        subject = getEmailDispatcher();
+        List<EmailDto> emails = getFakeEmails(1);
+        Map<EmailDto, MailException> failure = Map.of(emails.get(0), new MailSendException("Mail server connection failed"));
+        when(emailService.sendEmails(emails)).thenReturn(failure);
+        CountDownLatch failedEmails = new CountDownLatch(1);
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // WHEN
+        subject.dispatch(emails, acknowledgment, result -> {
+            verify(acknowledgment, never()).acknowledge();
+            assertEquals(failure, result);
+            failedEmails.countDown();
+        });
+
+        // THEN
+        assertTrue(failedEmails.await(5, TimeUnit.SECONDS));
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+    }
+
+    /**
+     * Unit test for EmailDispatcher:dispatch
+     * Checking whether a dispatch is acknowledged once all its emails are sent, and not before the dispatches before it
+     */
+    @Test
+    void dispatch_WithDispatchSentBeforeEarlierOne_ShouldAcknowledgeInDispatchOrder() throws InterruptedException {
+        // GIVEN
+        emailDispatcherProperties.setWorkers(2);
+        subject = getEmailDispatcher();
+        List<EmailDto> emails = getFakeEmails(8);
+        // the emails of one recipient are sent by the same worker, two recipients of different workers
+        EmailDto slowEmail = emails.get(0);
+        int slowWorker = Math.floorMod(slowEmail.getRecipient().hashCode(), 2);
+        EmailDto fastEmail = emails.stream()
+                .filter(email -> Math.floorMod(email.getRecipient().hashCode(), 2) != slowWorker)
+                .findFirst()
+                .orElseThrow();
+        CountDownLatch smtpServerAvailable = new CountDownLatch(1);
+        CountDownLatch fastEmailSent = new CountDownLatch(1);
+        when(emailService.sendEmails(anyList())).thenAnswer(invocation -> {
+            List<EmailDto> batch = invocation.getArgument(0);
+            if (batch.contains(slowEmail)) {
+                smtpServerAvailable.await();
+            } else {
+                fastEmailSent.countDown();
+            }
+            return Collections.emptyMap();
+        });
+        Acknowledgment firstAcknowledgment = mock(Acknowledgment.class);
+        Acknowledgment secondAcknowledgment = mock(Acknowledgment.class);
+        Acknowledgment emptyAcknowledgment = mock(Acknowledgment.class);
+
+        // WHEN
+        subject.dispatch(List.of(slowEmail, fastEmail), firstAcknowledgment, failedEmails -> fail());
+        subject.dispatch(List.of(fastEmail), secondAcknowledgment, failedEmails -> fail());
+        subject.dispatch(List.of(), emptyAcknowledgment, failedEmails -> fail());
+
+        // THEN
+        assertTrue(fastEmailSent.await(5, TimeUnit.SECONDS));
+        verify(emailService, timeout(5_000).times(3)).sendEmails(anyList());
+        verify(firstAcknowledgment, after(200).never()).acknowledge();
+        verify(secondAcknowledgment, never()).acknowledge();
+        verify(emptyAcknowledgment, never()).acknowledge();
+
+        smtpServerAvailable.countDown();
+        verify(emptyAcknowledgment, timeout(5_000)).acknowledge();
+        InOrder inOrder = inOrder(firstAcknowledgment, secondAcknowledgment, emptyAcknowledgment);
+        inOrder.verify(firstAcknowledgment).acknowledge();
+        inOrder.verify(secondAcknowledgment).acknowledge();
+        inOrder.verify(emptyAcknowledgment).acknowledge();
+    }
+
+    /**
+     * @return milliseconds from dispatching the emails one at a time, like a single listener thread, until all are sent
+     */
+    private long timeToSend(int workers, List<EmailDto> emails) throws InterruptedException {
+        emailDispatcherProperties.setWorkers(workers);
+        subject = getEmailDispatcher();
+        CountDownLatch sentEmails = new CountDownLatch(emails.size());
+        long startTime = System.nanoTime();
+        for (EmailDto email : emails) {
+            Acknowledgment acknowledgment = mock(Acknowledgment.class);
+            doAnswer(invocation -> {
+                sentEmails.countDown();
+                return null;
+            }).when(acknowledgment).acknowledge();
+            subject.dispatch(List.of(email), acknowledgment, failedEmails -> fail());
+        }
+        assertTrue(sentEmails.await(10, TimeUnit.SECONDS));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        subject.stopWorkers();
+        return elapsedMillis;
+    }
+
+    private EmailDispatcher getEmailDispatcher() {
+        KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry = mock(KafkaListenerEndpointRegistry.class);
+        when(kafkaListenerEndpointRegistry.getListenerContainers()).thenReturn(List.of(listenerContainer));
+        EmailDispatcher emailDispatcher = new EmailDispatcher(emailDispatcherProperties, emailService,
+                kafkaListenerEndpointRegistry, new SimpleMeterRegistry());
+        emailDispatcher.startWorkers();
+        return emailDispatcher;
+    }
+
+    private static List<EmailDto> getFakeEmails(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> EmailDto.builder()
+                        .recipient("customer" + i + "@example.com")
+                        .subject("Your booking is approved")
+                        .content(new EmailContentDto("Dear Customer " + i, "<p>Dear Customer " + i + "</p>"))
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,125 @@
+package com.tascigorkem.mailservice.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.tascigorkem.mailservice.dto.EmailContentDto;
+import com.tascigorkem.mailservice.dto.EmailDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Against GreenMail as a local smtp server in place of MailHog.
+ */
+class EmailServiceIT {
+
+    private static final int EMAILS = 200;
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final EmailService subject = getEmailService(ServerSetupTest.SMTP.getPort());
+
+    /**
+     * Integration test for EmailService:sendEmails
+     * Checking whether sending over one connection is faster than one connection per email
+     */
+    @Test
+    void sendEmails_WithBatch_ShouldSendAllFasterThanOneByOne() {
+        // GIVEN
+        List<EmailDto> emails = getFakeEmails(EMAILS);
+        // connections and messages of both ways once before measuring
+        sendOneByOne(getFakeEmails(20));
+        subject.sendEmails(getFakeEmails(20));
+        greenMail.reset();
+
+        // WHEN
+        long oneByOneStartTime = System.nanoTime();
+        sendOneByOne(emails);
+        long oneByOneNanos = System.nanoTime() - oneByOneStartTime;
+
+        long batchStartTime = System.nanoTime();
+        Map<EmailDto, MailException> result = subject.sendEmails(emails);
+        long batchNanos = System.nanoTime() - batchStartTime;
+
+        // THEN
+        assertAll(
+                () -> assertTrue(result.isEmpty()),
+                () -> assertEquals(2 * EMAILS, greenMail.getReceivedMessages().length),
+                () -> assertTrue(batchNanos < oneByOneNanos,
+                        () -> "one by one: " + oneByOneNanos / 1_000_000 + "ms, batch: " + batchNanos / 1_000_000 + "ms")
+        );
+    }
+
+    /**
+     * Integration test for EmailService:sendEmails
+     * Checking whether all emails are returned as failed and may be sent again later
+     */
+    @Test
+    void sendEmails_WithUnreachableServer_ShouldReturnAllAsRetryable() {
+        // GIVEN
+        EmailService unreachableEmailService = getEmailService(ServerSetupTest.SMTP.getPort() + 1);
+
+        // WHEN
+        Map<EmailDto, MailException> result = unreachableEmailService.sendEmails(getFakeEmails(3));
+
+        // THEN
+        assertEquals(3, result.size());
+        assertTrue(result.values().stream().allMatch(EmailService::isRetryable));
+    }
+
+    /**
+     * Integration test for EmailService:sendEmails
+     * Checking whether an email to a malformed address fails alone and is not sent again
+     */
+    @Test
+    void sendEmails_WithMalformedAddress_ShouldReturnItAsNotRetryable() {
+        // GIVEN
+        List<EmailDto> emails = getFakeEmails(3);
+        emails.get(1).setRecipient("Customer 1 <customer1@example.com");
+
+        // WHEN
+        Map<EmailDto, MailException> result = subject.sendEmails(emails);
+
+        // THEN
+        assertAll(
+                () -> assertEquals(Set.of(emails.get(1)), result.keySet()),
+                () -> assertFalse(EmailService.isRetryable(result.get(emails.get(1)))),
+                () -> assertEquals(2, greenMail.getReceivedMessages().length)
+        );
+    }
+
+    private void sendOneByOne(List<EmailDto> emails) {
+        emails.forEach(email -> subject.sendEmail(email.getRecipient(), email.getSubject(), email.getContent()));
+    }
+
+    private static EmailService getEmailService(int port) {
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(port);
+        EmailService emailService = new EmailService(javaMailSender);
+        ReflectionTestUtils.setField(emailService, "emailFromAddress", "noreply@example.com");
+        ReflectionTestUtils.setField(emailService, "emailReplyToAddress", "noreply@example.com");
+        return emailService;
+    }
+
+    private static List<EmailDto> getFakeEmails(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> EmailDto.builder()
+                        .recipient("customer" + i + "@example.com")
+                        .subject("Your booking is approved")
+                        .content(new EmailContentDto("Dear Customer " + i, "<p>Dear Customer " + i + "</p>"))
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
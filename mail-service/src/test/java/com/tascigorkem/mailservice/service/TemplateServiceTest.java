@@ -0,0 +1,51 @@
+package com.tascigorkem.mailservice.service;
+
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import com.tascigorkem.mailservice.dto.EmailContentDto;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateServiceTest {
+
+    private final TemplateService subject = new TemplateService(getTemplateEngine());
+
+    /**
+     * Unit test for TemplateService:generateProjectStatusChangeEmail
+     * Checking whether a message without booking is not rendered with the booking of the former message
+     */
+    @Test
+    void generateProjectStatusChangeEmail_AfterFormerMessage_ShouldRenderOnlyVariablesOfMessage() {
+        // GIVEN
+        KafkaEmailMessageDto formerMessage = new KafkaEmailMessageDto();
+        formerMessage.setFullName("Jane Roe");
+        formerMessage.setBookingId("former-booking-id");
+        subject.generateProjectStatusChangeEmail(formerMessage);
+
+        KafkaEmailMessageDto message = new KafkaEmailMessageDto();
+        message.setFullName("John Doe");
+
+        // WHEN
+        EmailContentDto result = subject.generateProjectStatusChangeEmail(message);
+
+        // THEN
+        assertAll(
+                () -> assertTrue(result.getText().startsWith("Hello John Doe,")),
+                () -> assertTrue(result.getHtml().contains("<span>John Doe</span>")),
+                () -> assertFalse(result.getText().contains("former-booking-id")),
+                () -> assertFalse(result.getHtml().contains("former-booking-id")),
+                () -> assertFalse(result.getHtml().contains("Jane Roe"))
+        );
+    }
+
+    private static SpringTemplateEngine getTemplateEngine() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        return templateEngine;
+    }
+}
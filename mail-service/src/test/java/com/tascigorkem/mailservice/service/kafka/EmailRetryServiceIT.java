@@ -0,0 +1,211 @@
+package com.tascigorkem.mailservice.service.kafka;
+
+import com.tascigorkem.eventcontract.codec.KafkaEmailMessageDeserializer;
+import com.tascigorkem.eventcontract.codec.KafkaEmailMessageSerializer;
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import com.tascigorkem.mailservice.config.EmailDispatcherProperties;
+import com.tascigorkem.mailservice.config.EmailRetryProperties;
+import com.tascigorkem.mailservice.config.EmailRetryProperties.RetryTopicProperties;
+import com.tascigorkem.mailservice.dto.EmailContentDto;
+import com.tascigorkem.mailservice.dto.EmailDto;
+import com.tascigorkem.mailservice.service.EmailDispatcher;
+import com.tascigorkem.mailservice.service.EmailService;
+import com.tascigorkem.mailservice.service.TemplateService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EmailRetryService against an embedded broker, with two retry topics of DELAY each and an EmailService which
+ * fails as the test tells it to, behind an EmailDispatcher with its defaults.
+ */
+class EmailRetryServiceIT {
+
+    private static final String OBJECT_TOPIC = "object-topic";
+    private static final String FIRST_RETRY_TOPIC = "object-topic-retry-first";
+    private static final String SECOND_RETRY_TOPIC = "object-topic-retry-second";
+    private static final String DEAD_LETTER_TOPIC = "object-topic-dlt";
+    private static final Duration DELAY = Duration.ofSeconds(2);
+
+    private static EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    private final EmailService emailService = mock(EmailService.class);
+    private final TemplateService templateService = mock(TemplateService.class);
+    private final ThreadPoolTaskScheduler emailRetryScheduler = new ThreadPoolTaskScheduler();
+    private DefaultKafkaProducerFactory<String, KafkaEmailMessageDto> producerFactory;
+    private EmailDispatcher emailDispatcher;
+    private EmailRetryService subject;
+
+    @BeforeAll
+    static void setUpBroker() {
+        embeddedKafkaBroker = new EmbeddedKafkaBroker(1, false, 1,
+                OBJECT_TOPIC, FIRST_RETRY_TOPIC, SECOND_RETRY_TOPIC, DEAD_LETTER_TOPIC);
+        embeddedKafkaBroker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void tearDownBroker() {
+        embeddedKafkaBroker.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(templateService.generateProjectStatusChangeEmail(any())).thenReturn(new EmailContentDto("text", "html"));
+        emailRetryScheduler.initialize();
+        producerFactory = new DefaultKafkaProducerFactory<>(KafkaTestUtils.producerProps(embeddedKafkaBroker),
+                new StringSerializer(), new KafkaEmailMessageSerializer());
+
+        emailDispatcher = new EmailDispatcher(new EmailDispatcherProperties(), emailService,
+                mock(KafkaListenerEndpointRegistry.class), new SimpleMeterRegistry());
+        emailDispatcher.startWorkers();
+
+        EmailRetryProperties emailRetryProperties = new EmailRetryProperties();
+        emailRetryProperties.setTopics(List.of(retryTopic(FIRST_RETRY_TOPIC), retryTopic(SECOND_RETRY_TOPIC)));
+        emailRetryProperties.setDeadLetterTopic(DEAD_LETTER_TOPIC);
+        emailRetryProperties.setReplayGroupId("replay-group");
+        subject = new EmailRetryService(emailRetryProperties, emailDispatcher, templateService,
+                consumerFactory("retry-group"), new KafkaTemplate<>(producerFactory), emailRetryScheduler);
+        ReflectionTestUtils.setField(subject, "objectTopic", OBJECT_TOPIC);
+        subject.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        subject.stop();
+        emailDispatcher.stopWorkers();
+        producerFactory.destroy();
+        emailRetryScheduler.shutdown();
+    }
+
+    /**
+     * Integration test for EmailRetryService:retryLater
+     * Checking whether an email is sent again from each retry topic, not before its delay passed
+     */
+    @Test
+    void retryLater_WithRetryableFailure_ShouldSendAgainAfterDelayOfEachRetryTopic() {
+        // GIVEN
+        KafkaEmailMessageDto message = getFakeMessage();
+        List<Long> sendTimes = new CopyOnWriteArrayList<>();
+        when(emailService.sendEmails(anyList())).thenAnswer(invocation -> {
+            sendTimes.add(System.currentTimeMillis());
+            List<EmailDto> emails = invocation.getArgument(0);
+            // fails in the first retry topic, is sent from the second one
+            return sendTimes.size() == 1
+                    ? Map.of(emails.get(0), new MailSendException("Mail server connection failed"))
+                    : Collections.emptyMap();
+        });
+        long startTime = System.currentTimeMillis();
+
+        // WHEN
+        subject.retryLater(Map.of(message, new MailSendException("Mail server connection failed")));
+
+        // THEN
+        verify(emailService, timeout(30_000).times(2)).sendEmails(argThat(emails ->
+                emails.size() == 1 && message.getEmailAddress().equals(emails.get(0).getRecipient())));
+        assertAll(
+                () -> assertTrue(sendTimes.get(0) - startTime >= DELAY.toMillis()),
+                () -> assertTrue(sendTimes.get(1) - sendTimes.get(0) >= DELAY.toMillis()),
+                () -> assertTrue(getDeadLetters().stream().noneMatch(deadLetter -> message.equals(deadLetter.value())))
+        );
+    }
+
+    /**
+     * Integration test for EmailRetryService:retryLater and replayDeadLetters
+     * Checking whether an email which can not be sent is not sent again but written to the dead letter topic,
+     * from where it is replayed once
+     */
+    @Test
+    void retryLater_WithNotRetryableFailure_ShouldWriteToDeadLetterTopicForReplay() {
+        // GIVEN
+        KafkaEmailMessageDto message = getFakeMessage();
+        MailException failure = new MailPreparationException("Missing '>'");
+
+        // WHEN
+        subject.retryLater(Map.of(message, failure));
+        List<ConsumerRecord<String, KafkaEmailMessageDto>> deadLetters = getDeadLetters();
+        int firstReplayResult = subject.replayDeadLetters(10);
+        int secondReplayResult = subject.replayDeadLetters(10);
+
+        // THEN
+        List<ConsumerRecord<String, KafkaEmailMessageDto>> replayedMessages = getRecords(OBJECT_TOPIC);
+        assertAll(
+                () -> assertEquals(1, deadLetters.size()),
+                () -> assertEquals(message, deadLetters.get(0).value()),
+                () -> assertEquals("Missing '>'", new String(deadLetters.get(0).headers()
+                        .lastHeader(EmailRetryService.FAILURE_HEADER).value(), StandardCharsets.UTF_8)),
+                () -> assertEquals(1, firstReplayResult),
+                () -> assertEquals(0, secondReplayResult),
+                () -> assertEquals(1, replayedMessages.size()),
+                () -> assertEquals(message, replayedMessages.get(0).value())
+        );
+        verify(emailService, never()).sendEmails(anyList());
+    }
+
+    private static List<ConsumerRecord<String, KafkaEmailMessageDto>> getDeadLetters() {
+        return getRecords(DEAD_LETTER_TOPIC);
+    }
+
+    /**
+     * @return all records of the topic so far, read by a group of its own
+     */
+    private static List<ConsumerRecord<String, KafkaEmailMessageDto>> getRecords(String topic) {
+        try (Consumer<String, KafkaEmailMessageDto> consumer = consumerFactory("group-" + UUID.randomUUID()).createConsumer()) {
+            embeddedKafkaBroker.consumeFromAnEmbeddedTopic(consumer, topic);
+            List<ConsumerRecord<String, KafkaEmailMessageDto>> records = new ArrayList<>();
+            KafkaTestUtils.getRecords(consumer, 2000).forEach(records::add);
+            return records;
+        }
+    }
+
+    private static DefaultKafkaConsumerFactory<String, KafkaEmailMessageDto> consumerFactory(String groupId) {
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps(groupId, "false", embeddedKafkaBroker);
+        return new DefaultKafkaConsumerFactory<>(consumerProps, new StringDeserializer(),
+                new KafkaEmailMessageDeserializer());
+    }
+
+    private static RetryTopicProperties retryTopic(String name) {
+        RetryTopicProperties retryTopicProperties = new RetryTopicProperties();
+        retryTopicProperties.setName(name);
+        retryTopicProperties.setDelay(DELAY);
+        return retryTopicProperties;
+    }
+
+    private static KafkaEmailMessageDto getFakeMessage() {
+        KafkaEmailMessageDto message = new KafkaEmailMessageDto();
+        message.setBookingId(UUID.randomUUID().toString());
+        message.setEmailAddress("customer@example.com");
+        message.setFullName("Customer");
+        message.setSubject("Your booking is approved");
+        return message;
+    }
+}
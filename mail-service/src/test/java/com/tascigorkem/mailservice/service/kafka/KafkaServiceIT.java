@@ -0,0 +1,211 @@
+package com.tascigorkem.mailservice.service.kafka;
+
+import com.tascigorkem.eventcontract.codec.KafkaEmailMessageDeserializer;
+import com.tascigorkem.eventcontract.codec.KafkaEmailMessageSerializer;
+import com.tascigorkem.eventcontract.dto.KafkaEmailMessageDto;
+import com.tascigorkem.mailservice.config.EmailDispatcherProperties;
+import com.tascigorkem.mailservice.dto.EmailContentDto;
+import com.tascigorkem.mailservice.dto.EmailDto;
+import com.tascigorkem.mailservice.service.EmailDispatcher;
+import com.tascigorkem.mailservice.service.EmailService;
+import com.tascigorkem.mailservice.service.TemplateService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The batch listener of KafkaService against an embedded broker, in a container with one consumer per partition,
+ * like the listener container of the application, and the same WORKERS of EmailDispatcher for any number of partitions.
+ * The smtp send is simulated by an EmailService which takes SEND_MILLIS per email.
+ * The send throughput is bounded by the workers, not by the partitions, see EmailDispatcherTest.
+ */
+class KafkaServiceIT {
+
+    private static final String SINGLE_PARTITION_TOPIC = "single-partition-topic";
+    private static final String MULTI_PARTITION_TOPIC = "multi-partition-topic";
+    private static final int PARTITIONS = 4;
+    private static final int BOOKINGS = 24;
+    private static final int MESSAGES_PER_BOOKING = 5;
+    private static final int WORKERS = 4;
+    private static final long SEND_MILLIS = 20;
+
+    private static EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @BeforeAll
+    static void setUpBroker() {
+        embeddedKafkaBroker = new EmbeddedKafkaBroker(1);
+        embeddedKafkaBroker.afterPropertiesSet();
+        embeddedKafkaBroker.addTopics(
+                new NewTopic(SINGLE_PARTITION_TOPIC, 1, (short) 1),
+                new NewTopic(MULTI_PARTITION_TOPIC, PARTITIONS, (short) 1));
+    }
+
+    @AfterAll
+    static void tearDownBroker() {
+        embeddedKafkaBroker.destroy();
+    }
+
+    /**
+     * Integration test for KafkaService:getJsonObjectsFromTopic
+     * Checking whether one and more partitions and consumers send all emails, the emails of a booking in order
+     */
+    @Test
+    void getJsonObjectsFromTopic_WithOneAndMorePartitionsAndConsumers_ShouldSendAllInOrderOfBooking() throws Exception {
+        // GIVEN
+        List<KafkaEmailMessageDto> messages = getFakeMessages();
+
+        // WHEN
+        Map<String, List<String>> singlePartitionResult = consume(SINGLE_PARTITION_TOPIC, 1, messages);
+        Map<String, List<String>> multiPartitionResult = consume(MULTI_PARTITION_TOPIC, PARTITIONS, messages);
+
+        // THEN
+        List<String> expectedSubjects = IntStream.range(0, MESSAGES_PER_BOOKING)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList());
+        assertAll(
+                () -> assertEquals(BOOKINGS, singlePartitionResult.size()),
+                () -> assertEquals(BOOKINGS, multiPartitionResult.size()),
+                () -> singlePartitionResult.values()
+                        .forEach(subjects -> assertEquals(expectedSubjects, subjects)),
+                () -> multiPartitionResult.values()
+                        .forEach(subjects -> assertEquals(expectedSubjects, subjects))
+        );
+    }
+
+    /**
+     * @return subjects of the sent emails by recipient, in the order they were sent in
+     */
+    private Map<String, List<String>> consume(String topic, int partitions, List<KafkaEmailMessageDto> messages) throws Exception {
+        Map<String, List<String>> subjectsByRecipient = new ConcurrentHashMap<>();
+        CountDownLatch sentEmails = new CountDownLatch(messages.size());
+
+        EmailService emailService = mock(EmailService.class);
+        TemplateService templateService = mock(TemplateService.class);
+        when(templateService.generateProjectStatusChangeEmail(any())).thenReturn(new EmailContentDto("text", "html"));
+        when(emailService.sendEmails(anyList())).thenAnswer(invocation -> {
+            List<EmailDto> emails = invocation.getArgument(0);
+            for (EmailDto email : emails) {
+                Thread.sleep(SEND_MILLIS);
+                subjectsByRecipient.computeIfAbsent(email.getRecipient(), recipient -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(email.getSubject());
+                sentEmails.countDown();
+            }
+            return Collections.emptyMap();
+        });
+        EmailDispatcherProperties emailDispatcherProperties = new EmailDispatcherProperties();
+        emailDispatcherProperties.setWorkers(WORKERS);
+        EmailDispatcher emailDispatcher = new EmailDispatcher(emailDispatcherProperties, emailService,
+                mock(KafkaListenerEndpointRegistry.class), new SimpleMeterRegistry());
+        emailDispatcher.startWorkers();
+        KafkaService kafkaService = new KafkaService(emailDispatcher, templateService, mock(EmailRetryService.class));
+
+        ContainerProperties containerProperties = new ContainerProperties(topic);
+        // like the listener container factory of the application
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.setMessageListener((BatchAcknowledgingMessageListener<String, KafkaEmailMessageDto>)
+                (records, acknowledgment) -> {
+            try {
+                kafkaService.getJsonObjectsFromTopic(records.stream()
+                        .map(ConsumerRecord::value)
+                        .collect(Collectors.toList()), acknowledgment);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ConcurrentMessageListenerContainer<String, KafkaEmailMessageDto> container =
+                new ConcurrentMessageListenerContainer<>(consumerFactory(topic), containerProperties);
+        container.setConcurrency(partitions);
+        container.start();
+        try {
+            ContainerTestUtils.waitForAssignment(container, partitions);
+            send(topic, messages);
+            assertTrue(sentEmails.await(60, TimeUnit.SECONDS));
+            awaitCommittedOffsets(topic, partitions, messages.size());
+        } finally {
+            container.stop();
+            emailDispatcher.stopWorkers();
+        }
+        return subjectsByRecipient;
+    }
+
+    /**
+     * Waits until the offsets of all messages are committed, the batches are acknowledged once their emails are sent
+     */
+    private static void awaitCommittedOffsets(String topic, int partitions, int messages) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        long committedOffsets = 0;
+        while (committedOffsets < messages && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            committedOffsets = 0;
+            for (int partition = 0; partition < partitions; partition++) {
+                OffsetAndMetadata offset = KafkaTestUtils.getCurrentOffset(embeddedKafkaBroker.getBrokersAsString(),
+                        "group-" + topic, topic, partition);
+                committedOffsets += offset == null ? 0 : offset.offset();
+            }
+        }
+        assertEquals(messages, committedOffsets);
+    }
+
+    private static DefaultKafkaConsumerFactory<String, KafkaEmailMessageDto> consumerFactory(String topic) {
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("group-" + topic, "false", embeddedKafkaBroker);
+        return new DefaultKafkaConsumerFactory<>(consumerProps, new StringDeserializer(),
+                new KafkaEmailMessageDeserializer());
+    }
+
+    private static void send(String topic, List<KafkaEmailMessageDto> messages) {
+        DefaultKafkaProducerFactory<String, KafkaEmailMessageDto> producerFactory = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(embeddedKafkaBroker), new StringSerializer(), new KafkaEmailMessageSerializer());
+        try {
+            KafkaTemplate<String, KafkaEmailMessageDto> kafkaTemplate = new KafkaTemplate<>(producerFactory);
+            // keyed by booking, like the messages of flight-booking-service
+            messages.forEach(message -> kafkaTemplate.send(topic, message.getBookingId(), message));
+            kafkaTemplate.flush();
+        } finally {
+            producerFactory.destroy();
+        }
+    }
+
+    /**
+     * @return MESSAGES_PER_BOOKING messages of each booking, interleaved, with their sequence number as subject
+     */
+    private static List<KafkaEmailMessageDto> getFakeMessages() {
+        List<KafkaEmailMessageDto> messages = new ArrayList<>();
+        for (int sequence = 0; sequence < MESSAGES_PER_BOOKING; sequence++) {
+            for (int booking = 0; booking < BOOKINGS; booking++) {
+                KafkaEmailMessageDto message = new KafkaEmailMessageDto();
+                message.setBookingId(new UUID(0, booking).toString());
+                message.setEmailAddress("customer" + booking + "@example.com");
+                message.setFullName("Customer " + booking);
+                message.setSubject(String.valueOf(sequence));
+                messages.add(message);
+            }
+        }
+        return messages;
+    }
+}